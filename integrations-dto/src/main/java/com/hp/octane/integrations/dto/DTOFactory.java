@@ -31,9 +31,13 @@
  */
 package com.hp.octane.integrations.dto;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.module.SimpleAbstractTypeResolver;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
@@ -54,7 +58,6 @@ import com.hp.octane.integrations.dto.tests.impl.DTOTestsProvider;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -62,6 +65,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * DTO Factory is a single entry point of DTOs management
@@ -85,70 +89,66 @@ public final class DTOFactory {
 		if (!targetType.isInterface()) {
 			throw new IllegalArgumentException("target type MUST be an Interface");
 		}
-		if (!configuration.registry.containsKey(targetType)) {
+		Supplier<? extends DTOBase> factory = configuration.factories.get(targetType);
+		if (factory == null) {
 			throw new IllegalArgumentException("requested type " + targetType + " is not supported");
 		}
 
-		try {
-			return configuration.registry.get(targetType).instantiateDTO(targetType);
-		} catch (InstantiationException ie) {
-			throw new RuntimeException("failed to instantiate " + targetType, ie);
-		} catch (IllegalAccessException iae) {
-			throw new RuntimeException("access denied to " + targetType, iae);
-		}
+		return targetType.cast(factory.get());
 	}
 
+	/**
+	 * serialization is deferred, see DTOSerializingInputStream; the stream may be written straight into the output without buffering
+	 */
 	public <T extends DTOBase> InputStream dtoToJsonStream(T dto) {
-		return dtoToStream(dto,configuration.objectMapper);
+		return dtoToStream(dto, configuration.jsonWriters);
 	}
 
+	/**
+	 * serialization is deferred, see DTOSerializingInputStream; the stream may be written straight into the output without buffering
+	 */
 	public <T extends DTOBase> InputStream dtoToXmlStream(T dto) {
-		return dtoToStream(dto, configuration.getXmlMapper());
+		return dtoToStream(dto, configuration.getXmlWriters());
 	}
 
-	private <T extends DTOBase> InputStream dtoToStream(T dto, ObjectMapper objectMapper) {
+	private <T extends DTOBase> InputStream dtoToStream(T dto, ClassValue<ObjectWriter> writers) {
 		if (dto == null) {
 			throw new IllegalArgumentException("dto MUST NOT be null");
 		}
 
-		try {
-			return new ByteArrayInputStream(objectMapper.writeValueAsBytes(dto));
-		} catch (JsonProcessingException jpe) {
-			throw new RuntimeException("failed to serialize " + dto + " to JSON", jpe);
-		}
+		return new DTOSerializingInputStream(dto, writers.get(dto.getClass()));
 	}
 
 
 	public <T extends DTOBase> String dtoToJson(T dto) {
-		return dtoToString(dto, configuration.objectMapper);
+		return dtoToString(dto, configuration.jsonWriters);
 	}
 
 	public <T extends DTOBase> String dtoToXml(T dto) {
-		return dtoToString(dto, configuration.getXmlMapper());
+		return dtoToString(dto, configuration.getXmlWriters());
 	}
 
-	private <T extends DTOBase> String dtoToString(T dto , ObjectMapper objectMapper) {
+	private <T extends DTOBase> String dtoToString(T dto, ClassValue<ObjectWriter> writers) {
 		if (dto == null) {
 			throw new IllegalArgumentException("dto MUST NOT be null");
 		}
 
 		try {
-			return objectMapper.writeValueAsString(dto);
+			return writers.get(dto.getClass()).writeValueAsString(dto);
 		} catch (JsonProcessingException jpe) {
 			throw new RuntimeException("failed to serialize " + dto + " to JSON", jpe);
 		}
 	}
 
+	/**
+	 * serialization is deferred, see DTOSerializingInputStream; the stream may be written straight into the output without buffering
+	 */
 	public <T extends DTOBase> InputStream dtoCollectionToJsonStream(List<T> dto) {
 		if (dto == null) {
 			throw new IllegalArgumentException("dto MUST NOT be null");
 		}
 
-		try {
-			return new ByteArrayInputStream(configuration.objectMapper.writeValueAsBytes(dto));
-		} catch (JsonProcessingException jpe) {
-			throw new RuntimeException("failed to serialize " + dto + " to JSON", jpe);
-		}
+		return new DTOSerializingInputStream(dto, configuration.jsonCollectionWriter);
 	}
 
 	public <T extends DTOBase> String dtoCollectionToJson(List<T> dto) {
@@ -157,21 +157,21 @@ public final class DTOFactory {
 		}
 
 		try {
-			return configuration.objectMapper.writeValueAsString(dto);
+			return configuration.jsonCollectionWriter.writeValueAsString(dto);
 		} catch (JsonProcessingException jpe) {
 			throw new RuntimeException("failed to serialize " + dto + " to JSON", jpe);
 		}
 	}
 
 	public <T extends DTOBase> T dtoFromJson(String json, Class<T> targetType) {
-		return dtoFromString(json,targetType,configuration.objectMapper);
+		return dtoFromString(json, targetType, configuration.jsonReaders);
 	}
 
 	public <T extends DTOBase> T dtoFromXml(String json, Class<T> targetType) {
-		return dtoFromString(json,targetType, configuration.getXmlMapper());
+		return dtoFromString(json, targetType, configuration.getXmlReaders());
 	}
 
-	private  <T extends DTOBase> T dtoFromString(String string, Class<T> targetType, ObjectMapper objectMapper) {
+	private <T extends DTOBase> T dtoFromString(String string, Class<T> targetType, ClassValue<ObjectReader> readers) {
 		if (targetType == null) {
 			throw new IllegalArgumentException("target type MUST NOT be null");
 		}
@@ -180,7 +180,7 @@ public final class DTOFactory {
 		}
 
 		try {
-			return objectMapper.readValue(string, targetType);
+			return readers.get(targetType).readValue(string);
 		} catch (IOException ioe) {
 			throw new RuntimeException("failed to deserialize " + string + " into " + targetType, ioe);
 		}
@@ -195,12 +195,66 @@ public final class DTOFactory {
 		}
 
 		try {
-			return configuration.objectMapper.readValue(json, targetType);
+			return configuration.jsonReaders.get(targetType).readValue(json);
 		} catch (IOException ioe) {
 			throw new RuntimeException("failed to deserialize " + json + " into " + targetType, ioe);
 		}
 	}
 
+	/**
+	 * deserializes DTO directly from the stream, without buffering the whole content
+	 * stream is read up to the end of the JSON value and is NOT closed
+	 */
+	public <T extends DTOBase> T dtoFromJson(InputStream json, Class<T> targetType) {
+		if (json == null) {
+			throw new IllegalArgumentException("json stream MUST NOT be null");
+		}
+		if (targetType == null) {
+			throw new IllegalArgumentException("target type MUST NOT be null");
+		}
+		if (!targetType.isInterface()) {
+			throw new IllegalArgumentException("target type MUST be an Interface");
+		}
+
+		try {
+			return configuration.jsonReaders.get(targetType).readValue(json);
+		} catch (IOException ioe) {
+			throw new RuntimeException("failed to deserialize JSON stream into " + targetType, ioe);
+		}
+	}
+
+	/**
+	 * deserializes DTOs array directly from the stream, without buffering the whole content
+	 * stream is read up to the end of the JSON value and is NOT closed
+	 */
+	public <T extends DTOBase> T[] dtoCollectionFromJson(InputStream json, Class<T[]> targetType) {
+		if (json == null) {
+			throw new IllegalArgumentException("json stream MUST NOT be null");
+		}
+		if (targetType == null) {
+			throw new IllegalArgumentException("target type MUST NOT be null");
+		}
+		if (!targetType.isArray()) {
+			throw new IllegalArgumentException("target type MUST be an Array");
+		}
+
+		try {
+			return configuration.jsonReaders.get(targetType).readValue(json);
+		} catch (IOException ioe) {
+			throw new RuntimeException("failed to deserialize JSON stream into " + targetType, ioe);
+		}
+	}
+
+	/**
+	 * creates JSON parser over the stream, DTOs may be read from the parser (readValueAs) one by one
+	 */
+	public JsonParser createJsonParser(InputStream json) throws IOException {
+		if (json == null) {
+			throw new IllegalArgumentException("json stream MUST NOT be null");
+		}
+		return configuration.objectMapper.getFactory().createParser(json);
+	}
+
 	public <T extends DTOBase> T dtoFromJsonFile(File jsonFile, Class<T> targetType) {
 		if (targetType == null) {
 			throw new IllegalArgumentException("target type MUST NOT be null");
@@ -210,7 +264,7 @@ public final class DTOFactory {
 		}
 
 		try {
-			return configuration.objectMapper.readValue(jsonFile, targetType);
+			return configuration.jsonReaders.get(targetType).readValue(jsonFile);
 		} catch (IOException ioe) {
 			throw new RuntimeException("failed to deserialize " + jsonFile.getName() + " into " + targetType, ioe);
 		}
@@ -225,7 +279,7 @@ public final class DTOFactory {
 		}
 
 		try {
-			return configuration.getXmlMapper().readValue(xml, targetType);
+			return configuration.getXmlReaders().get(targetType).readValue(xml);
 		} catch (IOException ioe) {
 			throw new RuntimeException("failed to deserialize " + xml.getName() + " into " + targetType, ioe);
 		}
@@ -245,11 +299,18 @@ public final class DTOFactory {
 	}
 
 	public static class DTOConfiguration {
-		private final Map<Class<? extends DTOBase>, DTOInternalProviderBase> registry = new HashMap<>();
+		private final Map<Class<? extends DTOBase>, Supplier<? extends DTOBase>> factories = new HashMap<>();
 		private final ObjectMapper objectMapper = new ObjectMapper();
 		private XmlMapper xmlMapper = null;
 		private SimpleModule module;
 
+		//  readers and writers are resolved once per type, writers leave the target stream open for the streamed serialization
+		private final ClassValue<ObjectReader> jsonReaders = readers(objectMapper);
+		private final ClassValue<ObjectWriter> jsonWriters = writers(objectMapper);
+		private final ObjectWriter jsonCollectionWriter;
+		private ClassValue<ObjectReader> xmlReaders;
+		private ClassValue<ObjectWriter> xmlWriters;
+
 		private DTOConfiguration() {
 			List<DTOInternalProviderBase> providers = new LinkedList<>();
 			//  collect all known providers
@@ -273,21 +334,42 @@ public final class DTOFactory {
 			SimpleAbstractTypeResolver resolver = new SimpleAbstractTypeResolver();
 			for (DTOInternalProviderBase dtoProvider : providers) {
 				for (Map.Entry<Class<? extends DTOBase>, Class> dtoPair : dtoProvider.getDTOPairs().entrySet()) {
-					registry.put(dtoPair.getKey(), dtoProvider);
 					resolver.addMapping(dtoPair.getKey(), dtoPair.getValue());
 				}
+				factories.putAll(dtoProvider.getDTOFactories());
 			}
 			module = new SimpleModule();
 			module.setAbstractTypes(resolver);
 			objectMapper.registerModule(module);
+			jsonCollectionWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+		}
+
+		private static ClassValue<ObjectReader> readers(ObjectMapper mapper) {
+			return new ClassValue<ObjectReader>() {
+				@Override
+				protected ObjectReader computeValue(Class<?> type) {
+					return mapper.readerFor(type);
+				}
+			};
+		}
 
+		private static ClassValue<ObjectWriter> writers(ObjectMapper mapper) {
+			return new ClassValue<ObjectWriter>() {
+				@Override
+				protected ObjectWriter computeValue(Class<?> type) {
+					return mapper.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				}
+			};
 		}
 
 		private void initXmlMapper(XmlMapper mapper) {
-			xmlMapper = mapper;
-			xmlMapper.registerModule(module);
-			xmlMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+			mapper.registerModule(module);
+			mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 			//xmlMapper.getFactory().getXMLOutputFactory().setProperty("javax.xml.stream.isRepairingNamespaces", false);
+			xmlReaders = readers(mapper);
+			xmlWriters = writers(mapper);
+			xmlMapper = mapper;
 		}
 
 		public void initXmlMapper(XMLInputFactory xmlInputFactory, XMLOutputFactory xmlOutputFactory) {
@@ -300,5 +382,15 @@ public final class DTOFactory {
 			}
 			return xmlMapper;
 		}
+
+		private ClassValue<ObjectReader> getXmlReaders() {
+			getXmlMapper();
+			return xmlReaders;
+		}
+
+		private ClassValue<ObjectWriter> getXmlWriters() {
+			getXmlMapper();
+			return xmlWriters;
+		}
 	}
 }
\ No newline at end of file
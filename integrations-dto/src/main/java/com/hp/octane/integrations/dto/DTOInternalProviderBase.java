@@ -33,6 +33,7 @@ package com.hp.octane.integrations.dto;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * API definition of an internal DTO factories
@@ -40,6 +41,7 @@ import java.util.Map;
 
 public abstract class DTOInternalProviderBase {
 	protected final Map<Class<? extends DTOBase>, Class> dtoPairs = new LinkedHashMap<>();
+	private final Map<Class<? extends DTOBase>, Supplier<? extends DTOBase>> dtoFactories = new LinkedHashMap<>();
 
 	protected DTOInternalProviderBase(DTOFactory.DTOConfiguration configuration) {
 		if (configuration == null) {
@@ -47,9 +49,20 @@ public abstract class DTOInternalProviderBase {
 		}
 	}
 
-	protected abstract <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException;
+	/**
+	 * registers DTO interface with its implementation and the factory of the implementation (constructor reference),
+	 * so that DTOs are instantiated without reflection
+	 */
+	protected <T extends DTOBase> void registerDTO(Class<T> dtoType, Class<? extends T> implementationType, Supplier<? extends T> factory) {
+		dtoPairs.put(dtoType, implementationType);
+		dtoFactories.put(dtoType, factory);
+	}
 
 	Map<Class<? extends DTOBase>, Class> getDTOPairs() {
 		return dtoPairs;
 	}
+
+	Map<Class<? extends DTOBase>, Supplier<? extends DTOBase>> getDTOFactories() {
+		return dtoFactories;
+	}
 }
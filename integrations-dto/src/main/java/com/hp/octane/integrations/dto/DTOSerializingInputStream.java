@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.dto;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Stream of serialized DTO (or DTOs collection), the serialization is deferred till the content is needed:
+ * - writeTo serializes the DTO straight into the target stream (eg gzip stream of the HTTP entity), the content is never held in memory
+ * - reading as a regular InputStream serializes the DTO into memory on the first read, as it was done before
+ * DTO is serialized in the state it is at the time of the serialization, hence it should not be changed once the stream is created
+ */
+public final class DTOSerializingInputStream extends InputStream {
+	private final Object value;
+	private final ObjectWriter writer;
+	private ByteArrayInputStream content;
+
+	DTOSerializingInputStream(Object value, ObjectWriter writer) {
+		this.value = value;
+		this.writer = writer;
+	}
+
+	/**
+	 * @return true if the content was already (even partially) read as InputStream; writeTo is not allowed then
+	 */
+	public boolean isReadStarted() {
+		return content != null;
+	}
+
+	/**
+	 * serializes the DTO into the output stream, output stream is NOT closed; may be called more than once
+	 */
+	public void writeTo(OutputStream outputStream) throws IOException {
+		if (content != null) {
+			throw new IllegalStateException("stream is already being read");
+		}
+		writer.writeValue(outputStream, value);
+	}
+
+	private ByteArrayInputStream content() throws IOException {
+		if (content == null) {
+			content = new ByteArrayInputStream(writer.writeValueAsBytes(value));
+		}
+		return content;
+	}
+
+	@Override
+	public int read() throws IOException {
+		return content().read();
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		return content().read(b, off, len);
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		return content().skip(n);
+	}
+
+	@Override
+	public int available() throws IOException {
+		return content().available();
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public synchronized void mark(int readLimit) {
+		try {
+			content().mark(readLimit);
+		} catch (IOException ioe) {
+			throw new IllegalStateException("failed to serialize " + value, ioe);
+		}
+	}
+
+	@Override
+	public synchronized void reset() throws IOException {
+		content().reset();
+	}
+}
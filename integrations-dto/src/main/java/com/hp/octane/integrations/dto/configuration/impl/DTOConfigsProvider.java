@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.configuration.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.configuration.CIProxyConfiguration;
@@ -44,14 +43,6 @@ public final class DTOConfigsProvider extends DTOInternalProviderBase {
 
 	public DTOConfigsProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(CIProxyConfiguration.class, CIProxyConfigurationImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(CIProxyConfiguration.class, CIProxyConfigurationImpl.class, CIProxyConfigurationImpl::new);
 	}
 }
\ No newline at end of file
@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.connectivity.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
@@ -50,19 +49,11 @@ public final class DTOConnectivityProvider extends DTOInternalProviderBase {
 
 	public DTOConnectivityProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(OctaneRequest.class, OctaneRequestImpl.class);
-		dtoPairs.put(OctaneResponse.class, OctaneResponseImpl.class);
-		dtoPairs.put(OctaneTaskAbridged.class, OctaneTaskAbridgedImpl.class);
-		dtoPairs.put(OctaneResultAbridged.class, OctaneResultAbridgedImpl.class);
-		dtoPairs.put(TaskProcessingErrorBody.class, TaskProcessingErrorBodyImpl.class);
-		dtoPairs.put(OctaneConnectivityStatus.class, OctaneConnectivityStatusImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(OctaneRequest.class, OctaneRequestImpl.class, OctaneRequestImpl::new);
+		registerDTO(OctaneResponse.class, OctaneResponseImpl.class, OctaneResponseImpl::new);
+		registerDTO(OctaneTaskAbridged.class, OctaneTaskAbridgedImpl.class, OctaneTaskAbridgedImpl::new);
+		registerDTO(OctaneResultAbridged.class, OctaneResultAbridgedImpl.class, OctaneResultAbridgedImpl::new);
+		registerDTO(TaskProcessingErrorBody.class, TaskProcessingErrorBodyImpl.class, TaskProcessingErrorBodyImpl::new);
+		registerDTO(OctaneConnectivityStatus.class, OctaneConnectivityStatusImpl.class, OctaneConnectivityStatusImpl::new);
 	}
 }
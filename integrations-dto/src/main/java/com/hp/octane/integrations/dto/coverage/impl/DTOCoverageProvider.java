@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.coverage.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.coverage.BuildCoverage;
@@ -47,17 +46,9 @@ public final class DTOCoverageProvider extends DTOInternalProviderBase {
 
 	public DTOCoverageProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(BuildCoverage.class, BuildCoverageImpl.class);
-		dtoPairs.put(FileCoverage.class, FileCoverageImpl.class);
-		dtoPairs.put(LineCoverage.class, LineCoverageImpl.class);
-		dtoPairs.put(TestCoverage.class, TestCoverageImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(BuildCoverage.class, BuildCoverageImpl.class, BuildCoverageImpl::new);
+		registerDTO(FileCoverage.class, FileCoverageImpl.class, FileCoverageImpl::new);
+		registerDTO(LineCoverage.class, LineCoverageImpl.class, LineCoverageImpl::new);
+		registerDTO(TestCoverage.class, TestCoverageImpl.class, TestCoverageImpl::new);
 	}
 }
@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.entities.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.entities.*;
@@ -44,18 +43,10 @@ public final class DTOEntityProvider extends DTOInternalProviderBase {
 
 	public DTOEntityProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(Entity.class, EntityImpl.class);
-		dtoPairs.put(EntityList.class, EntityListImpl.class);
-		dtoPairs.put(ResponseEntityList.class, ResponseEntityListImpl.class);
-		dtoPairs.put(OctaneRestExceptionData.class, OctaneRestExceptionDataImpl.class);
-		dtoPairs.put(OctaneBulkExceptionData.class, OctaneBulkExceptionDataImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(Entity.class, EntityImpl.class, EntityImpl::new);
+		registerDTO(EntityList.class, EntityListImpl.class, EntityListImpl::new);
+		registerDTO(ResponseEntityList.class, ResponseEntityListImpl.class, ResponseEntityListImpl::new);
+		registerDTO(OctaneRestExceptionData.class, OctaneRestExceptionDataImpl.class, OctaneRestExceptionDataImpl::new);
+		registerDTO(OctaneBulkExceptionData.class, OctaneBulkExceptionDataImpl.class, OctaneBulkExceptionDataImpl::new);
 	}
 }
@@ -31,17 +31,25 @@
  */
 package com.hp.octane.integrations.dto.entities.impl;
 
-import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.entities.Entity;
 import com.hp.octane.integrations.dto.entities.EntityConstants;
 import com.hp.octane.integrations.dto.entities.ResponseEntityList;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+@JsonDeserialize(using = EntityImpl.EntityDeserializer.class)
 public class EntityImpl implements Entity {
 
     private static final String COLLECTION_TOTAL_COUNT_FIELD = "total_count";
@@ -55,7 +63,6 @@ public class EntityImpl implements Entity {
         return fields.get(fieldName);
     }
 
-    @JsonAnySetter
     @Override
     public Entity setField(String fieldName, Object fieldValue) {
         Object myFieldValue = fieldValue;
@@ -197,4 +204,91 @@ public class EntityImpl implements Entity {
             return super.toString();
         }
     }
+
+    /**
+     * Builds the entity graph in a single pass over the parser: nested objects become Entity (when having type),
+     * ResponseEntityList (when having data and total_count) or plain Map, without materializing an intermediate Map first
+     * Field names are taken as is from the parser, which canonicalizes (interns) them
+     */
+    public static class EntityDeserializer extends StdDeserializer<EntityImpl> {
+
+        public EntityDeserializer() {
+            super(EntityImpl.class);
+        }
+
+        @Override
+        public EntityImpl deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+            JsonToken token = jp.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                jp.nextToken();
+            } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+                return (EntityImpl) ctxt.handleUnexpectedToken(EntityImpl.class, jp);
+            }
+            EntityImpl entity = new EntityImpl();
+            readFields(jp, ctxt, entity.fields);
+            return entity;
+        }
+
+        private static Map<String, Object> readFields(JsonParser jp, DeserializationContext ctxt, Map<String, Object> fields) throws IOException {
+            for (JsonToken token = jp.currentToken(); token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+                String fieldName = jp.currentName();
+                jp.nextToken();
+                fields.put(fieldName, readValue(jp, ctxt));
+            }
+            return fields;
+        }
+
+        private static Object readValue(JsonParser jp, DeserializationContext ctxt) throws IOException {
+            switch (jp.currentToken()) {
+                case START_OBJECT:
+                    jp.nextToken();
+                    return toFieldValue(readFields(jp, ctxt, new HashMap<>()));
+                case START_ARRAY:
+                    List<Object> values = new ArrayList<>();
+                    while (jp.nextToken() != JsonToken.END_ARRAY) {
+                        values.add(readValue(jp, ctxt));
+                    }
+                    return values;
+                case VALUE_STRING:
+                    return jp.getText();
+                case VALUE_NUMBER_INT:
+                    return jp.getNumberValue();
+                case VALUE_NUMBER_FLOAT:
+                    return ctxt.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS) ? jp.getDecimalValue() : jp.getDoubleValue();
+                case VALUE_TRUE:
+                    return Boolean.TRUE;
+                case VALUE_FALSE:
+                    return Boolean.FALSE;
+                case VALUE_NULL:
+                    return null;
+                case VALUE_EMBEDDED_OBJECT:
+                    return jp.getEmbeddedObject();
+                default:
+                    return ctxt.handleUnexpectedToken(Object.class, jp);
+            }
+        }
+
+        private static Object toFieldValue(Map<String, Object> map) {
+            if (map.containsKey(EntityConstants.Base.TYPE_FIELD_NAME)) {
+                EntityImpl entity = new EntityImpl();
+                entity.fields = map;
+                return entity;
+            } else if (map.containsKey(COLLECTION_DATA_FIELD) && map.containsKey(COLLECTION_TOTAL_COUNT_FIELD)) {
+                ResponseEntityListImpl list = new ResponseEntityListImpl();
+                list.setTotalCount(((Number) map.get(COLLECTION_TOTAL_COUNT_FIELD)).intValue());
+                for (Object entry : (List<?>) map.get(COLLECTION_DATA_FIELD)) {
+                    if (entry instanceof Entity) {
+                        list.addEntity((Entity) entry);
+                    } else {
+                        EntityImpl entity = new EntityImpl();
+                        entity.fields = (Map<String, Object>) entry;
+                        list.addEntity(entity);
+                    }
+                }
+                return list;
+            } else {
+                return map;
+            }
+        }
+    }
 }
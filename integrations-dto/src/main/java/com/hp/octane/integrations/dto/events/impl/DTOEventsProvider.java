@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.events.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.events.CIEvent;
@@ -45,15 +44,7 @@ public final class DTOEventsProvider extends DTOInternalProviderBase {
 
 	public DTOEventsProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(CIEvent.class, CIEventImpl.class);
-		dtoPairs.put(CIEventsList.class, CIEventsListImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(CIEvent.class, CIEventImpl.class, CIEventImpl::new);
+		registerDTO(CIEventsList.class, CIEventsListImpl.class, CIEventsListImpl::new);
 	}
 }
@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.executor.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.executor.*;
@@ -43,16 +42,8 @@ public final class DTOExecutorsProvider extends DTOInternalProviderBase {
 
 	public DTOExecutorsProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(DiscoveryInfo.class, DiscoveryInfoImpl.class);
-		dtoPairs.put(TestConnectivityInfo.class, TestConnectivityInfoImpl.class);
-		dtoPairs.put(CredentialsInfo.class, CredentialsInfoImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(DiscoveryInfo.class, DiscoveryInfoImpl.class, DiscoveryInfoImpl::new);
+		registerDTO(TestConnectivityInfo.class, TestConnectivityInfoImpl.class, TestConnectivityInfoImpl::new);
+		registerDTO(CredentialsInfo.class, CredentialsInfoImpl.class, CredentialsInfoImpl::new);
 	}
 }
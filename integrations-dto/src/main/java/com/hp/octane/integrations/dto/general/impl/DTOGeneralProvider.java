@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.general.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.general.*;
@@ -44,27 +43,19 @@ public final class DTOGeneralProvider extends DTOInternalProviderBase {
 
     public DTOGeneralProvider(DTOFactory.DTOConfiguration configuration) {
         super(configuration);
-        dtoPairs.put(CIPluginInfo.class, CIPluginInfoImpl.class);
-        dtoPairs.put(CIServerInfo.class, CIServerInfoImpl.class);
-        dtoPairs.put(CIPluginSDKInfo.class, CIPluginSDKInfoImpl.class);
-        dtoPairs.put(CIProviderSummaryInfo.class, CIProviderSummaryInfoImpl.class);
-        dtoPairs.put(CIJobsList.class, CIJobsListImpl.class);
-        dtoPairs.put(CIBranchesList.class, CIBranchesListImpl.class);
-        dtoPairs.put(Taxonomy.class, TaxonomyImpl.class);
-        dtoPairs.put(ListItem.class, ListItemImpl.class);
-        dtoPairs.put(MbtUnit.class, MbtUnitImpl.class);
-        dtoPairs.put(MbtData.class, MbtDataImpl.class);
-        dtoPairs.put(MbtUnitParameter.class, MbtUnitParameterImpl.class);
-        dtoPairs.put(MbtDataTable.class, MbtDataTableImpl.class);
+        registerDTO(CIPluginInfo.class, CIPluginInfoImpl.class, CIPluginInfoImpl::new);
+        registerDTO(CIServerInfo.class, CIServerInfoImpl.class, CIServerInfoImpl::new);
+        registerDTO(CIPluginSDKInfo.class, CIPluginSDKInfoImpl.class, CIPluginSDKInfoImpl::new);
+        registerDTO(CIProviderSummaryInfo.class, CIProviderSummaryInfoImpl.class, CIProviderSummaryInfoImpl::new);
+        registerDTO(CIJobsList.class, CIJobsListImpl.class, CIJobsListImpl::new);
+        registerDTO(CIBranchesList.class, CIBranchesListImpl.class, CIBranchesListImpl::new);
+        registerDTO(Taxonomy.class, TaxonomyImpl.class, TaxonomyImpl::new);
+        registerDTO(ListItem.class, ListItemImpl.class, ListItemImpl::new);
+        registerDTO(MbtUnit.class, MbtUnitImpl.class, MbtUnitImpl::new);
+        registerDTO(MbtData.class, MbtDataImpl.class, MbtDataImpl::new);
+        registerDTO(MbtUnitParameter.class, MbtUnitParameterImpl.class, MbtUnitParameterImpl::new);
+        registerDTO(MbtDataTable.class, MbtDataTableImpl.class, MbtDataTableImpl::new);
 
-        dtoPairs.put(CIBuildStatusInfo.class, CIBuildStatusInfoImpl.class);
-    }
-
-    protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-        T result = null;
-        if (dtoPairs.containsKey(targetType)) {
-            result = (T) dtoPairs.get(targetType).newInstance();
-        }
-        return result;
+        registerDTO(CIBuildStatusInfo.class, CIBuildStatusInfoImpl.class, CIBuildStatusInfoImpl::new);
     }
 }
@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.parameters.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.parameters.CIParameter;
@@ -45,15 +44,7 @@ public final class DTOParametersProvider extends DTOInternalProviderBase {
 
 	public DTOParametersProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(CIParameter.class, CIParameterImpl.class);
-		dtoPairs.put(CIParameters.class, CIParametersImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(CIParameter.class, CIParameterImpl.class, CIParameterImpl::new);
+		registerDTO(CIParameters.class, CIParametersImpl.class, CIParametersImpl::new);
 	}
 }
@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.pipelines.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.pipelines.PipelineContext;
@@ -47,17 +46,9 @@ public final class DTOPipelinesProvider extends DTOInternalProviderBase {
 
 	public DTOPipelinesProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(PipelineNode.class, PipelineNodeImpl.class);
-		dtoPairs.put(PipelinePhase.class, PipelinePhaseImpl.class);
-		dtoPairs.put(PipelineContext.class, PipelineContextImpl.class);
-		dtoPairs.put(PipelineContextList.class, PipelineContextListImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(PipelineNode.class, PipelineNodeImpl.class, PipelineNodeImpl::new);
+		registerDTO(PipelinePhase.class, PipelinePhaseImpl.class, PipelinePhaseImpl::new);
+		registerDTO(PipelineContext.class, PipelineContextImpl.class, PipelineContextImpl::new);
+		registerDTO(PipelineContextList.class, PipelineContextListImpl.class, PipelineContextListImpl::new);
 	}
 }
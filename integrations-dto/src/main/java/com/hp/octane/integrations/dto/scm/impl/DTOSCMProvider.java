@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.scm.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.scm.*;
@@ -44,21 +43,13 @@ public final class DTOSCMProvider extends DTOInternalProviderBase {
 
 	public DTOSCMProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(SCMChange.class, SCMChangeImpl.class);
-		dtoPairs.put(SCMCommit.class, SCMCommitImpl.class);
-		dtoPairs.put(SCMRepository.class, SCMRepositoryImpl.class);
-		dtoPairs.put(SCMRepositoryLinks.class, SCMRepositoryLinksImpl.class);
-		dtoPairs.put(SCMData.class, SCMDataImpl.class);
-		dtoPairs.put(SCMFileBlame.class, SCMFileBlameImpl.class);
-		dtoPairs.put(PullRequest.class, PullRequestImpl.class);
-		dtoPairs.put(Branch.class, BranchImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(SCMChange.class, SCMChangeImpl.class, SCMChangeImpl::new);
+		registerDTO(SCMCommit.class, SCMCommitImpl.class, SCMCommitImpl::new);
+		registerDTO(SCMRepository.class, SCMRepositoryImpl.class, SCMRepositoryImpl::new);
+		registerDTO(SCMRepositoryLinks.class, SCMRepositoryLinksImpl.class, SCMRepositoryLinksImpl::new);
+		registerDTO(SCMData.class, SCMDataImpl.class, SCMDataImpl::new);
+		registerDTO(SCMFileBlame.class, SCMFileBlameImpl.class, SCMFileBlameImpl::new);
+		registerDTO(PullRequest.class, PullRequestImpl.class, PullRequestImpl::new);
+		registerDTO(Branch.class, BranchImpl.class, BranchImpl::new);
 	}
 }
@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.securityscans.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.securityscans.FodServerConfiguration;
@@ -46,17 +45,8 @@ public class DTOSecurityContextProvider extends DTOInternalProviderBase {
 
 	public DTOSecurityContextProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(SSCProjectConfiguration.class, SSCProjectConfigurationImpl.class);
-		dtoPairs.put(OctaneIssue.class, OctaneIssueImpl.class);
-		dtoPairs.put(FodServerConfiguration.class, FodServerConfigurationImpl.class);
-	}
-
-	@Override
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(SSCProjectConfiguration.class, SSCProjectConfigurationImpl.class, SSCProjectConfigurationImpl::new);
+		registerDTO(OctaneIssue.class, OctaneIssueImpl.class, OctaneIssueImpl::new);
+		registerDTO(FodServerConfiguration.class, FodServerConfigurationImpl.class, FodServerConfigurationImpl::new);
 	}
 }
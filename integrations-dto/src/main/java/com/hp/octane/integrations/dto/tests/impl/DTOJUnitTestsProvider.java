@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.tests.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.tests.Property;
@@ -47,17 +46,9 @@ public final class DTOJUnitTestsProvider extends DTOInternalProviderBase {
 
 	public DTOJUnitTestsProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(Property.class, PropertyImpl.class);
-		dtoPairs.put(TestCase.class, TestCaseImpl.class);
-		dtoPairs.put(TestSuite.class, TestSuiteImpl.class);
-		dtoPairs.put(TestCaseFailure.class, TestCaseFailureImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(Property.class, PropertyImpl.class, PropertyImpl::new);
+		registerDTO(TestCase.class, TestCaseImpl.class, TestCaseImpl::new);
+		registerDTO(TestSuite.class, TestSuiteImpl.class, TestSuiteImpl::new);
+		registerDTO(TestCaseFailure.class, TestCaseFailureImpl.class, TestCaseFailureImpl::new);
 	}
 }
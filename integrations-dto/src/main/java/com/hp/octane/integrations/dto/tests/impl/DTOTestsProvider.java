@@ -31,7 +31,6 @@
  */
 package com.hp.octane.integrations.dto.tests.impl;
 
-import com.hp.octane.integrations.dto.DTOBase;
 import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.DTOInternalProviderBase;
 import com.hp.octane.integrations.dto.tests.*;
@@ -44,18 +43,10 @@ public final class DTOTestsProvider extends DTOInternalProviderBase {
 
 	public DTOTestsProvider(DTOFactory.DTOConfiguration configuration) {
 		super(configuration);
-		dtoPairs.put(BuildContext.class, BuildContextImpl.class);
-		dtoPairs.put(TestRunError.class, TestRunErrorImpl.class);
-		dtoPairs.put(TestRun.class, TestRunImpl.class);
-		dtoPairs.put(TestField.class, TestFieldImpl.class);
-		dtoPairs.put(TestsResult.class, TestsResultImpl.class);
-	}
-
-	protected <T extends DTOBase> T instantiateDTO(Class<T> targetType) throws InstantiationException, IllegalAccessException {
-		T result = null;
-		if (dtoPairs.containsKey(targetType)) {
-			result = (T) dtoPairs.get(targetType).newInstance();
-		}
-		return result;
+		registerDTO(BuildContext.class, BuildContextImpl.class, BuildContextImpl::new);
+		registerDTO(TestRunError.class, TestRunErrorImpl.class, TestRunErrorImpl::new);
+		registerDTO(TestRun.class, TestRunImpl.class, TestRunImpl::new);
+		registerDTO(TestField.class, TestFieldImpl.class, TestFieldImpl::new);
+		registerDTO(TestsResult.class, TestsResultImpl.class, TestsResultImpl::new);
 	}
 }
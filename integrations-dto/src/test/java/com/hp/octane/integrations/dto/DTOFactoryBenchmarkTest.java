@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.dto;
+
+import com.hp.octane.integrations.dto.connectivity.OctaneResultAbridged;
+import com.hp.octane.integrations.dto.entities.Entity;
+import com.hp.octane.integrations.dto.events.CIEvent;
+import com.hp.octane.integrations.dto.events.CIEventType;
+import com.hp.octane.integrations.dto.pipelines.PipelineNode;
+import com.hp.octane.integrations.dto.tests.TestRun;
+import com.hp.octane.integrations.dto.tests.TestRunResult;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * Create / serialize / deserialize costs of the main DTO families
+ */
+
+public class DTOFactoryBenchmarkTest {
+	private static final Logger logger = Logger.getLogger(DTOFactoryBenchmarkTest.class.getName());
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+	private static final int ITERATIONS = 100000;
+
+	@Test
+	public void test_factories_create_new_instances() {
+		CIEvent first = dtoFactory.newDTO(CIEvent.class);
+		CIEvent second = dtoFactory.newDTO(CIEvent.class);
+		assertNotSame(first, second);
+		assertEquals(first.getClass(), second.getClass());
+	}
+
+	@Test
+	public void test_create_serialize_deserialize_benchmark() throws Exception {
+		benchmark("events", CIEvent.class, () -> dtoFactory.newDTO(CIEvent.class)
+				.setEventType(CIEventType.FINISHED)
+				.setProject("folder/job")
+				.setProjectDisplayName("job")
+				.setBuildCiId("42")
+				.setNumber("42"));
+		benchmark("connectivity", OctaneResultAbridged.class, () -> dtoFactory.newDTO(OctaneResultAbridged.class)
+				.setId("task-id")
+				.setServiceId("instance-id")
+				.setStatus(200)
+				.setHeaders(new HashMap<>())
+				.setBody("{\"jobs\":[]}"));
+		benchmark("tests", TestRun.class, () -> dtoFactory.newDTO(TestRun.class)
+				.setModuleName("module")
+				.setPackageName("com.example")
+				.setClassName("SomeTest")
+				.setTestName("testSomething")
+				.setResult(TestRunResult.PASSED)
+				.setDuration(15)
+				.setStarted(1700000000000L));
+		benchmark("pipelines", PipelineNode.class, () -> dtoFactory.newDTO(PipelineNode.class)
+				.setJobCiId("folder/job")
+				.setName("job"));
+		benchmark("entities", Entity.class, () -> dtoFactory.newDTO(Entity.class)
+				.setId("1001")
+				.setType("run")
+				.setName("some run"));
+
+		//  reflective instantiation, as it was done by the providers before
+		Constructor<? extends CIEvent> constructor = dtoFactory.newDTO(CIEvent.class).getClass().getDeclaredConstructor();
+		constructor.setAccessible(true);
+		long started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			constructor.newInstance();
+		}
+		long reflectiveNanos = System.nanoTime() - started;
+		started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			dtoFactory.newDTO(CIEvent.class);
+		}
+		long factoryNanos = System.nanoTime() - started;
+		logger.info("CIEvent instantiation: reflective constructor " + reflectiveNanos / ITERATIONS + " ns, registered factory " + factoryNanos / ITERATIONS + " ns");
+	}
+
+	private static <T extends DTOBase> void benchmark(String family, Class<T> type, Supplier<T> creator) {
+		String json = dtoFactory.dtoToJson(creator.get());
+		assertEquals(json, dtoFactory.dtoToJson(dtoFactory.dtoFromJson(json, type)));
+
+		//  warm up
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			dtoFactory.dtoFromJson(dtoFactory.dtoToJson(creator.get()), type);
+		}
+
+		long started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			creator.get();
+		}
+		long createNanos = System.nanoTime() - started;
+
+		T dto = creator.get();
+		started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			dtoFactory.dtoToJson(dto);
+		}
+		long serializeNanos = System.nanoTime() - started;
+
+		started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			dtoFactory.dtoFromJson(json, type);
+		}
+		long deserializeNanos = System.nanoTime() - started;
+
+		logger.info(family + " (" + type.getSimpleName() + "): create " + createNanos / ITERATIONS + " ns, serialize " +
+				serializeNanos / ITERATIONS + " ns, deserialize " + deserializeNanos / ITERATIONS + " ns");
+	}
+}
@@ -36,12 +36,17 @@ import com.hp.octane.integrations.dto.general.CIPluginInfo;
 import com.hp.octane.integrations.dto.general.CIServerInfo;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Basic tests to verify if every DTO is registered and available for serialization
@@ -218,4 +223,42 @@ public class DTOFactoryTest {
 		assertNotNull(newColl);
 		assertEquals(3, newColl.length);
 	}
+
+	@Test
+	public void test_serializing_stream() throws IOException {
+		CIServerInfo ciServerInfo = dtoFactory.newDTO(CIServerInfo.class)
+				.setType(CIServerTypes.JENKINS.value())
+				.setInstanceId("instance id")
+				.setUrl("http://localhost:8080");
+		String json = dtoFactory.dtoToJson(ciServerInfo);
+
+		//  written straight into the output, possibly more than once
+		DTOSerializingInputStream stream = (DTOSerializingInputStream) dtoFactory.dtoToJsonStream(ciServerInfo);
+		for (int i = 0; i < 2; i++) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			stream.writeTo(output);
+			assertEquals(json, new String(output.toByteArray(), StandardCharsets.UTF_8));
+		}
+		assertFalse(stream.isReadStarted());
+
+		//  read as a regular stream
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		byte[] buffer = new byte[7];
+		int read;
+		while ((read = stream.read(buffer)) != -1) {
+			output.write(buffer, 0, read);
+		}
+		assertEquals(json, new String(output.toByteArray(), StandardCharsets.UTF_8));
+		assertTrue(stream.isReadStarted());
+
+		List<CIServerInfo> coll = new ArrayList<>();
+		coll.add(ciServerInfo);
+		output = new ByteArrayOutputStream();
+		((DTOSerializingInputStream) dtoFactory.dtoCollectionToJsonStream(coll)).writeTo(output);
+		assertEquals(dtoFactory.dtoCollectionToJson(coll), new String(output.toByteArray(), StandardCharsets.UTF_8));
+
+		output = new ByteArrayOutputStream();
+		((DTOSerializingInputStream) dtoFactory.dtoToXmlStream(ciServerInfo)).writeTo(output);
+		assertEquals(dtoFactory.dtoToXml(ciServerInfo), new String(output.toByteArray(), StandardCharsets.UTF_8));
+	}
 }
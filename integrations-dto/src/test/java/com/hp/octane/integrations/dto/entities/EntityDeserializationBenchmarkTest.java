@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.dto.entities;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hp.octane.integrations.dto.DTOFactory;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Single pass Entity deserialization vs the former Map materialization followed by setField conversion
+ */
+
+public class EntityDeserializationBenchmarkTest {
+	private static final Logger logger = Logger.getLogger(EntityDeserializationBenchmarkTest.class.getName());
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+	private static final int PAGE_SIZE = 1000;
+	private static final int ITERATIONS = 50;
+
+	@Test
+	public void test_entities_page_deserialization_benchmark() throws Exception {
+		String json = buildPage();
+		assertEquals(PAGE_SIZE, parseSinglePass(json).getData().size());
+		assertEquals(PAGE_SIZE, parseViaMaps(json).getData().size());
+		assertEquals("test_automated", parseSinglePass(json).getData().get(7).getEntityValue("test").getType());
+		assertEquals("test_automated", parseViaMaps(json).getData().get(7).getEntityValue("test").getType());
+
+		//  warm up
+		for (int i = 0; i < ITERATIONS; i++) {
+			parseSinglePass(json);
+			parseViaMaps(json);
+		}
+
+		long started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			parseViaMaps(json);
+		}
+		long viaMapsNanos = System.nanoTime() - started;
+
+		started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			parseSinglePass(json);
+		}
+		long singlePassNanos = System.nanoTime() - started;
+
+		logger.info("page of " + PAGE_SIZE + " entities: via maps " + viaMapsNanos / ITERATIONS / 1000 + " us, single pass " +
+				singlePassNanos / ITERATIONS / 1000 + " us");
+	}
+
+	private static ResponseEntityList parseSinglePass(String json) {
+		return dtoFactory.dtoFromJson(json, ResponseEntityList.class);
+	}
+
+	//  the former path: Jackson materializes each field value as Map / List, then setField converts it once again
+	private static ResponseEntityList parseViaMaps(String json) throws Exception {
+		Map<String, Object> page = objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {
+		});
+		ResponseEntityList result = dtoFactory.newDTO(ResponseEntityList.class);
+		result.setTotalCount((int) page.get("total_count"));
+		for (Map<String, Object> item : (List<Map<String, Object>>) page.get("data")) {
+			Entity entity = dtoFactory.newDTO(Entity.class);
+			item.forEach(entity::setField);
+			result.addEntity(entity);
+		}
+		return result;
+	}
+
+	private static String buildPage() {
+		StringBuilder sb = new StringBuilder("{\"total_count\":").append(PAGE_SIZE).append(",\"data\":[");
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append("{\"type\":\"run\",\"id\":\"").append(1000 + i).append("\",\"name\":\"run ").append(i)
+					.append("\",\"duration\":").append(i * 10)
+					.append(",\"test\":{\"type\":\"test_automated\",\"id\":\"").append(5000 + i)
+					.append("\",\"name\":\"test ").append(i).append("\",\"package\":\"com.example\",\"class_name\":\"SomeTest\"")
+					.append(",\"product_areas\":{\"total_count\":2,\"data\":[{\"type\":\"product_area\",\"id\":\"3001\"},{\"type\":\"product_area\",\"id\":\"3002\"}]}}")
+					.append(",\"release\":{\"type\":\"release\",\"id\":\"1001\"}}");
+		}
+		return sb.append("],\"exceeds_total_count\":false}").toString();
+	}
+}
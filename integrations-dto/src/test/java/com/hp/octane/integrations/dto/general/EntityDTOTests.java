@@ -38,6 +38,9 @@ import com.hp.octane.integrations.dto.pipelines.PipelineContextList;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Created by gullery on 03/01/2016.
  */
@@ -115,6 +118,34 @@ public class EntityDTOTests {
         Assert.assertEquals(1, serializedList.getData().size());
     }
 
+    @Test
+    public void testParseNestedEntities() {
+        String json = "{\"total_count\":1,\"data\":[{\"type\":\"run\",\"id\":\"1001\",\"duration\":15,\"rate\":0.5,\"latest\":true,\"tags\":[\"a\",\"b\"]," +
+                "\"test\":{\"type\":\"test_automated\",\"id\":\"2001\",\"name\":\"some test\",\"product_areas\":{\"total_count\":1,\"data\":[{\"type\":\"product_area\",\"id\":\"3001\"}]}}," +
+                "\"release\":null,\"custom\":{\"key\":\"value\"}}],\"exceeds_total_count\":false}";
+        ResponseEntityList list = dtoFactory.dtoFromJson(json, ResponseEntityList.class);
+        Assert.assertEquals(1, list.getTotalCount());
+        Entity run = list.getData().get(0);
+        Assert.assertEquals("run", run.getType());
+        Assert.assertEquals(15, ((Number) run.getField("duration")).intValue());
+        Assert.assertEquals(0.5, run.getField("rate"));
+        Assert.assertTrue(run.getBooleanValue("latest"));
+        Assert.assertEquals(2, ((List) run.getField("tags")).size());
+        Assert.assertTrue(run.containsField("release"));
+        Assert.assertNull(run.getField("release"));
+        Assert.assertEquals("value", ((Map) run.getField("custom")).get("key"));
+
+        Entity test = run.getEntityValue("test");
+        Assert.assertEquals("2001", test.getId());
+        Assert.assertEquals("some test", test.getName());
+        ResponseEntityList productAreas = (ResponseEntityList) test.getField("product_areas");
+        Assert.assertEquals(1, productAreas.getTotalCount());
+        Assert.assertEquals("3001", productAreas.getData().get(0).getId());
+
+        Entity reparsed = dtoFactory.dtoFromJson(dtoFactory.dtoToJson(run), Entity.class);
+        Assert.assertEquals("2001", reparsed.getEntityValue("test").getId());
+    }
+
     @Test
     public void testParseOctaneException() {
         String json = "{\"error_code\":\"platform.web_application\",\"correlation_id\":\"o5jp1yvjo54lxbjmo7dxz12v6\",\"description\":\"HTTP 404 Not Found\",\"description_translated\":\"HTTP 404 Not Found\",\"properties\":null,\"stack_trace\":\"java.ws.rs.NotFoundException: HTTP 404\",\"business_error\":false}\n";
@@ -146,6 +146,17 @@ public abstract class CIPluginServices {
 		return null;
 	}
 
+	/**
+	 * Tells whether the job is visible to the workspace, used to serve workspace scoped jobs lists from the SDK's jobs list cache
+	 *
+	 * @param jobCiId     Job CI ID as provided in the jobs list
+	 * @param workspaceId workspace id the request comes from
+	 * @return TRUE/FALSE if known; MAY be NULL, meaning plugin does not scope jobs per workspace and the whole list is served
+	 */
+	public Boolean isJobVisibleInWorkspace(String jobCiId, Long workspaceId) {
+		return null;
+	}
+
 	/**
 	 * Provides Pipeline (structure) from the root CI Job
 	 *
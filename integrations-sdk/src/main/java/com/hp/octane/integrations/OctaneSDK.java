@@ -37,6 +37,7 @@ import com.hp.octane.integrations.dto.general.OctaneConnectivityStatus;
 import com.hp.octane.integrations.exceptions.OctaneConnectivityException;
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
 import com.hp.octane.integrations.services.entities.EntitiesService;
+import com.hp.octane.integrations.services.SharedWorkersPool;
 import com.hp.octane.integrations.services.rest.RestService;
 import com.hp.octane.integrations.utils.CIPluginSDKUtils;
 import org.apache.logging.log4j.LogManager;
@@ -52,6 +53,8 @@ import java.util.*;
 public final class OctaneSDK {
 	private static final Logger logger = LogManager.getLogger(OctaneSDK.class);
 	private static final Map<OctaneConfiguration, OctaneClient> clients = new LinkedHashMap<>();
+	private static final int WORKERS_POOL_SIZE = System.getProperty("octane.sdk.workers.pool-size") != null ? Integer.parseInt(System.getProperty("octane.sdk.workers.pool-size")) : 16;
+	private static final SharedWorkersPool workersPool = new SharedWorkersPool(WORKERS_POOL_SIZE);
 
 	public static final Integer API_VERSION;
 	public static final String SDK_VERSION;
@@ -257,16 +260,27 @@ public final class OctaneSDK {
 		return clients.keySet().stream().noneMatch(oc -> (oc.getUrl() + oc.getSharedSpace()).equals(host + sharedSpace));
 	}
 
+	/**
+	 * Returns metrics of the background workers pool shared by all the clients
+	 *
+	 * @return metrics map
+	 */
+	public static Map<String, Object> getWorkersPoolMetrics() {
+		return workersPool.getMetrics();
+	}
+
 	/**
 	 * This class designed for internal usage only and effectively non-usable / should not be used for any other purpose
 	 */
 	public static final class SDKServicesConfigurer {
 		public final OctaneConfiguration octaneConfiguration;
 		public final CIPluginServices pluginServices;
+		public final SharedWorkersPool workersPool;
 
 		private SDKServicesConfigurer(OctaneConfiguration octaneConfiguration, CIPluginServices pluginServices) {
 			this.octaneConfiguration = octaneConfiguration;
 			this.pluginServices = pluginServices;
+			this.workersPool = OctaneSDK.workersPool;
 		}
 	}
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * TTL and size bounded cache of the preflight answers of Octane, keyed by (kind, server, job, root job)
+ * Negative answers (job is not interesting for any workspace) are cached as well, but for a shorter time,
+ * so that the job that becomes interesting will be picked up soon enough
+ * Failures of the preflight are never cached, the exception of the loader is propagated as is
+ */
+public final class PreflightCache {
+	private final long ttl;
+	private final long negativeTtl;
+	private final int maxSize;
+	private final Map<Key, Entry> entries;
+
+	//Metrics
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	public enum Kind {
+		TESTS_RESULT,
+		BUILD_LOG_WORKSPACES,
+		COVERAGE
+	}
+
+	/**
+	 * @param ttl         time to live (in millis) of the positive answer, 0 or negative to disable the cache
+	 * @param negativeTtl time to live (in millis) of the negative answer, 0 or negative to not cache negative answers
+	 * @param maxSize     max number of the cached answers, least recently used ones are evicted first
+	 */
+	public PreflightCache(long ttl, long negativeTtl, int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("max size MUST be positive");
+		}
+		this.ttl = ttl;
+		this.negativeTtl = negativeTtl;
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				if (size() > PreflightCache.this.maxSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * returns the cached answer or loads it (outside of the cache lock) and caches it
+	 *
+	 * @param kind      kind of the preflight
+	 * @param serverId  CI server instance ID
+	 * @param jobId     job CI ID
+	 * @param rootJobId root job CI ID, may be null
+	 * @param loader    performs the actual preflight request
+	 * @param positive  tells whether the answer is positive (job is interesting), used to pick the TTL
+	 * @param <T>       type of the answer
+	 * @return preflight answer
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Kind kind, String serverId, String jobId, String rootJobId, Supplier<T> loader, Predicate<T> positive) {
+		if (ttl <= 0) {
+			return loader.get();
+		}
+
+		Key key = new Key(kind, serverId, jobId, rootJobId);
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry != null) {
+				if (entry.expiresAt > System.currentTimeMillis()) {
+					hits++;
+					return (T) entry.value;
+				}
+				entries.remove(key);
+			}
+			misses++;
+		}
+
+		T value = loader.get();
+		long entryTtl = positive.test(value) ? ttl : negativeTtl;
+		if (entryTtl > 0) {
+			synchronized (entries) {
+				entries.put(key, new Entry(value, System.currentTimeMillis() + entryTtl));
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * drops all the cached answers, to be used when the roots known to Octane are reloaded
+	 */
+	public void invalidate() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * drops the cached answers of the jobs run under the specified root job
+	 *
+	 * @param rootJobId root job CI ID
+	 */
+	public void invalidateRootJob(String rootJobId) {
+		synchronized (entries) {
+			Iterator<Key> iterator = entries.keySet().iterator();
+			while (iterator.hasNext()) {
+				Key key = iterator.next();
+				if (Objects.equals(key.rootJobId, rootJobId) || (key.rootJobId == null && Objects.equals(key.jobId, rootJobId))) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	public void addMetrics(Map<String, Object> metricsMap) {
+		synchronized (entries) {
+			metricsMap.put("preflightCache_size", entries.size());
+			metricsMap.put("preflightCache_hits", hits);
+			metricsMap.put("preflightCache_misses", misses);
+			metricsMap.put("preflightCache_evictions", evictions);
+		}
+	}
+
+	private static final class Key {
+		private final Kind kind;
+		private final String serverId;
+		private final String jobId;
+		private final String rootJobId;
+
+		private Key(Kind kind, String serverId, String jobId, String rootJobId) {
+			this.kind = kind;
+			this.serverId = serverId;
+			this.jobId = jobId;
+			this.rootJobId = rootJobId == null || rootJobId.isEmpty() ? null : rootJobId;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Key key = (Key) o;
+			return kind == key.kind &&
+					Objects.equals(serverId, key.serverId) &&
+					Objects.equals(jobId, key.jobId) &&
+					Objects.equals(rootJobId, key.rootJobId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(kind, serverId, jobId, rootJobId);
+		}
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long expiresAt;
+
+		private Entry(Object value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
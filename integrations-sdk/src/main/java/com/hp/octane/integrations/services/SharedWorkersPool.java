@@ -0,0 +1,352 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of worker threads shared by the background workers of all the clients
+ * Each worker is a cycle that performs a single step of its work and returns the delay (in millis) until its next run,
+ * instead of occupying a dedicated thread which sleeps most of the time
+ * Ready workers are picked fairly: round robin between the clients, and within the client between its services (each worker is queued at most once)
+ * Pool grows up to the number of the registered workers, so that workers blocked in their cycles (e.g. on HTTP) never starve the others;
+ * threads beyond the pool size are stopped once idle for a while.
+ */
+public final class SharedWorkersPool {
+	private static final Logger logger = LogManager.getLogger(SharedWorkersPool.class);
+	private static final long CYCLE_FAILURE_PAUSE = 15000;
+	private static final long DEFAULT_IDLE_THREAD_KEEP_ALIVE = 60000;
+
+	private final int poolSize;
+	private final long idleThreadKeepAlive;
+	private final Object readyMonitor = new Object();
+	private final Map<String, ArrayDeque<WorkerHandle>> readyWorkers = new LinkedHashMap<>();
+	private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(new SharedWorkersThreadFactory("SharedWorkersTimer-"));
+	private final ThreadFactory workersThreadFactory = new SharedWorkersThreadFactory("SharedWorker-");
+	private int startedThreads = 0;
+	private int idleThreads = 0;
+	private int pendingWakeUps = 0;
+	private int registeredWorkers = 0;
+	private int maxStartedThreads = 0;
+
+	//Metrics
+	private long cyclesCount = 0;
+	private long queueWaitTotal = 0;
+	private long queueWaitMax = 0;
+	private long queueWaitLast = 0;
+
+	/**
+	 * @param poolSize number of threads kept when idle, more threads are started while more of the registered workers are running at once
+	 */
+	public SharedWorkersPool(int poolSize) {
+		this(poolSize, DEFAULT_IDLE_THREAD_KEEP_ALIVE);
+	}
+
+	/**
+	 * @param poolSize            number of threads kept when idle, more threads are started while more of the registered workers are running at once
+	 * @param idleThreadKeepAlive time (in millis) the thread beyond the pool size is kept idle before it is stopped
+	 */
+	public SharedWorkersPool(int poolSize, long idleThreadKeepAlive) {
+		if (poolSize < 1) {
+			throw new IllegalArgumentException("pool size MUST be positive");
+		}
+		if (idleThreadKeepAlive <= 0) {
+			throw new IllegalArgumentException("idle thread keep alive MUST be positive");
+		}
+		this.poolSize = poolSize;
+		this.idleThreadKeepAlive = idleThreadKeepAlive;
+	}
+
+	/**
+	 * registers worker cycle in the pool, the first run of the cycle is scheduled immediately
+	 *
+	 * @param clientId    id of the client the worker belongs to, used for the fair selection between the clients
+	 * @param serviceName name of the service, for logging only
+	 * @param cycle       worker cycle
+	 * @return handle of the registered worker
+	 */
+	public WorkerHandle register(String clientId, String serviceName, WorkerCycle cycle) {
+		if (clientId == null || clientId.isEmpty()) {
+			throw new IllegalArgumentException("client ID MUST NOT be null nor empty");
+		}
+		if (cycle == null) {
+			throw new IllegalArgumentException("cycle MUST NOT be null");
+		}
+
+		WorkerHandle handle = new WorkerHandle(clientId, serviceName, cycle);
+		synchronized (readyMonitor) {
+			registeredWorkers++;
+			makeReady(handle);
+		}
+		return handle;
+	}
+
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		synchronized (readyMonitor) {
+			map.put("poolSize", poolSize);
+			map.put("startedThreads", startedThreads);
+			map.put("maxStartedThreads", maxStartedThreads);
+			map.put("busyThreads", startedThreads - idleThreads);
+			map.put("registeredWorkers", registeredWorkers);
+			map.put("readyWorkers", readyWorkers.values().stream().mapToInt(ArrayDeque::size).sum());
+			map.put("cyclesCount", cyclesCount);
+			map.put("avgQueueWait", cyclesCount == 0 ? 0 : queueWaitTotal / cyclesCount);
+			map.put("maxQueueWait", queueWaitMax);
+			map.put("lastQueueWait", queueWaitLast);
+		}
+		return map;
+	}
+
+	//  must be called under ready monitor
+	private void makeReady(WorkerHandle handle) {
+		handle.state = WorkerState.READY;
+		handle.readySince = System.currentTimeMillis();
+		readyWorkers.computeIfAbsent(handle.clientId, k -> new ArrayDeque<>()).add(handle);
+		//  idle thread already notified (but not yet back on the monitor) is not counted as available for the next ready worker
+		if (idleThreads > pendingWakeUps) {
+			pendingWakeUps++;
+			readyMonitor.notify();
+		} else if (startedThreads < Math.max(poolSize, registeredWorkers)) {
+			startedThreads++;
+			maxStartedThreads = Math.max(maxStartedThreads, startedThreads);
+			workersThreadFactory.newThread(this::worker).start();
+		}
+	}
+
+	//  must be called under ready monitor
+	private WorkerHandle pollReady() {
+		Iterator<Map.Entry<String, ArrayDeque<WorkerHandle>>> iterator = readyWorkers.entrySet().iterator();
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		Map.Entry<String, ArrayDeque<WorkerHandle>> clientEntry = iterator.next();
+		WorkerHandle result = clientEntry.getValue().poll();
+
+		//  client is moved to the end of the line, so that the next ready worker is taken from other client
+		iterator.remove();
+		if (!clientEntry.getValue().isEmpty()) {
+			readyWorkers.put(clientEntry.getKey(), clientEntry.getValue());
+		}
+		return result;
+	}
+
+	//  infallible pool thread, lasts forever unless it is beyond the pool size and stays idle for the keep alive period
+	private void worker() {
+		while (true) {
+			WorkerHandle handle;
+			synchronized (readyMonitor) {
+				long idleSince = System.currentTimeMillis();
+				while ((handle = pollReady()) == null) {
+					long idleLeft = idleThreadKeepAlive - (System.currentTimeMillis() - idleSince);
+					if (startedThreads > poolSize && idleLeft <= 0) {
+						startedThreads--;
+						return;
+					}
+					idleThreads++;
+					try {
+						readyMonitor.wait(startedThreads > poolSize ? idleLeft : 0);
+					} catch (InterruptedException ie) {
+						logger.warn("interrupted while waiting for ready worker, ignoring", ie);
+					} finally {
+						idleThreads--;
+						if (pendingWakeUps > 0) {
+							pendingWakeUps--;
+						}
+					}
+				}
+				handle.state = WorkerState.RUNNING;
+				long queueWait = System.currentTimeMillis() - handle.readySince;
+				cyclesCount++;
+				queueWaitTotal += queueWait;
+				queueWaitMax = Math.max(queueWaitMax, queueWait);
+				queueWaitLast = queueWait;
+				handle.cyclesCount++;
+				handle.queueWaitTotal += queueWait;
+				handle.queueWaitMax = Math.max(handle.queueWaitMax, queueWait);
+			}
+
+			long delay;
+			try {
+				delay = handle.cycle.run();
+			} catch (Throwable throwable) {
+				logger.error("unexpected failure in " + handle.serviceName + " worker of " + handle.clientId + ", will retry in " + CYCLE_FAILURE_PAUSE + "ms", throwable);
+				delay = CYCLE_FAILURE_PAUSE;
+			}
+
+			synchronized (readyMonitor) {
+				handle.cycleDone(delay);
+			}
+		}
+	}
+
+	@FunctionalInterface
+	public interface WorkerCycle {
+
+		/**
+		 * performs single step of the worker, should not block longer than needed to perform the step itself
+		 *
+		 * @return delay in millis until the next run of the worker, 0 or negative to rerun as soon as possible
+		 */
+		long run();
+	}
+
+	private enum WorkerState {
+		SCHEDULED,
+		READY,
+		RUNNING,
+		CANCELLED
+	}
+
+	public final class WorkerHandle {
+		private final String clientId;
+		private final String serviceName;
+		private final WorkerCycle cycle;
+		private WorkerState state;
+		private boolean wakeUpRequested;
+		private long readySince;
+		private ScheduledFuture<?> scheduledRun;
+
+		//Metrics
+		private long cyclesCount = 0;
+		private long queueWaitTotal = 0;
+		private long queueWaitMax = 0;
+
+		private WorkerHandle(String clientId, String serviceName, WorkerCycle cycle) {
+			this.clientId = clientId;
+			this.serviceName = serviceName;
+			this.cycle = cycle;
+		}
+
+		/**
+		 * shortens the delay requested by the last cycle, if the worker is running right now - it will be rerun immediately when done
+		 */
+		public void wakeUp() {
+			synchronized (readyMonitor) {
+				if (state == WorkerState.SCHEDULED) {
+					scheduledRun.cancel(false);
+					scheduledRun = null;
+					makeReady(this);
+				} else if (state == WorkerState.RUNNING) {
+					wakeUpRequested = true;
+				}
+			}
+		}
+
+		/**
+		 * removes the worker from the pool, cycle that is currently running (if any) is not interrupted
+		 */
+		public void cancel() {
+			synchronized (readyMonitor) {
+				if (state == WorkerState.CANCELLED) {
+					return;
+				}
+				if (state == WorkerState.SCHEDULED) {
+					scheduledRun.cancel(false);
+					scheduledRun = null;
+				} else if (state == WorkerState.READY) {
+					ArrayDeque<WorkerHandle> clientWorkers = readyWorkers.get(clientId);
+					clientWorkers.remove(this);
+					if (clientWorkers.isEmpty()) {
+						readyWorkers.remove(clientId);
+					}
+				}
+				state = WorkerState.CANCELLED;
+				registeredWorkers--;
+			}
+		}
+
+		public boolean isCancelled() {
+			synchronized (readyMonitor) {
+				return state == WorkerState.CANCELLED;
+			}
+		}
+
+		public void addMetrics(Map<String, Object> metricsMap) {
+			synchronized (readyMonitor) {
+				metricsMap.put("workerCyclesCount", cyclesCount);
+				metricsMap.put("workerAvgQueueWait", cyclesCount == 0 ? 0 : queueWaitTotal / cyclesCount);
+				metricsMap.put("workerMaxQueueWait", queueWaitMax);
+			}
+		}
+
+		//  must be called under ready monitor
+		private void cycleDone(long delay) {
+			if (state == WorkerState.CANCELLED) {
+				return;
+			}
+			if (wakeUpRequested || delay <= 0) {
+				wakeUpRequested = false;
+				makeReady(this);
+			} else {
+				state = WorkerState.SCHEDULED;
+				scheduledRun = timer.schedule(this::scheduledRunDue, delay, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		private void scheduledRunDue() {
+			synchronized (readyMonitor) {
+				if (state == WorkerState.SCHEDULED) {
+					scheduledRun = null;
+					makeReady(this);
+				}
+			}
+		}
+	}
+
+	private static final class SharedWorkersThreadFactory implements ThreadFactory {
+		private final String namePrefix;
+
+		private SharedWorkersThreadFactory(String namePrefix) {
+			this.namePrefix = namePrefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread result = new Thread(runnable);
+			result.setName(namePrefix + result.getId());
+			result.setDaemon(true);
+			return result;
+		}
+	}
+}
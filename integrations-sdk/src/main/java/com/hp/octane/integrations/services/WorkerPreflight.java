@@ -32,78 +32,156 @@
 package com.hp.octane.integrations.services;
 
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
-import com.hp.octane.integrations.utils.CIPluginSDKUtils;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Date;
 import java.util.Map;
 
+/**
+ * Signal driven gate of the queue worker: the worker is let through when its queue has items and the client is connected,
+ * otherwise the worker is parked until woken up by an enqueue, by a connectivity change or by the expiry of the backoff.
+ * Long delays returned for the parked worker are the safety net only.
+ */
 public class WorkerPreflight {
 
 
-    private final static int QUEUE_EMPTY_INTERVAL = 10000;
-    private final static int REGULAR_CYCLE_PAUSE = 400;
-    private final static int NO_CONNECTION_PAUSE = 30000;
-    private final static int AFTER_RECONNECTION_PAUSE = 90000;
-    private final Object EMPTY_QUEUE_MONITOR = new Object();
+    private final static int QUEUE_EMPTY_INTERVAL = 60000;
+    private final long NO_CONNECTION_PAUSE = System.getProperty("octane.sdk.worker.no-connection-pause") != null ? Long.parseLong(System.getProperty("octane.sdk.worker.no-connection-pause")) : 30000;
+    private final long AFTER_RECONNECTION_PAUSE = System.getProperty("octane.sdk.worker.after-reconnection-pause") != null ? Long.parseLong(System.getProperty("octane.sdk.worker.after-reconnection-pause")) : 90000;
 
     private ConfigurationService confService;
     private HasQueueService service;
     private Logger logger;
+    private volatile SharedWorkersPool.WorkerHandle worker;
+    private final Runnable connectivityListener = this::connectivityChanged;
 
     private boolean previousIterationWasNotConnected;
     private long lastIterationTime = 0;
+    private long pausedUntil = 0;
     private boolean waitAfterConnected = true;
 
+    //Metrics
+    private long gateClosedSince = 0;
+    private long gateWaitsCount = 0;
+    private long totalGateWait = 0;
+    private long lastGateWait = 0;
+    private long maxGateWait = 0;
+
     public WorkerPreflight(HasQueueService service, ConfigurationService confService, Logger logger) {
         this.service = service;
         this.logger = logger;
         this.confService = confService;
+        confService.addConnectivityListener(connectivityListener);
     }
 
-    public boolean preflight() {
-
-        lastIterationTime = System.currentTimeMillis();
-        CIPluginSDKUtils.doWait(REGULAR_CYCLE_PAUSE);
-
+    /**
+     * Checks whether the worker may process its queue now. Never blocks, the worker is expected to return the delay to the workers pool.
+     *
+     * @return 0 if the worker may proceed, otherwise the delay (in millis) after which the worker should retry if not woken up earlier
+     */
+    public long preflight() {
+        long now = System.currentTimeMillis();
         if (service.getQueueSize() == 0) {
-            CIPluginSDKUtils.doBreakableWait(QUEUE_EMPTY_INTERVAL, EMPTY_QUEUE_MONITOR);
-            return false;
+            gateOpened(now, false);
+            return QUEUE_EMPTY_INTERVAL;
         }
 
         if (confService.getConfiguration().isDisabled()) {
             logger.error(confService.getConfiguration().getLocationForLog() + "client is disabled, removing " + service.getQueueSize() + " items from queue");
             service.clearQueue();
-            return false;
+            gateOpened(now, false);
+            return QUEUE_EMPTY_INTERVAL;
         }
 
         if (!confService.isConnected()) {
             //logger.warn(confService.getConfiguration().geLocationForLog() + "client is not connected. waiting " + NO_CONNECTION_PAUSE / 1000 + " sec");
-            CIPluginSDKUtils.doWait(NO_CONNECTION_PAUSE);
             previousIterationWasNotConnected = true;
-            return false;
+            gateClosed(now);
+            return NO_CONNECTION_PAUSE;
         }
         if (previousIterationWasNotConnected && waitAfterConnected) {
             logger.warn(confService.getConfiguration().getLocationForLog() + "client is connected now. Giving time to events to be sent.");
-            CIPluginSDKUtils.doWait(AFTER_RECONNECTION_PAUSE);
             previousIterationWasNotConnected = false;
-            return false;
+            pausedUntil = now + AFTER_RECONNECTION_PAUSE;
+        }
+        previousIterationWasNotConnected = false;
+        if (now < pausedUntil) {
+            gateClosed(now);
+            return pausedUntil - now;
         }
 
-        return true;
+        gateOpened(now, true);
+        lastIterationTime = now;
+        return 0;
     }
 
     /**
-     * Indicate preflight that item is added to queue, If preflight is waiting on emptyList, waiting time will be shortened.
+     * Attaches preflight to the worker it guards, so that the worker could be woken up on enqueue and on connectivity change
+     */
+    public void setWorker(SharedWorkersPool.WorkerHandle worker) {
+        this.worker = worker;
+
+        //  items could be enqueued before the worker was attached
+        worker.wakeUp();
+    }
+
+    /**
+     * Indicate preflight that item is added to queue, If worker is waiting on emptyList, it is woken up right away.
      */
     public void itemAddedToQueue() {
-        synchronized (EMPTY_QUEUE_MONITOR) {
-            EMPTY_QUEUE_MONITOR.notify();
+        wakeUpWorker();
+    }
+
+    /**
+     * Detaches preflight from the connectivity changes, to be called on shutdown of the guarded service
+     */
+    public void shutdown() {
+        confService.removeConnectivityListener(connectivityListener);
+    }
+
+    private void connectivityChanged() {
+        wakeUpWorker();
+    }
+
+    private void wakeUpWorker() {
+        SharedWorkersPool.WorkerHandle worker = this.worker;
+        if (worker != null) {
+            worker.wakeUp();
+        }
+    }
+
+    private void gateClosed(long now) {
+        if (gateClosedSince == 0) {
+            gateClosedSince = now;
         }
     }
 
+    //  only the time the items were held by the gate is counted, waiting on the empty queue is not
+    private void gateOpened(long now, boolean itemsWaited) {
+        if (gateClosedSince > 0 && itemsWaited) {
+            long gateWait = now - gateClosedSince;
+            gateWaitsCount++;
+            totalGateWait += gateWait;
+            lastGateWait = gateWait;
+            maxGateWait = Math.max(maxGateWait, gateWait);
+        }
+        gateClosedSince = 0;
+    }
+
     public void addMetrics(Map<String, Object> metricsMap){
         metricsMap.put("lastIterationTime", new Date(lastIterationTime));
+        metricsMap.put("gateWaitsCount", gateWaitsCount);
+        metricsMap.put("avgGateWait", gateWaitsCount == 0 ? 0 : totalGateWait / gateWaitsCount);
+        metricsMap.put("lastGateWait", lastGateWait);
+        metricsMap.put("maxGateWait", maxGateWait);
+        long closedSince = gateClosedSince;
+        if (closedSince > 0) {
+            metricsMap.put("gateClosedSince", new Date(closedSince));
+        }
+        SharedWorkersPool.WorkerHandle worker = this.worker;
+        if (worker != null) {
+            worker.addMetrics(metricsMap);
+        }
     }
 
     public void setWaitAfterConnection(boolean waitAfterConnected) {
@@ -40,6 +40,7 @@ import com.hp.octane.integrations.dto.general.CIServerTypes;
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
 import com.hp.octane.integrations.services.configuration.ConfigurationServiceImpl;
 import com.hp.octane.integrations.services.rest.OctaneRestClient;
+import com.hp.octane.integrations.services.rest.OctaneStreamingResponse;
 import com.hp.octane.integrations.services.rest.RestService;
 import com.hp.octane.integrations.services.tasking.TasksProcessor;
 import com.hp.octane.integrations.utils.CIPluginSDKUtils;
@@ -48,17 +49,17 @@ import org.apache.http.entity.ContentType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.net.SocketException;
 import java.net.UnknownHostException;
-import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Bridge Service meant to provide an abridged connection functionality
@@ -72,7 +73,6 @@ final class BridgeServiceImpl implements BridgeService {
     private final Set<String> failedSharedSpaces = new HashSet<>();
 
     private final ExecutorService connectivityExecutors = Executors.newFixedThreadPool(5, new AbridgedConnectivityExecutorsFactory());
-    private final ExecutorService taskProcessingExecutors = Executors.newFixedThreadPool(10, new AbridgedTasksExecutorsFactory());
 
     private final OctaneSDK.SDKServicesConfigurer configurer;
     private final RestService restService;
@@ -91,6 +91,17 @@ final class BridgeServiceImpl implements BridgeService {
     private long lastRequestTimeoutTime = 0;
 
     private final int PUT_ABRIDGE_RESULT_TIMEOUT = System.getProperty("octane.sdk.bridge.abridge_result_timeout") != null ? Integer.parseInt(System.getProperty("octane.sdk.bridge.abridge_result_timeout")) : 20;
+    private final int TASK_THREADS = System.getProperty("octane.sdk.bridge.task_threads") != null ? Integer.parseInt(System.getProperty("octane.sdk.bridge.task_threads")) : 10;
+    private final int TASK_QUEUE_SIZE = System.getProperty("octane.sdk.bridge.task_queue_size") != null ? Integer.parseInt(System.getProperty("octane.sdk.bridge.task_queue_size")) : 500;
+    // Octane stops waiting for the task result after 30 sec, the rest is left for the result submission
+    private final int TASK_DEADLINE = System.getProperty("octane.sdk.bridge.task_deadline") != null ? Integer.parseInt(System.getProperty("octane.sdk.bridge.task_deadline")) : 25;
+
+    private final int RESULTS_WINDOW = System.getProperty("octane.sdk.bridge.results_window") != null ? Integer.parseInt(System.getProperty("octane.sdk.bridge.results_window")) : 50;
+    private final int RESULTS_BATCH_SIZE = System.getProperty("octane.sdk.bridge.results_batch_size") != null ? Integer.parseInt(System.getProperty("octane.sdk.bridge.results_batch_size")) : 20;
+    private final boolean BULK_RESULTS_ENABLED = Boolean.parseBoolean(System.getProperty("octane.sdk.bridge.bulk_results"));
+
+    private final TaskScheduler taskScheduler = new TaskScheduler(TASK_THREADS, TASK_QUEUE_SIZE, TimeUnit.SECONDS.toMillis(TASK_DEADLINE), new AbridgedTasksExecutorsFactory());
+    private final TaskResultsSubmitter resultsSubmitter;
 
     BridgeServiceImpl(OctaneSDK.SDKServicesConfigurer configurer, RestService restService, TasksProcessor tasksProcessor, ConfigurationService configurationService) {
         if (configurer == null) {
@@ -110,6 +121,7 @@ final class BridgeServiceImpl implements BridgeService {
         this.configurer = configurer;
         this.restService = restService;
         this.tasksProcessor = tasksProcessor;
+        this.resultsSubmitter = new TaskResultsSubmitter(configurer, restService, PUT_ABRIDGE_RESULT_TIMEOUT, RESULTS_WINDOW, RESULTS_BATCH_SIZE, BULK_RESULTS_ENABLED);
 
         logger.info(configurer.octaneConfiguration.getLocationForLog() + "starting background worker...");
         connectivityExecutors.execute(this::worker);
@@ -127,6 +139,8 @@ final class BridgeServiceImpl implements BridgeService {
         map.put("requestTimeoutCount", this.requestTimeoutCount);
         map.put("forcedGetOctaneConnectivityStatus.calls", this.forcedGetOctaneConnectivityStatusCalls);
         map.put("continuousExceptionsCounter", this.continuousExceptionsCounter);
+        taskScheduler.addMetrics(map);
+        resultsSubmitter.addMetrics(map);
 
         if (lastRequestTimeoutTime > 0) {
             map.put("lastRequestTimeoutTime", new Date(lastRequestTimeoutTime));
@@ -138,19 +152,20 @@ final class BridgeServiceImpl implements BridgeService {
     public void shutdown() {
         logger.info(configurer.octaneConfiguration.getLocationForLog() + "shutdown");
         connectivityExecutors.shutdown();
-        taskProcessingExecutors.shutdown();
+        taskScheduler.shutdown();
+        resultsSubmitter.shutdown();
         changeServiceState(ServiceState.Closed);
     }
 
     @Override
     public boolean isShutdown() {
-        return connectivityExecutors.isShutdown() || taskProcessingExecutors.isShutdown();
+        return connectivityExecutors.isShutdown() || taskScheduler.isShutdown();
     }
 
     //  infallible everlasting background worker
     private void worker() {
         try {
-            String tasksJSON = null;
+            OctaneTaskAbridged[] tasks = null;
             CIServerInfo serverInfo = configurer.pluginServices.getServerInfo();
             CIPluginInfo pluginInfo = configurer.pluginServices.getPluginInfo();
             String client = configurer.octaneConfiguration.getClient();
@@ -172,7 +187,7 @@ final class BridgeServiceImpl implements BridgeService {
                 CIPluginSDKUtils.doWait(20 * 1000);//wait 20 sec
             } else {
                 //  get tasks, wait if needed and return with task or timeout or error
-                tasksJSON = getAbridgedTasks(
+                tasks = getAbridgedTasks(
                         configurer.octaneConfiguration.getInstanceId(),
                         serverInfo.getType() == null ? CIServerTypes.UNKNOWN.value() : serverInfo.getType(),
                         serverInfo.getUrl() == null ? "" : serverInfo.getUrl(),
@@ -189,8 +204,8 @@ final class BridgeServiceImpl implements BridgeService {
             }
 
             //  now can process the received tasks - if any
-            if (tasksJSON != null && !tasksJSON.isEmpty()) {
-                handleTasks(tasksJSON);
+            if (tasks != null) {
+                handleTasks(tasks);
             }
         } catch (Throwable t) {
             try {
@@ -219,12 +234,12 @@ final class BridgeServiceImpl implements BridgeService {
         //logger.info(configurer.octaneConfiguration.geLocationForLog() + "State changed to " + newState);
     }
 
-    private String getAbridgedTasks(String selfIdentity, String selfType, String selfUrl, String pluginVersion, String octaneUser, String ciServerUser) {
+    private OctaneTaskAbridged[] getAbridgedTasks(String selfIdentity, String selfType, String selfUrl, String pluginVersion, String octaneUser, String ciServerUser) {
         if (failedSharedSpaces.contains(configurer.octaneConfiguration.getSharedSpace() + configurer.octaneConfiguration.getInstanceId())) {
             return null;
         }
 
-        String responseBody = null;
+        OctaneTaskAbridged[] tasks = null;
         OctaneRestClient octaneRestClient = restService.obtainOctaneRestClient();
         Map<String, String> headers = new HashMap<>();
         headers.put(RestService.ACCEPT_HEADER, ContentType.APPLICATION_JSON.getMimeType());
@@ -243,39 +258,9 @@ final class BridgeServiceImpl implements BridgeService {
                 .setHeaders(headers);
         try {
             changeServiceState(ServiceState.WaitingToOctane);
-            OctaneResponse octaneResponse = octaneRestClient.execute(octaneRequest);
-            changeServiceState(ServiceState.AfterWaitingToOctane);
-            if (octaneResponse.getStatus() == HttpStatus.SC_OK) {
-                responseBody = octaneResponse.getBody();
-                if (CIPluginSDKUtils.isServiceTemporaryUnavailable(responseBody)) {
-                    breathingOnException("Saas service is temporary unavailable.", 60, null);
-                    responseBody = null;
-                } else {
-                    setConnectionSuccessful();
-                }
-            } else {
-                if (octaneResponse.getStatus() == HttpStatus.SC_NO_CONTENT) {
-                    logger.debug(configurer.octaneConfiguration.getLocationForLog() + "no tasks found on server");
-                    setConnectionSuccessful();
-                } else if (CIPluginSDKUtils.isSharedSpaceIllegal(octaneResponse.getBody())) {
-                    failedSharedSpaces.add(configurer.octaneConfiguration.getSharedSpace() + configurer.octaneConfiguration.getInstanceId());
-                } else if (octaneResponse.getStatus() == HttpStatus.SC_REQUEST_TIMEOUT) {
-                    logger.debug(configurer.octaneConfiguration.getLocationForLog() + "expected timeout disconnection on retrieval of abridged tasks, reconnecting immediately...");
-                    setConnectionSuccessful();
-                } else if (octaneResponse.getStatus() == HttpStatus.SC_SERVICE_UNAVAILABLE || octaneResponse.getStatus() == HttpStatus.SC_BAD_GATEWAY) {
-                    breathingOnException("Octane service is unavailable.", 30, null);
-                } else if (octaneResponse.getStatus() == HttpStatus.SC_UNAUTHORIZED) {
-                    breathingOnException("Connection to Octane failed: authentication error.", 30, null);
-                } else if (octaneResponse.getStatus() == HttpStatus.SC_FORBIDDEN) {
-                    breathingOnException("Connection to Octane failed: authorization error.", 30, null);
-                } else if (octaneResponse.getStatus() == HttpStatus.SC_NOT_FOUND) {
-                    breathingOnException("Connection to Octane failed: 404, validate proxy settings, maybe missing 'No Proxy Host' setting?", 30, null);
-                } else if (octaneResponse.getStatus() == HttpStatus.SC_TEMPORARY_REDIRECT) {
-                    breathingOnException("Task polling request is redirected. Possibly Octane service is unavailable now.", 30, null);
-                } else {
-                    String output = octaneResponse.getBody() == null ? "" : octaneResponse.getBody().substring(0, Math.min(octaneResponse.getBody().length(), 2000));//don't print more that 2000 characters
-                    breathingOnException("Unexpected response from Octane; status: " + octaneResponse.getStatus() + ", content: " + output + ".", 20, null);
-                }
+            try (OctaneStreamingResponse octaneResponse = octaneRestClient.executeStreaming(octaneRequest)) {
+                changeServiceState(ServiceState.AfterWaitingToOctane);
+                tasks = handleAbridgedTasksResponse(octaneResponse);
             }
         } catch (InterruptedIOException ie) {
             requestTimeoutCount++;
@@ -289,7 +274,71 @@ final class BridgeServiceImpl implements BridgeService {
         } catch (Throwable t) {
             breathingOnException("Unexpected error during retrieval of abridged tasks", 30, t);
         }
-        return responseBody;
+        return tasks;
+    }
+
+    private OctaneTaskAbridged[] handleAbridgedTasksResponse(OctaneStreamingResponse octaneResponse) throws IOException {
+        OctaneTaskAbridged[] tasks = null;
+        if (octaneResponse.getStatus() == HttpStatus.SC_OK) {
+            //  tasks are parsed directly from the response stream, anything but JSON array (e.g. error page of SaaS) is read as text
+            BufferedInputStream body = new BufferedInputStream(octaneResponse.getBody());
+            if (startsWithJsonArray(body)) {
+                setConnectionSuccessful();
+                try {
+                    logger.info(configurer.octaneConfiguration.getLocationForLog() + "parsing tasks...");
+                    tasks = dtoFactory.dtoCollectionFromJson(body, OctaneTaskAbridged[].class);
+                } catch (Exception e) {
+                    logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to process tasks", e);
+                }
+            } else {
+                String responseBody = CIPluginSDKUtils.inputStreamToUTF8String(body);
+                if (CIPluginSDKUtils.isServiceTemporaryUnavailable(responseBody)) {
+                    breathingOnException("Saas service is temporary unavailable.", 60, null);
+                } else {
+                    setConnectionSuccessful();
+                    if (!responseBody.trim().isEmpty()) {
+                        logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to process tasks, unexpected content: " +
+                                responseBody.substring(0, Math.min(responseBody.length(), 2000)));
+                    }
+                }
+            }
+        } else {
+            String responseBody = octaneResponse.getBodyAsString();
+            if (octaneResponse.getStatus() == HttpStatus.SC_NO_CONTENT) {
+                logger.debug(configurer.octaneConfiguration.getLocationForLog() + "no tasks found on server");
+                setConnectionSuccessful();
+            } else if (CIPluginSDKUtils.isSharedSpaceIllegal(responseBody)) {
+                failedSharedSpaces.add(configurer.octaneConfiguration.getSharedSpace() + configurer.octaneConfiguration.getInstanceId());
+            } else if (octaneResponse.getStatus() == HttpStatus.SC_REQUEST_TIMEOUT) {
+                logger.debug(configurer.octaneConfiguration.getLocationForLog() + "expected timeout disconnection on retrieval of abridged tasks, reconnecting immediately...");
+                setConnectionSuccessful();
+            } else if (octaneResponse.getStatus() == HttpStatus.SC_SERVICE_UNAVAILABLE || octaneResponse.getStatus() == HttpStatus.SC_BAD_GATEWAY) {
+                breathingOnException("Octane service is unavailable.", 30, null);
+            } else if (octaneResponse.getStatus() == HttpStatus.SC_UNAUTHORIZED) {
+                breathingOnException("Connection to Octane failed: authentication error.", 30, null);
+            } else if (octaneResponse.getStatus() == HttpStatus.SC_FORBIDDEN) {
+                breathingOnException("Connection to Octane failed: authorization error.", 30, null);
+            } else if (octaneResponse.getStatus() == HttpStatus.SC_NOT_FOUND) {
+                breathingOnException("Connection to Octane failed: 404, validate proxy settings, maybe missing 'No Proxy Host' setting?", 30, null);
+            } else if (octaneResponse.getStatus() == HttpStatus.SC_TEMPORARY_REDIRECT) {
+                breathingOnException("Task polling request is redirected. Possibly Octane service is unavailable now.", 30, null);
+            } else {
+                String output = responseBody.substring(0, Math.min(responseBody.length(), 2000));//don't print more that 2000 characters
+                breathingOnException("Unexpected response from Octane; status: " + octaneResponse.getStatus() + ", content: " + output + ".", 20, null);
+            }
+        }
+        return tasks;
+    }
+
+    private static boolean startsWithJsonArray(BufferedInputStream body) throws IOException {
+        body.mark(1024);
+        int next;
+        int skipped = 0;
+        do {
+            next = body.read();
+        } while (next != -1 && Character.isWhitespace(next) && ++skipped < 1000);
+        body.reset();
+        return next == '[';
     }
 
     private void setConnectionSuccessful() {
@@ -311,58 +360,34 @@ final class BridgeServiceImpl implements BridgeService {
         CIPluginSDKUtils.doWait(secs * 1000);
     }
 
-    private void handleTasks(String tasksJSON) {
+    private void handleTasks(OctaneTaskAbridged[] tasks) {
         try {
-            logger.info(configurer.octaneConfiguration.getLocationForLog() + "parsing tasks...");
-            OctaneTaskAbridged[] tasks = dtoFactory.dtoCollectionFromJson(tasksJSON, OctaneTaskAbridged[].class);
             logger.info(configurer.octaneConfiguration.getLocationForLog() + "parsed " + tasks.length + " tasks, processing...");
+            long receivedAt = System.currentTimeMillis();
             for (final OctaneTaskAbridged task : tasks) {
-                if (taskProcessingExecutors.isShutdown()) {
+                if (taskScheduler.isShutdown()) {
                     break;
                 }
-                taskProcessingExecutors.execute(() -> {
-                    OctaneResultAbridged result = tasksProcessor.execute(task);
-                    int submitStatus = putAbridgedResult(
-                            configurer.octaneConfiguration.getInstanceId(),
-                            result.getId(),
-                            result, false);
-                    logger.info(configurer.octaneConfiguration.getLocationForLog() + "result for task '" + result.getId() + "' submitted with status " + submitStatus);
-                });
+                boolean queued = taskScheduler.submit(task, receivedAt, () -> {
+                    OctaneResultAbridged result = tasksProcessor.execute(task, receivedAt + TimeUnit.SECONDS.toMillis(TASK_DEADLINE));
+                    resultsSubmitter.submit(result);
+                }, () -> logger.warn(configurer.octaneConfiguration.getLocationForLog() + "task '" + task.getId() + "' (" + task.getUrl() + ") waited more than " + TASK_DEADLINE + " sec, dropped"));
+                if (!queued) {
+                    logger.warn(configurer.octaneConfiguration.getLocationForLog() + "tasks queue is full, task '" + task.getId() + "' (" + task.getUrl() + ") is rejected");
+                    OctaneResultAbridged result = dtoFactory.newDTO(OctaneResultAbridged.class)
+                            .setId(task.getId())
+                            .setServiceId(configurer.octaneConfiguration.getInstanceId())
+                            .setStatus(HttpStatus.SC_SERVICE_UNAVAILABLE)
+                            .setHeaders(new HashMap<>())
+                            .setBody("tasks queue is full, try again later");
+                    resultsSubmitter.submit(result);
+                }
             }
         } catch (Exception e) {
             logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to process tasks", e);
         }
     }
 
-    private int putAbridgedResult(String selfIdentity, String taskId, OctaneResultAbridged result, boolean rerun) {
-        InputStream contentJSON = dtoFactory.dtoToJsonStream(result);
-        OctaneRestClient octaneRestClientImpl = restService.obtainOctaneRestClient();
-        Map<String, String> headers = new LinkedHashMap<>();
-        headers.put(RestService.CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType());
-        OctaneRequest octaneRequest = dtoFactory.newDTO(OctaneRequest.class)
-                .setMethod(HttpMethod.PUT)
-                .setUrl(configurer.octaneConfiguration.getUrl() +
-                        RestService.SHARED_SPACE_INTERNAL_API_PATH_PART + configurer.octaneConfiguration.getSharedSpace() +
-                        RestService.ANALYTICS_CI_PATH_PART + "servers/" + selfIdentity + "/tasks/" + taskId + "/result")
-                .setHeaders(headers)
-                .setBody(contentJSON)
-                .setTimeoutSec(PUT_ABRIDGE_RESULT_TIMEOUT);// timeout on Octane side is 30 sec so enable timeout that one retry will be executed
-        long start = System.currentTimeMillis();
-        try {
-            OctaneResponse octaneResponse = octaneRestClientImpl.execute(octaneRequest);
-            return octaneResponse.getStatus();
-        } catch (IOException ioe) {
-            logger.error("{}failed to submit abridged task's result {}, rerun = {}, start = {} ,timeout = {} sec, took = {} ms",taskId, configurer.octaneConfiguration.getLocationForLog(),
-                    rerun,new SimpleDateFormat("dd/MM/yyyy HH:mm:ss,SSS").format(new Date(start)),PUT_ABRIDGE_RESULT_TIMEOUT,System.currentTimeMillis() - start, ioe);
-            if(!rerun) {
-                CIPluginSDKUtils.doWait(1000);
-                return putAbridgedResult(selfIdentity, taskId, result, true);
-            } else {
-                return 0;
-            }
-        }
-    }
-
     private static final class AbridgedConnectivityExecutorsFactory implements ThreadFactory {
         public Thread newThread(Runnable runnable) {
             Thread result = new Thread(runnable);
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.bridge;
+
+import com.hp.octane.integrations.OctaneSDK;
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.connectivity.HttpMethod;
+import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
+import com.hp.octane.integrations.dto.connectivity.OctaneResultAbridged;
+import com.hp.octane.integrations.services.rest.RestService;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.ContentType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Coalescing stage of the abridged task results: results finishing within a short window are submitted to Octane in a single bulk request.
+ * If Octane does not support the bulk submission, the results are submitted one by one, as before.
+ * Submission is non-blocking, failed submission is retried once after a delay without holding any thread.
+ */
+final class TaskResultsSubmitter {
+    private static final Logger logger = LogManager.getLogger(TaskResultsSubmitter.class);
+    private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+    private static final Set<Integer> BULK_UNSUPPORTED_STATUSES = Stream.of(HttpStatus.SC_NOT_FOUND, HttpStatus.SC_METHOD_NOT_ALLOWED, HttpStatus.SC_NOT_IMPLEMENTED).collect(Collectors.toSet());
+    private static final long RETRY_DELAY = 1000;
+
+    private final OctaneSDK.SDKServicesConfigurer configurer;
+    private final RestService restService;
+    private final int resultTimeout;
+    private final long window;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new AbridgedResultsSubmitterFactory());
+    private final Object pendingLock = new Object();
+    private List<OctaneResultAbridged> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private volatile boolean bulkSupported;
+
+    //Metrics
+    private final AtomicLong submittedResults = new AtomicLong();
+    private final AtomicLong bulkRequests = new AtomicLong();
+    private final AtomicLong individualRequests = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failedResults = new AtomicLong();
+
+    /**
+     * @param resultTimeout timeout (in seconds) of the result submission request
+     * @param window        time (in millis) the result waits for the other results to be submitted together; 0 or less submits each result on its own
+     * @param maxBatchSize  max number of results in one bulk request
+     * @param bulkEnabled   whether bulk submission should be attempted at all
+     */
+    TaskResultsSubmitter(OctaneSDK.SDKServicesConfigurer configurer, RestService restService, int resultTimeout, long window, int maxBatchSize, boolean bulkEnabled) {
+        this.configurer = configurer;
+        this.restService = restService;
+        this.resultTimeout = resultTimeout;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.bulkSupported = bulkEnabled;
+    }
+
+    void submit(OctaneResultAbridged result) {
+        submittedResults.incrementAndGet();
+        if (window <= 0 || !bulkSupported) {
+            putResult(result, false);
+            return;
+        }
+
+        boolean flushNow = false;
+        synchronized (pendingLock) {
+            pending.add(result);
+            if (pending.size() >= maxBatchSize) {
+                flushNow = true;
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduleQuietly(this::flush, window);
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    void shutdown() {
+        flush();
+        scheduler.shutdown();
+    }
+
+    void addMetrics(Map<String, Object> metricsMap) {
+        metricsMap.put("taskResults.submitted", submittedResults.get());
+        metricsMap.put("taskResults.bulkRequests", bulkRequests.get());
+        metricsMap.put("taskResults.individualRequests", individualRequests.get());
+        metricsMap.put("taskResults.retries", retries.get());
+        metricsMap.put("taskResults.failed", failedResults.get());
+        metricsMap.put("taskResults.bulkSupported", bulkSupported);
+    }
+
+    private void flush() {
+        List<OctaneResultAbridged> batch;
+        synchronized (pendingLock) {
+            batch = pending;
+            pending = new ArrayList<>();
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+        }
+        if (batch.size() > 1 && bulkSupported) {
+            putResults(batch, false);
+        } else {
+            batch.forEach(result -> putResult(result, false));
+        }
+    }
+
+    private void putResults(List<OctaneResultAbridged> batch, boolean rerun) {
+        bulkRequests.incrementAndGet();
+        long start = System.currentTimeMillis();
+        OctaneRequest octaneRequest = createResultRequest("results")
+                .setBody(dtoFactory.dtoCollectionToJsonStream(batch));
+        restService.obtainOctaneRestClient().executeAsync(octaneRequest).whenComplete((octaneResponse, failure) -> {
+            if (failure != null) {
+                logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to submit " + batch.size() + " abridged task results, rerun = " + rerun +
+                        ", took = " + (System.currentTimeMillis() - start) + " ms", failure);
+                if (!rerun) {
+                    retries.incrementAndGet();
+                    scheduleQuietly(() -> putResults(batch, true), RETRY_DELAY);
+                } else {
+                    failedResults.addAndGet(batch.size());
+                }
+            } else if (octaneResponse.getStatus() >= 200 && octaneResponse.getStatus() < 300) {
+                for (OctaneResultAbridged result : batch) {
+                    logger.info(configurer.octaneConfiguration.getLocationForLog() + "result for task '" + result.getId() + "' submitted in bulk of " + batch.size() + " with status " + octaneResponse.getStatus());
+                }
+            } else {
+                //  the bulk was not accepted as a whole, so each result gets its own chance
+                if (BULK_UNSUPPORTED_STATUSES.contains(octaneResponse.getStatus())) {
+                    bulkSupported = false;
+                    logger.info(configurer.octaneConfiguration.getLocationForLog() + "bulk submission of task results is not supported (status " + octaneResponse.getStatus() + "), falling back to submission one by one");
+                } else {
+                    logger.warn(configurer.octaneConfiguration.getLocationForLog() + "bulk of " + batch.size() + " abridged task results failed with status " + octaneResponse.getStatus() + ", submitting them one by one");
+                }
+                batch.forEach(result -> putResult(result, false));
+            }
+        });
+    }
+
+    private void putResult(OctaneResultAbridged result, boolean rerun) {
+        individualRequests.incrementAndGet();
+        long start = System.currentTimeMillis();
+        OctaneRequest octaneRequest = createResultRequest(result.getId() + "/result")
+                .setBody(dtoFactory.dtoToJsonStream(result));
+        restService.obtainOctaneRestClient().executeAsync(octaneRequest).whenComplete((octaneResponse, failure) -> {
+            if (failure != null) {
+                logger.error("{}failed to submit abridged task's result {}, rerun = {}, start = {} ,timeout = {} sec, took = {} ms", configurer.octaneConfiguration.getLocationForLog(), result.getId(),
+                        rerun, new SimpleDateFormat("dd/MM/yyyy HH:mm:ss,SSS").format(new Date(start)), resultTimeout, System.currentTimeMillis() - start, failure);
+                if (!rerun) {
+                    retries.incrementAndGet();
+                    scheduleQuietly(() -> putResult(result, true), RETRY_DELAY);
+                } else {
+                    failedResults.incrementAndGet();
+                }
+            } else {
+                logger.info(configurer.octaneConfiguration.getLocationForLog() + "result for task '" + result.getId() + "' submitted with status " + octaneResponse.getStatus());
+            }
+        });
+    }
+
+    private OctaneRequest createResultRequest(String resultPath) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(RestService.CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType());
+        return dtoFactory.newDTO(OctaneRequest.class)
+                .setMethod(HttpMethod.PUT)
+                .setUrl(configurer.octaneConfiguration.getUrl() +
+                        RestService.SHARED_SPACE_INTERNAL_API_PATH_PART + configurer.octaneConfiguration.getSharedSpace() +
+                        RestService.ANALYTICS_CI_PATH_PART + "servers/" + configurer.octaneConfiguration.getInstanceId() + "/tasks/" + resultPath)
+                .setHeaders(headers)
+                .setTimeoutSec(resultTimeout);// timeout on Octane side is 30 sec so enable timeout that one retry will be executed
+    }
+
+    private ScheduledFuture<?> scheduleQuietly(Runnable runnable, long delay) {
+        try {
+            return scheduler.schedule(runnable, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ree) {
+            logger.warn(configurer.octaneConfiguration.getLocationForLog() + "task results submitter is shut down, submitting right away");
+            runnable.run();
+            return null;
+        }
+    }
+
+    private static final class AbridgedResultsSubmitterFactory implements ThreadFactory {
+        public Thread newThread(Runnable runnable) {
+            Thread result = new Thread(runnable);
+            result.setName("AbridgedResultsSubmitter-" + result.getId());
+            result.setDaemon(true);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.bridge;
+
+import com.hp.octane.integrations.dto.connectivity.OctaneTaskAbridged;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded priority scheduler of the abridged tasks: cheap tasks that Octane waits for (status, run) are executed before the heavy ones
+ * (jobs list, branches), and the tasks that waited in queue beyond the deadline are dropped, since Octane is not waiting for them anymore
+ */
+final class TaskScheduler {
+
+    /**
+     * Priority classes of the tasks, in the order of their priority
+     */
+    enum TaskClass {
+        STATUS("status"),
+        RUN("run"),
+        BUILD_STATUS("build-status"),
+        BULK("bulk");
+
+        private static final String NGA_API = "nga/api/v1/";
+        private final String metricsName;
+
+        TaskClass(String metricsName) {
+            this.metricsName = metricsName;
+        }
+
+        static TaskClass of(OctaneTaskAbridged task) {
+            String url = task.getUrl() == null ? "" : task.getUrl();
+            int apiIndex = url.indexOf(NGA_API);
+            String path = apiIndex < 0 ? url : url.substring(apiIndex + NGA_API.length());
+            int queryIndex = path.indexOf('?');
+            if (queryIndex >= 0) {
+                path = path.substring(0, queryIndex);
+            }
+            String[] parts = path.split("/");
+            String first = parts[0];
+            String last = parts[parts.length - 1];
+            if ("status".equals(first) || "suspend_status".equals(first)) {
+                return STATUS;
+            } else if (first.startsWith("jobs") && parts.length > 2 && ("run".equals(last) || "stop".equals(last))) {
+                return RUN;
+            } else if ("build_status".equalsIgnoreCase(first)) {
+                return BUILD_STATUS;
+            } else {
+                return BULK;
+            }
+        }
+    }
+
+    //  upper bounds (in millis) of the latency histogram buckets, the last bucket is unbounded
+    private static final long[] LATENCY_BUCKETS = {100, 500, 1000, 5000, 10000, 30000};
+
+    private final ThreadPoolExecutor executor;
+    private final int maxQueued;
+    private final long deadline;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<TaskClass, ClassStats> stats = new EnumMap<>(TaskClass.class);
+
+    TaskScheduler(int threads, int maxQueued, long deadline, ThreadFactory threadFactory) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), threadFactory);
+        this.maxQueued = maxQueued;
+        this.deadline = deadline;
+        for (TaskClass taskClass : TaskClass.values()) {
+            stats.put(taskClass, new ClassStats());
+        }
+    }
+
+    /**
+     * Queues the task for execution
+     *
+     * @param task       task to execute
+     * @param receivedAt time the task was received from Octane, the deadline is counted from
+     * @param execution  the execution of the task
+     * @param onDropped  called instead of the execution if the task has waited beyond the deadline
+     * @return false if the queue is full and the task was rejected
+     */
+    boolean submit(OctaneTaskAbridged task, long receivedAt, Runnable execution, Runnable onDropped) {
+        TaskClass taskClass = TaskClass.of(task);
+        ClassStats classStats = stats.get(taskClass);
+        if (executor.getQueue().size() >= maxQueued) {
+            classStats.rejected.incrementAndGet();
+            return false;
+        }
+        classStats.queued.incrementAndGet();
+        executor.execute(new ScheduledTask(taskClass, receivedAt, execution, onDropped));
+        return true;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    void addMetrics(Map<String, Object> metricsMap) {
+        metricsMap.put("tasks.activeCount", executor.getActiveCount());
+        metricsMap.put("tasks.queueSize", executor.getQueue().size());
+        for (TaskClass taskClass : TaskClass.values()) {
+            ClassStats classStats = stats.get(taskClass);
+            String prefix = "tasks." + taskClass.metricsName + ".";
+            metricsMap.put(prefix + "queued", classStats.queued.get());
+            metricsMap.put(prefix + "executed", classStats.executed.get());
+            metricsMap.put(prefix + "dropped", classStats.dropped.get());
+            metricsMap.put(prefix + "rejected", classStats.rejected.get());
+            for (int i = 0; i <= LATENCY_BUCKETS.length; i++) {
+                String bucket = i < LATENCY_BUCKETS.length ? "<=" + LATENCY_BUCKETS[i] + "ms" : ">" + LATENCY_BUCKETS[LATENCY_BUCKETS.length - 1] + "ms";
+                metricsMap.put(prefix + "wait." + bucket, classStats.waits.get(i));
+                metricsMap.put(prefix + "latency." + bucket, classStats.latencies.get(i));
+            }
+        }
+    }
+
+    private static int bucketOf(long millis) {
+        for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+            if (millis <= LATENCY_BUCKETS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKETS.length;
+    }
+
+    private static final class ClassStats {
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong executed = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLongArray waits = new AtomicLongArray(LATENCY_BUCKETS.length + 1);
+        private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_BUCKETS.length + 1);
+    }
+
+    private final class ScheduledTask implements Runnable, Comparable<ScheduledTask> {
+        private final TaskClass taskClass;
+        private final long receivedAt;
+        private final long order = sequence.incrementAndGet();
+        private final Runnable execution;
+        private final Runnable onDropped;
+
+        private ScheduledTask(TaskClass taskClass, long receivedAt, Runnable execution, Runnable onDropped) {
+            this.taskClass = taskClass;
+            this.receivedAt = receivedAt;
+            this.execution = execution;
+            this.onDropped = onDropped;
+        }
+
+        @Override
+        public void run() {
+            ClassStats classStats = stats.get(taskClass);
+            classStats.queued.decrementAndGet();
+            long started = System.currentTimeMillis();
+            classStats.waits.incrementAndGet(bucketOf(started - receivedAt));
+            if (started - receivedAt >= deadline) {
+                classStats.dropped.incrementAndGet();
+                onDropped.run();
+                return;
+            }
+            try {
+                execution.run();
+            } finally {
+                classStats.executed.incrementAndGet();
+                classStats.latencies.incrementAndGet(bucketOf(System.currentTimeMillis() - receivedAt));
+            }
+        }
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            int byClass = taskClass.compareTo(other.taskClass);
+            return byClass != 0 ? byClass : Long.compare(order, other.order);
+        }
+    }
+}
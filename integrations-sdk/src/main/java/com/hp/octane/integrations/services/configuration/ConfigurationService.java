@@ -35,11 +35,14 @@ import com.hp.octane.integrations.OctaneConfiguration;
 import com.hp.octane.integrations.OctaneSDK;
 import com.hp.octane.integrations.dto.general.OctaneConnectivityStatus;
 import com.hp.octane.integrations.services.HasMetrics;
+import com.hp.octane.integrations.services.PreflightCache;
 import com.hp.octane.integrations.services.rest.RestService;
 
 import java.io.IOException;
 import java.util.Collection;
 import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public interface ConfigurationService extends HasMetrics {
 
@@ -88,4 +91,38 @@ public interface ConfigurationService extends HasMetrics {
 	boolean removeFromOctaneRoots(String rootJob);
 
 	boolean isRelevantForOctane(Collection<String> rootJobs);
+
+	/**
+	 * Answers the preflight question (is the job interesting for any workspace) of the services of this client
+	 * Default implementation does not cache the answers, the preflight request is performed on every call
+	 *
+	 * @param kind      kind of the preflight
+	 * @param serverId  CI server instance ID
+	 * @param jobId     job CI ID
+	 * @param rootJobId root job CI ID, may be null
+	 * @param loader    performs the actual preflight request
+	 * @param positive  tells whether the answer is positive (job is interesting)
+	 * @param <T>       type of the answer
+	 * @return preflight answer
+	 */
+	default <T> T getPreflightAnswer(PreflightCache.Kind kind, String serverId, String jobId, String rootJobId, Supplier<T> loader, Predicate<T> positive) {
+		return loader.get();
+	}
+
+	/**
+	 * Registers listener to be called when the connectivity state changes
+	 * Default implementation does not report connectivity changes, the listener is never called
+	 *
+	 * @param listener listener, should be fast and non-blocking
+	 */
+	default void addConnectivityListener(Runnable listener) {
+	}
+
+	/**
+	 * Unregisters listener previously registered by addConnectivityListener
+	 *
+	 * @param listener listener to remove
+	 */
+	default void removeConnectivityListener(Runnable listener) {
+	}
 }
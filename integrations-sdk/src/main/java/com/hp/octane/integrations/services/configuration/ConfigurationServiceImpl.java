@@ -40,6 +40,7 @@ import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
 import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
 import com.hp.octane.integrations.dto.general.OctaneConnectivityStatus;
 import com.hp.octane.integrations.exceptions.OctaneConnectivityException;
+import com.hp.octane.integrations.services.PreflightCache;
 import com.hp.octane.integrations.services.configurationparameters.factory.ConfigurationParameterFactory;
 import com.hp.octane.integrations.services.rest.RestService;
 import com.hp.octane.integrations.utils.CIPluginSDKUtils;
@@ -51,9 +52,12 @@ import org.apache.logging.log4j.Logger;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -75,7 +79,12 @@ public final class ConfigurationServiceImpl implements ConfigurationService {
     private final RestService restService;
     private OctaneConnectivityStatus octaneConnectivityStatus;
     private volatile boolean isConnected;
+    private final List<Runnable> connectivityListeners = new CopyOnWriteArrayList<>();
     private ExecutorService octaneRootsCacheExecutor = Executors.newSingleThreadExecutor();
+    private final long PREFLIGHT_CACHE_TTL = System.getProperty("octane.sdk.preflight.cache.ttl") != null ? Long.parseLong(System.getProperty("octane.sdk.preflight.cache.ttl")) : 300000;
+    private final long PREFLIGHT_CACHE_NEGATIVE_TTL = System.getProperty("octane.sdk.preflight.cache.negative-ttl") != null ? Long.parseLong(System.getProperty("octane.sdk.preflight.cache.negative-ttl")) : 60000;
+    private final int PREFLIGHT_CACHE_SIZE = System.getProperty("octane.sdk.preflight.cache.size") != null ? Integer.parseInt(System.getProperty("octane.sdk.preflight.cache.size")) : 1000;
+    private final PreflightCache preflightCache = new PreflightCache(PREFLIGHT_CACHE_TTL, PREFLIGHT_CACHE_NEGATIVE_TTL, PREFLIGHT_CACHE_SIZE);
 
     ConfigurationServiceImpl(OctaneSDK.SDKServicesConfigurer configurer, RestService restService) {
         if (configurer == null) {
@@ -106,7 +115,7 @@ public final class ConfigurationServiceImpl implements ConfigurationService {
             if (forceFetch || octaneConnectivityStatus == null) {
                 octaneConnectivityStatus = validateConfigurationAndGetConnectivityStatus();
                 logger.info(configurer.octaneConfiguration.getLocationForLog() + "octaneConnectivityStatus : " + octaneConnectivityStatus);
-                isConnected = true;
+                setConnected(true);
                 resetOctaneRootsCache();
             }
         } catch (Exception e) {
@@ -149,7 +158,30 @@ public final class ConfigurationServiceImpl implements ConfigurationService {
     }
 
     public void setConnected(boolean connected) {
+        boolean changed = isConnected != connected;
         isConnected = connected;
+        if (changed) {
+            preflightCache.invalidate();
+            connectivityListeners.forEach(Runnable::run);
+        }
+    }
+
+    @Override
+    public void addConnectivityListener(Runnable listener) {
+        connectivityListeners.add(listener);
+    }
+
+    @Override
+    public void removeConnectivityListener(Runnable listener) {
+        connectivityListeners.remove(listener);
+    }
+
+    /**
+     * Preflight answers are cached for all the services of this client, the cache is invalidated whenever the roots known to Octane change
+     */
+    @Override
+    public <T> T getPreflightAnswer(PreflightCache.Kind kind, String serverId, String jobId, String rootJobId, Supplier<T> loader, Predicate<T> positive) {
+        return preflightCache.get(kind, serverId, jobId, rootJobId, loader, positive);
     }
 
     @Override
@@ -173,6 +205,7 @@ public final class ConfigurationServiceImpl implements ConfigurationService {
 
                     OctaneResponse response = restService.obtainOctaneRestClient().execute(request, configurer.octaneConfiguration);
                     octaneRoots = mapper.readValue(response.getBody(), mapper.getTypeFactory().constructCollectionType(Set.class, String.class));
+                    preflightCache.invalidate();
                     logger.info(configurer.octaneConfiguration.getLocationForLog() + "resetOctaneRootCache: successfully update octane roots, found " +
                             octaneRoots.size() + " roots, processing time is " + ((System.currentTimeMillis() - startTime) / 1000) + " seconds");
                     return true;
@@ -186,6 +219,7 @@ public final class ConfigurationServiceImpl implements ConfigurationService {
                 logger.info(configurer.octaneConfiguration.getLocationForLog() + "resetOctaneRootsCache : cache is cleared");
             }
             octaneRoots = null;
+            preflightCache.invalidate();
             return CompletableFuture.completedFuture(false);
         }
     }
@@ -194,6 +228,7 @@ public final class ConfigurationServiceImpl implements ConfigurationService {
     public void addToOctaneRootsCache(String rootJob) {
         if (octaneRoots != null && SdkStringUtils.isNotEmpty(rootJob)) {
             if (octaneRoots.add(rootJob)) {
+                preflightCache.invalidateRootJob(rootJob);
                 logger.info(configurer.octaneConfiguration.getLocationForLog() + "addToOctaneRootsCache: new root is added [" + rootJob + "]");
             }
         }
@@ -201,6 +236,7 @@ public final class ConfigurationServiceImpl implements ConfigurationService {
 
     @Override
     public boolean removeFromOctaneRoots(String rootJob) {
+        preflightCache.invalidateRootJob(rootJob);
         if (octaneRoots != null) {
             return octaneRoots.remove(rootJob);
         }
@@ -254,6 +290,7 @@ public final class ConfigurationServiceImpl implements ConfigurationService {
         if (isOctaneRootsCacheActivated() && octaneRoots != null) {
             map.put("octaneRootsCache_jobCount", octaneRoots.size());
         }
+        preflightCache.addMetrics(map);
         return map;
     }
 }
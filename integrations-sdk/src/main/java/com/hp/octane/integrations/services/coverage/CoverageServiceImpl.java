@@ -39,6 +39,8 @@ import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
 import com.hp.octane.integrations.dto.coverage.CoverageReportType;
 import com.hp.octane.integrations.exceptions.PermanentException;
 import com.hp.octane.integrations.exceptions.TemporaryException;
+import com.hp.octane.integrations.services.PreflightCache;
+import com.hp.octane.integrations.services.SharedWorkersPool;
 import com.hp.octane.integrations.services.WorkerPreflight;
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
 import com.hp.octane.integrations.services.configuration.ConfigurationServiceImpl;
@@ -58,9 +60,6 @@ import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 
 import static com.hp.octane.integrations.services.rest.RestService.CORRELATION_ID_HEADER;
 
@@ -73,13 +72,13 @@ class CoverageServiceImpl implements CoverageService {
 	private static final Logger logger = LogManager.getLogger(CoverageServiceImpl.class);
 	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
 
-	private final ExecutorService coveragePushExecutor = Executors.newSingleThreadExecutor(new CoveragePushWorkerThreadFactory());
 	private final String BUILD_COVERAGE_QUEUE_FILE = "coverage-push-queue.dat";
 	private final ObjectQueue<CoverageQueueItem> coveragePushQueue;
 	private final OctaneSDK.SDKServicesConfigurer configurer;
 	private final RestService restService;
 	protected final ConfigurationService configurationService;
 	private final WorkerPreflight workerPreflight;
+	private final SharedWorkersPool.WorkerHandle coveragePushWorker;
 
 	private int TEMPORARY_ERROR_BREATHE_INTERVAL = 15000;
 
@@ -109,34 +108,35 @@ class CoverageServiceImpl implements CoverageService {
 		}
 
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "starting background worker...");
-		coveragePushExecutor.execute(this::worker);
+		coveragePushWorker = configurer.workersPool.register(configurer.octaneConfiguration.getInstanceId(), "CoveragePushWorker", this::worker);
+		workerPreflight.setWorker(coveragePushWorker);
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "initialized SUCCESSFULLY (backed by " + coveragePushQueue.getClass().getSimpleName() + ")");
 	}
 
-	// infallible everlasting background worker
-	private void worker() {
-		while (!coveragePushExecutor.isShutdown()) {
-			if(!workerPreflight.preflight()){
-				continue;
-			}
+	// infallible background worker cycle, processes single queue item per run
+	private long worker() {
+		long preflightDelay = workerPreflight.preflight();
+		if (preflightDelay > 0) {
+			return preflightDelay;
+		}
 
-			CoverageQueueItem coverageQueueItem = null;
-			try {
-				coverageQueueItem = coveragePushQueue.peek();
-				pushCoverageWithPreflight(coverageQueueItem);
-				logger.debug(configurer.octaneConfiguration.getLocationForLog() + "successfully processed " + coverageQueueItem);
-				coveragePushQueue.remove();
-			} catch (TemporaryException te) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + coverageQueueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying", te);
-				CIPluginSDKUtils.doWait(TEMPORARY_ERROR_BREATHE_INTERVAL);
-			} catch (PermanentException pe) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + coverageQueueItem + ", passing over", pe);
-				coveragePushQueue.remove();
-			} catch (Throwable t) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build coverage item '" + coverageQueueItem + "', passing over", t);
-				coveragePushQueue.remove();
-			}
+		CoverageQueueItem coverageQueueItem = null;
+		try {
+			coverageQueueItem = coveragePushQueue.peek();
+			pushCoverageWithPreflight(coverageQueueItem);
+			logger.debug(configurer.octaneConfiguration.getLocationForLog() + "successfully processed " + coverageQueueItem);
+			coveragePushQueue.remove();
+		} catch (TemporaryException te) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + coverageQueueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying", te);
+			return TEMPORARY_ERROR_BREATHE_INTERVAL;
+		} catch (PermanentException pe) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + coverageQueueItem + ", passing over", pe);
+			coveragePushQueue.remove();
+		} catch (Throwable t) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build coverage item '" + coverageQueueItem + "', passing over", t);
+			coveragePushQueue.remove();
 		}
+		return 0;
 	}
 
 	@Override
@@ -145,6 +145,11 @@ class CoverageServiceImpl implements CoverageService {
 			throw new IllegalArgumentException("job ID MUST NOT be null nor empty");
 		}
 
+		return configurationService.getPreflightAnswer(PreflightCache.Kind.COVERAGE, configurer.octaneConfiguration.getInstanceId(), jobId, null,
+				() -> requestSonarReportRelevance(jobId), Boolean::booleanValue);
+	}
+
+	private boolean requestSonarReportRelevance(String jobId) {
 		boolean result = false;
 		OctaneResponse response;
 
@@ -267,12 +272,13 @@ class CoverageServiceImpl implements CoverageService {
 
 	@Override
 	public void shutdown() {
-		coveragePushExecutor.shutdown();
+		coveragePushWorker.cancel();
+		workerPreflight.shutdown();
 	}
 
 	@Override
 	public boolean isShutdown() {
-		return coveragePushExecutor.isShutdown();
+		return coveragePushWorker.isCancelled();
 	}
 
 	private void pushCoverageWithPreflight(CoverageQueueItem queueItem) {
@@ -345,15 +351,4 @@ class CoverageServiceImpl implements CoverageService {
 			return reportType + " of '" + jobId + " #" + buildId + "' " + " [optional fileName: " + reportFileName + "]";
 		}
 	}
-
-	private static final class CoveragePushWorkerThreadFactory implements ThreadFactory {
-
-		@Override
-		public Thread newThread(Runnable runnable) {
-			Thread result = new Thread(runnable);
-			result.setName("CoveragePushWorker-" + result.getId());
-			result.setDaemon(true);
-			return result;
-		}
-	}
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.entities;
+
+import com.hp.octane.integrations.dto.entities.Entity;
+import com.hp.octane.integrations.dto.entities.ResponseEntityList;
+
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Iterates over the pages of the entities collection, in order
+ * The first page is fetched on the first demand and reveals the total count; the following pages are prefetched concurrently,
+ * but never more than the window size ahead of the consumption (back-pressure)
+ * Iterator is NOT thread safe; it SHOULD be closed when abandoned before the end, to cancel the pages being prefetched
+ */
+final class EntitiesPagesIterator implements Iterator<List<Entity>>, Closeable {
+	private final BiFunction<Integer, Integer, String> pageUrlBuilder;
+	private final Function<String, ResponseEntityList> pageFetcher;
+	private final ExecutorService prefetchExecutor;
+	private final int windowSize;
+	private final int firstPageLimit;
+	private final Deque<Future<ResponseEntityList>> window = new ArrayDeque<>();
+
+	private boolean started;
+	private boolean exhausted;
+	private List<Entity> nextPage;
+	private int pageSize;
+	private int totalCount;
+	private int nextOffset;
+
+	EntitiesPagesIterator(BiFunction<Integer, Integer, String> pageUrlBuilder, Function<String, ResponseEntityList> pageFetcher,
+	                      ExecutorService prefetchExecutor, int windowSize, int firstPageLimit) {
+		this.pageUrlBuilder = pageUrlBuilder;
+		this.pageFetcher = pageFetcher;
+		this.prefetchExecutor = prefetchExecutor;
+		this.windowSize = Math.max(1, windowSize);
+		this.firstPageLimit = firstPageLimit;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (nextPage != null) {
+			return true;
+		}
+		if (exhausted) {
+			return false;
+		}
+
+		try {
+			ResponseEntityList page;
+			if (!started) {
+				//  first page reveals the total count and the actual page size (server may cap the requested limit)
+				started = true;
+				page = pageFetcher.apply(pageUrlBuilder.apply(0, firstPageLimit));
+				pageSize = page.getData() == null ? 0 : page.getData().size();
+				totalCount = page.getTotalCount();
+				nextOffset = pageSize;
+			} else if (!window.isEmpty()) {
+				page = awaitPage(window.poll());
+			} else {
+				page = null;
+			}
+
+			if (page == null || page.getData() == null || page.getData().isEmpty()) {
+				//  either all pages consumed or the collection shrunk while being read
+				close();
+				return false;
+			}
+			nextPage = page.getData();
+			fillWindow();
+			return true;
+		} catch (RuntimeException re) {
+			close();
+			throw re;
+		}
+	}
+
+	@Override
+	public List<Entity> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		List<Entity> result = nextPage;
+		nextPage = null;
+		return result;
+	}
+
+	@Override
+	public void close() {
+		exhausted = true;
+		window.forEach(future -> future.cancel(true));
+		window.clear();
+	}
+
+	private void fillWindow() {
+		while (pageSize > 0 && nextOffset < totalCount && window.size() < windowSize) {
+			String url = pageUrlBuilder.apply(nextOffset, pageSize);
+			window.add(prefetchExecutor.submit(() -> pageFetcher.apply(url)));
+			nextOffset += pageSize;
+		}
+	}
+
+	private static ResponseEntityList awaitPage(Future<ResponseEntityList> page) {
+		try {
+			return page.get();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("interrupted while fetching entities page", ie);
+		} catch (ExecutionException ee) {
+			if (ee.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ee.getCause();
+			}
+			throw new RuntimeException(ee.getCause().getMessage(), ee.getCause());
+		}
+	}
+}
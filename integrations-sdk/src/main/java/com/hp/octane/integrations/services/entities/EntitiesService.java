@@ -39,6 +39,8 @@ import com.hp.octane.integrations.dto.entities.Entity;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface EntitiesService {
 
@@ -71,6 +73,32 @@ public interface EntitiesService {
 
 	List<Entity> getEntities(Long workspaceId, String entityCollectionName, Collection<String> conditions, String orderBy, Collection<String> fields);
 
+	/**
+	 * Fetches all the entities matching the conditions, page by page; pages following the first one are prefetched concurrently
+	 *
+	 * @param workspaceId          workspace ID, NULL for shared space level collections
+	 * @param entityCollectionName collection name
+	 * @param conditions           query conditions, MAY be NULL
+	 * @param orderBy              order by clause, MAY be NULL
+	 * @param fields               fields to fetch, MAY be NULL
+	 * @param pageConsumer         receives the pages in order as they arrive, on the calling thread; MUST NOT be NULL
+	 */
+	void getEntities(Long workspaceId, String entityCollectionName, Collection<String> conditions, String orderBy, Collection<String> fields, Consumer<List<Entity>> pageConsumer);
+
+	/**
+	 * Streams the entities matching the conditions page by page, without materializing the whole collection
+	 * Pages are fetched lazily as the stream is consumed, prefetching no more than a bounded window of pages ahead
+	 * Stream SHOULD be closed (try-with-resources) when not consumed to the end, to cancel the pages being prefetched
+	 *
+	 * @param workspaceId          workspace ID, NULL for shared space level collections
+	 * @param entityCollectionName collection name
+	 * @param conditions           query conditions, MAY be NULL
+	 * @param orderBy              order by clause, MAY be NULL
+	 * @param fields               fields to fetch, MAY be NULL
+	 * @return sequential ordered stream of entities
+	 */
+	Stream<Entity> streamEntities(Long workspaceId, String entityCollectionName, Collection<String> conditions, String orderBy, Collection<String> fields);
+
 	List<Entity> getEntitiesByIds(Long workspaceId, String collectionName, Collection<?> ids);
 
 	List<Entity> getEntitiesByIds(Long workspaceId, String collectionName, Collection<?> ids, Collection<String> fields);
@@ -40,6 +40,7 @@ import com.hp.octane.integrations.dto.entities.*;
 import com.hp.octane.integrations.exceptions.OctaneBulkException;
 import com.hp.octane.integrations.exceptions.OctaneRestException;
 import com.hp.octane.integrations.services.rest.OctaneRestClient;
+import com.hp.octane.integrations.services.rest.OctaneStreamingResponse;
 import com.hp.octane.integrations.services.rest.RestService;
 import com.hp.octane.integrations.utils.SdkStringUtils;
 import org.apache.commons.collections4.ListUtils;
@@ -52,7 +53,11 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.hp.octane.integrations.services.rest.RestService.ACCEPT_HEADER;
 import static com.hp.octane.integrations.services.rest.RestService.CONTENT_TYPE_HEADER;
@@ -75,6 +80,8 @@ final class EntitiesServiceImpl implements EntitiesService {
     private static final String URI_PARAM_ENCODING = "UTF-8";
     private static final int MAX_GET_LIMIT = 1000;
 	private static final int MAX_UPDATE_LIMIT = 200;
+    private final int PREFETCH_PARALLELISM = System.getProperty("octane.sdk.entities.prefetch.parallelism") != null ? Integer.parseInt(System.getProperty("octane.sdk.entities.prefetch.parallelism")) : 4;
+    private final ThreadPoolExecutor prefetchExecutor;
 
     EntitiesServiceImpl(OctaneSDK.SDKServicesConfigurer configurer, RestService restService) {
         if (configurer == null) {
@@ -85,6 +92,9 @@ final class EntitiesServiceImpl implements EntitiesService {
         }
         this.configurer = configurer;
         this.restService = restService;
+        this.prefetchExecutor = new ThreadPoolExecutor(Math.max(1, PREFETCH_PARALLELISM), Math.max(1, PREFETCH_PARALLELISM), 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new PrefetchExecutorsFactory());
+        this.prefetchExecutor.allowCoreThreadTimeOut(true);
         logger.info(configurer.octaneConfiguration.getLocationForLog() + "initialized SUCCESSFULLY");
     }
 
@@ -208,18 +218,36 @@ final class EntitiesServiceImpl implements EntitiesService {
 
     @Override
     public List<Entity> getEntities(Long workspaceId, String entityCollectionName, Collection<String> conditions, String orderBy, Collection<String> fields) {
-
         List<Entity> result = new ArrayList<>();
-        int limit = MAX_GET_LIMIT;
-        boolean fetchedAll = false;
-        while (!fetchedAll) {
-            String url = buildEntityUrl(workspaceId, entityCollectionName, conditions, fields, result.size(), limit, orderBy);
-            ResponseEntityList responseEntityList = getPagedEntities(url);
-            result.addAll(responseEntityList.getData());
-            fetchedAll = responseEntityList.getData().isEmpty() || responseEntityList.getTotalCount() == 0 || responseEntityList.getTotalCount() == result.size();
+        getEntities(workspaceId, entityCollectionName, conditions, orderBy, fields, result::addAll);
+        return result;
+    }
+
+    @Override
+    public void getEntities(Long workspaceId, String entityCollectionName, Collection<String> conditions, String orderBy, Collection<String> fields, Consumer<List<Entity>> pageConsumer) {
+        if (pageConsumer == null) {
+            throw new IllegalArgumentException("page consumer MUST NOT be null");
+        }
+        try (EntitiesPagesIterator pages = newPagesIterator(workspaceId, entityCollectionName, conditions, orderBy, fields)) {
+            pages.forEachRemaining(pageConsumer);
         }
+    }
 
-        return result;
+    @Override
+    public Stream<Entity> streamEntities(Long workspaceId, String entityCollectionName, Collection<String> conditions, String orderBy, Collection<String> fields) {
+        EntitiesPagesIterator pages = newPagesIterator(workspaceId, entityCollectionName, conditions, orderBy, fields);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(pages::close)
+                .flatMap(List::stream);
+    }
+
+    private EntitiesPagesIterator newPagesIterator(Long workspaceId, String entityCollectionName, Collection<String> conditions, String orderBy, Collection<String> fields) {
+        return new EntitiesPagesIterator(
+                (offset, limit) -> buildEntityUrl(workspaceId, entityCollectionName, conditions, fields, offset, limit, orderBy),
+                this::getPagedEntities,
+                prefetchExecutor,
+                PREFETCH_PARALLELISM,
+                MAX_GET_LIMIT);
     }
 
     @Override
@@ -256,11 +284,17 @@ final class EntitiesServiceImpl implements EntitiesService {
                 .setMethod(HttpMethod.GET)
                 .setUrl(url)
                 .setHeaders(headers);
-        OctaneResponse response = executeRequest(octaneRestClient, request);
-
-        ResponseEntityList pagedEntityList = parseBody(HttpStatus.SC_OK, response);
 
-        return pagedEntityList;
+        //  pages are up to 1000 entities each, so the page is parsed directly from the response stream
+        try (OctaneStreamingResponse response = octaneRestClient.executeStreaming(request)) {
+            if (response.getStatus() == HttpStatus.SC_OK) {
+                return dtoFactory.dtoFromJson(response.getBody(), ResponseEntityList.class);
+            } else {
+                return parseBody(HttpStatus.SC_OK, response.getStatus(), response.getBodyAsString());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
     }
 
     private OctaneResponse executeRequest(OctaneRestClient octaneRestClient, OctaneRequest request) {
@@ -272,17 +306,20 @@ final class EntitiesServiceImpl implements EntitiesService {
     }
 
     private static ResponseEntityList parseBody(int expectedResult, OctaneResponse response) {
-        String body = response.getBody();
-        if (response.getStatus() == expectedResult) {
+        return parseBody(expectedResult, response.getStatus(), response.getBody());
+    }
+
+    private static ResponseEntityList parseBody(int expectedResult, int status, String body) {
+        if (status == expectedResult) {
             return dtoFactory.dtoFromJson(body, ResponseEntityList.class);
         } else {
             try {
                 if (body.contains("exceeds_total_count")) {
                     OctaneBulkExceptionData data = dtoFactory.dtoFromJson(body, OctaneBulkExceptionData.class);
-                    throw new OctaneBulkException(response.getStatus(), data);
+                    throw new OctaneBulkException(status, data);
                 } else {
                     OctaneRestExceptionData data = dtoFactory.dtoFromJson(body, OctaneRestExceptionData.class);
-                    throw new OctaneRestException(response.getStatus(), data);
+                    throw new OctaneRestException(status, data);
                 }
             } catch (OctaneRestException | OctaneBulkException ex1) {
                 throw ex1;
@@ -364,4 +401,12 @@ final class EntitiesServiceImpl implements EntitiesService {
         }
     }
 
+    private static final class PrefetchExecutorsFactory implements ThreadFactory {
+        public Thread newThread(Runnable runnable) {
+            Thread result = new Thread(runnable);
+            result.setName("EntitiesPrefetchWorker-" + result.getId());
+            result.setDaemon(true);
+            return result;
+        }
+    }
 }
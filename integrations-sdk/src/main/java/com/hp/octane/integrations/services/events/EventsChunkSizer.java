@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.events;
+
+import java.util.Map;
+
+/**
+ * Adaptive events chunk size
+ * - chunk size is doubled after a healthy round-trip of a full chunk, while the queue is deeper than the current chunk size
+ * - chunk size is halved on temporary failures (timeouts, 429, 502, 503)
+ * - chunk is capped by the serialized size of its events, regardless of the events count
+ * When adaptive sizing is disabled the chunk size is constant and there is no cap on the serialized size.
+ */
+final class EventsChunkSizer {
+	private final boolean adaptive;
+	private final int initialChunkSize;
+	private final int maxChunkSize;
+	private final long maxChunkBytes;
+	private final long healthyLatency;
+	private int chunkSize;
+
+	//Metrics
+	private long growCount = 0;
+	private long shrinkCount = 0;
+
+	EventsChunkSizer(boolean adaptive, int initialChunkSize, int maxChunkSize, long maxChunkBytes, long healthyLatency) {
+		if (initialChunkSize <= 0) {
+			throw new IllegalArgumentException("initial chunk size MUST be positive");
+		}
+		this.adaptive = adaptive;
+		this.initialChunkSize = initialChunkSize;
+		this.maxChunkSize = Math.max(initialChunkSize, maxChunkSize);
+		this.maxChunkBytes = maxChunkBytes;
+		this.healthyLatency = healthyLatency;
+		this.chunkSize = initialChunkSize;
+	}
+
+	synchronized int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * @return max serialized size of the chunk events in bytes, 0 if not limited
+	 */
+	long getMaxChunkBytes() {
+		return adaptive ? maxChunkBytes : 0;
+	}
+
+	/**
+	 * Reports successfully sent chunk
+	 *
+	 * @param sentEvents number of events sent in chunk
+	 * @param latency    round-trip of the chunk in millis
+	 * @param queueSize  number of events left in queue
+	 */
+	synchronized void onSuccess(int sentEvents, long latency, long queueSize) {
+		if (adaptive && sentEvents >= chunkSize && queueSize > chunkSize && latency <= healthyLatency && chunkSize < maxChunkSize) {
+			chunkSize = Math.min(maxChunkSize, chunkSize * 2);
+			growCount++;
+		}
+	}
+
+	/**
+	 * Reports chunk failed with temporary error (timeout, server overloaded/unavailable)
+	 */
+	synchronized void onTemporaryFailure() {
+		if (adaptive && chunkSize > 1) {
+			chunkSize = Math.max(1, chunkSize / 2);
+			shrinkCount++;
+		}
+	}
+
+	synchronized void addMetrics(Map<String, Object> metricsMap) {
+		metricsMap.put("chunkSize", chunkSize);
+		if (adaptive) {
+			metricsMap.put("initialChunkSize", initialChunkSize);
+			metricsMap.put("chunkSizeGrowCount", growCount);
+			metricsMap.put("chunkSizeShrinkCount", shrinkCount);
+		}
+	}
+}
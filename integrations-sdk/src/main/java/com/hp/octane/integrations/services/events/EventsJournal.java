@@ -0,0 +1,374 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.events;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only on-disk journal of the events
+ * - records are appended to segment files, each segment file is named by the sequence of its first record
+ * - record layout: [int length][int crc32][bytes]
+ * - appends are buffered, buffer is written and forced to disk in batches by flush (group commit)
+ * - read offset is kept as a checkpoint (sequence of the first not yet acknowledged record), segments fully behind it are deleted
+ * - on open, the records from the checkpoint on are replayed, a torn or corrupted tail (crash during write) is truncated
+ * Journal is not thread safe with regard to append, the caller is expected to serialize the appends.
+ */
+final class EventsJournal implements Closeable {
+	private static final Logger logger = LogManager.getLogger(EventsJournal.class);
+	private static final String SEGMENT_PREFIX = "events-";
+	private static final String SEGMENT_SUFFIX = ".seg";
+	private static final String CHECKPOINT_FILE = "checkpoint";
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	private final File directory;
+	private final long segmentSize;
+	private final TreeMap<Long, File> segments = new TreeMap<>();
+	private final Object flushLock = new Object();
+	private final RandomAccessFile checkpointFile;
+	private final List<byte[]> replayed = new ArrayList<>();
+	private long replayedFromSequence;
+
+	private FileOutputStream segmentStream;
+	private BufferedOutputStream segmentBuffer;
+	private long segmentBytes;
+	private long nextSequence;
+	private long checkpoint;
+	private boolean dirty;
+	private boolean closed;
+
+	//Metrics
+	private long appendedCount = 0;
+	private long flushCount = 0;
+	private long lastFlushDuration = 0;
+
+	EventsJournal(File directory, long segmentSize) throws IOException {
+		if (directory == null) {
+			throw new IllegalArgumentException("directory MUST NOT be null");
+		}
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("failed to create events journal directory " + directory);
+		}
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.checkpointFile = new RandomAccessFile(new File(directory, CHECKPOINT_FILE), "rw");
+		this.checkpoint = readCheckpoint();
+		recover();
+		openSegment(nextSequence);
+	}
+
+	/**
+	 * @return sequence of the first replayed record (if there are no records - the sequence of the next record to be appended)
+	 */
+	long getReplayedFromSequence() {
+		return replayedFromSequence;
+	}
+
+	/**
+	 * @return records found in journal on open and not acknowledged yet, in order of their sequences
+	 */
+	List<byte[]> getReplayed() {
+		return replayed;
+	}
+
+	long getNextSequence() {
+		return nextSequence;
+	}
+
+	/**
+	 * Appends record to the journal, the record is durable only after the following flush
+	 *
+	 * @param data record content
+	 * @return sequence of the appended record
+	 * @throws IOException in case of failure to write the record
+	 */
+	long append(byte[] data) throws IOException {
+		synchronized (flushLock) {
+			if (closed) {
+				throw new IOException("events journal is closed");
+			}
+			if (segmentBytes > 0 && segmentBytes + RECORD_HEADER_SIZE + data.length > segmentSize) {
+				rollSegment();
+			}
+			CRC32 crc = new CRC32();
+			crc.update(data, 0, data.length);
+			writeInt(segmentBuffer, data.length);
+			writeInt(segmentBuffer, (int) crc.getValue());
+			segmentBuffer.write(data);
+			segmentBytes += RECORD_HEADER_SIZE + data.length;
+			dirty = true;
+			appendedCount++;
+			return nextSequence++;
+		}
+	}
+
+	/**
+	 * Writes the buffered records to disk, forces them and stores the checkpoint
+	 * segments holding acknowledged records only are deleted
+	 *
+	 * @param acknowledgedSequence sequence of the first not yet acknowledged record
+	 * @throws IOException in case of failure to write
+	 */
+	void flush(long acknowledgedSequence) throws IOException {
+		synchronized (flushLock) {
+			if (closed) {
+				return;
+			}
+			long started = System.currentTimeMillis();
+			boolean checkpointChanged = acknowledgedSequence > checkpoint;
+			if (!dirty && !checkpointChanged) {
+				return;
+			}
+			if (dirty) {
+				segmentBuffer.flush();
+				segmentStream.getChannel().force(false);
+				dirty = false;
+			}
+			if (checkpointChanged) {
+				checkpoint = Math.min(acknowledgedSequence, nextSequence);
+				writeCheckpoint(checkpoint);
+				deleteAcknowledgedSegments();
+			}
+			flushCount++;
+			lastFlushDuration = System.currentTimeMillis() - started;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (flushLock) {
+			if (closed) {
+				return;
+			}
+			try {
+				segmentBuffer.flush();
+				segmentStream.getChannel().force(false);
+			} finally {
+				closed = true;
+				segmentStream.close();
+				checkpointFile.close();
+			}
+		}
+	}
+
+	/**
+	 * Closes the journal and deletes all of its segments and the checkpoint, so that nothing is replayed on the next open
+	 * used when the journal cannot be kept in sync with the events anymore
+	 */
+	void discard() {
+		synchronized (flushLock) {
+			try {
+				close();
+			} catch (IOException ioe) {
+				logger.warn("failed to close events journal before discarding it", ioe);
+			} finally {
+				segments.values().forEach(EventsJournal::deleteFile);
+				segments.clear();
+				deleteFile(new File(directory, CHECKPOINT_FILE));
+			}
+		}
+	}
+
+	void addMetrics(Map<String, Object> metricsMap) {
+		synchronized (flushLock) {
+			metricsMap.put("journalSegments", segments.size());
+			metricsMap.put("journalCheckpoint", checkpoint);
+			metricsMap.put("journalNextSequence", nextSequence);
+			metricsMap.put("journalAppendedCount", appendedCount);
+			metricsMap.put("journalFlushCount", flushCount);
+			metricsMap.put("journalLastFlushDuration", lastFlushDuration);
+		}
+	}
+
+	private void recover() throws IOException {
+		File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+		if (files != null) {
+			for (File file : files) {
+				try {
+					segments.put(Long.parseLong(file.getName().substring(SEGMENT_PREFIX.length(), file.getName().length() - SEGMENT_SUFFIX.length())), file);
+				} catch (NumberFormatException nfe) {
+					logger.warn("unexpected file in events journal " + file + ", skipping it");
+				}
+			}
+		}
+
+		//  the journal is valid up to the first gap or corruption, anything after it is removed
+		nextSequence = segments.isEmpty() ? checkpoint : segments.firstKey();
+		replayedFromSequence = Math.max(checkpoint, nextSequence);
+		boolean truncated = false;
+		Iterator<Map.Entry<Long, File>> iterator = segments.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Long, File> segment = iterator.next();
+			if (truncated || segment.getKey() != nextSequence) {
+				logger.warn("events journal segment " + segment.getValue() + " is out of sequence, removing it");
+				deleteFile(segment.getValue());
+				iterator.remove();
+				truncated = true;
+				continue;
+			}
+			truncated = readSegment(segment.getValue());
+		}
+		if (nextSequence < checkpoint) {
+			//  checkpoint is ahead of the remaining records, start over from the checkpoint
+			for (File file : segments.values()) {
+				deleteFile(file);
+			}
+			segments.clear();
+			replayed.clear();
+			nextSequence = checkpoint;
+			replayedFromSequence = checkpoint;
+		}
+		if (!replayed.isEmpty()) {
+			logger.info("events journal " + directory + " has " + replayed.size() + " not acknowledged event/s to replay");
+		}
+	}
+
+	//  reads the segment records, returns TRUE if the segment was found corrupted and truncated
+	private boolean readSegment(File file) throws IOException {
+		long validLength = 0;
+		boolean corrupted = false;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			long length = file.length();
+			while (validLength < length) {
+				if (length - validLength < RECORD_HEADER_SIZE) {
+					corrupted = true;
+					break;
+				}
+				int size = in.readInt();
+				int crcValue = in.readInt();
+				if (size < 0 || length - validLength - RECORD_HEADER_SIZE < size) {
+					corrupted = true;
+					break;
+				}
+				byte[] data = new byte[size];
+				in.readFully(data);
+				CRC32 crc = new CRC32();
+				crc.update(data, 0, size);
+				if ((int) crc.getValue() != crcValue) {
+					corrupted = true;
+					break;
+				}
+				if (nextSequence >= replayedFromSequence) {
+					replayed.add(data);
+				}
+				nextSequence++;
+				validLength += RECORD_HEADER_SIZE + size;
+			}
+		}
+		if (corrupted) {
+			logger.warn("events journal segment " + file + " has corrupted tail, truncating it to " + validLength + " bytes");
+			try (FileChannel channel = new RandomAccessFile(file, "rw").getChannel()) {
+				channel.truncate(validLength);
+			}
+		}
+		return corrupted;
+	}
+
+	private void openSegment(long firstSequence) throws IOException {
+		File file = segments.isEmpty() ? null : segments.lastEntry().getValue();
+		if (file == null) {
+			file = new File(directory, String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+			segments.put(firstSequence, file);
+		}
+		segmentStream = new FileOutputStream(file, true);
+		segmentBuffer = new BufferedOutputStream(segmentStream, 64 * 1024);
+		segmentBytes = file.length();
+	}
+
+	private void rollSegment() throws IOException {
+		segmentBuffer.flush();
+		segmentStream.getChannel().force(false);
+		segmentStream.close();
+		File file = new File(directory, String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+		segments.put(nextSequence, file);
+		segmentStream = new FileOutputStream(file, true);
+		segmentBuffer = new BufferedOutputStream(segmentStream, 64 * 1024);
+		segmentBytes = 0;
+	}
+
+	private void deleteAcknowledgedSegments() {
+		//  segment is fully acknowledged when the next segment starts at or before the checkpoint, the current segment is never deleted
+		Iterator<Map.Entry<Long, File>> iterator = segments.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Long, File> segment = iterator.next();
+			Long nextSegmentStart = segments.higherKey(segment.getKey());
+			if (nextSegmentStart == null || nextSegmentStart > checkpoint) {
+				break;
+			}
+			deleteFile(segment.getValue());
+			iterator.remove();
+		}
+	}
+
+	private long readCheckpoint() throws IOException {
+		if (checkpointFile.length() < 16) {
+			return 0;
+		}
+		checkpointFile.seek(0);
+		long value = checkpointFile.readLong();
+		long control = checkpointFile.readLong();
+		if (value < 0 || control != ~value) {
+			logger.warn("events journal checkpoint is corrupted, replaying all the available events");
+			return 0;
+		}
+		return value;
+	}
+
+	private void writeCheckpoint(long value) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		buffer.putLong(value).putLong(~value);
+		((Buffer) buffer).flip();
+		FileChannel channel = checkpointFile.getChannel();
+		channel.write(buffer, 0);
+		channel.force(false);
+	}
+
+	private static void writeInt(OutputStream out, int value) throws IOException {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+
+	private static void deleteFile(File file) {
+		if (file.exists() && !file.delete()) {
+			logger.warn("failed to delete " + file);
+		}
+	}
+}
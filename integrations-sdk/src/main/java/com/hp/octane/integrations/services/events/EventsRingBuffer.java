@@ -0,0 +1,280 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.events;
+
+import com.hp.octane.integrations.dto.events.CIEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded, lock-free multi producer / single consumer events buffer
+ * - producers add events at the tail, when the buffer is full the oldest event is dropped (head is capped)
+ * - consumer peeks chunks of events by sequence without removing them and acknowledges them once sent
+ * Every event is assigned a monotonically growing sequence, slot of the event is sequence modulo the array length.
+ * Sequences held by a slot only grow: producer publishing after its slot was already reused by a later sequence
+ * (it stalled while the others wrapped the buffer around) gives up, its event was dropped as the oldest one meanwhile.
+ * Serialized size of the event is kept along with it, once known, so that the event is measured at most once.
+ */
+final class EventsRingBuffer {
+	static final int UNKNOWN_SIZE = -1;
+
+	private final int maxSize;
+	private final int mask;
+	private final AtomicReferenceArray<Slot> slots;
+	private final AtomicLong head;
+	private final AtomicLong tail;
+
+	EventsRingBuffer(int maxSize) {
+		this(maxSize, 0);
+	}
+
+	/**
+	 * @param maxSize         max number of events to keep, the oldest events are dropped beyond it
+	 * @param initialSequence sequence of the first event to be added (allows to continue the sequences of a persisted journal)
+	 */
+	EventsRingBuffer(int maxSize, long initialSequence) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("max size MUST be positive");
+		}
+		this.maxSize = maxSize;
+		int capacity = Integer.highestOneBit(maxSize);
+		if (capacity < maxSize) {
+			capacity <<= 1;
+		}
+		this.mask = capacity - 1;
+		this.slots = new AtomicReferenceArray<>(capacity);
+		this.head = new AtomicLong(initialSequence);
+		this.tail = new AtomicLong(initialSequence);
+	}
+
+	/**
+	 * Adds event to the tail of the buffer
+	 *
+	 * @param event event to add
+	 * @return number of the oldest events dropped in order to make room for the new one
+	 */
+	int add(CIEvent event) {
+		return add(event, UNKNOWN_SIZE);
+	}
+
+	/**
+	 * Adds event to the tail of the buffer
+	 *
+	 * @param event          event to add
+	 * @param serializedSize serialized size of the event in bytes if already known (e.g. written to journal), otherwise UNKNOWN_SIZE
+	 * @return number of the oldest events dropped in order to make room for the new one
+	 */
+	int add(CIEvent event, int serializedSize) {
+		if (event == null) {
+			throw new IllegalArgumentException("event MUST NOT be null");
+		}
+		int dropped = 0;
+		while (true) {
+			long t = tail.get();
+			long h = head.get();
+			if (t - h >= maxSize) {
+				if (head.compareAndSet(h, h + 1)) {
+					release(h);
+					dropped++;
+				}
+			} else if (tail.compareAndSet(t, t + 1)) {
+				publish(t, event, serializedSize);
+				return dropped;
+			}
+		}
+	}
+
+	/**
+	 * Publishes event into the slot claimed for its sequence
+	 *
+	 * @param sequence       sequence claimed by the producer
+	 * @param event          event to publish
+	 * @param serializedSize serialized size of the event in bytes or UNKNOWN_SIZE
+	 * @return FALSE if the slot was meanwhile reused by a later sequence (the event was dropped), otherwise TRUE
+	 */
+	boolean publish(long sequence, CIEvent event, int serializedSize) {
+		int index = index(sequence);
+		Slot published = new Slot(sequence, event, serializedSize);
+		while (true) {
+			Slot slot = slots.get(index);
+			if (slot != null && slot.sequence > sequence) {
+				return false;
+			}
+			if (slots.compareAndSet(index, slot, published)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns up to maxEvents published events starting from the given sequence (or from the head, if it already passed it)
+	 * events are NOT removed from the buffer
+	 *
+	 * @param fromSequence sequence of the first event to read
+	 * @param maxEvents    max number of events to return
+	 * @return chunk of events, may be empty
+	 */
+	Chunk peek(long fromSequence, int maxEvents) {
+		long start = Math.max(fromSequence, head.get());
+		long end = Math.min(tail.get(), start + maxEvents);
+		List<Slot> chunkSlots = new ArrayList<>((int) Math.max(0, end - start));
+		for (long seq = start; seq < end; seq++) {
+			Slot slot = slots.get(index(seq));
+			if (slot == null || slot.sequence != seq || slot.event == null) {
+				//  not yet published by producer or already overwritten - the chunk ends here
+				break;
+			}
+			chunkSlots.add(slot);
+		}
+		return new Chunk(start, chunkSlots);
+	}
+
+	/**
+	 * Removes all the events with sequence lower than the given one
+	 *
+	 * @param upToSequence exclusive sequence up to which the events are removed
+	 */
+	void acknowledge(long upToSequence) {
+		long h;
+		do {
+			h = head.get();
+			if (h >= upToSequence) {
+				return;
+			}
+		} while (!head.compareAndSet(h, upToSequence));
+		for (long seq = h; seq < upToSequence; seq++) {
+			release(seq);
+		}
+	}
+
+	long headSequence() {
+		return head.get();
+	}
+
+	long tailSequence() {
+		return tail.get();
+	}
+
+	int size() {
+		return (int) Math.max(0, tail.get() - head.get());
+	}
+
+	void clear() {
+		acknowledge(tail.get());
+	}
+
+	//  released slot keeps its sequence (but not the event), so that a stalled producer of an earlier sequence cannot take the slot back
+	private void release(long sequence) {
+		int index = index(sequence);
+		Slot slot = slots.get(index);
+		if (slot != null && slot.sequence == sequence && slot.event != null) {
+			slots.compareAndSet(index, slot, new Slot(sequence, null, UNKNOWN_SIZE));
+		}
+	}
+
+	private int index(long sequence) {
+		return (int) (sequence & mask);
+	}
+
+	private static final class Slot {
+		private final long sequence;
+		private final CIEvent event;
+		private volatile int serializedSize;
+
+		private Slot(long sequence, CIEvent event, int serializedSize) {
+			this.sequence = sequence;
+			this.event = event;
+			this.serializedSize = serializedSize;
+		}
+	}
+
+	/**
+	 * Consecutive events peeked from the buffer
+	 */
+	static final class Chunk {
+		private final long firstSequence;
+		private final List<Slot> slots;
+		private final List<CIEvent> events;
+
+		private Chunk(long firstSequence, List<Slot> slots) {
+			this.firstSequence = firstSequence;
+			this.slots = slots;
+			this.events = new ArrayList<>(slots.size());
+			for (Slot slot : slots) {
+				events.add(slot.event);
+			}
+		}
+
+		long getFirstSequence() {
+			return firstSequence;
+		}
+
+		long getEndSequence() {
+			return firstSequence + events.size();
+		}
+
+		List<CIEvent> getEvents() {
+			return events;
+		}
+
+		boolean isEmpty() {
+			return events.isEmpty();
+		}
+
+		/**
+		 * @param index   index of the event in chunk
+		 * @param measure measures serialized size of the event, called only if the size is not known yet
+		 * @return serialized size of the event in bytes, measured at most once per buffered event
+		 */
+		int getSerializedSize(int index, ToIntFunction<CIEvent> measure) {
+			Slot slot = slots.get(index);
+			int size = slot.serializedSize;
+			if (size == UNKNOWN_SIZE) {
+				size = measure.applyAsInt(slot.event);
+				slot.serializedSize = size;
+			}
+			return size;
+		}
+
+		/**
+		 * @param size number of leading events to keep
+		 * @return chunk with the leading events only
+		 */
+		Chunk truncate(int size) {
+			return size >= events.size() ? this : new Chunk(firstSequence, new ArrayList<>(slots.subList(0, size)));
+		}
+	}
+}
@@ -36,6 +36,8 @@ import com.hp.octane.integrations.dto.DTOFactory;
 import com.hp.octane.integrations.dto.connectivity.HttpMethod;
 import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
 import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
+import com.hp.octane.integrations.dto.causes.CIEventCause;
+import com.hp.octane.integrations.dto.causes.CIEventCauseType;
 import com.hp.octane.integrations.dto.events.CIEvent;
 import com.hp.octane.integrations.dto.events.CIEventType;
 import com.hp.octane.integrations.dto.events.CIEventsList;
@@ -44,6 +46,7 @@ import com.hp.octane.integrations.dto.general.CIServerInfo;
 import com.hp.octane.integrations.exceptions.PermanentException;
 import com.hp.octane.integrations.exceptions.RequestTimeoutException;
 import com.hp.octane.integrations.exceptions.TemporaryException;
+import com.hp.octane.integrations.services.SharedWorkersPool;
 import com.hp.octane.integrations.services.WorkerPreflight;
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
 import com.hp.octane.integrations.services.configurationparameters.factory.ConfigurationParameterFactory;
@@ -56,12 +59,12 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.CompletionException;
 
 import static com.hp.octane.integrations.services.rest.RestService.*;
 
@@ -77,21 +80,48 @@ final class EventsServiceImpl implements EventsService {
 	Marker eventsMarker = MarkerManager.getMarker("EVENTS");
 	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
 
-	private final ExecutorService eventsPushExecutor = Executors.newSingleThreadExecutor(new EventsServiceWorkerThreadFactory());
 	private final OctaneSDK.SDKServicesConfigurer configurer;
 	private final RestService restService;
 	private final ConfigurationService configurationService;
-	private final List<CIEvent> events = Collections.synchronizedList(new LinkedList<>());
-
-
 	private final int EVENTS_CHUNK_SIZE = System.getProperty("octane.sdk.events.chunk-size") != null ? Integer.parseInt(System.getProperty("octane.sdk.events.chunk-size")) : 10;
 	private final int MAX_EVENTS_TO_KEEP = System.getProperty("octane.sdk.events.max-to-keep") != null ? Integer.parseInt(System.getProperty("octane.sdk.events.max-to-keep")) : 3000;
 	private final long TEMPORARY_FAILURE_PAUSE = System.getProperty("octane.sdk.events.temp-fail-pause") != null ? Integer.parseInt(System.getProperty("octane.sdk.events.temp-fail-pause")) : 15000;
+	private final int EVENTS_MAX_CHUNK_SIZE = System.getProperty("octane.sdk.events.max-chunk-size") != null ? Integer.parseInt(System.getProperty("octane.sdk.events.max-chunk-size")) : 200;
+	private final long EVENTS_MAX_CHUNK_BYTES = System.getProperty("octane.sdk.events.max-chunk-bytes") != null ? Long.parseLong(System.getProperty("octane.sdk.events.max-chunk-bytes")) : 1024 * 1024;
+	private final long EVENTS_HEALTHY_LATENCY = System.getProperty("octane.sdk.events.healthy-latency") != null ? Long.parseLong(System.getProperty("octane.sdk.events.healthy-latency")) : 3000;
+	private final boolean EVENTS_ADAPTIVE_CHUNK_SIZE = Boolean.parseBoolean(System.getProperty("octane.sdk.events.adaptive-chunk-size"));
+	private final int EVENTS_MAX_IN_FLIGHT = System.getProperty("octane.sdk.events.max-in-flight") != null ? Math.max(1, Integer.parseInt(System.getProperty("octane.sdk.events.max-in-flight"))) : 1;
+	private final long IN_FLIGHT_CHECK_INTERVAL = 1000;
+	private final boolean EVENTS_PERSISTENT = Boolean.parseBoolean(System.getProperty("octane.sdk.events.persistent"));
+	private final long JOURNAL_SEGMENT_SIZE = System.getProperty("octane.sdk.events.journal-segment-size") != null ? Long.parseLong(System.getProperty("octane.sdk.events.journal-segment-size")) : 4 * 1024 * 1024;
+	private final long JOURNAL_FLUSH_INTERVAL = System.getProperty("octane.sdk.events.journal-flush-interval") != null ? Long.parseLong(System.getProperty("octane.sdk.events.journal-flush-interval")) : 200;
+	private final EventsRingBuffer events;
+	private final EventsChunkSizer chunkSizer = new EventsChunkSizer(EVENTS_ADAPTIVE_CHUNK_SIZE, EVENTS_CHUNK_SIZE, EVENTS_MAX_CHUNK_SIZE, EVENTS_MAX_CHUNK_BYTES, EVENTS_HEALTHY_LATENCY);
+
+	//  chunks being sent or waiting for retry, ordered by their position in the events buffer
+	//  when max in flight is 1 the chunks are sent synchronously by the worker itself, otherwise they are pipelined over the async transport
+	private final long AUTHENTICATION_FAILURE_PAUSE = System.getProperty("octane.sdk.events.auth-fail-pause") != null ? Long.parseLong(System.getProperty("octane.sdk.events.auth-fail-pause")) : 30000;
+	private final Object inFlightMonitor = new Object();
+	private final TreeMap<Long, InFlightChunk> inFlightChunks = new TreeMap<>();
+	private final Set<String> inFlightKeys = new HashSet<>();
+	private long nextChunkSequence = 0;
+	private long dispatchPausedUntil = 0;
+
+	//  optional on-disk journal of the events, appends are serialized so that the buffer sequence of an event never gets ahead of its journal one
+	private final Object journalAppendLock = new Object();
+	private final SharedWorkersPool.WorkerHandle journalFlushWorker;
+	private volatile EventsJournal journal;
 
 	//Metrics
 	private long requestTimeoutCount = 0;
 	private long lastRequestTimeoutTime = 0;
+	private int maxInFlightReached = 0;
+	private long sentChunksCount = 0;
+	private long totalChunksLatency = 0;
+	private long lastChunkLatency = 0;
+	private long maxChunkLatency = 0;
 	private final WorkerPreflight workerPreflight;
+	private final SharedWorkersPool.WorkerHandle eventsPushWorker;
 
 	EventsServiceImpl(OctaneSDK.SDKServicesConfigurer configurer, RestService restService, ConfigurationService configurationService) {
 		if (configurer == null || configurer.pluginServices == null || configurer.octaneConfiguration == null) {
@@ -110,8 +140,20 @@ final class EventsServiceImpl implements EventsService {
 		this.workerPreflight = new WorkerPreflight(this, configurationService, logger);
 		workerPreflight.setWaitAfterConnection(false);
 
+		this.journal = openJournal();
+		this.events = initEventsBuffer();
+		if (journal != null) {
+			journalFlushWorker = configurer.workersPool.register(configurer.octaneConfiguration.getInstanceId(), "EventsJournalFlusher", () -> {
+				flushJournal();
+				return JOURNAL_FLUSH_INTERVAL;
+			});
+		} else {
+			journalFlushWorker = null;
+		}
+
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "starting background worker...");
-		eventsPushExecutor.execute(this::worker);
+		eventsPushWorker = configurer.workersPool.register(configurer.octaneConfiguration.getInstanceId(), "EventsServiceWorker", this::worker);
+		workerPreflight.setWorker(eventsPushWorker);
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "initialized SUCCESSFULLY");
 	}
 
@@ -138,13 +180,23 @@ final class EventsServiceImpl implements EventsService {
 			}
 		}
 
-		events.add(event);
-		int eventsSize = events.size();
-		if (eventsSize > MAX_EVENTS_TO_KEEP) {
-			logger.warn(configurer.octaneConfiguration.getLocationForLog() + "reached MAX amount of events to keep in queue (max - " + MAX_EVENTS_TO_KEEP + ", found - " + eventsSize + "), capping the head");
-			while (events.size() > MAX_EVENTS_TO_KEEP) {        //  in this case we need to read the real-time size of the list
-				events.remove(0);
+		int dropped;
+		EventsJournal currentJournal = journal;
+		if (currentJournal != null) {
+			byte[] data = dtoFactory.dtoToJson(event).getBytes(StandardCharsets.UTF_8);
+			synchronized (journalAppendLock) {
+				try {
+					currentJournal.append(data);
+				} catch (IOException ioe) {
+					disableJournal(ioe);
+				}
+				dropped = events.add(event, data.length);
 			}
+		} else {
+			dropped = events.add(event);
+		}
+		if (dropped > 0) {
+			logger.warn(configurer.octaneConfiguration.getLocationForLog() + "reached MAX amount of events to keep in queue (max - " + MAX_EVENTS_TO_KEEP + "), capped the head by " + dropped + " event/s");
 		}
 		workerPreflight.itemAddedToQueue();
 	}
@@ -161,74 +213,333 @@ final class EventsServiceImpl implements EventsService {
 
 	@Override
 	public void shutdown() {
-		eventsPushExecutor.shutdown();
+		eventsPushWorker.cancel();
+		workerPreflight.shutdown();
+		if (journalFlushWorker != null) {
+			journalFlushWorker.cancel();
+		}
+		EventsJournal currentJournal = journal;
+		if (currentJournal != null) {
+			synchronized (journalAppendLock) {
+				try {
+					currentJournal.flush(events.headSequence());
+					currentJournal.close();
+				} catch (IOException ioe) {
+					logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to close events journal", ioe);
+				}
+			}
+		}
+	}
+
+	private EventsJournal openJournal() {
+		if (!EVENTS_PERSISTENT) {
+			return null;
+		}
+		if (configurer.pluginServices.getAllowedOctaneStorage() == null) {
+			logger.info(configurer.octaneConfiguration.getLocationForLog() + "hosting plugin DO NOT PROVIDE available storage, events persistence disabled");
+			return null;
+		}
+
+		File journalDirectory = new File(configurer.pluginServices.getAllowedOctaneStorage(), "nga" + File.separator + configurer.octaneConfiguration.getInstanceId() + File.separator + "events-journal");
+		try {
+			EventsJournal result = new EventsJournal(journalDirectory, JOURNAL_SEGMENT_SIZE);
+			logger.info(configurer.octaneConfiguration.getLocationForLog() + "events persistence enabled, journal at " + journalDirectory);
+			return result;
+		} catch (IOException ioe) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to open events journal, events will be kept in memory only", ioe);
+			return null;
+		}
+	}
+
+	//  replays the events left in journal from the previous run, if any
+	private EventsRingBuffer initEventsBuffer() {
+		if (journal == null) {
+			return new EventsRingBuffer(MAX_EVENTS_TO_KEEP);
+		}
+
+		List<CIEvent> replayedEvents = new ArrayList<>(journal.getReplayed().size());
+		List<Integer> replayedSizes = new ArrayList<>(journal.getReplayed().size());
+		for (byte[] data : journal.getReplayed()) {
+			try {
+				replayedEvents.add(dtoFactory.dtoFromJson(new String(data, StandardCharsets.UTF_8), CIEvent.class));
+				replayedSizes.add(data.length);
+			} catch (Exception e) {
+				logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to read event from journal, skipping it", e);
+			}
+		}
+		journal.getReplayed().clear();
+
+		//  buffer sequences continue the journal ones, so that acknowledged buffer head is the journal checkpoint
+		//  records failed to be read leave no gaps in the buffer: events after them get lower sequences than their records,
+		//  so that the checkpoint never passes a record not sent yet (at worst some already sent events are replayed after a crash)
+		EventsRingBuffer result = new EventsRingBuffer(MAX_EVENTS_TO_KEEP, journal.getReplayedFromSequence());
+		for (int i = 0; i < replayedEvents.size(); i++) {
+			result.add(replayedEvents.get(i), replayedSizes.get(i));
+		}
+		if (!replayedEvents.isEmpty()) {
+			logger.info(configurer.octaneConfiguration.getLocationForLog() + "replayed " + replayedEvents.size() + " event/s from journal");
+		}
+		return result;
+	}
+
+	private void flushJournal() {
+		EventsJournal currentJournal = journal;
+		if (currentJournal != null) {
+			try {
+				currentJournal.flush(events.headSequence());
+			} catch (Throwable t) {
+				logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to flush events journal", t);
+			}
+		}
+	}
+
+	private void disableJournal(IOException ioe) {
+		logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to append event to journal, events persistence disabled", ioe);
+		EventsJournal currentJournal = journal;
+		journal = null;
+		if (journalFlushWorker != null) {
+			journalFlushWorker.cancel();
+		}
+		//  journal left on disk would replay the events, that are sent meanwhile from memory, on the next start
+		currentJournal.discard();
 	}
 
 	@Override
 	public boolean isShutdown() {
-		return eventsPushExecutor.isShutdown();
+		return eventsPushWorker.isCancelled();
 	}
 
-	private void removeEvents(List<CIEvent> eventsToRemove) {
-		if (eventsToRemove != null && !eventsToRemove.isEmpty()) {
-			events.removeAll(eventsToRemove);
+	//  infallible worker cycle, fills the dispatch window once per run
+	private long worker() {
+		long preflightDelay = workerPreflight.preflight();
+		if (preflightDelay > 0) {
+			return preflightDelay;
 		}
+
+		//  fill the dispatch window with as many chunks as allowed, then wait for any of them to complete
+		InFlightChunk inFlightChunk;
+		int dispatched = 0;
+		while (dispatched < EVENTS_MAX_IN_FLIGHT && (inFlightChunk = nextChunkToDispatch()) != null) {
+			sendChunk(inFlightChunk);
+			dispatched++;
+		}
+		return inFlightChangeDelay();
 	}
 
-	//  infallible everlasting worker function
-	private void worker() {
-		while (!eventsPushExecutor.isShutdown()) {
-			if(!workerPreflight.preflight()){
-				continue;
-			}
+	private void sendChunk(InFlightChunk inFlightChunk) {
+		//  build events list to be sent
+		CIEventsList eventsSnapshot;
+		try {
+			CIServerInfo serverInfo = configurer.pluginServices.getServerInfo();
+			serverInfo.setInstanceId(configurer.octaneConfiguration.getInstanceId());
+			eventsSnapshot = dtoFactory.newDTO(CIEventsList.class)
+					.setServer(serverInfo)
+					.setEvents(inFlightChunk.chunk.getEvents());
+		} catch (Throwable t) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to serialize chunk of " + inFlightChunk.chunk.getEvents().size() + " events, dropping them off and continue");
+			completeChunk(inFlightChunk, false);
+			return;
+		}
 
-			//  build events list to be sent
-			List<CIEvent> eventsChunk = null;
-			CIEventsList eventsSnapshot;
+		//  send the data to Octane
+		String correlationId = CIPluginSDKUtils.getNextCorrelationId();
+		logEventsToBeSent(eventsSnapshot, correlationId);
+		OctaneRequest octaneRequest = createEventsRequest(eventsSnapshot, correlationId);
+		long started = System.currentTimeMillis();
+		if (EVENTS_MAX_IN_FLIGHT == 1) {
+			OctaneResponse octaneResponse = null;
+			Throwable failure = null;
 			try {
-				eventsChunk = getEventsChunk();
-
-				CIServerInfo serverInfo = configurer.pluginServices.getServerInfo();
-				serverInfo.setInstanceId(configurer.octaneConfiguration.getInstanceId());
-				eventsSnapshot = dtoFactory.newDTO(CIEventsList.class)
-						.setServer(serverInfo)
-						.setEvents(eventsChunk);
+				octaneResponse = restService.obtainOctaneRestClient().execute(octaneRequest);
 			} catch (Throwable t) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() +"failed to serialize chunk of " + (eventsChunk != null ? eventsChunk.size() : "[NULL]") + " events, dropping them off (if any) and continue");
-				removeEvents(eventsChunk);
-				continue;
+				failure = t;
 			}
-
-			//  send the data to Octane
+			chunkSent(inFlightChunk, started, octaneResponse, failure);
+		} else {
 			try {
-				String correlationId = CIPluginSDKUtils.getNextCorrelationId();
-				logEventsToBeSent(eventsSnapshot, correlationId);
-				sendEventsData(eventsSnapshot, correlationId);
-				removeEvents(eventsChunk);
-				if (events.size() > 0) {
-					logger.info(configurer.octaneConfiguration.getLocationForLog() + "left to send " + events.size() + " events");
-				}
-			} catch (RequestTimeoutException rte){
+				restService.obtainOctaneRestClient().executeAsync(octaneRequest)
+						.whenComplete((octaneResponse, failure) -> chunkSent(inFlightChunk, started, octaneResponse, failure));
+			} catch (Throwable t) {
+				chunkSent(inFlightChunk, started, null, t);
+			}
+		}
+	}
+
+	private void chunkSent(InFlightChunk inFlightChunk, long started, OctaneResponse octaneResponse, Throwable failure) {
+		boolean retry = false;
+		try {
+			checkEventsResponse(octaneResponse, failure);
+			long latency = System.currentTimeMillis() - started;
+			reportChunkLatency(latency);
+			chunkSizer.onSuccess(inFlightChunk.chunk.getEvents().size(), latency, events.size());
+		} catch (RequestTimeoutException rte) {
+			chunkSizer.onTemporaryFailure();
+			synchronized (inFlightMonitor) {
 				requestTimeoutCount++;
 				lastRequestTimeoutTime = System.currentTimeMillis();
-				logger.info(configurer.octaneConfiguration.getLocationForLog() + rte.getMessage());
-				CIPluginSDKUtils.doWait(TEMPORARY_FAILURE_PAUSE);
-			} catch (TemporaryException tqie) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to send events with temporary error, breathing " + TEMPORARY_FAILURE_PAUSE + "ms and continue", tqie);
-				CIPluginSDKUtils.doWait(TEMPORARY_FAILURE_PAUSE);
-			} catch (PermanentException pqie) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to send events with permanent error, dropping this chunk and continue", pqie);
-				removeEvents(eventsChunk);
-			} catch (Throwable t) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to send events with unexpected error, dropping this chunk and continue", t);
-				removeEvents(eventsChunk);
 			}
+			logger.info(configurer.octaneConfiguration.getLocationForLog() + rte.getMessage());
+			retry = true;
+		} catch (TemporaryException tqie) {
+			chunkSizer.onTemporaryFailure();
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to send events with temporary error, breathing " + TEMPORARY_FAILURE_PAUSE + "ms and continue", tqie);
+			retry = true;
+		} catch (PermanentException pqie) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to send events with permanent error, dropping this chunk and continue", pqie);
+		} catch (Throwable t) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to send events with unexpected error, dropping this chunk and continue", t);
+		}
+		completeChunk(inFlightChunk, retry);
+		if (!retry && events.size() > 0) {
+			logger.info(configurer.octaneConfiguration.getLocationForLog() + "left to send " + events.size() + " events");
 		}
 	}
 
-	private List<CIEvent> getEventsChunk() {
-		int maxInBulk = ConfigurationParameterFactory.isSendEventsInBulk(configurer.octaneConfiguration) ? EVENTS_CHUNK_SIZE : 1;
-		List<CIEvent> eventsChunk = new ArrayList<>(events.subList(0, Math.min(events.size(), maxInBulk)));
+	/**
+	 * Picks the next chunk to be sent: either a failed chunk which retry time has come or a new chunk of events from the buffer
+	 *
+	 * @return chunk to be sent or NULL if the dispatch window is full or there is nothing to be sent right now
+	 */
+	private InFlightChunk nextChunkToDispatch() {
+		synchronized (inFlightMonitor) {
+			discardRemovedChunks();
+			long now = System.currentTimeMillis();
+			for (InFlightChunk inFlightChunk : inFlightChunks.values()) {
+				if (inFlightChunk.retryAt > 0 && inFlightChunk.retryAt <= now) {
+					inFlightChunk.retryAt = 0;
+					return inFlightChunk;
+				}
+			}
+
+			if (now < dispatchPausedUntil) {
+				return null;
+			}
+
+			//  chunks already done but waiting for the earlier ones to be acknowledged do not take the dispatch window
+			int pendingChunks = 0;
+			for (InFlightChunk inFlightChunk : inFlightChunks.values()) {
+				if (!inFlightChunk.done) {
+					if (inFlightChunk.barrier) {
+						return null;
+					}
+					pendingChunks++;
+				}
+			}
+			if (pendingChunks >= EVENTS_MAX_IN_FLIGHT) {
+				return null;
+			}
+
+			EventsRingBuffer.Chunk eventsChunk = getEventsChunk();
+			if (eventsChunk.isEmpty()) {
+				//  nothing new, events of the in-flight jobs or producers claimed the slots but not yet published the events
+				return null;
+			}
+
+			InFlightChunk inFlightChunk = new InFlightChunk(eventsChunk);
+			for (CIEvent event : eventsChunk.getEvents()) {
+				addOrderingKeys(event.getProject(), event.getBuildCiId(), event.getCauses(), inFlightChunk.keys);
+			}
+			inFlightKeys.addAll(inFlightChunk.keys);
+			inFlightChunks.put(eventsChunk.getFirstSequence(), inFlightChunk);
+			nextChunkSequence = eventsChunk.getEndSequence();
+			maxInFlightReached = Math.max(maxInFlightReached, pendingChunks + 1);
+			return inFlightChunk;
+		}
+	}
+
+	private void completeChunk(InFlightChunk inFlightChunk, boolean retry) {
+		synchronized (inFlightMonitor) {
+			if (retry) {
+				inFlightChunk.retryAt = System.currentTimeMillis() + TEMPORARY_FAILURE_PAUSE;
+			} else {
+				inFlightChunk.done = true;
+				inFlightKeys.removeAll(inFlightChunk.keys);
+
+				//  events are removed from the buffer only when all the chunks before them are done as well
+				while (!inFlightChunks.isEmpty() && inFlightChunks.firstEntry().getValue().done) {
+					events.acknowledge(inFlightChunks.pollFirstEntry().getValue().chunk.getEndSequence());
+				}
+			}
+		}
+
+		//  freed dispatch window slot may be taken by the next chunk right away
+		if (!retry) {
+			workerPreflight.itemAddedToQueue();
+		}
+	}
+
+	//  chunks waiting for retry which events were meanwhile capped or cleared from the buffer are not relevant anymore
+	private void discardRemovedChunks() {
+		long head = events.headSequence();
+		Iterator<InFlightChunk> iterator = inFlightChunks.values().iterator();
+		while (iterator.hasNext()) {
+			InFlightChunk inFlightChunk = iterator.next();
+			if (inFlightChunk.retryAt > 0 && inFlightChunk.chunk.getEndSequence() <= head) {
+				inFlightKeys.removeAll(inFlightChunk.keys);
+				iterator.remove();
+			}
+		}
+	}
+
+	//  delay until the next worker run: in flight chunks are checked periodically, completion of any of them wakes the worker up earlier
+	private long inFlightChangeDelay() {
+		synchronized (inFlightMonitor) {
+			long now = System.currentTimeMillis();
+			if (inFlightChunks.isEmpty()) {
+				return Math.max(0, dispatchPausedUntil - now);
+			}
+			long waitPeriod = IN_FLIGHT_CHECK_INTERVAL;
+			for (InFlightChunk inFlightChunk : inFlightChunks.values()) {
+				if (inFlightChunk.retryAt > 0) {
+					waitPeriod = Math.max(1, Math.min(waitPeriod, inFlightChunk.retryAt - now));
+				}
+			}
+			return waitPeriod;
+		}
+	}
+
+	private void reportChunkLatency(long latency) {
+		synchronized (inFlightMonitor) {
+			sentChunksCount++;
+			totalChunksLatency += latency;
+			lastChunkLatency = latency;
+			maxChunkLatency = Math.max(maxChunkLatency, latency);
+		}
+	}
+
+	//  events of the same job/build and of their upstream builds must reach Octane in the order they were published
+	private static void addOrderingKeys(String project, String buildCiId, List<CIEventCause> causes, Set<String> keys) {
+		if (project != null) {
+			keys.add(project + "#" + buildCiId);
+		}
+		if (causes != null) {
+			for (CIEventCause cause : causes) {
+				if (CIEventCauseType.UPSTREAM.equals(cause.getType())) {
+					addOrderingKeys(cause.getProject(), cause.getBuildCiId(), cause.getCauses(), keys);
+				}
+			}
+		}
+	}
+
+	private boolean isBlockedByInFlight(CIEvent event) {
+		if (inFlightKeys.isEmpty()) {
+			return false;
+		}
+		Set<String> keys = new HashSet<>();
+		addOrderingKeys(event.getProject(), event.getBuildCiId(), event.getCauses(), keys);
+		for (String key : keys) {
+			if (inFlightKeys.contains(key)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private EventsRingBuffer.Chunk getEventsChunk() {
+		int maxInBulk = ConfigurationParameterFactory.isSendEventsInBulk(configurer.octaneConfiguration) ? chunkSizer.getChunkSize() : 1;
+		long maxChunkBytes = chunkSizer.getMaxChunkBytes();
+		long chunkBytes = 0;
+		EventsRingBuffer.Chunk eventsChunk = events.peek(nextChunkSequence, maxInBulk);
 
 		// - octane generate multibranch child pipeline on the fly
 		// - multibranch child may trigger another job
@@ -236,18 +547,35 @@ final class EventsServiceImpl implements EventsService {
 		//    downstream job start event, the latest event is thrown in PipelinesServiceImpl#shouldProcessEvent.
 		//    So first run of pipeline might be partial (without structure,tests,commits)
 		// - if in iteration we encounter multibranch child start event - no other event is allowed to be after it and will be pushed in next bulk
-		if (eventsChunk.size() > 1) {
-			for (int i = 0; i < eventsChunk.size(); i++) {
-				CIEvent ciEvent = eventsChunk.get(i);
-				if (CIEventType.STARTED.equals(ciEvent.getEventType()) && MultiBranchType.MULTI_BRANCH_CHILD.equals(ciEvent.getMultiBranchType()) && i + 1 < eventsChunk.size()) {
-					eventsChunk = new ArrayList<>(eventsChunk.subList(0, i + 1));
+		//    (and when several chunks are in flight - not before this one is done)
+		// - chunk also ends before the first event which job has still earlier events in flight
+		//    or which would make the chunk exceed the max serialized size (the first event is always taken)
+		List<CIEvent> chunkEvents = eventsChunk.getEvents();
+		for (int i = 0; i < chunkEvents.size(); i++) {
+			CIEvent ciEvent = chunkEvents.get(i);
+			if (isBlockedByInFlight(ciEvent)) {
+				eventsChunk = eventsChunk.truncate(i);
+				break;
+			}
+			if (maxChunkBytes > 0 && maxInBulk > 1) {
+				chunkBytes += eventsChunk.getSerializedSize(i, EventsServiceImpl::serializedSize);
+				if (i > 0 && chunkBytes > maxChunkBytes) {
+					eventsChunk = eventsChunk.truncate(i);
 					break;
 				}
 			}
+			if (CIEventType.STARTED.equals(ciEvent.getEventType()) && MultiBranchType.MULTI_BRANCH_CHILD.equals(ciEvent.getMultiBranchType())) {
+				eventsChunk = eventsChunk.truncate(i + 1);
+				break;
+			}
 		}
 		return eventsChunk;
 	}
 
+	private static int serializedSize(CIEvent event) {
+		return dtoFactory.dtoToJson(event).getBytes(StandardCharsets.UTF_8).length;
+	}
+
 	private void logEventsToBeSent(CIEventsList eventsList, String correlationId) {
 		try {
 			List<String> eventsStringified = new LinkedList<>();
@@ -273,7 +601,7 @@ final class EventsServiceImpl implements EventsService {
 		}
 	}
 
-	private void sendEventsData(CIEventsList eventsList, String correlationId) {
+	private OctaneRequest createEventsRequest(CIEventsList eventsList, String correlationId) {
 		Map<String, String> headers = new HashMap<>();
 		headers.put(CONTENT_TYPE_HEADER, ContentType.APPLICATION_JSON.getMimeType());
 		headers.put(CORRELATION_ID_HEADER, correlationId);
@@ -285,19 +613,30 @@ final class EventsServiceImpl implements EventsService {
 				.setHeaders(headers)
 				.setTimeoutSec(60)
 				.setBody(dtoFactory.dtoToJsonStream(eventsList));
-		OctaneResponse octaneResponse;
-		try {
-			octaneResponse = restService.obtainOctaneRestClient().execute(octaneRequest);
-		} catch (InterruptedIOException ie) {
-			String msg = "!!!!!!!!!!!!!!!!!!! request timeout" + ie.getClass().getCanonicalName() + " - " + ie.getMessage();
-			throw new RequestTimeoutException(msg);
-		} catch (IOException ioe) {
-			throw new TemporaryException(ioe);
+		return octaneRequest;
+	}
+
+	private void checkEventsResponse(OctaneResponse octaneResponse, Throwable failure) {
+		if (failure != null) {
+			Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+			if (cause instanceof InterruptedIOException) {
+				String msg = "!!!!!!!!!!!!!!!!!!! request timeout" + cause.getClass().getCanonicalName() + " - " + cause.getMessage();
+				throw new RequestTimeoutException(msg);
+			} else if (cause instanceof IOException) {
+				throw new TemporaryException(cause);
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else {
+				throw new PermanentException(cause);
+			}
 		}
 		if (octaneResponse.getStatus() == HttpStatus.SC_SERVICE_UNAVAILABLE || octaneResponse.getStatus() == HttpStatus.SC_BAD_GATEWAY || octaneResponse.getStatus() == 429) {
 			throw new TemporaryException("PUT events failed with status " + octaneResponse.getStatus());
 		} else if (octaneResponse.getStatus() == HttpStatus.SC_UNAUTHORIZED || octaneResponse.getStatus() == HttpStatus.SC_FORBIDDEN) {
-			CIPluginSDKUtils.doWait(30000);
+			//  no chunks are dispatched for a while, instead of blocking the sending thread
+			synchronized (inFlightMonitor) {
+				dispatchPausedUntil = System.currentTimeMillis() + AUTHENTICATION_FAILURE_PAUSE;
+			}
 			throw new PermanentException("PUT events failed with status " + octaneResponse.getStatus());
 		} else if (octaneResponse.getStatus() != HttpStatus.SC_OK) {
 			if (CIPluginSDKUtils.isServiceTemporaryUnavailable(octaneResponse.getBody())) {
@@ -311,22 +650,41 @@ final class EventsServiceImpl implements EventsService {
 	public Map<String, Object> getMetrics() {
 		Map<String, Object> map = new LinkedHashMap<>();
 		map.put("queueSize", this.getQueueSize());
-		map.put("requestTimeoutCount", this.requestTimeoutCount);
-		if (lastRequestTimeoutTime > 0) {
-			map.put("lastRequestTimeoutTime", new Date(lastRequestTimeoutTime));
+		synchronized (inFlightMonitor) {
+			map.put("requestTimeoutCount", this.requestTimeoutCount);
+			if (lastRequestTimeoutTime > 0) {
+				map.put("lastRequestTimeoutTime", new Date(lastRequestTimeoutTime));
+			}
+			map.put("maxInFlight", EVENTS_MAX_IN_FLIGHT);
+			map.put("inFlightChunks", inFlightChunks.size());
+			map.put("maxInFlightReached", maxInFlightReached);
+			map.put("sentChunksCount", sentChunksCount);
+			if (sentChunksCount > 0) {
+				map.put("avgChunkLatency", totalChunksLatency / sentChunksCount);
+				map.put("lastChunkLatency", lastChunkLatency);
+				map.put("maxChunkLatency", maxChunkLatency);
+			}
+		}
+		chunkSizer.addMetrics(map);
+		EventsJournal currentJournal = journal;
+		if (currentJournal != null) {
+			currentJournal.addMetrics(map);
 		}
 		workerPreflight.addMetrics(map);
 		return map;
 	}
 
-	private static final class EventsServiceWorkerThreadFactory implements ThreadFactory {
-
-		@Override
-		public Thread newThread(Runnable runnable) {
-			Thread result = new Thread(runnable);
-			result.setName("EventsServiceWorker-" + result.getId());
-			result.setDaemon(true);
-			return result;
+	private static final class InFlightChunk {
+		private final EventsRingBuffer.Chunk chunk;
+		private final Set<String> keys = new HashSet<>();
+		private final boolean barrier;
+		private long retryAt = 0;
+		private boolean done = false;
+
+		private InFlightChunk(EventsRingBuffer.Chunk chunk) {
+			this.chunk = chunk;
+			CIEvent lastEvent = chunk.getEvents().get(chunk.getEvents().size() - 1);
+			this.barrier = CIEventType.STARTED.equals(lastEvent.getEventType()) && MultiBranchType.MULTI_BRANCH_CHILD.equals(lastEvent.getMultiBranchType());
 		}
 	}
 }
@@ -39,6 +39,8 @@ import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
 import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
 import com.hp.octane.integrations.exceptions.PermanentException;
 import com.hp.octane.integrations.exceptions.TemporaryException;
+import com.hp.octane.integrations.services.PreflightCache;
+import com.hp.octane.integrations.services.SharedWorkersPool;
 import com.hp.octane.integrations.services.WorkerPreflight;
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
 import com.hp.octane.integrations.services.configuration.ConfigurationServiceImpl;
@@ -54,9 +56,6 @@ import org.apache.logging.log4j.Logger;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 
 import static com.hp.octane.integrations.services.rest.RestService.CORRELATION_ID_HEADER;
 
@@ -70,11 +69,11 @@ final class LogsServiceImpl implements LogsService {
 	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
 	private static final String BUILD_LOG_QUEUE_FILE = "build-logs-queue.dat";
 
-	private final ExecutorService logsPushExecutor = Executors.newSingleThreadExecutor(new BuildLogsPushWorkerThreadFactory());
 	private final ObjectQueue<BuildLogQueueItem> buildLogsQueue;
 	private final OctaneSDK.SDKServicesConfigurer configurer;
 	private final RestService restService;
 	private final WorkerPreflight workerPreflight;
+	private final SharedWorkersPool.WorkerHandle logsPushWorker;
 	private final ConfigurationService configurationService;
 
 	private int TEMPORARY_ERROR_BREATHE_INTERVAL = 15000;
@@ -106,7 +105,8 @@ final class LogsServiceImpl implements LogsService {
 		this.workerPreflight = new WorkerPreflight(this, configurationService, logger);
 
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "starting background worker...");
-		logsPushExecutor.execute(this::worker);
+		logsPushWorker = configurer.workersPool.register(configurer.octaneConfiguration.getInstanceId(), "BuildLogsPushWorker", this::worker);
+		workerPreflight.setWorker(logsPushWorker);
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "initialized SUCCESSFULLY (backed by " + buildLogsQueue.getClass().getSimpleName() + ")");
 	}
 
@@ -132,38 +132,39 @@ final class LogsServiceImpl implements LogsService {
 
 	@Override
 	public void shutdown() {
-		logsPushExecutor.shutdown();
+		logsPushWorker.cancel();
+		workerPreflight.shutdown();
 	}
 
 	@Override
 	public boolean isShutdown() {
-		return logsPushExecutor.isShutdown();
+		return logsPushWorker.isCancelled();
 	}
 
-	//  infallible everlasting background worker
-	private void worker() {
-		while (!logsPushExecutor.isShutdown()) {
-			if(!workerPreflight.preflight()){
-				continue;
-			}
+	//  infallible background worker cycle, processes single queue item per run
+	private long worker() {
+		long preflightDelay = workerPreflight.preflight();
+		if (preflightDelay > 0) {
+			return preflightDelay;
+		}
 
-			BuildLogQueueItem buildLogQueueItem = null;
-			try {
-				buildLogQueueItem = buildLogsQueue.peek();
-				pushBuildLog(configurer.octaneConfiguration.getInstanceId(), buildLogQueueItem);
-				logger.debug(configurer.octaneConfiguration.getLocationForLog() + "successfully processed " + buildLogQueueItem);
-				buildLogsQueue.remove();
-			} catch (TemporaryException tque) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + buildLogQueueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying");
-				CIPluginSDKUtils.doWait(TEMPORARY_ERROR_BREATHE_INTERVAL);
-			} catch (PermanentException pqie) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + buildLogQueueItem + ", passing over", pqie);
-				buildLogsQueue.remove();
-			} catch (Throwable t) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build log item '" + buildLogQueueItem + "', passing over", t);
-				buildLogsQueue.remove();
-			}
+		BuildLogQueueItem buildLogQueueItem = null;
+		try {
+			buildLogQueueItem = buildLogsQueue.peek();
+			pushBuildLog(configurer.octaneConfiguration.getInstanceId(), buildLogQueueItem);
+			logger.debug(configurer.octaneConfiguration.getLocationForLog() + "successfully processed " + buildLogQueueItem);
+			buildLogsQueue.remove();
+		} catch (TemporaryException tque) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + buildLogQueueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying");
+			return TEMPORARY_ERROR_BREATHE_INTERVAL;
+		} catch (PermanentException pqie) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + buildLogQueueItem + ", passing over", pqie);
+			buildLogsQueue.remove();
+		} catch (Throwable t) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build log item '" + buildLogQueueItem + "', passing over", t);
+			buildLogsQueue.remove();
 		}
+		return 0;
 	}
 
 	private void pushBuildLog(String serverId, BuildLogQueueItem queueItem) {
@@ -176,7 +177,8 @@ final class LogsServiceImpl implements LogsService {
 		String encodedRootJobId = base64 ? CIPluginSDKUtils.urlEncodeBase64(queueItem.rootJobId) : CIPluginSDKUtils.urlEncodeQueryParam(queueItem.rootJobId);
 
 		//  preflight
-		String[] workspaceIDs = preflightRequest(octaneConfiguration, encodedServerId, encodedJobId, encodedRootJobId, base64);
+		String[] workspaceIDs = configurationService.getPreflightAnswer(PreflightCache.Kind.BUILD_LOG_WORKSPACES, serverId, queueItem.jobId, queueItem.rootJobId,
+				() -> preflightRequest(octaneConfiguration, encodedServerId, encodedJobId, encodedRootJobId, base64), wss -> wss.length > 0);
 		if (workspaceIDs.length == 0) {
 			logger.info(configurer.octaneConfiguration.getLocationForLog() + "log of " + queueItem + ", no interested workspace is found");
 			return;
@@ -334,15 +336,4 @@ final class LogsServiceImpl implements LogsService {
 			return "'" + jobId + " #" + buildId + "', root job : " + rootJobId;
 		}
 	}
-
-	private static final class BuildLogsPushWorkerThreadFactory implements ThreadFactory {
-
-		@Override
-		public Thread newThread(Runnable runnable) {
-			Thread result = new Thread(runnable);
-			result.setName("BuildLogsPushWorker-" + result.getId());
-			result.setDaemon(true);
-			return result;
-		}
-	}
 }
@@ -69,12 +69,12 @@ import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-
-import static java.util.stream.Collectors.groupingBy;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of tests service
@@ -155,10 +155,7 @@ final class PullRequestAndBranchServiceImpl implements PullRequestAndBranchServi
             logConsumer.accept(
                     String.format("Checking branches that already exist in the root repository with the configured id: %s",
                             rootRepoForSearch.getId()));
-            Set<String> octaneRepositoryBranches =
-                    getRepositoryBranches(rootRepoForSearch.getId(), Long.valueOf(workspaceId), false).stream()
-                            .map(b -> b.getField(EntityConstants.ScmRepository.NAME_FIELD).toString())
-                            .collect(Collectors.toSet());
+            Set<String> octaneRepositoryBranches = getRepositoryBranchNames(rootRepoForSearch.getId(), Long.valueOf(workspaceId));
             pullRequests.forEach(pullRequest -> {
                 if (octaneRepositoryBranches.contains(pullRequest.getSourceRepository().getBranch())) {
                     pullRequest.getSourceRepository().setUrl(rootRepoURL);
@@ -240,11 +237,7 @@ final class PullRequestAndBranchServiceImpl implements PullRequestAndBranchServi
             logConsumer.accept(String.format(
                     "Filtering out the branches that already exist in the root repository with the configured id: %s",
                     rootRepoForSearch.getId()));
-            List<Entity> octaneRepositoryBranches = getRepositoryBranches(rootRepoForSearch.getId(), workspaceId, false);
-
-            Set<String> octaneBranchesNames = octaneRepositoryBranches.stream()
-                            .map(b -> b.getField(EntityConstants.ScmRepository.NAME_FIELD).toString())
-                            .collect(Collectors.toSet());
+            Set<String> octaneBranchesNames = getRepositoryBranchNames(rootRepoForSearch.getId(), workspaceId);
             ciServerBranches = ciServerBranches
                     .stream()
                     .filter(branch -> !(octaneBranchesNames.contains(branch.getName())))
@@ -266,24 +259,25 @@ final class PullRequestAndBranchServiceImpl implements PullRequestAndBranchServi
 
         List<Entity> roots = new ArrayList<>(getRepositoryRoots(repoUrlForOctane, workspaceId));
 
-        List<Entity> octaneBranches = new ArrayList<>();
+        //  branches are grouped as the pages arrive, the ones not matching the filter are not retained
+        List<Pattern> filterPatterns = FetchUtils.buildPatterns(fp.getFilter());
+        Map<String, List<Entity>> octaneBranchMap = new HashMap<>();
+        AtomicInteger octaneBranchesCount = new AtomicInteger();
 
         String rootId = "";
         if (!roots.isEmpty()) {
             rootId = roots.get(0).getId();
-            octaneBranches = getRepositoryBranches(rootId, workspaceId, false);
+            try (Stream<Entity> octaneBranches = streamRepositoryBranches(rootId, workspaceId, false)) {
+                octaneBranches.forEach(branch -> {
+                    octaneBranchesCount.incrementAndGet();
+                    if (FetchUtils.isBranchMatch(filterPatterns, branch.getName())) {
+                        octaneBranchMap.computeIfAbsent(branch.getName(), name -> new ArrayList<>()).add(branch);
+                    }
+                });
+            }
             logConsumer.accept("Found repository root with id " + rootId);
         }
-
-        if (octaneBranches == null) {
-            octaneBranches = Collections.emptyList();
-        }
-
-        List<Pattern> filterPatterns = FetchUtils.buildPatterns(fp.getFilter());
-        Map<String, List<Entity>> octaneBranchMap = octaneBranches.stream()
-                .filter(br -> FetchUtils.isBranchMatch(filterPatterns, br.getName()))
-                .collect(groupingBy(b -> b.getName()));
-        logConsumer.accept("Found " + octaneBranches.size() + " branches in ALM Octane related to defined filter.");
+        logConsumer.accept("Found " + octaneBranchesCount.get() + " branches in ALM Octane related to defined filter.");
 
         //GENERATE UPDATES
 
@@ -350,8 +344,7 @@ final class PullRequestAndBranchServiceImpl implements PullRequestAndBranchServi
                 boolean hasDuplicatedException = bulkException.getData().getErrors().stream()
                         .filter(ex -> EntityConstants.Errors.DUPLICATE_ERROR_CODE.equals(ex.getErrorCode())).findAny().isPresent();
                 Map<String, Entity> deletedBranchesInOctane = !hasDuplicatedException ? Collections.emptyMap() :
-                        getRepositoryBranches(rootId, workspaceId, true).stream()
-                                .collect(Collectors.toMap(e -> e.getStringValue(EntityConstants.ScmRepository.NAME_FIELD), Function.identity()));
+                        getDeletedRepositoryBranches(rootId, workspaceId);
 
                 //try to update duplicates
                 List<Entity> deletedBranchesToUpdate = new ArrayList<>();
@@ -536,18 +529,31 @@ final class PullRequestAndBranchServiceImpl implements PullRequestAndBranchServi
         return foundRoots;
     }
 
-    private List<Entity> getRepositoryBranches(String repositoryRootId, Long workspaceId, boolean deleted) {
+    private Set<String> getRepositoryBranchNames(String repositoryRootId, Long workspaceId) {
+        try (Stream<Entity> branches = streamRepositoryBranches(repositoryRootId, workspaceId, false)) {
+            return branches
+                    .map(b -> b.getField(EntityConstants.ScmRepository.NAME_FIELD).toString())
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private Map<String, Entity> getDeletedRepositoryBranches(String repositoryRootId, Long workspaceId) {
+        try (Stream<Entity> branches = streamRepositoryBranches(repositoryRootId, workspaceId, true)) {
+            return branches.collect(Collectors.toMap(e -> e.getStringValue(EntityConstants.ScmRepository.NAME_FIELD), Function.identity()));
+        }
+    }
+
+    private Stream<Entity> streamRepositoryBranches(String repositoryRootId, Long workspaceId, boolean deleted) {
         String byParentIdCondition = QueryHelper.conditionRef(EntityConstants.ScmRepository.PARENT_FIELD, Long.parseLong(repositoryRootId));
         String notDeletedCondition = QueryHelper.condition(EntityConstants.ScmRepository.IS_DELETED_FIELD, deleted);
-        List<Entity> foundBranches = entitiesService.getEntities(workspaceId,
+        return entitiesService.streamEntities(workspaceId,
                 EntityConstants.ScmRepository.COLLECTION_NAME,
                 Arrays.asList(byParentIdCondition, notDeletedCondition),
+                null,
                 Arrays.asList(EntityConstants.ScmRepository.NAME_FIELD,
                         EntityConstants.ScmRepository.IS_MERGED_FIELD,
                         EntityConstants.ScmRepository.LAST_COMMIT_SHA_FIELD,
                         EntityConstants.ScmRepository.LAST_COMMIT_TIME_FIELD));
-
-        return foundBranches;
     }
 
     private synchronized void savePullRequestLastUpdateTime(String workspaceId, String repoUrl, long lastUpdateTime) {
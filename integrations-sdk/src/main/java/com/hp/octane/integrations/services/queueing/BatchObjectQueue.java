@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.queueing;
+
+import com.squareup.tape.ObjectQueue;
+
+import java.util.List;
+
+/**
+ * Object queue allowing to look ahead of the head item and to remove several items at once
+ *
+ * @param <T> type of an item of the queue
+ */
+public interface BatchObjectQueue<T> extends ObjectQueue<T> {
+
+	/**
+	 * Reads up to max items from the head of the queue, items are NOT removed
+	 *
+	 * @param max max number of items to read
+	 * @return list of items, empty if the queue is empty
+	 */
+	List<T> peek(int max);
+
+	/**
+	 * Removes the given number of items from the head of the queue
+	 *
+	 * @param count number of items to remove
+	 * @throws java.util.NoSuchElementException if the queue holds less items than requested
+	 */
+	void remove(int count);
+}
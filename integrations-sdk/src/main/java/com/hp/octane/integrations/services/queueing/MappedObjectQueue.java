@@ -0,0 +1,542 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.queueing;
+
+import com.squareup.tape.FileObjectQueue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * File based object queue backed by memory-mapped segment files
+ * - items are appended to the tail segment, a new segment is started when the tail one is full
+ * - item layout: [int length][int crc32][bytes], zero length marks the end of the segment data
+ * - head position is kept in a separate mapped file, segments behind the head are deleted as soon as they are consumed
+ * - writes are visible to the OS (thus survive process crash) immediately, forcing them to disk is done in groups,
+ * at most once per commit interval (and on close)
+ * - on open the items from head on are validated, the first torn/corrupted item and anything after it is discarded
+ * All the public methods are synchronized, queue may be used by several producers and consumers.
+ */
+public final class MappedObjectQueue<T> implements BatchObjectQueue<T>, Closeable {
+	private static final Logger logger = LogManager.getLogger(MappedObjectQueue.class);
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".dat";
+	private static final String HEAD_FILE = "head";
+	private static final int ITEM_HEADER_SIZE = 8;
+	private static final int HEAD_SIZE = 28;
+	private static final long HEAD_MAGIC = 0x4F63746E51756575L;
+
+	private final File directory;
+	private final int segmentSize;
+	private final long commitInterval;
+	private final FileObjectQueue.Converter<T> converter;
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+	private final ByteArrayOutputStream serializationBuffer = new ByteArrayOutputStream();
+	private final FileChannel headChannel;
+	private final MappedByteBuffer headBuffer;
+
+	private Segment headSegment;
+	private int headPosition;
+	private long headSequence;
+	private Segment tailSegment;
+	private int tailPosition;
+	private long tailSequence;
+
+	private T peeked;
+	private boolean dirty;
+	private long lastCommit;
+	private boolean closed;
+	private Listener<T> listener;
+
+	/**
+	 * @param directory      directory of the queue files, created if not exists
+	 * @param segmentSize    size of the segment file in bytes (segment holding a larger item is extended to hold it)
+	 * @param commitInterval min interval in millis between forcing the writes to disk, 0 - force on each change
+	 * @param converter      items converter
+	 * @throws IOException in case of failure to open/create the queue files
+	 */
+	public MappedObjectQueue(File directory, int segmentSize, long commitInterval, FileObjectQueue.Converter<T> converter) throws IOException {
+		if (directory == null) {
+			throw new IllegalArgumentException("directory MUST NOT be null");
+		}
+		if (segmentSize <= ITEM_HEADER_SIZE) {
+			throw new IllegalArgumentException("segment size MUST be larger than " + ITEM_HEADER_SIZE);
+		}
+		if (converter == null) {
+			throw new IllegalArgumentException("converter MUST NOT be null");
+		}
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("failed to create queue directory " + directory);
+		}
+
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.commitInterval = commitInterval;
+		this.converter = converter;
+		this.headChannel = new RandomAccessFile(new File(directory, HEAD_FILE), "rw").getChannel();
+		this.headBuffer = headChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEAD_SIZE);
+		try {
+			recover();
+		} catch (IOException | RuntimeException e) {
+			closeSegments();
+			unmap(headBuffer);
+			headChannel.close();
+			throw e;
+		}
+		this.lastCommit = System.currentTimeMillis();
+	}
+
+	@Override
+	public synchronized int size() {
+		return (int) (tailSequence - headSequence);
+	}
+
+	@Override
+	public synchronized void add(T entry) {
+		ensureOpen();
+		byte[] data;
+		try {
+			serializationBuffer.reset();
+			converter.toStream(entry, serializationBuffer);
+			data = serializationBuffer.toByteArray();
+		} catch (IOException ioe) {
+			throw new QueueException("failed to serialize " + entry, ioe);
+		}
+		if (data.length == 0) {
+			throw new QueueException("serialized item MUST NOT be empty", null);
+		}
+
+		try {
+			int needed = ITEM_HEADER_SIZE + data.length;
+			if (tailPosition + needed > tailSegment.capacity) {
+				rollTailSegment(needed);
+			}
+			CRC32 crc = new CRC32();
+			crc.update(data, 0, data.length);
+			ByteBuffer buffer = ((ByteBuffer) tailSegment.buffer).duplicate();
+			((Buffer) buffer).position(tailPosition + ITEM_HEADER_SIZE);
+			buffer.put(data);
+			buffer.putInt(tailPosition + 4, (int) crc.getValue());
+			//  length is written last, item becomes visible to recovery only when complete
+			buffer.putInt(tailPosition, data.length);
+			tailPosition += needed;
+			tailSequence++;
+			dirty = true;
+			commitIfDue();
+		} catch (IOException ioe) {
+			throw new QueueException("failed to add item to " + directory, ioe);
+		}
+
+		if (listener != null) {
+			listener.onAdd(this, entry);
+		}
+	}
+
+	@Override
+	public synchronized T peek() {
+		ensureOpen();
+		if (size() == 0) {
+			return null;
+		}
+		if (peeked == null) {
+			normalizeHead();
+			peeked = readItem(headSegment, headPosition);
+		}
+		return peeked;
+	}
+
+	@Override
+	public synchronized List<T> peek(int max) {
+		ensureOpen();
+		int count = Math.min(max, size());
+		List<T> result = new ArrayList<>(Math.max(count, 0));
+		if (count <= 0) {
+			return result;
+		}
+		normalizeHead();
+		Segment segment = headSegment;
+		int position = headPosition;
+		for (int i = 0; i < count; i++) {
+			if (isEndOfSegment(segment, position)) {
+				segment = segments.higherEntry(segment.firstSequence).getValue();
+				position = 0;
+			}
+			result.add(i == 0 && peeked != null ? peeked : readItem(segment, position));
+			position += ITEM_HEADER_SIZE + segment.buffer.getInt(position);
+		}
+		return result;
+	}
+
+	@Override
+	public synchronized void remove() {
+		remove(1);
+	}
+
+	@Override
+	public synchronized void remove(int count) {
+		ensureOpen();
+		if (count > size()) {
+			throw new NoSuchElementException("queue holds " + size() + " items only, can't remove " + count);
+		}
+		for (int i = 0; i < count; i++) {
+			normalizeHead();
+			headPosition += ITEM_HEADER_SIZE + headSegment.buffer.getInt(headPosition);
+			headSequence++;
+		}
+		peeked = null;
+		normalizeHead();
+		writeHead();
+		dirty = true;
+		commitIfDue();
+
+		if (listener != null) {
+			for (int i = 0; i < count; i++) {
+				listener.onRemove(this);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void setListener(Listener<T> listener) {
+		if (listener != null) {
+			for (T item : peek(size())) {
+				listener.onAdd(this, item);
+			}
+		}
+		this.listener = listener;
+	}
+
+	/**
+	 * Forces all the changes done so far to disk
+	 */
+	public synchronized void commit() {
+		if (closed || !dirty) {
+			return;
+		}
+		tailSegment.buffer.force();
+		headBuffer.force();
+		dirty = false;
+		lastCommit = System.currentTimeMillis();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		try {
+			commit();
+		} finally {
+			closed = true;
+			closeSegments();
+			unmap(headBuffer);
+			headChannel.close();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "MappedObjectQueue{" + directory + "}";
+	}
+
+	private void recover() throws IOException {
+		File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+		TreeMap<Long, File> segmentFiles = new TreeMap<>();
+		if (files != null) {
+			for (File file : files) {
+				try {
+					segmentFiles.put(Long.parseLong(file.getName().substring(SEGMENT_PREFIX.length(), file.getName().length() - SEGMENT_SUFFIX.length())), file);
+				} catch (NumberFormatException nfe) {
+					logger.warn("unexpected file in queue directory " + file + ", skipping it");
+				}
+			}
+		}
+
+		//  head position, falls back to the beginning of the first segment if missing or corrupted
+		long headSegmentSequence = headBuffer.getLong(0);
+		headSequence = headBuffer.getLong(8);
+		headPosition = headBuffer.getInt(16);
+		boolean headValid = headBuffer.getLong(20) == (headSegmentSequence ^ headSequence ^ headPosition ^ HEAD_MAGIC) &&
+				segmentFiles.containsKey(headSegmentSequence) && headSequence >= headSegmentSequence && headPosition >= 0;
+		if (!headValid) {
+			if (headBuffer.getLong(20) != 0) {
+				logger.warn("head of queue " + directory + " is corrupted, reading the queue from the first available item");
+			}
+			headSegmentSequence = segmentFiles.isEmpty() ? 0 : segmentFiles.firstKey();
+			headSequence = headSegmentSequence;
+			headPosition = 0;
+		}
+
+		//  segments behind the head are consumed already
+		for (Map.Entry<Long, File> segmentFile : segmentFiles.headMap(headSegmentSequence).entrySet()) {
+			deleteFile(segmentFile.getValue());
+		}
+
+		//  validate the items from the head on, the queue is cut at the first gap/corruption
+		long sequence = headSequence;
+		int position = headPosition;
+		boolean cut = false;
+		for (Map.Entry<Long, File> segmentFile : segmentFiles.tailMap(headSegmentSequence).entrySet()) {
+			if (cut || (segmentFile.getKey() != headSegmentSequence && segmentFile.getKey() != sequence)) {
+				logger.warn("queue segment " + segmentFile.getValue() + " is out of sequence, removing it");
+				deleteFile(segmentFile.getValue());
+				cut = true;
+				continue;
+			}
+
+			Segment segment = openSegment(segmentFile.getKey(), segmentFile.getValue(), 0);
+			segments.put(segment.firstSequence, segment);
+			if (segment.firstSequence != headSegmentSequence) {
+				position = 0;
+			}
+			while (!isEndOfSegment(segment, position)) {
+				int length = segment.buffer.getInt(position);
+				if (length < 0 || position + ITEM_HEADER_SIZE + length > segment.capacity || !isChecksumValid(segment, position, length)) {
+					logger.warn("queue segment " + segment.file + " has torn/corrupted item at " + position + ", discarding it and the items after it");
+					clear(segment, position);
+					cut = true;
+					break;
+				}
+				position += ITEM_HEADER_SIZE + length;
+				sequence++;
+			}
+			tailSegment = segment;
+			tailPosition = position;
+		}
+
+		if (segments.isEmpty()) {
+			tailSegment = openSegment(headSequence, segmentFile(headSequence), segmentSize);
+			segments.put(tailSegment.firstSequence, tailSegment);
+			tailPosition = 0;
+			headPosition = 0;
+		}
+		headSegment = segments.get(headSegmentSequence) != null ? segments.get(headSegmentSequence) : segments.firstEntry().getValue();
+		if (headSegment == tailSegment && headPosition > tailPosition) {
+			headPosition = tailPosition;
+		}
+		tailSequence = sequence;
+		writeHead();
+	}
+
+	private Segment openSegment(long firstSequence, File file, int minCapacity) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			int capacity = (int) Math.max(randomAccessFile.length(), minCapacity);
+			FileChannel channel = randomAccessFile.getChannel();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+			return new Segment(firstSequence, file, channel, buffer, capacity);
+		} catch (IOException | RuntimeException e) {
+			randomAccessFile.close();
+			throw e;
+		}
+	}
+
+	private void rollTailSegment(int needed) throws IOException {
+		Segment previous = tailSegment;
+		previous.buffer.force();
+		if (previous.firstSequence == tailSequence) {
+			//  tail segment is empty and too small for the item, re-mapping it with the required capacity
+			segments.remove(previous.firstSequence);
+			previous.close();
+		}
+		Segment segment = openSegment(tailSequence, segmentFile(tailSequence), Math.max(segmentSize, needed));
+		segments.put(segment.firstSequence, segment);
+		if (headSegment == previous && previous.firstSequence == tailSequence) {
+			headSegment = segment;
+		}
+		tailSegment = segment;
+		tailPosition = 0;
+	}
+
+	//  moves the head to the next segment if the current one is consumed, consumed segment is deleted
+	private void normalizeHead() {
+		while (headSegment != tailSegment && isEndOfSegment(headSegment, headPosition)) {
+			Segment consumed = headSegment;
+			headSegment = segments.higherEntry(consumed.firstSequence).getValue();
+			headPosition = 0;
+			writeHead();
+			segments.remove(consumed.firstSequence);
+			consumed.close();
+			deleteFile(consumed.file);
+		}
+	}
+
+	private boolean isEndOfSegment(Segment segment, int position) {
+		if (segment == tailSegment) {
+			return position >= tailPosition;
+		}
+		return position + ITEM_HEADER_SIZE > segment.capacity || segment.buffer.getInt(position) == 0;
+	}
+
+	private boolean isChecksumValid(Segment segment, int position, int length) {
+		if (length == 0) {
+			return false;
+		}
+		ByteBuffer data = ((ByteBuffer) segment.buffer).duplicate();
+		((Buffer) data).position(position + ITEM_HEADER_SIZE);
+		((Buffer) data).limit(position + ITEM_HEADER_SIZE + length);
+		CRC32 crc = new CRC32();
+		byte[] chunk = new byte[Math.min(length, 8192)];
+		while (data.hasRemaining()) {
+			int read = Math.min(chunk.length, data.remaining());
+			data.get(chunk, 0, read);
+			crc.update(chunk, 0, read);
+		}
+		return (int) crc.getValue() == segment.buffer.getInt(position + 4);
+	}
+
+	private T readItem(Segment segment, int position) {
+		int length = segment.buffer.getInt(position);
+		byte[] data = new byte[length];
+		ByteBuffer buffer = ((ByteBuffer) segment.buffer).duplicate();
+		((Buffer) buffer).position(position + ITEM_HEADER_SIZE);
+		buffer.get(data);
+		try {
+			return converter.from(data);
+		} catch (IOException ioe) {
+			throw new QueueException("failed to deserialize item of " + directory, ioe);
+		}
+	}
+
+	private void writeHead() {
+		headBuffer.putLong(0, headSegment.firstSequence);
+		headBuffer.putLong(8, headSequence);
+		headBuffer.putInt(16, headPosition);
+		headBuffer.putLong(20, headSegment.firstSequence ^ headSequence ^ headPosition ^ HEAD_MAGIC);
+	}
+
+	private void commitIfDue() {
+		if (System.currentTimeMillis() - lastCommit >= commitInterval) {
+			commit();
+		}
+	}
+
+	//  zero-fills segment from the given position, so that no stale data will be taken for items later on
+	private static void clear(Segment segment, int position) {
+		ByteBuffer buffer = ((ByteBuffer) segment.buffer).duplicate();
+		((Buffer) buffer).position(position);
+		byte[] zeros = new byte[Math.min(8192, segment.capacity - position)];
+		while (buffer.hasRemaining()) {
+			buffer.put(zeros, 0, Math.min(zeros.length, buffer.remaining()));
+		}
+		segment.buffer.force();
+	}
+
+	private File segmentFile(long firstSequence) {
+		return new File(directory, String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+	}
+
+	private void closeSegments() {
+		segments.values().forEach(Segment::close);
+		segments.clear();
+	}
+
+	private void ensureOpen() {
+		if (closed) {
+			throw new IllegalStateException("queue " + directory + " is closed");
+		}
+	}
+
+	private static void deleteFile(File file) {
+		if (file.exists() && !file.delete()) {
+			logger.warn("failed to delete " + file);
+		}
+	}
+
+	//  mapped buffer is released by GC only, yet the file can't be deleted on some platforms while mapped, so releasing it explicitly
+	private static void unmap(MappedByteBuffer buffer) {
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			invokeCleaner.invoke(theUnsafe.get(null), buffer);
+		} catch (NoSuchMethodException nsme) {
+			//  java 8
+			try {
+				Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				Object cleaner = cleanerMethod.invoke(buffer);
+				if (cleaner != null) {
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+				}
+			} catch (Exception e) {
+				logger.debug("failed to unmap buffer, leaving it to GC", e);
+			}
+		} catch (Exception e) {
+			logger.debug("failed to unmap buffer, leaving it to GC", e);
+		}
+	}
+
+	private static final class Segment {
+		private final long firstSequence;
+		private final File file;
+		private final FileChannel channel;
+		private final MappedByteBuffer buffer;
+		private final int capacity;
+
+		private Segment(long firstSequence, File file, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+			this.firstSequence = firstSequence;
+			this.file = file;
+			this.channel = channel;
+			this.buffer = buffer;
+			this.capacity = capacity;
+		}
+
+		private void close() {
+			unmap(buffer);
+			try {
+				channel.close();
+			} catch (IOException ioe) {
+				logger.warn("failed to close " + file, ioe);
+			}
+		}
+	}
+
+	/**
+	 * Unchecked failure of the queue operation, ObjectQueue API does not allow checked ones
+	 */
+	public static final class QueueException extends RuntimeException {
+		private QueueException(String message, Throwable cause) {
+			super(message, cause);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.queueing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Memory based object queue
+ * All the public methods are synchronized, queue may be used by several producers and consumers.
+ */
+final class MemoryObjectQueue<T> implements BatchObjectQueue<T> {
+	private final ArrayDeque<T> items = new ArrayDeque<>();
+	private Listener<T> listener;
+
+	@Override
+	public synchronized int size() {
+		return items.size();
+	}
+
+	@Override
+	public synchronized void add(T entry) {
+		items.add(entry);
+		if (listener != null) {
+			listener.onAdd(this, entry);
+		}
+	}
+
+	@Override
+	public synchronized T peek() {
+		return items.peek();
+	}
+
+	@Override
+	public synchronized List<T> peek(int max) {
+		List<T> result = new ArrayList<>(Math.max(0, Math.min(max, items.size())));
+		Iterator<T> iterator = items.iterator();
+		while (result.size() < max && iterator.hasNext()) {
+			result.add(iterator.next());
+		}
+		return result;
+	}
+
+	@Override
+	public synchronized void remove() {
+		remove(1);
+	}
+
+	@Override
+	public synchronized void remove(int count) {
+		if (count > items.size()) {
+			throw new NoSuchElementException("queue holds " + items.size() + " items only, can't remove " + count);
+		}
+		for (int i = 0; i < count; i++) {
+			items.poll();
+			if (listener != null) {
+				listener.onRemove(this);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void setListener(Listener<T> listener) {
+		if (listener != null) {
+			for (T item : items) {
+				listener.onAdd(this, item);
+			}
+		}
+		this.listener = listener;
+	}
+}
@@ -31,11 +31,11 @@
  */
 package com.hp.octane.integrations.services.queueing;
 
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.hp.octane.integrations.OctaneSDK;
 import com.hp.octane.integrations.utils.CIPluginSDKUtils;
 import com.squareup.tape.FileObjectQueue;
-import com.squareup.tape.InMemoryObjectQueue;
-import com.squareup.tape.ObjectQueue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -51,8 +51,11 @@ import java.util.List;
 
 final class QueueingServiceImpl implements QueueingService {
 	private static final Logger logger = LogManager.getLogger(QueueingServiceImpl.class);
+	private static final String SEGMENTS_DIRECTORY_SUFFIX = ".segments";
+	private final int SEGMENT_SIZE = System.getProperty("octane.sdk.queueing.segment-size") != null ? Integer.parseInt(System.getProperty("octane.sdk.queueing.segment-size")) : 1024 * 1024;
+	private final long COMMIT_INTERVAL = System.getProperty("octane.sdk.queueing.commit-interval") != null ? Long.parseLong(System.getProperty("octane.sdk.queueing.commit-interval")) : 100;
 	private final File storageDirectory;
-	private final List<FileObjectQueue> fileObjectQueues = new LinkedList<>();
+	private final List<MappedObjectQueue<?>> fileObjectQueues = new LinkedList<>();
 	private boolean isShutdown;
 
 	QueueingServiceImpl(OctaneSDK.SDKServicesConfigurer configurer) {
@@ -79,16 +82,17 @@ final class QueueingServiceImpl implements QueueingService {
 	}
 
 	@Override
-	public <T> ObjectQueue<T> initMemoQueue() {
-		return new InMemoryObjectQueue<>();
+	public <T> BatchObjectQueue<T> initMemoQueue() {
+		return new MemoryObjectQueue<>();
 	}
 
 	@Override
-	public <T extends QueueItem> ObjectQueue<T> initFileQueue(String queueFileName, Class<T> targetType) {
-		ObjectQueue<T> result;
+	public <T extends QueueItem> BatchObjectQueue<T> initFileQueue(String queueFileName, Class<T> targetType) {
+		BatchObjectQueue<T> result;
 		try {
-			File queueFile = new File(storageDirectory, queueFileName);
-			FileObjectQueue<T> tmp = new FileObjectQueue<>(queueFile, new GenericOctaneQueueItemConverter<>(targetType));
+			GenericOctaneQueueItemConverter<T> converter = new GenericOctaneQueueItemConverter<>(targetType);
+			MappedObjectQueue<T> tmp = new MappedObjectQueue<>(new File(storageDirectory, queueFileName + SEGMENTS_DIRECTORY_SUFFIX), SEGMENT_SIZE, COMMIT_INTERVAL, converter);
+			migrateLegacyQueue(new File(storageDirectory, queueFileName), tmp, converter);
 			fileObjectQueues.add(tmp);
 			result = tmp;
 		} catch (Exception e) {
@@ -98,6 +102,34 @@ final class QueueingServiceImpl implements QueueingService {
 		return result;
 	}
 
+	//  items of the queue file created by the previous versions (Tape based) are moved to the new queue
+	private static <T> void migrateLegacyQueue(File legacyQueueFile, MappedObjectQueue<T> queue, FileObjectQueue.Converter<T> converter) {
+		if (!legacyQueueFile.isFile()) {
+			return;
+		}
+
+		int migrated = 0;
+		try {
+			FileObjectQueue<T> legacyQueue = new FileObjectQueue<>(legacyQueueFile, converter);
+			try {
+				while (legacyQueue.size() > 0) {
+					queue.add(legacyQueue.peek());
+					legacyQueue.remove();
+					migrated++;
+				}
+			} finally {
+				legacyQueue.close();
+			}
+			queue.commit();
+			if (!legacyQueueFile.delete()) {
+				logger.warn("failed to delete legacy queue file " + legacyQueueFile);
+			}
+			logger.info("migrated " + migrated + " item/s from legacy queue file " + legacyQueueFile);
+		} catch (Exception e) {
+			logger.error("failed to migrate legacy queue file " + legacyQueueFile + " (migrated " + migrated + " item/s)", e);
+		}
+	}
+
 	@Override
 	public void shutdown() {
 		isShutdown = true;
@@ -116,20 +148,22 @@ final class QueueingServiceImpl implements QueueingService {
 	}
 
 	private static final class GenericOctaneQueueItemConverter<T> implements FileObjectQueue.Converter<T> {
-		private final Class<T> targetType;
+		private final ObjectReader reader;
+		private final ObjectWriter writer;
 
 		private GenericOctaneQueueItemConverter(Class<T> targetType) {
-			this.targetType = targetType;
+			this.reader = CIPluginSDKUtils.getObjectMapper().readerFor(targetType);
+			this.writer = CIPluginSDKUtils.getObjectMapper().writer();
 		}
 
 		@Override
 		public T from(byte[] bytes) throws IOException {
-			return CIPluginSDKUtils.getObjectMapper().readValue(bytes, targetType);
+			return reader.readValue(bytes);
 		}
 
 		@Override
 		public void toStream(T t, OutputStream outputStream) throws IOException {
-			CIPluginSDKUtils.getObjectMapper().writeValue(outputStream, t);
+			writer.writeValue(outputStream, t);
 		}
 	}
 }
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.rest;
+
+import com.hp.octane.integrations.dto.connectivity.HttpMethod;
+import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+
+import java.io.Closeable;
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Splits the connections of the REST client between the traffic classes: each class has its reserved connections,
+ * the rest of the connections are shared by all the classes.
+ * Request first takes the reserved connection of its class and falls back to the shared ones, so that the burst of one class
+ * (e.g. task results) could not starve the others (e.g. events or the tasks long poll).
+ * Async requests wait for their connection without holding a thread: they are served whenever some lease is released.
+ */
+final class ConnectionBudget {
+
+	enum TrafficClass {
+		LONG_POLL("long-poll", 1),
+		TASK_RESULTS("task-results", 2),
+		EVENTS("events", 2),
+		PUSHES("pushes", 2),
+		DEFAULT("default", 1);
+
+		private final String propertyName;
+		private final int defaultReserved;
+
+		TrafficClass(String propertyName, int defaultReserved) {
+			this.propertyName = propertyName;
+			this.defaultReserved = defaultReserved;
+		}
+
+		/**
+		 * @return number of reserved connections as configured by octane.sdk.rest.pool.reserved.[class] property
+		 */
+		int getConfiguredReserved() {
+			String value = System.getProperty("octane.sdk.rest.pool.reserved." + propertyName);
+			return value != null ? Integer.parseInt(value) : defaultReserved;
+		}
+
+		String getPropertyName() {
+			return propertyName;
+		}
+
+		static TrafficClass of(OctaneRequest request) {
+			String url = request.getUrl() == null ? "" : request.getUrl();
+			int queryStart = url.indexOf('?');
+			String path = queryStart < 0 ? url : url.substring(0, queryStart);
+			if (path.contains(RestService.ANALYTICS_CI_PATH_PART)) {
+				if (HttpMethod.GET.equals(request.getMethod()) && path.endsWith("/tasks")) {
+					return LONG_POLL;
+				} else if (path.contains("/tasks/") && (path.endsWith("/result") || path.endsWith("/tasks/results"))) {
+					return TASK_RESULTS;
+				} else if (path.endsWith(RestService.ANALYTICS_CI_PATH_PART + "events")) {
+					return EVENTS;
+				}
+			}
+			if (HttpMethod.POST.equals(request.getMethod()) || HttpMethod.PUT.equals(request.getMethod())) {
+				return PUSHES;
+			}
+			return DEFAULT;
+		}
+	}
+
+	private final int maxTotal;
+	private final Map<TrafficClass, Semaphore> reserved = new EnumMap<>(TrafficClass.class);
+	private final Map<TrafficClass, AtomicInteger> inUse = new EnumMap<>(TrafficClass.class);
+	private final Semaphore shared;
+	private final ConcurrentLinkedQueue<AsyncWaiter> asyncWaiters = new ConcurrentLinkedQueue<>();
+
+	//Metrics
+	private final AtomicLong leasesCount = new AtomicLong();
+	private final AtomicLong waitedLeasesCount = new AtomicLong();
+	private final AtomicLong totalLeaseWait = new AtomicLong();
+	private final AtomicLong maxLeaseWait = new AtomicLong();
+	private final AtomicLong leaseTimeoutsCount = new AtomicLong();
+
+	ConnectionBudget(int maxTotal, Map<TrafficClass, Integer> reservedConnections) {
+		int reservedTotal = 0;
+		for (TrafficClass trafficClass : TrafficClass.values()) {
+			int classReserved = reservedConnections.getOrDefault(trafficClass, 0);
+			if (classReserved < 0) {
+				throw new IllegalArgumentException("reserved connections of " + trafficClass + " MUST NOT be negative");
+			}
+			reserved.put(trafficClass, new Semaphore(classReserved));
+			inUse.put(trafficClass, new AtomicInteger());
+			reservedTotal += classReserved;
+		}
+		if (maxTotal <= reservedTotal) {
+			throw new IllegalArgumentException("max total connections (" + maxTotal + ") MUST be greater than reserved connections (" + reservedTotal + ")");
+		}
+		this.maxTotal = maxTotal;
+		this.shared = new Semaphore(maxTotal - reservedTotal, true);
+	}
+
+	int getMaxTotal() {
+		return maxTotal;
+	}
+
+	/**
+	 * Leases the connection of the traffic class: the reserved one if available, otherwise the shared one
+	 *
+	 * @param trafficClass class of the request
+	 * @param timeoutMs    max time to wait for the shared connection
+	 * @return lease, that MUST be released when the connection is released
+	 * @throws InterruptedIOException if no connection was freed in time (ConnectionPoolTimeoutException) or the thread was interrupted
+	 */
+	Lease acquire(TrafficClass trafficClass, long timeoutMs) throws InterruptedIOException {
+		Semaphore permits = reserved.get(trafficClass);
+		if (!permits.tryAcquire()) {
+			permits = shared;
+			if (!shared.tryAcquire()) {
+				long started = System.currentTimeMillis();
+				boolean acquired;
+				try {
+					acquired = shared.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("interrupted while waiting for connection of " + trafficClass);
+				}
+				long wait = System.currentTimeMillis() - started;
+				recordWait(wait);
+				if (!acquired) {
+					leaseTimeoutsCount.incrementAndGet();
+					throw new ConnectionPoolTimeoutException("timeout waiting for connection of " + trafficClass + " after " + wait + " ms");
+				}
+			}
+		}
+		leasesCount.incrementAndGet();
+		inUse.get(trafficClass).incrementAndGet();
+		return new Lease(trafficClass, permits);
+	}
+
+	/**
+	 * Leases the connection of the traffic class without blocking the caller: if no connection is available,
+	 * the lease is handed over as soon as some other lease is released
+	 *
+	 * @param trafficClass class of the request
+	 * @param timeoutMs    max time to wait for the connection
+	 * @param timer        scheduler of the wait timeout
+	 * @return future lease, that MUST be released when the connection is released; fails with ConnectionPoolTimeoutException if no connection was freed in time
+	 */
+	CompletableFuture<Lease> acquireAsync(TrafficClass trafficClass, long timeoutMs, ScheduledExecutorService timer) {
+		Lease lease = tryAcquire(trafficClass);
+		if (lease != null) {
+			return CompletableFuture.completedFuture(lease);
+		}
+
+		AsyncWaiter waiter = new AsyncWaiter(trafficClass);
+		waiter.timeout = timer.schedule(() -> {
+			//  counted before the waiter fails, so that whoever observes the failure sees the timeout in the metrics
+			if (waiter.settled.compareAndSet(false, true)) {
+				long waited = waiter.waited();
+				recordWait(waited);
+				leaseTimeoutsCount.incrementAndGet();
+				waiter.result.completeExceptionally(new ConnectionPoolTimeoutException("timeout waiting for connection of " + trafficClass + " after " + waited + " ms"));
+			}
+		}, timeoutMs, TimeUnit.MILLISECONDS);
+		asyncWaiters.add(waiter);
+
+		//  the connection could be released while the waiter was being enqueued
+		serveAsyncWaiters();
+		return waiter.result;
+	}
+
+	private Lease tryAcquire(TrafficClass trafficClass) {
+		Semaphore permits = reserved.get(trafficClass);
+		if (!permits.tryAcquire()) {
+			permits = shared;
+			if (!shared.tryAcquire()) {
+				return null;
+			}
+		}
+		leasesCount.incrementAndGet();
+		inUse.get(trafficClass).incrementAndGet();
+		return new Lease(trafficClass, permits);
+	}
+
+	private void serveAsyncWaiters() {
+		if (asyncWaiters.isEmpty()) {
+			return;
+		}
+
+		List<AsyncWaiter> served = new ArrayList<>();
+		synchronized (asyncWaiters) {
+			Iterator<AsyncWaiter> iterator = asyncWaiters.iterator();
+			while (iterator.hasNext()) {
+				AsyncWaiter waiter = iterator.next();
+				if (waiter.settled.get() || waiter.result.isDone()) {
+					iterator.remove();
+					continue;
+				}
+				Lease lease = tryAcquire(waiter.trafficClass);
+				if (lease != null) {
+					iterator.remove();
+					waiter.lease = lease;
+					served.add(waiter);
+				}
+			}
+		}
+
+		//  completed outside of the lock, since the completion runs the dependent stages (and may release leases)
+		for (AsyncWaiter waiter : served) {
+			waiter.timeout.cancel(false);
+			if (waiter.settled.compareAndSet(false, true) && waiter.result.complete(waiter.lease)) {
+				recordWait(waiter.waited());
+			} else {
+				waiter.lease.close();
+			}
+		}
+	}
+
+	private void recordWait(long wait) {
+		waitedLeasesCount.incrementAndGet();
+		totalLeaseWait.addAndGet(wait);
+		maxLeaseWait.accumulateAndGet(wait, Math::max);
+	}
+
+	void addMetrics(Map<String, Object> metricsMap) {
+		long waited = waitedLeasesCount.get();
+		metricsMap.put("pool.leasesCount", leasesCount.get());
+		metricsMap.put("pool.waitedLeasesCount", waited);
+		metricsMap.put("pool.avgLeaseWait", waited == 0 ? 0 : totalLeaseWait.get() / waited);
+		metricsMap.put("pool.maxLeaseWait", maxLeaseWait.get());
+		metricsMap.put("pool.leaseTimeoutsCount", leaseTimeoutsCount.get());
+		metricsMap.put("pool.shared.available", shared.availablePermits());
+		for (TrafficClass trafficClass : TrafficClass.values()) {
+			metricsMap.put("pool." + trafficClass.getPropertyName() + ".inUse", inUse.get(trafficClass).get());
+		}
+	}
+
+	/**
+	 * Connection lease of the traffic class; releasing is idempotent, so the lease may be released by both the response and the error handling
+	 */
+	final class Lease implements Closeable {
+		private final TrafficClass trafficClass;
+		private final Semaphore permits;
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		private Lease(TrafficClass trafficClass, Semaphore permits) {
+			this.trafficClass = trafficClass;
+			this.permits = permits;
+		}
+
+		@Override
+		public void close() {
+			if (released.compareAndSet(false, true)) {
+				inUse.get(trafficClass).decrementAndGet();
+				permits.release();
+				serveAsyncWaiters();
+			}
+		}
+	}
+
+	private static final class AsyncWaiter {
+		private final TrafficClass trafficClass;
+		private final long started = System.currentTimeMillis();
+		private final CompletableFuture<Lease> result = new CompletableFuture<>();
+		private final AtomicBoolean settled = new AtomicBoolean();
+		private volatile ScheduledFuture<?> timeout;
+		private Lease lease;
+
+		private AsyncWaiter(TrafficClass trafficClass) {
+			this.trafficClass = trafficClass;
+		}
+
+		private long waited() {
+			return System.currentTimeMillis() - started;
+		}
+	}
+}
@@ -37,6 +37,7 @@ import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
 import com.hp.octane.integrations.services.HasMetrics;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 public interface OctaneRestClient extends HasMetrics {
 
@@ -62,6 +63,36 @@ public interface OctaneRestClient extends HasMetrics {
 	 */
 	OctaneResponse execute(OctaneRequest request, OctaneConfiguration configuration) throws IOException;
 
+	/**
+	 * Executes Octane server oriented request based on the pre-configuration, without buffering the response body
+	 * Default implementation buffers the response and exposes it as a stream
+	 *
+	 * @param request request
+	 * @return OctaneStreamingResponse, MUST be closed by the caller
+	 * @throws IOException exception during connectivity
+	 */
+	default OctaneStreamingResponse executeStreaming(OctaneRequest request) throws IOException {
+		return OctaneStreamingResponse.fromBuffered(execute(request));
+	}
+
+	/**
+	 * Executes Octane server oriented request based on the pre-configuration without blocking the calling thread
+	 * Returned future may be completed on the transport thread, dependent stages MUST NOT block
+	 * Default implementation executes the request synchronously
+	 *
+	 * @param request request
+	 * @return future of OctaneResponse, completed exceptionally with IOException on connectivity failure or on expiry of the request deadline
+	 */
+	default CompletableFuture<OctaneResponse> executeAsync(OctaneRequest request) {
+		CompletableFuture<OctaneResponse> result = new CompletableFuture<>();
+		try {
+			result.complete(execute(request));
+		} catch (IOException ioe) {
+			result.completeExceptionally(ioe);
+		}
+		return result;
+	}
+
 	/**
 	 * Shuts down the REST client
 	 */
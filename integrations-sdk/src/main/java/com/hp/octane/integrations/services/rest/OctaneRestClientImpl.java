@@ -36,13 +36,16 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.hp.octane.integrations.OctaneConfiguration;
 import com.hp.octane.integrations.OctaneSDK;
 import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.DTOSerializingInputStream;
 import com.hp.octane.integrations.dto.configuration.CIProxyConfiguration;
 import com.hp.octane.integrations.dto.connectivity.HttpMethod;
 import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
 import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
 import com.hp.octane.integrations.utils.CIPluginSDKUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.auth.AuthScope;
@@ -52,31 +55,51 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.HttpClientUtils;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.HttpConnectionFactory;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.cookie.Cookie;
+import org.apache.http.entity.BufferedHttpEntity;
 import org.apache.http.entity.ContentType;
+import org.apache.http.entity.EntityTemplate;
 import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.*;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.impl.cookie.BasicClientCookie;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.ssl.SSLContexts;
 import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.net.ssl.*;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
@@ -85,10 +108,18 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateParsingException;
 import java.security.cert.X509Certificate;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -103,32 +134,62 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 	private static final Set<Integer> AUTHENTICATION_ERROR_CODES = Stream.of(HttpStatus.SC_UNAUTHORIZED).collect(Collectors.toSet());
 	private static final String LWSSO_COOKIE_NAME = "LWSSO_COOKIE_KEY";
 	private static final String AUTHENTICATION_URI = "authentication/sign_in";
-	private static final int MAX_TOTAL_CONNECTIONS = 20;
+	private static final String SECURITY_TOKEN_ATTRIBUTE = "octane.security.token";
+	private static final int MAX_REQUEST_SETUPS = 100;
+	private static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 20;
+
+	//  deadlines of the requests of all the clients, each request is aborted by its own scheduled deadline (no periodic scan of the ongoing requests)
+	private static final ScheduledThreadPoolExecutor requestDeadlines = new ScheduledThreadPoolExecutor(1, new RestClientThreadFactory("OctaneRequestDeadlines-"));
+
+	static {
+		requestDeadlines.setRemoveOnCancelPolicy(true);
+	}
 
 	private final OctaneSDK.SDKServicesConfigurer configurer;
 	private final CloseableHttpClient httpClient;
+	private final PoolingHttpClientConnectionManager connectionManager;
+	private final ConnectionBudget connectionBudget;
+	private final ScheduledFuture<?> connectionsEviction;
+	private final SSLContext sslContext;
+	private final HostnameVerifier hostnameVerifier;
+
+	//  non-blocking client is created on the first async request
+	private final Object ASYNC_CLIENT_LOCK = new Object();
+	private CloseableHttpAsyncClient asyncHttpClient;
+	private PoolingNHttpClientConnectionManager asyncConnectionManager;
+	private boolean asyncClientClosed = false;
 
-	private final ExecutorService requestMonitorExecutors = Executors.newSingleThreadExecutor(new RequestMonitorExecutorsFactory());
-	private long requestMonitorExecutorsAbortedCount = 0;
-	private long lastRequestMonitorWorkerTime = 0;
-	private final Map<HttpUriRequest, Long> ongoingRequests2Started = new HashMap();
+	private final Set<HttpUriRequest> ongoingRequests = ConcurrentHashMap.newKeySet();
+	private final Set<AsyncRequest> ongoingAsyncRequests = ConcurrentHashMap.newKeySet();
+	private final AtomicLong deadlineAbortedCount = new AtomicLong();
+	private final AtomicLong requestsCount = new AtomicLong();
+	private final AtomicLong connectionsCreatedCount = new AtomicLong();
+	private volatile long lastDeadlineAbortTime = 0;
 	private final long REQUEST_ABORT_TIMEOUT_MS =System.getProperty("octane.sdk.request.abort.timeout") != null ?
                                                  TimeUnit.SECONDS.toMillis(Long.parseLong(System.getProperty("octane.sdk.request.abort.timeout")))  :
                                                  TimeUnit.SECONDS.toMillis(120);//120 sec in ms
-	private final Object REQUESTS_LIST_LOCK = new Object();
-	private final Object RESET_LWSSO_TOKEN_LOCK = new Object();
-	private boolean shutdownActivated = false;
+	private final long MAX_STREAMED_BODY_SIZE = System.getProperty("octane.sdk.rest.max-streamed-body-size") != null ? Long.parseLong(System.getProperty("octane.sdk.rest.max-streamed-body-size")) : 512L * 1024 * 1024;
+	private final int ASYNC_IO_THREADS = System.getProperty("octane.sdk.rest.async.io-threads") != null ? Integer.parseInt(System.getProperty("octane.sdk.rest.async.io-threads")) : 2;
+	private final int MAX_TOTAL_CONNECTIONS = System.getProperty("octane.sdk.rest.pool.max-total") != null ? Integer.parseInt(System.getProperty("octane.sdk.rest.pool.max-total")) : DEFAULT_MAX_TOTAL_CONNECTIONS;
+	private final long IDLE_CONNECTION_TIMEOUT_MS = System.getProperty("octane.sdk.rest.pool.idle-timeout") != null ? Long.parseLong(System.getProperty("octane.sdk.rest.pool.idle-timeout")) : TimeUnit.SECONDS.toMillis(60);
+	private final long CONNECTION_TTL_MS = System.getProperty("octane.sdk.rest.pool.connection-ttl") != null ? Long.parseLong(System.getProperty("octane.sdk.rest.pool.connection-ttl")) : TimeUnit.MINUTES.toMillis(10);
 
-	private Cookie LWSSO_TOKEN = null;
-	private long loginRequiredForRefreshLwssoTokenUntil = 0;
+	//  security token is published lock-free; login is single-flight: while one is in flight, the other callers join it
+	private final AtomicReference<Cookie> lwssoToken = new AtomicReference<>();
+	private final AtomicReference<CompletableFuture<OctaneResponse>> loginInFlight = new AtomicReference<>();
+	private volatile long loginRequiredForRefreshLwssoTokenUntil = 0;
+
+	//  resolved proxy and request config per target and timeout, re-resolved after TTL to pick up the proxy changes done in the CI server
+	private final Map<String, RequestSetup> requestSetups = new ConcurrentHashMap<>();
+	private final long REQUEST_SETUP_TTL_MS = System.getProperty("octane.sdk.rest.request-setup.ttl") != null ? Long.parseLong(System.getProperty("octane.sdk.rest.request-setup.ttl")) : TimeUnit.MINUTES.toMillis(5);
+	private final AtomicLong loginsCount = new AtomicLong();
+	private final AtomicLong joinedLoginsCount = new AtomicLong();
 
 	OctaneRestClientImpl(OctaneSDK.SDKServicesConfigurer configurer) {
 		if (configurer == null) {
 			throw new IllegalArgumentException("invalid configurer");
 		}
 
-		requestMonitorExecutors.execute(this::requestMonitorWorker);
-
 		this.configurer = configurer;
 
 		SSLContext sslContext;
@@ -140,20 +201,62 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 			sslContext = SSLContexts.createSystemDefault();
 		}
 
-		HostnameVerifier hostnameVerifier = new CustomHostnameVerifier();
+		this.sslContext = sslContext;
+		this.hostnameVerifier = new CustomHostnameVerifier();
 		SSLConnectionSocketFactory sslSocketFactory = new SSLConnectionSocketFactory(sslContext, hostnameVerifier);
 		Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
 				.register("http", PlainConnectionSocketFactory.getSocketFactory())
 				.register("https", sslSocketFactory)
 				.build();
-		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
-		connectionManager.setMaxTotal(MAX_TOTAL_CONNECTIONS);
-		connectionManager.setDefaultMaxPerRoute(MAX_TOTAL_CONNECTIONS);
+		HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> connectionFactory = (route, config) -> {
+			connectionsCreatedCount.incrementAndGet();
+			return ManagedHttpClientConnectionFactory.INSTANCE.create(route, config);
+		};
+		connectionBudget = createConnectionBudget();
+
+		//  all the requests go to the same Octane, so the single route may take the whole pool, which is split by the connection budget
+		connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry, connectionFactory, null, null, CONNECTION_TTL_MS, TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(connectionBudget.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(connectionBudget.getMaxTotal());
 
 		HttpClientBuilder clientBuilder = HttpClients.custom()
 				.setConnectionManager(connectionManager);
 
 		httpClient = clientBuilder.build();
+		long evictionInterval = Math.max(1000, IDLE_CONNECTION_TIMEOUT_MS / 2);
+		connectionsEviction = requestDeadlines.scheduleWithFixedDelay(this::evictConnections, evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+	}
+
+	private ConnectionBudget createConnectionBudget() {
+		Map<ConnectionBudget.TrafficClass, Integer> reserved = new EnumMap<>(ConnectionBudget.TrafficClass.class);
+		try {
+			for (ConnectionBudget.TrafficClass trafficClass : ConnectionBudget.TrafficClass.values()) {
+				reserved.put(trafficClass, trafficClass.getConfiguredReserved());
+			}
+			return new ConnectionBudget(MAX_TOTAL_CONNECTIONS, reserved);
+		} catch (IllegalArgumentException iae) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "invalid connection pool configuration, falling back to defaults: " + iae.getMessage());
+			reserved.clear();
+			return new ConnectionBudget(DEFAULT_MAX_TOTAL_CONNECTIONS, reserved);
+		}
+	}
+
+	//  expired (by TTL or by keep-alive) and long idle connections are closed, so that no stale connection is leased after the idle period
+	private void evictConnections() {
+		try {
+			connectionManager.closeExpiredConnections();
+			connectionManager.closeIdleConnections(IDLE_CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+			PoolingNHttpClientConnectionManager asyncConnectionManager;
+			synchronized (ASYNC_CLIENT_LOCK) {
+				asyncConnectionManager = this.asyncConnectionManager;
+			}
+			if (asyncConnectionManager != null) {
+				asyncConnectionManager.closeExpiredConnections();
+				asyncConnectionManager.closeIdleConnections(IDLE_CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+			}
+		} catch (RuntimeException re) {
+			logger.warn(configurer.octaneConfiguration.getLocationForLog() + "failed to evict idle connections", re);
+		}
 	}
 
 	@Override
@@ -166,47 +269,83 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 		return executeRequest(request, configuration);
 	}
 
+	@Override
+	public OctaneStreamingResponse executeStreaming(OctaneRequest request) throws IOException {
+		return executeStreamingRequest(request, configurer.octaneConfiguration);
+	}
+
+	@Override
+	public CompletableFuture<OctaneResponse> executeAsync(OctaneRequest request) {
+		return executeAsyncRequest(request, configurer.octaneConfiguration);
+	}
+
 	@Override
 	public void shutdown() {
-		shutdownActivated = true;
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "starting REST client shutdown sequence...");
 		abortAllRequests();
+		connectionsEviction.cancel(false);
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "closing the client...");
 		HttpClientUtils.closeQuietly(httpClient);
-		requestMonitorExecutors.shutdown();
+		synchronized (ASYNC_CLIENT_LOCK) {
+			asyncClientClosed = true;
+			if (asyncHttpClient != null) {
+				try {
+					asyncHttpClient.close();
+				} catch (IOException ioe) {
+					logger.warn(configurer.octaneConfiguration.getLocationForLog() + "failed to close async client", ioe);
+				}
+			}
+		}
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "REST client shutdown done");
 	}
 
 	void notifyConfigurationChange() {
-		synchronized (RESET_LWSSO_TOKEN_LOCK) {
-			loginRequiredForRefreshLwssoTokenUntil = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5);
-			LWSSO_TOKEN = null;
-		}
+		//  the window is set before the token is reset, so that refresh racing with the reset either sees the window or fails to swap the token
+		loginRequiredForRefreshLwssoTokenUntil = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5);
+		lwssoToken.set(null);
+		requestSetups.clear();
 	}
 
 	private void abortAllRequests() {
-		logger.info(configurer.octaneConfiguration.getLocationForLog() + "aborting " + ongoingRequests2Started.size() + " request/s...");
-		synchronized (REQUESTS_LIST_LOCK) {
-			for (HttpUriRequest request : ongoingRequests2Started.keySet()) {
-				logger.info(configurer.octaneConfiguration.getLocationForLog() + "\taborting " + request);
-				request.abort();
-			}
-			LWSSO_TOKEN = null;
+		logger.info(configurer.octaneConfiguration.getLocationForLog() + "aborting " + (ongoingRequests.size() + ongoingAsyncRequests.size()) + " request/s...");
+		for (HttpUriRequest request : ongoingRequests) {
+			logger.info(configurer.octaneConfiguration.getLocationForLog() + "\taborting " + request);
+			request.abort();
 		}
+		for (AsyncRequest request : ongoingAsyncRequests) {
+			logger.info(configurer.octaneConfiguration.getLocationForLog() + "\taborting " + request.uriRequest);
+			request.abort();
+		}
+		lwssoToken.set(null);
 	}
 
 	private OctaneResponse executeRequest(OctaneRequest request, OctaneConfiguration configuration) throws IOException {
-		OctaneResponse result;
+		OctaneStreamingResponse streamingResponse = executeStreamingRequest(request, configuration);
+		try {
+			return streamingResponse.toBufferedResponse();
+		} catch (IOException ioe) {
+			logger.warn(configurer.octaneConfiguration.getLocationForLog() + "failed reading response of " + request, ioe);
+			throw ioe;
+		} finally {
+			streamingResponse.close();
+		}
+	}
+
+	private OctaneStreamingResponse executeStreamingRequest(OctaneRequest request, OctaneConfiguration configuration) throws IOException {
+		OctaneStreamingResponse result;
 		HttpClientContext context;
 		HttpUriRequest uriRequest = null;
-		HttpResponse httpResponse = null;
+		CloseableHttpResponse httpResponse = null;
+		ConnectionBudget.Lease lease = null;
+		Runnable deadline = null;
+		ConnectionBudget.TrafficClass trafficClass = ConnectionBudget.TrafficClass.of(request);
 		OctaneResponse loginResponse;
-		if (LWSSO_TOKEN == null) {
+		if (lwssoToken.get() == null) {
 			logger.info(configurer.octaneConfiguration.getLocationForLog() + "initial login");
-			loginResponse = login(configuration);
+			loginResponse = awaitLogin(authenticate(null, () -> loginSync(configuration)));
 			if (loginResponse.getStatus() != 200) {
 				logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed on initial login, status " + loginResponse.getStatus());
-				return loginResponse;
+				return OctaneStreamingResponse.fromBuffered(loginResponse);
 			}
 		}
 
@@ -215,22 +354,22 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 			for (int i = 0; i < 2; i++) {
 				uriRequest = createHttpRequest(request);
 				context = createHttpContext(request.getUrl(), request.getTimeoutSec(), false);
-				synchronized (REQUESTS_LIST_LOCK) {
-					ongoingRequests2Started.put(uriRequest, System.currentTimeMillis());
-				}
+				lease = connectionBudget.acquire(trafficClass, leaseTimeout(request.getTimeoutSec()));
+
+				//  the deadline stays armed while the body is streamed, until the streaming response is closed
+				deadline = armDeadline(uriRequest, leaseTimeout(request.getTimeoutSec()));
 				httpResponse = httpClient.execute(uriRequest, context);
-				synchronized (REQUESTS_LIST_LOCK) {
-					ongoingRequests2Started.remove(uriRequest);
-				}
 
 				if (AUTHENTICATION_ERROR_CODES.contains(httpResponse.getStatusLine().getStatusCode())) {
 					logger.info(configurer.octaneConfiguration.getLocationForLog() + "doing RE-LOGIN due to status " + httpResponse.getStatusLine().getStatusCode() + " received while calling " + request.getUrl());
 					EntityUtils.consumeQuietly(httpResponse.getEntity());
 					HttpClientUtils.closeQuietly(httpResponse);
-					loginResponse = login(configuration);
+					lease.close();
+					deadline.run();
+					loginResponse = awaitLogin(authenticate(context.getAttribute(SECURITY_TOKEN_ATTRIBUTE, Cookie.class), () -> loginSync(configuration)));
 					if (loginResponse.getStatus() != 200) {
 						logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to RE-LOGIN with status " + loginResponse.getStatus() + ", won't attempt the original request anymore");
-						return loginResponse;
+						return OctaneStreamingResponse.fromBuffered(loginResponse);
 					} else {
 						logger.info(configurer.octaneConfiguration.getLocationForLog() + "re-attempting the original request (" + request.getUrl() + ") having successful RE-LOGIN");
 					}
@@ -240,22 +379,296 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 				}
 			}
 
-			result = createNGAResponse(request, httpResponse);
+			result = new OctaneStreamingResponse(
+					httpResponse.getStatusLine().getStatusCode(),
+					getResponseHeaders(httpResponse),
+					request.getHeaders() != null ? request.getHeaders().get(RestService.CORRELATION_ID_HEADER) : null,
+					httpResponse.getEntity() != null ? httpResponse.getEntity().getContent() : null,
+					releasingLease(httpResponse, lease, deadline),
+					MAX_STREAMED_BODY_SIZE);
+			//  from now on the response (and the connection) is owned by the streaming response
+			httpResponse = null;
+			lease = null;
+			deadline = null;
 		} catch (IOException ioe) {
 			logger.warn(configurer.octaneConfiguration.getLocationForLog() + "failed executing " + request, ioe);
 			throw ioe;
 		} finally {
-			if (uriRequest != null && ongoingRequests2Started.containsKey(uriRequest)) {
-				synchronized (REQUESTS_LIST_LOCK) {
-					ongoingRequests2Started.remove(uriRequest);
-				}
-			}
 			if (httpResponse != null) {
 				EntityUtils.consumeQuietly(httpResponse.getEntity());
 				HttpClientUtils.closeQuietly(httpResponse);
 			}
+			if (lease != null) {
+				lease.close();
+			}
+			if (deadline != null) {
+				deadline.run();
+			}
+		}
+
+		return result;
+	}
+
+	private long leaseTimeout(int requestTimeoutSec) {
+		return requestTimeoutSec > 0 ? TimeUnit.SECONDS.toMillis(requestTimeoutSec) : REQUEST_ABORT_TIMEOUT_MS;
+	}
+
+	private static Closeable releasingLease(CloseableHttpResponse httpResponse, ConnectionBudget.Lease lease, Runnable deadline) {
+		return () -> {
+			try {
+				httpResponse.close();
+			} finally {
+				lease.close();
+				deadline.run();
+			}
+		};
+	}
+
+	private CloseableHttpResponse executeWithDeadline(HttpUriRequest uriRequest, HttpClientContext context, long timeoutMs) throws IOException {
+		Runnable deadline = armDeadline(uriRequest, timeoutMs);
+		try {
+			return httpClient.execute(uriRequest, context);
+		} finally {
+			deadline.run();
+		}
+	}
+
+	/**
+	 * Registers the request as ongoing and schedules its abort
+	 *
+	 * @return disarms the deadline and unregisters the request, may be called more than once
+	 */
+	private Runnable armDeadline(HttpUriRequest uriRequest, long timeoutMs) {
+		requestsCount.incrementAndGet();
+		ongoingRequests.add(uriRequest);
+		ScheduledFuture<?> deadline = scheduleDeadline(uriRequest, uriRequest::abort, timeoutMs);
+		return () -> {
+			deadline.cancel(false);
+			ongoingRequests.remove(uriRequest);
+		};
+	}
+
+	private ScheduledFuture<?> scheduleDeadline(HttpUriRequest uriRequest, Runnable abort, long timeoutMs) {
+		return requestDeadlines.schedule(() -> {
+			logger.info(configurer.octaneConfiguration.getLocationForLog() + " Aborting " + uriRequest + " as expected timeout is over ");
+			deadlineAbortedCount.incrementAndGet();
+			lastDeadlineAbortTime = System.currentTimeMillis();
+			abort.run();
+		}, timeoutMs, TimeUnit.MILLISECONDS);
+	}
+
+	private CompletableFuture<OctaneResponse> executeAsyncRequest(OctaneRequest request, OctaneConfiguration configuration) {
+		HttpUriRequest uriRequest;
+		try {
+			uriRequest = createAsyncHttpRequest(request);
+		} catch (IOException ioe) {
+			return failedFuture(ioe);
+		}
+
+		CompletableFuture<OctaneResponse> initialLogin;
+		if (lwssoToken.get() == null) {
+			logger.info(configurer.octaneConfiguration.getLocationForLog() + "initial login");
+			initialLogin = authenticate(null, () -> loginAsync(configuration));
+		} else {
+			initialLogin = CompletableFuture.completedFuture(null);
+		}
+		return initialLogin.thenCompose(loginResponse -> {
+			if (loginResponse != null && loginResponse.getStatus() != 200) {
+				logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed on initial login, status " + loginResponse.getStatus());
+				return CompletableFuture.completedFuture(loginResponse);
+			}
+			return executeAsyncAttempt(request, uriRequest, configuration, true);
+		});
+	}
+
+	//  runs either once or twice: once - regular flow, twice - when retrying after re-login attempt
+	private CompletableFuture<OctaneResponse> executeAsyncAttempt(OctaneRequest request, HttpUriRequest uriRequest, OctaneConfiguration configuration, boolean reLoginAllowed) {
+		HttpClientContext context = createHttpContext(request.getUrl(), request.getTimeoutSec(), false);
+		return sendAsync(RequestBuilder.copy(uriRequest).build(), context, ConnectionBudget.TrafficClass.of(request), leaseTimeout(request.getTimeoutSec())).thenCompose(httpResponse -> {
+			if (reLoginAllowed && AUTHENTICATION_ERROR_CODES.contains(httpResponse.getStatusLine().getStatusCode())) {
+				logger.info(configurer.octaneConfiguration.getLocationForLog() + "doing RE-LOGIN due to status " + httpResponse.getStatusLine().getStatusCode() + " received while calling " + request.getUrl());
+				return authenticate(context.getAttribute(SECURITY_TOKEN_ATTRIBUTE, Cookie.class), () -> loginAsync(configuration)).thenCompose(loginResponse -> {
+					if (loginResponse.getStatus() != 200) {
+						logger.error(configurer.octaneConfiguration.getLocationForLog() + "failed to RE-LOGIN with status " + loginResponse.getStatus() + ", won't attempt the original request anymore");
+						return CompletableFuture.completedFuture(loginResponse);
+					}
+					logger.info(configurer.octaneConfiguration.getLocationForLog() + "re-attempting the original request (" + request.getUrl() + ") having successful RE-LOGIN");
+					return executeAsyncAttempt(request, uriRequest, configuration, false);
+				});
+			}
+			refreshSecurityToken(context, false);
+			return CompletableFuture.completedFuture(toOctaneResponse(request, httpResponse));
+		});
+	}
+
+	/**
+	 * Single-flight authentication: the first caller performs the login, the concurrent callers get the very same login result
+	 *
+	 * @param staleToken token that was rejected by Octane (null if there was none); if it was replaced meanwhile, no login is performed
+	 * @param login      performs the actual login, called only by the caller that won the flight
+	 * @return login result, or OK response if the token was already replaced
+	 */
+	private CompletableFuture<OctaneResponse> authenticate(Cookie staleToken, Supplier<CompletableFuture<OctaneResponse>> login) {
+		while (true) {
+			if (isTokenReplaced(staleToken)) {
+				return CompletableFuture.completedFuture(dtoFactory.newDTO(OctaneResponse.class).setStatus(HttpStatus.SC_OK));
+			}
+			CompletableFuture<OctaneResponse> inFlight = loginInFlight.get();
+			if (inFlight != null) {
+				joinedLoginsCount.incrementAndGet();
+				return inFlight;
+			}
+
+			CompletableFuture<OctaneResponse> flight = new CompletableFuture<>();
+			if (!loginInFlight.compareAndSet(null, flight)) {
+				continue;
+			}
+
+			//  the token could be replaced by the flight that has just landed
+			if (isTokenReplaced(staleToken)) {
+				loginInFlight.compareAndSet(flight, null);
+				continue;
+			}
+			loginsCount.incrementAndGet();
+			CompletableFuture<OctaneResponse> loginResult;
+			try {
+				loginResult = login.get();
+			} catch (RuntimeException re) {
+				loginResult = failedFuture(re);
+			}
+			loginResult.whenComplete((response, failure) -> {
+				loginInFlight.compareAndSet(flight, null);
+				if (failure != null) {
+					flight.completeExceptionally(failure);
+				} else {
+					flight.complete(response);
+				}
+			});
+			return flight;
+		}
+	}
+
+	private boolean isTokenReplaced(Cookie staleToken) {
+		Cookie currentToken = lwssoToken.get();
+		return currentToken != null && currentToken != staleToken;
+	}
+
+	private OctaneResponse awaitLogin(CompletableFuture<OctaneResponse> login) throws IOException {
+		try {
+			return login.get();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while waiting for login");
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause() instanceof CompletionException && ee.getCause().getCause() != null ? ee.getCause().getCause() : ee.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IOException("failed to login", cause);
+		}
+	}
+
+	private CompletableFuture<OctaneResponse> loginSync(OctaneConfiguration config) {
+		try {
+			return CompletableFuture.completedFuture(login(config));
+		} catch (IOException ioe) {
+			return failedFuture(ioe);
+		}
+	}
+
+	private CompletableFuture<OctaneResponse> loginAsync(OctaneConfiguration config) {
+		HttpUriRequest loginRequest;
+		try {
+			loginRequest = buildLoginRequest(config);
+		} catch (IOException ioe) {
+			return failedFuture(ioe);
+		}
+		HttpClientContext context = createHttpContext(loginRequest.getURI().toString(), 0, true);
+		return sendAsync(loginRequest, context, ConnectionBudget.TrafficClass.DEFAULT, REQUEST_ABORT_TIMEOUT_MS).thenApply(response -> {
+			if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+				refreshSecurityToken(context, true);
+			} else {
+				logger.warn(configurer.octaneConfiguration.getLocationForLog() + "failed to login; response status: " + response.getStatusLine().getStatusCode());
+			}
+			return toOctaneResponse(null, response);
+		});
+	}
+
+	//  async requests are subject to the same connection budget as the sync ones, the lease is held until the response is received
+	private CompletableFuture<HttpResponse> sendAsync(HttpUriRequest uriRequest, HttpClientContext context, ConnectionBudget.TrafficClass trafficClass, long leaseTimeoutMs) {
+		return connectionBudget.acquireAsync(trafficClass, leaseTimeoutMs, requestDeadlines).thenCompose(lease -> {
+			CompletableFuture<HttpResponse> result = sendAsync(uriRequest, context, leaseTimeoutMs);
+			result.whenComplete((response, failure) -> lease.close());
+			return result;
+		});
+	}
+
+	private CompletableFuture<HttpResponse> sendAsync(HttpUriRequest uriRequest, HttpClientContext context, long timeoutMs) {
+		CloseableHttpAsyncClient client;
+		try {
+			client = obtainAsyncHttpClient();
+		} catch (IOException ioe) {
+			return failedFuture(ioe);
+		}
+
+		AsyncRequest asyncRequest = new AsyncRequest(uriRequest);
+		ongoingAsyncRequests.add(asyncRequest);
+		asyncRequest.deadline = scheduleDeadline(uriRequest, asyncRequest::abort, timeoutMs);
+		asyncRequest.httpFuture = client.execute(uriRequest, context, asyncRequest);
+		return asyncRequest.result;
+	}
+
+	private CloseableHttpAsyncClient obtainAsyncHttpClient() throws IOException {
+		synchronized (ASYNC_CLIENT_LOCK) {
+			if (asyncClientClosed) {
+				throw new IOException("REST client is shut down");
+			}
+			if (asyncHttpClient == null) {
+				Registry<SchemeIOSessionStrategy> sessionStrategyRegistry = RegistryBuilder.<SchemeIOSessionStrategy>create()
+						.register("http", NoopIOSessionStrategy.INSTANCE)
+						.register("https", new SSLIOSessionStrategy(sslContext, hostnameVerifier))
+						.build();
+				IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+						.setIoThreadCount(ASYNC_IO_THREADS)
+						.build();
+				asyncConnectionManager = new PoolingNHttpClientConnectionManager(
+						new DefaultConnectingIOReactor(ioReactorConfig, new RestClientThreadFactory("OctaneRestClientAsyncIO-")),
+						null, sessionStrategyRegistry, null, null, CONNECTION_TTL_MS, TimeUnit.MILLISECONDS);
+				asyncConnectionManager.setMaxTotal(connectionBudget.getMaxTotal());
+				asyncConnectionManager.setDefaultMaxPerRoute(connectionBudget.getMaxTotal());
+
+				asyncHttpClient = HttpAsyncClients.custom()
+						.setConnectionManager(asyncConnectionManager)
+						.setThreadFactory(new RestClientThreadFactory("OctaneRestClientAsyncReactor-"))
+						.build();
+				asyncHttpClient.start();
+				logger.info(configurer.octaneConfiguration.getLocationForLog() + "async client started");
+			}
+			return asyncHttpClient;
+		}
+	}
+
+	//  request entities of the async requests are buffered, since non-blocking transport cannot pull from the input stream
+	private HttpUriRequest createAsyncHttpRequest(OctaneRequest octaneRequest) throws IOException {
+		HttpUriRequest request = createHttpRequest(octaneRequest);
+		if (request instanceof HttpEntityEnclosingRequest && ((HttpEntityEnclosingRequest) request).getEntity() != null) {
+			HttpEntityEnclosingRequest entityRequest = (HttpEntityEnclosingRequest) request;
+			entityRequest.setEntity(new BufferedHttpEntity(entityRequest.getEntity()));
 		}
+		return request;
+	}
+
+	private OctaneResponse toOctaneResponse(OctaneRequest request, HttpResponse httpResponse) {
+		try {
+			return createNGAResponse(request, httpResponse);
+		} catch (IOException ioe) {
+			throw new CompletionException(ioe);
+		}
+	}
 
+	private static <T> CompletableFuture<T> failedFuture(Throwable throwable) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		result.completeExceptionally(throwable);
 		return result;
 	}
 
@@ -278,13 +691,13 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 			requestBuilder = RequestBuilder.post(octaneRequest.getUrl());
 			requestBuilder.addHeader(new BasicHeader(RestService.CONTENT_ENCODING_HEADER, RestService.GZIP_ENCODING));
 			if(octaneRequest.getBody()!=null){
-				requestBuilder.setEntity(new GzipCompressingEntity(new InputStreamEntity(octaneRequest.getBody(), ContentType.APPLICATION_JSON)));
+				requestBuilder.setEntity(new GzipCompressingEntity(createRequestEntity(octaneRequest.getBody())));
 			}
 		} else if (octaneRequest.getMethod().equals(HttpMethod.PUT)) {
 			requestBuilder = RequestBuilder.put(octaneRequest.getUrl());
 			requestBuilder.addHeader(new BasicHeader(RestService.CONTENT_ENCODING_HEADER, RestService.GZIP_ENCODING));
 			if(octaneRequest.getBody()!=null){
-				requestBuilder.setEntity(new GzipCompressingEntity(new InputStreamEntity(octaneRequest.getBody(), ContentType.APPLICATION_JSON)));
+				requestBuilder.setEntity(new GzipCompressingEntity(createRequestEntity(octaneRequest.getBody())));
 			}
 		} else {
 			throw new RuntimeException("HTTP method " + octaneRequest.getMethod() + " not supported");
@@ -304,14 +717,62 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 		return request;
 	}
 
-	private HttpClientContext createHttpContext(String requestUrl, int requestTimeoutSec, boolean isLoginRequest) {
+	//  DTO body not read yet is serialized straight into the (gzip) stream of the entity, without building the content in memory
+	//  package-private for the benchmark
+	static HttpEntity createRequestEntity(InputStream body) {
+		if (body instanceof DTOSerializingInputStream && !((DTOSerializingInputStream) body).isReadStarted()) {
+			EntityTemplate entity = new EntityTemplate(((DTOSerializingInputStream) body)::writeTo);
+			entity.setContentType(ContentType.APPLICATION_JSON.toString());
+			return entity;
+		}
+		return new InputStreamEntity(body, ContentType.APPLICATION_JSON);
+	}
+
+	//  package-private for the benchmark
+	HttpClientContext createHttpContext(String requestUrl, int requestTimeoutSec, boolean isLoginRequest) {
 		HttpClientContext context = HttpClientContext.create();
 		context.setCookieStore(new BasicCookieStore());
 
-		//  add security token if needed
-		if (!isLoginRequest) {
-			context.getCookieStore().addCookie(LWSSO_TOKEN);
+		//  add security token if needed, the token is remembered to tell whether it was replaced when rejected
+		Cookie securityToken = lwssoToken.get();
+		if (!isLoginRequest && securityToken != null) {
+			context.getCookieStore().addCookie(securityToken);
+			context.setAttribute(SECURITY_TOKEN_ATTRIBUTE, securityToken);
+		}
+
+		//  request config and proxy credentials are immutable per target and timeout, only the cookies are per request
+		RequestSetup requestSetup = getRequestSetup(requestUrl, requestTimeoutSec);
+		context.setRequestConfig(requestSetup.requestConfig);
+		if (requestSetup.credentialsProvider != null) {
+			context.setCredentialsProvider(requestSetup.credentialsProvider);
 		}
+		return context;
+	}
+
+	private RequestSetup getRequestSetup(String requestUrl, int requestTimeoutSec) {
+		String setupKey = getTarget(requestUrl) + "#" + requestTimeoutSec;
+		long now = System.currentTimeMillis();
+		RequestSetup requestSetup = requestSetups.get(setupKey);
+		if (requestSetup == null || now - requestSetup.createdAt > REQUEST_SETUP_TTL_MS) {
+			requestSetup = createRequestSetup(requestUrl, requestTimeoutSec);
+			if (requestSetups.size() >= MAX_REQUEST_SETUPS) {
+				requestSetups.clear();
+			}
+			requestSetups.put(setupKey, requestSetup);
+		}
+		return requestSetup;
+	}
+
+	//  proxy is resolved per scheme, host and port of the URL, the path does not matter
+	private static String getTarget(String requestUrl) {
+		int authorityStart = requestUrl.indexOf("://");
+		int pathStart = requestUrl.indexOf('/', authorityStart < 0 ? 0 : authorityStart + 3);
+		return pathStart < 0 ? requestUrl : requestUrl.substring(0, pathStart);
+	}
+
+	//  package-private for the benchmark
+	RequestSetup createRequestSetup(String requestUrl, int requestTimeoutSec) {
+		CredentialsProvider credentialsProvider = null;
 
 		//  prepare request config
 		RequestConfig.Builder requestConfigBuilder = RequestConfig.custom()
@@ -326,9 +787,8 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 			if (proxyConfiguration.getUsername() != null && !proxyConfiguration.getUsername().isEmpty()) {
 				AuthScope authScope = new AuthScope(proxyHost);
 				Credentials credentials = new UsernamePasswordCredentials(proxyConfiguration.getUsername(), proxyConfiguration.getPassword());
-				CredentialsProvider credentialsProvider = new SystemDefaultCredentialsProvider();
+				credentialsProvider = new SystemDefaultCredentialsProvider();
 				credentialsProvider.setCredentials(authScope, credentials);
-				context.setCredentialsProvider(credentialsProvider);
 			}
 			requestConfigBuilder.setProxy(proxyHost);
 		}
@@ -342,22 +802,21 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 					.setSocketTimeout(timeoutMs);
 		}
 
-		context.setRequestConfig(requestConfigBuilder.build());
-		return context;
+		return new RequestSetup(requestConfigBuilder.build(), credentialsProvider);
 	}
 
 	private void refreshSecurityToken(HttpClientContext context, boolean isLogin) {
 		for (Cookie cookie : context.getCookieStore().getCookies()) {
-			if (LWSSO_COOKIE_NAME.equals(cookie.getName()) && (LWSSO_TOKEN == null || cookie.getValue().compareTo(LWSSO_TOKEN.getValue()) != 0)) {
+			Cookie currentToken = lwssoToken.get();
+			if (LWSSO_COOKIE_NAME.equals(cookie.getName()) && (currentToken == null || cookie.getValue().compareTo(currentToken.getValue()) != 0)) {
 				((BasicClientCookie) cookie).setPath("/");
 
-				synchronized (RESET_LWSSO_TOKEN_LOCK) {
-					if (!isLogin && loginRequiredForRefreshLwssoTokenUntil > System.currentTimeMillis()) {
-						logger.info(configurer.octaneConfiguration.getLocationForLog() + "refreshSecurityToken is cancelled");
-					} else {
-						LWSSO_TOKEN = cookie;
-						logger.debug(configurer.octaneConfiguration.getLocationForLog() + "successfully refreshed security token.isLogin=" + isLogin);
-					}
+				if (!isLogin && loginRequiredForRefreshLwssoTokenUntil > System.currentTimeMillis()) {
+					logger.info(configurer.octaneConfiguration.getLocationForLog() + "refreshSecurityToken is cancelled");
+				} else if (lwssoToken.compareAndSet(currentToken, cookie)) {
+					logger.debug(configurer.octaneConfiguration.getLocationForLog() + "successfully refreshed security token.isLogin=" + isLogin);
+				} else {
+					logger.debug(configurer.octaneConfiguration.getLocationForLog() + "security token was replaced concurrently, refresh is skipped.isLogin=" + isLogin);
 				}
 
 				break;
@@ -371,11 +830,8 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 		if (response.getEntity() != null) {
 			octaneResponse.setBody(CIPluginSDKUtils.inputStreamToUTF8String(response.getEntity().getContent()));
 		}
-		if (response.getAllHeaders() != null && response.getAllHeaders().length > 0) {
-			Map<String, String> mapHeaders = new HashMap<>();
-			for (Header header : response.getAllHeaders()) {
-				mapHeaders.put(header.getName(), header.getValue());
-			}
+		Map<String, String> mapHeaders = getResponseHeaders(response);
+		if (mapHeaders != null) {
 			octaneResponse.setHeaders(mapHeaders);
 		}
 		if (request != null && request.getHeaders() != null) {
@@ -384,14 +840,27 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 		return octaneResponse;
 	}
 
+	private static Map<String, String> getResponseHeaders(HttpResponse response) {
+		if (response.getAllHeaders() != null && response.getAllHeaders().length > 0) {
+			Map<String, String> mapHeaders = new HashMap<>();
+			for (Header header : response.getAllHeaders()) {
+				mapHeaders.put(header.getName(), header.getValue());
+			}
+			return mapHeaders;
+		}
+		return null;
+	}
+
 	private OctaneResponse login(OctaneConfiguration config) throws IOException {
 		OctaneResponse result;
 		HttpResponse response = null;
+		ConnectionBudget.Lease lease = null;
 
 		try {
 			HttpUriRequest loginRequest = buildLoginRequest(config);
 			HttpClientContext context = createHttpContext(loginRequest.getURI().toString(), 0, true);
-			response = httpClient.execute(loginRequest, context);
+			lease = connectionBudget.acquire(ConnectionBudget.TrafficClass.DEFAULT, REQUEST_ABORT_TIMEOUT_MS);
+			response = executeWithDeadline(loginRequest, context, REQUEST_ABORT_TIMEOUT_MS);
 
 			if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
 				refreshSecurityToken(context, true);
@@ -407,6 +876,9 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 				EntityUtils.consumeQuietly(response.getEntity());
 				HttpClientUtils.closeQuietly(response);
 			}
+			if (lease != null) {
+				lease.close();
+			}
 		}
 
 		return result;
@@ -464,37 +936,121 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 		}
 	}
 
-	private void requestMonitorWorker() {
-		while (!shutdownActivated) {
-			lastRequestMonitorWorkerTime = System.currentTimeMillis();
-			try {
-				synchronized (REQUESTS_LIST_LOCK) {
-					ongoingRequests2Started.entrySet().forEach(entry -> {
-						long expectedEnd = entry.getValue() + REQUEST_ABORT_TIMEOUT_MS;
-						long diff = System.currentTimeMillis() - expectedEnd;
-						if (diff > 0 && !entry.getKey().isAborted()) {
-							logger.info(configurer.octaneConfiguration.getLocationForLog() + " Aborting " + entry.getKey() + " as expected timeout is over ");
-							entry.getKey().abort();
-							requestMonitorExecutorsAbortedCount++;
-						}
-					});
-				}
-			} catch (Exception e) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "requestMonitorWorker error : " + e.getMessage(), e);
-			}
-			CIPluginSDKUtils.doWait(10000);
-		}
-	}
-
 	@Override
 	public Map<String, Object> getMetrics() {
 		Map<String, Object> map = new LinkedHashMap<>();
-		map.put("requestMonitorExecutorsAbortedCount", requestMonitorExecutorsAbortedCount);
-		map.put("ongoingRequests.size", ongoingRequests2Started.size());
-		map.put("lastRequestMonitorWorkerTime", new Date(lastRequestMonitorWorkerTime));
+		map.put("deadlineAbortedCount", deadlineAbortedCount.get());
+		map.put("loginsCount", loginsCount.get());
+		map.put("joinedLoginsCount", joinedLoginsCount.get());
+		map.put("ongoingRequests.size", ongoingRequests.size());
+		map.put("ongoingAsyncRequests.size", ongoingAsyncRequests.size());
+		if (lastDeadlineAbortTime > 0) {
+			map.put("lastDeadlineAbortTime", new Date(lastDeadlineAbortTime));
+		}
+
+		PoolStats poolStats = connectionManager.getTotalStats();
+		long requests = requestsCount.get();
+		long created = connectionsCreatedCount.get();
+		map.put("pool.maxTotal", poolStats.getMax());
+		map.put("pool.leased", poolStats.getLeased());
+		map.put("pool.available", poolStats.getAvailable());
+		map.put("pool.pending", poolStats.getPending());
+		map.put("pool.saturationPercent", poolStats.getMax() == 0 ? 0 : poolStats.getLeased() * 100 / poolStats.getMax());
+		map.put("pool.requestsCount", requests);
+		map.put("pool.connectionsCreatedCount", created);
+		map.put("pool.connectionReusePercent", requests == 0 ? 0 : Math.max(0, requests - created) * 100 / requests);
+		connectionBudget.addMetrics(map);
+
+		PoolingNHttpClientConnectionManager asyncConnectionManager;
+		synchronized (ASYNC_CLIENT_LOCK) {
+			asyncConnectionManager = this.asyncConnectionManager;
+		}
+		if (asyncConnectionManager != null) {
+			PoolStats asyncPoolStats = asyncConnectionManager.getTotalStats();
+			map.put("asyncPool.leased", asyncPoolStats.getLeased());
+			map.put("asyncPool.available", asyncPoolStats.getAvailable());
+			map.put("asyncPool.pending", asyncPoolStats.getPending());
+		}
 		return map;
 	}
 
+	static final class RequestSetup {
+		private final RequestConfig requestConfig;
+		private final CredentialsProvider credentialsProvider;
+		private final long createdAt = System.currentTimeMillis();
+
+		private RequestSetup(RequestConfig requestConfig, CredentialsProvider credentialsProvider) {
+			this.requestConfig = requestConfig;
+			this.credentialsProvider = credentialsProvider;
+		}
+
+		RequestConfig getRequestConfig() {
+			return requestConfig;
+		}
+	}
+
+	private final class AsyncRequest implements FutureCallback<HttpResponse> {
+		private final HttpUriRequest uriRequest;
+		private final CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+		private volatile ScheduledFuture<?> deadline;
+		private volatile Future<HttpResponse> httpFuture;
+
+		private AsyncRequest(HttpUriRequest uriRequest) {
+			this.uriRequest = uriRequest;
+		}
+
+		private void abort() {
+			Future<HttpResponse> future = httpFuture;
+			if (future != null) {
+				future.cancel(true);
+			}
+			done();
+			result.completeExceptionally(new InterruptedIOException("request " + uriRequest + " aborted"));
+		}
+
+		@Override
+		public void completed(HttpResponse response) {
+			done();
+			result.complete(response);
+		}
+
+		@Override
+		public void failed(Exception ex) {
+			done();
+			result.completeExceptionally(ex);
+		}
+
+		@Override
+		public void cancelled() {
+			done();
+			result.completeExceptionally(new InterruptedIOException("request " + uriRequest + " aborted"));
+		}
+
+		private void done() {
+			ScheduledFuture<?> currentDeadline = deadline;
+			if (currentDeadline != null) {
+				currentDeadline.cancel(false);
+			}
+			ongoingAsyncRequests.remove(this);
+		}
+	}
+
+	private static final class RestClientThreadFactory implements ThreadFactory {
+		private final String namePrefix;
+
+		private RestClientThreadFactory(String namePrefix) {
+			this.namePrefix = namePrefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread result = new Thread(runnable);
+			result.setName(namePrefix + result.getId());
+			result.setDaemon(true);
+			return result;
+		}
+	}
+
 	public static final class CustomHostnameVerifier implements HostnameVerifier {
 		private final HostnameVerifier defaultVerifier = new DefaultHostnameVerifier();
 
@@ -541,13 +1097,4 @@ final class OctaneRestClientImpl implements OctaneRestClient {
 					", client_secret: " + client_secret + "}";
 		}
 	}
-
-	private static final class RequestMonitorExecutorsFactory implements ThreadFactory {
-		public Thread newThread(Runnable runnable) {
-			Thread result = new Thread(runnable);
-			result.setName("RequestMonitorWorker-" + result.getId());
-			result.setDaemon(true);
-			return result;
-		}
-	}
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.rest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
+import com.hp.octane.integrations.utils.CIPluginSDKUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Response of Octane which body is NOT buffered, but is read directly from the connection
+ * Body stream is bounded (reading beyond the limit fails) and is auto-closing: the connection is released
+ * as soon as the body is read to the end, or when the response is closed, whatever comes first
+ * Response MUST be closed by the caller (preferably with try-with-resources)
+ */
+public final class OctaneStreamingResponse implements Closeable {
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+
+	private final int status;
+	private final Map<String, String> headers;
+	private final String correlationId;
+	private final BoundedBodyStream body;
+
+	OctaneStreamingResponse(int status, Map<String, String> headers, String correlationId, InputStream content, Closeable connection, long maxBodySize) {
+		this.status = status;
+		this.headers = headers == null ? Collections.emptyMap() : headers;
+		this.correlationId = correlationId;
+		this.body = new BoundedBodyStream(content == null ? new ByteArrayInputStream(new byte[0]) : content, connection, maxBodySize);
+	}
+
+	static OctaneStreamingResponse fromBuffered(OctaneResponse response) {
+		String body = response.getBody();
+		return new OctaneStreamingResponse(response.getStatus(), response.getHeaders(), response.getCorrelationId(),
+				body == null ? null : new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), null, Long.MAX_VALUE);
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	public String getCorrelationId() {
+		return correlationId;
+	}
+
+	/**
+	 * @return body stream, empty stream if the response has no body
+	 */
+	public InputStream getBody() {
+		return body;
+	}
+
+	/**
+	 * @return JSON parser over the body stream, DTOs may be read from it one by one (readValueAs)
+	 * @throws IOException failure to create parser
+	 */
+	public JsonParser getJsonParser() throws IOException {
+		return dtoFactory.createJsonParser(body);
+	}
+
+	/**
+	 * reads the (rest of the) body into String, meant for the error flows and small bodies only
+	 *
+	 * @return body as String
+	 * @throws IOException failure to read the body or the body exceeds the limit
+	 */
+	public String getBodyAsString() throws IOException {
+		return CIPluginSDKUtils.inputStreamToUTF8String(body);
+	}
+
+	/**
+	 * reads the whole body ignoring the limit and converts the response to the buffered one
+	 */
+	OctaneResponse toBufferedResponse() throws IOException {
+		OctaneResponse result = dtoFactory.newDTO(OctaneResponse.class)
+				.setStatus(status)
+				.setBody(CIPluginSDKUtils.inputStreamToUTF8String(body.unbounded()))
+				.setCorrelationId(correlationId);
+		if (!headers.isEmpty()) {
+			result.setHeaders(headers);
+		}
+		return result;
+	}
+
+	@Override
+	public void close() {
+		body.close();
+	}
+
+	private static final class BoundedBodyStream extends FilterInputStream {
+		private final Closeable connection;
+		private final long maxSize;
+		private boolean bounded = true;
+		private long readSize = 0;
+		private boolean eof = false;
+		private boolean closed = false;
+
+		private BoundedBodyStream(InputStream content, Closeable connection, long maxSize) {
+			super(content);
+			this.connection = connection;
+			this.maxSize = maxSize;
+		}
+
+		private InputStream unbounded() {
+			bounded = false;
+			return this;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (closed) {
+				return -1;
+			}
+			int result = super.read();
+			if (result == -1) {
+				eof = true;
+				close();
+			} else {
+				count(1);
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (closed) {
+				return -1;
+			}
+			int result = super.read(b, off, len);
+			if (result == -1) {
+				eof = true;
+				close();
+			} else {
+				count(result);
+			}
+			return result;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			if (closed) {
+				return 0;
+			}
+			long result = super.skip(n);
+			count(result);
+			return result;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+
+			//  fully read body releases the connection back to the pool, while the connection of the partially read body
+			//  is closed first, so that the rest of the body is dropped rather than drained
+			if (eof) {
+				closeQuietly(in);
+				closeQuietly(connection);
+			} else {
+				closeQuietly(connection);
+				closeQuietly(in);
+			}
+		}
+
+		private static void closeQuietly(Closeable closeable) {
+			if (closeable != null) {
+				try {
+					closeable.close();
+				} catch (IOException ioe) {
+					//  nothing to do, the connection is discarded by the pool anyway
+				}
+			}
+		}
+
+		private void count(long size) throws IOException {
+			readSize += size;
+			if (bounded && readSize > maxSize) {
+				close();
+				throw new IOException("response body exceeds the limit of " + maxSize + " bytes");
+			}
+		}
+	}
+}
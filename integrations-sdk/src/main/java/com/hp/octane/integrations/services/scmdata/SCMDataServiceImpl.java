@@ -43,6 +43,7 @@ import com.hp.octane.integrations.dto.events.CIEventType;
 import com.hp.octane.integrations.dto.scm.SCMData;
 import com.hp.octane.integrations.exceptions.PermanentException;
 import com.hp.octane.integrations.exceptions.TemporaryException;
+import com.hp.octane.integrations.services.SharedWorkersPool;
 import com.hp.octane.integrations.services.WorkerPreflight;
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
 import com.hp.octane.integrations.services.configuration.ConfigurationServiceImpl;
@@ -72,8 +73,8 @@ public class SCMDataServiceImpl implements SCMDataService {
     protected final EventsService eventsService;
     protected final OctaneSDK.SDKServicesConfigurer configurer;
     private final WorkerPreflight workerPreflight;
+    private final SharedWorkersPool.WorkerHandle scmPushWorker;
 
-    private final ExecutorService scmProcessingExecutor = Executors.newSingleThreadExecutor(new SCMDataServiceImpl.SCMPushWorkerThreadFactory());
     private final ObjectQueue<SCMDataQueueItem> scmDataQueue;
 
     private static final DTOFactory dtoFactory = DTOFactory.getInstance();
@@ -112,7 +113,8 @@ public class SCMDataServiceImpl implements SCMDataService {
         }
 
         logger.info(configurer.octaneConfiguration.getLocationForLog() + "starting background worker...");
-        scmProcessingExecutor.execute(this::worker);
+        scmPushWorker = configurer.workersPool.register(configurer.octaneConfiguration.getInstanceId(), "SCMPushWorker", this::worker);
+        workerPreflight.setWorker(scmPushWorker);
         logger.info(configurer.octaneConfiguration.getLocationForLog() + "initialized SUCCESSFULLY (backed by " + scmDataQueue.getClass().getSimpleName() + ")");
     }
 
@@ -153,12 +155,13 @@ public class SCMDataServiceImpl implements SCMDataService {
 
     @Override
     public void shutdown() {
-        scmProcessingExecutor.shutdown();
+        scmPushWorker.cancel();
+        workerPreflight.shutdown();
     }
 
     @Override
     public boolean isShutdown() {
-        return scmProcessingExecutor.isShutdown();
+        return scmPushWorker.isCancelled();
     }
 
     @Override
@@ -182,39 +185,29 @@ public class SCMDataServiceImpl implements SCMDataService {
     }
 
 
-    private static final class SCMPushWorkerThreadFactory implements ThreadFactory {
-
-        @Override
-        public Thread newThread(Runnable runnable) {
-            Thread result = new Thread(runnable);
-            result.setName("SCMDataPushWorker-" + result.getId());
-            result.setDaemon(true);
-            return result;
+    //  infallible background worker cycle, processes single queue item per run
+    private long worker() {
+        long preflightDelay = workerPreflight.preflight();
+        if (preflightDelay > 0) {
+            return preflightDelay;
         }
-    }
 
-    //  infallible everlasting background worker
-    private void worker() {
-        while (!scmProcessingExecutor.isShutdown()) {
-            if (!workerPreflight.preflight()) {
-                continue;
-            }
-
-            SCMDataQueueItem queueItem = null;
-            try {
-                queueItem = scmDataQueue.peek();
-                processPushSCMDataQueueItem(queueItem);
-                scmDataQueue.remove();
-            } catch (TemporaryException tque) {
-                logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + queueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying", tque);
-            } catch (PermanentException pqie) {
-                logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + queueItem + ", passing over", pqie);
-                scmDataQueue.remove();
-            } catch (Throwable t) {
-                logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build log item '" + queueItem + "', passing over", t);
-                scmDataQueue.remove();
-            }
+        SCMDataQueueItem queueItem = null;
+        try {
+            queueItem = scmDataQueue.peek();
+            processPushSCMDataQueueItem(queueItem);
+            scmDataQueue.remove();
+        } catch (TemporaryException tque) {
+            logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + queueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying", tque);
+            return TEMPORARY_ERROR_BREATHE_INTERVAL;
+        } catch (PermanentException pqie) {
+            logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + queueItem + ", passing over", pqie);
+            scmDataQueue.remove();
+        } catch (Throwable t) {
+            logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build log item '" + queueItem + "', passing over", t);
+            scmDataQueue.remove();
         }
+        return 0;
     }
 
 
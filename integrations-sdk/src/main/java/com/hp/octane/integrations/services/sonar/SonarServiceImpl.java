@@ -41,6 +41,7 @@ import com.hp.octane.integrations.dto.coverage.CoverageReportType;
 import com.hp.octane.integrations.exceptions.PermanentException;
 import com.hp.octane.integrations.exceptions.SonarIntegrationException;
 import com.hp.octane.integrations.exceptions.TemporaryException;
+import com.hp.octane.integrations.services.SharedWorkersPool;
 import com.hp.octane.integrations.services.WorkerPreflight;
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
 import com.hp.octane.integrations.services.configuration.ConfigurationServiceImpl;
@@ -68,9 +69,6 @@ import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 
 /**
  * Default implementations of Sonar service
@@ -87,11 +85,11 @@ public class SonarServiceImpl implements SonarService {
 	private static final String CONNECTION_FAILURE = "CONNECTION_FAILURE";
 	private static final String COMPONENT_TREE_URI = "/api/measures/component_tree";
 
-	private final ExecutorService sonarIntegrationExecutor = Executors.newSingleThreadExecutor(new SonarIntegrationWorkerThreadFactory());
 	private final ObjectQueue<SonarBuildCoverageQueueItem> sonarIntegrationQueue;
 	private final OctaneSDK.SDKServicesConfigurer configurer;
 	private final CoverageService coverageService;
 	private final WorkerPreflight workerPreflight;
+	private final SharedWorkersPool.WorkerHandle sonarIntegrationWorker;
 	private final ConfigurationService configurationService;
 
 	private int TEMPORARY_ERROR_BREATHE_INTERVAL = 15000;
@@ -119,34 +117,35 @@ public class SonarServiceImpl implements SonarService {
 		}
 
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "starting background worker...");
-		sonarIntegrationExecutor.execute(this::worker);
+		sonarIntegrationWorker = configurer.workersPool.register(configurer.octaneConfiguration.getInstanceId(), "SonarIntegrationWorker", this::worker);
+		workerPreflight.setWorker(sonarIntegrationWorker);
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "initialized SUCCESSFULLY (backed by " + sonarIntegrationQueue.getClass().getSimpleName() + ")");
 	}
 
-	// infallible everlasting background worker
-	private void worker() {
-		while (!sonarIntegrationExecutor.isShutdown()) {
-			if(!workerPreflight.preflight()){
-				continue;
-			}
+	//  infallible background worker cycle, processes single queue item per run
+	private long worker() {
+		long preflightDelay = workerPreflight.preflight();
+		if (preflightDelay > 0) {
+			return preflightDelay;
+		}
 
-			SonarBuildCoverageQueueItem sonarBuildCoverageQueueItem = null;
-			try {
-				sonarBuildCoverageQueueItem = sonarIntegrationQueue.peek();
-				retrieveAndPushSonarDataToOctane(sonarBuildCoverageQueueItem);
-				logger.debug(configurer.octaneConfiguration.getLocationForLog() + "successfully processed " + sonarBuildCoverageQueueItem);
-				sonarIntegrationQueue.remove();
-			} catch (TemporaryException te) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + sonarBuildCoverageQueueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying", te);
-				CIPluginSDKUtils.doWait(TEMPORARY_ERROR_BREATHE_INTERVAL);
-			} catch (PermanentException pe) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + sonarBuildCoverageQueueItem + ", passing over", pe);
-				sonarIntegrationQueue.remove();
-			} catch (Throwable t) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build coverage item '" + sonarBuildCoverageQueueItem + "', passing over", t);
-				sonarIntegrationQueue.remove();
-			}
+		SonarBuildCoverageQueueItem sonarBuildCoverageQueueItem = null;
+		try {
+			sonarBuildCoverageQueueItem = sonarIntegrationQueue.peek();
+			retrieveAndPushSonarDataToOctane(sonarBuildCoverageQueueItem);
+			logger.debug(configurer.octaneConfiguration.getLocationForLog() + "successfully processed " + sonarBuildCoverageQueueItem);
+			sonarIntegrationQueue.remove();
+		} catch (TemporaryException te) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + sonarBuildCoverageQueueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying", te);
+			return TEMPORARY_ERROR_BREATHE_INTERVAL;
+		} catch (PermanentException pe) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + sonarBuildCoverageQueueItem + ", passing over", pe);
+			sonarIntegrationQueue.remove();
+		} catch (Throwable t) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build coverage item '" + sonarBuildCoverageQueueItem + "', passing over", t);
+			sonarIntegrationQueue.remove();
 		}
+		return 0;
 	}
 
 	@Override
@@ -189,12 +188,13 @@ public class SonarServiceImpl implements SonarService {
 
 	@Override
 	public void shutdown() {
-		sonarIntegrationExecutor.shutdown();
+		sonarIntegrationWorker.cancel();
+		workerPreflight.shutdown();
 	}
 
 	@Override
 	public boolean isShutdown() {
-		return sonarIntegrationExecutor.isShutdown();
+		return sonarIntegrationWorker.isCancelled();
 	}
 
 	@Override
@@ -413,15 +413,4 @@ public class SonarServiceImpl implements SonarService {
 			return "'" + jobId + " #" + buildId + "'";
 		}
 	}
-
-	private static final class SonarIntegrationWorkerThreadFactory implements ThreadFactory {
-
-		@Override
-		public Thread newThread(Runnable runnable) {
-			Thread result = new Thread(runnable);
-			result.setName("SonarIntegrationWorker-" + result.getId());
-			result.setDaemon(true);
-			return result;
-		}
-	}
 }
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.tasking;
+
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.general.CIJobsList;
+import com.hp.octane.integrations.dto.pipelines.PipelineNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Jobs list cache maintained incrementally: full scan of the plugin fills the index, job created/renamed/deleted notifications update it.
+ * Each job is kept serialized, so that the JSON of the whole list (or of its workspace scoped view) is only concatenated,
+ * and only once per version of the index.
+ * Changes notified while the full scan is running are journaled and replayed on top of the scan result.
+ */
+final class JobListIndex {
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+	private static final int MAX_WORKSPACE_VIEWS = 50;
+
+	private final String listPrefix;
+	private final String listSuffix;
+	private final Map<String, String> serializedJobs = new LinkedHashMap<>();
+	private List<Change> rebuildJournal;
+	private boolean populated;
+	private boolean workspaceScoped = true;
+	private long version;
+	private View fullView;
+	private final Map<Long, View> workspaceViews = new LinkedHashMap<Long, View>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, View> eldest) {
+			return size() > MAX_WORKSPACE_VIEWS;
+		}
+	};
+
+	//Metrics
+	private long rebuildTime;
+	private long changesCount;
+	private long lastChangeTime;
+	private long viewsBuiltCount;
+
+	JobListIndex() {
+		String emptyList = dtoFactory.dtoToJson(dtoFactory.newDTO(CIJobsList.class).setJobs(new PipelineNode[0]));
+		int jobsArrayAt = emptyList.indexOf("[]");
+		listPrefix = emptyList.substring(0, jobsArrayAt + 1);
+		listSuffix = emptyList.substring(jobsArrayAt + 1);
+	}
+
+	synchronized boolean isPopulated() {
+		return populated;
+	}
+
+	/**
+	 * Starts journaling of the changes, that should survive the full scan about to start
+	 */
+	synchronized void beginRebuild() {
+		if (rebuildJournal == null) {
+			rebuildJournal = new ArrayList<>();
+		}
+	}
+
+	/**
+	 * Replaces the content of the index by the full scan result and replays the changes notified while the scan was running
+	 */
+	synchronized void completeRebuild(CIJobsList jobsList) {
+		List<Change> journal = rebuildJournal;
+		rebuildJournal = null;
+		serializedJobs.clear();
+		if (jobsList.getJobs() != null) {
+			for (PipelineNode job : jobsList.getJobs()) {
+				serializedJobs.put(job.getJobCiId(), dtoFactory.dtoToJson(job));
+			}
+		}
+		if (journal != null) {
+			journal.forEach(this::apply);
+		}
+		populated = true;
+		rebuildTime = System.currentTimeMillis();
+		version++;
+	}
+
+	synchronized void abortRebuild() {
+		rebuildJournal = null;
+	}
+
+	synchronized void clear() {
+		serializedJobs.clear();
+		rebuildJournal = null;
+		populated = false;
+		fullView = null;
+		workspaceViews.clear();
+		version++;
+	}
+
+	/**
+	 * Adds the job or replaces the job with the same CI ID
+	 */
+	void upsert(PipelineNode job) {
+		if (job == null || job.getJobCiId() == null) {
+			throw new IllegalArgumentException("job with CI ID MUST be provided");
+		}
+		change(new Change(null, job.getJobCiId(), dtoFactory.dtoToJson(job)));
+	}
+
+	void rename(String previousJobCiId, PipelineNode job) {
+		if (previousJobCiId == null || job == null || job.getJobCiId() == null) {
+			throw new IllegalArgumentException("previous job CI ID and job with CI ID MUST be provided");
+		}
+		change(new Change(previousJobCiId, job.getJobCiId(), dtoFactory.dtoToJson(job)));
+	}
+
+	void remove(String jobCiId) {
+		if (jobCiId == null) {
+			throw new IllegalArgumentException("job CI ID MUST be provided");
+		}
+		change(new Change(jobCiId, null, null));
+	}
+
+	//  serialization of the job is done outside of the lock
+	private synchronized void change(Change change) {
+		if (rebuildJournal != null) {
+			rebuildJournal.add(change);
+		}
+		if (populated) {
+			apply(change);
+			version++;
+			changesCount++;
+			lastChangeTime = System.currentTimeMillis();
+		}
+	}
+
+	private void apply(Change change) {
+		if (change.removedJobCiId != null) {
+			serializedJobs.remove(change.removedJobCiId);
+		}
+		if (change.jobCiId != null) {
+			serializedJobs.put(change.jobCiId, change.serializedJob);
+		}
+	}
+
+	/**
+	 * @return the whole jobs list of the current version, null if index is not populated
+	 */
+	synchronized View getView() {
+		if (!populated) {
+			return null;
+		}
+		if (fullView == null || fullView.version != version) {
+			fullView = buildView(serializedJobs, version, null);
+			viewsBuiltCount++;
+		}
+		return fullView;
+	}
+
+	/**
+	 * The visibility is asked outside of the index lock (plugin may take its own locks or be slow), on a snapshot of the jobs;
+	 * the view is cached only if the index was not changed meanwhile
+	 *
+	 * @param workspaceId        workspace to scope the list to
+	 * @param visibleInWorkspace tells if job (by CI ID) is visible in the workspace; NULL answer means jobs are not scoped per workspace
+	 * @return workspace scoped jobs list of the current version (the whole list if jobs are not scoped), null if index is not populated
+	 */
+	View getView(Long workspaceId, Function<String, Boolean> visibleInWorkspace) {
+		Map<String, String> snapshot;
+		long snapshotVersion;
+		synchronized (this) {
+			if (!populated) {
+				return null;
+			}
+			if (!workspaceScoped) {
+				return getView();
+			}
+			View view = workspaceViews.get(workspaceId);
+			if (view != null && view.version == version) {
+				return view;
+			}
+			snapshot = new LinkedHashMap<>(serializedJobs);
+			snapshotVersion = version;
+		}
+
+		View view = buildView(snapshot, snapshotVersion, visibleInWorkspace);
+		synchronized (this) {
+			if (view == null) {
+				workspaceScoped = false;
+				workspaceViews.clear();
+				return getView();
+			}
+			viewsBuiltCount++;
+			if (snapshotVersion == version) {
+				workspaceViews.put(workspaceId, view);
+			}
+			return view;
+		}
+	}
+
+	private View buildView(Map<String, String> jobsById, long jobsVersion, Function<String, Boolean> filter) {
+		int length = listPrefix.length() + listSuffix.length();
+		List<String> jobs = new ArrayList<>(jobsById.size());
+		for (Map.Entry<String, String> entry : jobsById.entrySet()) {
+			Boolean visible = filter == null ? Boolean.TRUE : filter.apply(entry.getKey());
+			if (visible == null) {
+				return null;
+			}
+			if (visible) {
+				jobs.add(entry.getValue());
+				length += entry.getValue().length() + 1;
+			}
+		}
+		StringBuilder json = new StringBuilder(length).append(listPrefix);
+		Iterator<String> iterator = jobs.iterator();
+		while (iterator.hasNext()) {
+			json.append(iterator.next());
+			if (iterator.hasNext()) {
+				json.append(',');
+			}
+		}
+		json.append(listSuffix);
+		return new View(jobsVersion, json.toString(), jobs.size());
+	}
+
+	synchronized long getRebuildTime() {
+		return rebuildTime;
+	}
+
+	synchronized long getLastChangeTime() {
+		return lastChangeTime;
+	}
+
+	synchronized boolean isEventMaintained() {
+		return changesCount > 0;
+	}
+
+	synchronized void addMetrics(Map<String, Object> metricsMap) {
+		metricsMap.put("jobListCache_jobCount", serializedJobs.size());
+		metricsMap.put("jobListCache_version", version);
+		metricsMap.put("jobListCache_changesCount", changesCount);
+		metricsMap.put("jobListCache_viewsBuiltCount", viewsBuiltCount);
+		metricsMap.put("jobListCache_workspaceViews", workspaceViews.size());
+	}
+
+	static final class View {
+		final long version;
+		final String json;
+		final int jobsCount;
+
+		private View(long version, String json, int jobsCount) {
+			this.version = version;
+			this.json = json;
+			this.jobsCount = jobsCount;
+		}
+	}
+
+	private static final class Change {
+		private final String removedJobCiId;
+		private final String jobCiId;
+		private final String serializedJob;
+
+		private Change(String removedJobCiId, String jobCiId, String serializedJob) {
+			this.removedJobCiId = removedJobCiId;
+			this.jobCiId = jobCiId;
+			this.serializedJob = serializedJob;
+		}
+	}
+}
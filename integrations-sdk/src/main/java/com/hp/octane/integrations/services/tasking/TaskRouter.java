@@ -0,0 +1,314 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.tasking;
+
+import com.hp.octane.integrations.dto.connectivity.HttpMethod;
+import com.hp.octane.integrations.dto.connectivity.OctaneResultAbridged;
+import com.hp.octane.integrations.dto.connectivity.OctaneTaskAbridged;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Route table of the tasks: routes are compiled once into the trie of path segments, so that the task is routed by a single walk over its path.
+ * Route pattern segments are either literals (matched case insensitively), {name} - one segment parameter, or {name+} - parameter spanning
+ * one or more segments (job CI IDs of foldered jobs contain '/'); literals are preferred over parameters and multi-segment parameter takes
+ * as few segments as possible, so that 'jobs/{jobCiId+}/run' wins over 'jobs/{jobCiId+}' for 'jobs/folder/job/run'.
+ */
+final class TaskRouter {
+	private final Node root = new Node();
+	private final List<Route> routes = new ArrayList<>();
+
+	//Metrics
+	private final AtomicLong notFoundCount = new AtomicLong();
+
+	/**
+	 * Task handler, bound to the route
+	 */
+	@FunctionalInterface
+	interface Handler {
+		void handle(OctaneTaskAbridged task, Match match, OctaneResultAbridged result);
+	}
+
+	/**
+	 * Adds the route
+	 *
+	 * @param name    route name, used in metrics
+	 * @param method  HTTP method of the route, NULL for any method
+	 * @param pattern path pattern relative to the API root, eg 'jobs/{jobCiId+}/run'
+	 * @param handler task handler
+	 * @return this router
+	 */
+	TaskRouter route(String name, HttpMethod method, String pattern, Handler handler) {
+		Node node = root;
+		List<String> parameterNames = new ArrayList<>();
+		for (String segment : pattern.split("/")) {
+			if (segment.startsWith("{") && segment.endsWith("+}")) {
+				parameterNames.add(segment.substring(1, segment.length() - 2));
+				if (node.greedyParameter == null) {
+					node.greedyParameter = new Node();
+				}
+				node = node.greedyParameter;
+			} else if (segment.startsWith("{") && segment.endsWith("}")) {
+				parameterNames.add(segment.substring(1, segment.length() - 1));
+				if (node.parameter == null) {
+					node.parameter = new Node();
+				}
+				node = node.parameter;
+			} else {
+				node = node.literals.computeIfAbsent(segment.toLowerCase(Locale.ROOT), key -> new Node());
+			}
+		}
+		for (Route existing : node.routes) {
+			if (existing.method == method) {
+				throw new IllegalArgumentException("route '" + pattern + "' for method " + method + " is already defined");
+			}
+		}
+		Route route = new Route(name, method, parameterNames.toArray(new String[0]), handler);
+		//  method specific routes are preferred over the any method ones
+		if (method == null) {
+			node.routes.add(route);
+		} else {
+			node.routes.add(0, route);
+		}
+		routes.add(route);
+		return this;
+	}
+
+	boolean dispatch(OctaneTaskAbridged task, String path, OctaneResultAbridged result) {
+		return dispatch(task, path, 0, result);
+	}
+
+	/**
+	 * Routes the task to its handler
+	 *
+	 * @param task     task
+	 * @param path     task path relative to the API root, including query string, if any
+	 * @param deadline time (in millis) till which Octane waits for the result, 0 if not bounded; available to the handler by the match
+	 * @param result   result to be filled by the handler
+	 * @return false if no route matched the task, handler is not invoked then
+	 */
+	boolean dispatch(OctaneTaskAbridged task, String path, long deadline, OctaneResultAbridged result) {
+		Match match = match(task.getMethod(), path);
+		if (match == null) {
+			notFoundCount.incrementAndGet();
+			return false;
+		}
+		match.deadline = deadline;
+		long startTime = System.nanoTime();
+		try {
+			match.route.handler.handle(task, match, result);
+		} finally {
+			match.route.record(System.nanoTime() - startTime);
+		}
+		return true;
+	}
+
+	Match match(HttpMethod method, String path) {
+		int queryAt = path.indexOf('?');
+		String query = queryAt < 0 ? null : path.substring(queryAt + 1);
+		List<String> segments = new ArrayList<>();
+		int segmentStart = 0;
+		int pathEnd = queryAt < 0 ? path.length() : queryAt;
+		for (int i = 0; i <= pathEnd; i++) {
+			if (i == pathEnd || path.charAt(i) == '/') {
+				if (i > segmentStart) {
+					segments.add(path.substring(segmentStart, i));
+				}
+				segmentStart = i + 1;
+			}
+		}
+
+		List<String> values = new ArrayList<>(2);
+		Route route = match(root, segments, 0, method, values);
+		return route == null ? null : new Match(route, values, query);
+	}
+
+	private Route match(Node node, List<String> segments, int index, HttpMethod method, List<String> values) {
+		if (index == segments.size()) {
+			for (Route route : node.routes) {
+				if (route.method == null || route.method == method) {
+					return route;
+				}
+			}
+			return null;
+		}
+
+		Node literal = node.literals.get(segments.get(index).toLowerCase(Locale.ROOT));
+		if (literal != null) {
+			Route route = match(literal, segments, index + 1, method, values);
+			if (route != null) {
+				return route;
+			}
+		}
+		if (node.parameter != null) {
+			values.add(segments.get(index));
+			Route route = match(node.parameter, segments, index + 1, method, values);
+			if (route != null) {
+				return route;
+			}
+			values.remove(values.size() - 1);
+		}
+		if (node.greedyParameter != null) {
+			for (int end = index + 1; end <= segments.size(); end++) {
+				values.add(String.join("/", segments.subList(index, end)));
+				Route route = match(node.greedyParameter, segments, end, method, values);
+				if (route != null) {
+					return route;
+				}
+				values.remove(values.size() - 1);
+			}
+		}
+		return null;
+	}
+
+	void addMetrics(Map<String, Object> metricsMap) {
+		for (Route route : routes) {
+			long count = route.count.get();
+			if (count > 0) {
+				metricsMap.put("route_" + route.name + "_count", count);
+				metricsMap.put("route_" + route.name + "_avgTime", route.totalTime.get() / count / 1000000);
+				metricsMap.put("route_" + route.name + "_maxTime", route.maxTime.get() / 1000000);
+			}
+		}
+		metricsMap.put("route_notFound_count", notFoundCount.get());
+	}
+
+	/**
+	 * Route matched by the task along with the path and query parameters of the task
+	 */
+	static final class Match {
+		private final Route route;
+		private final List<String> values;
+		private final String query;
+		private Map<String, String> queryParams;
+		private long deadline;
+
+		private Match(Route route, List<String> values, String query) {
+			this.route = route;
+			this.values = values;
+			this.query = query;
+		}
+
+		String getRouteName() {
+			return route.name;
+		}
+
+		/**
+		 * @return time (in millis) till which Octane waits for the result of the task, 0 if not bounded
+		 */
+		long getDeadline() {
+			return deadline;
+		}
+
+		String getPathParam(String name) {
+			for (int i = 0; i < route.parameterNames.length; i++) {
+				if (route.parameterNames[i].equals(name)) {
+					return values.get(i);
+				}
+			}
+			throw new IllegalArgumentException("route '" + route.name + "' has no path parameter '" + name + "'");
+		}
+
+		String getQueryParam(String name) {
+			return getQueryParams().get(name);
+		}
+
+		<T> T getQueryParam(String name, Function<String, T> parser, T defaultValue) {
+			String value = getQueryParam(name);
+			return value == null ? defaultValue : parser.apply(value);
+		}
+
+		Long getLongQueryParam(String name) {
+			return getQueryParam(name, Long::valueOf, null);
+		}
+
+		boolean getBooleanQueryParam(String name, boolean defaultValue) {
+			String value = getQueryParam(name);
+			return "true".equals(value) || (!"false".equals(value) && defaultValue);
+		}
+
+		private Map<String, String> getQueryParams() {
+			if (queryParams == null) {
+				if (query == null || query.isEmpty()) {
+					queryParams = Collections.emptyMap();
+				} else {
+					queryParams = new HashMap<>();
+					for (String pair : query.split("&")) {
+						String[] parts = pair.split("=");
+						if (parts.length == 2) {
+							queryParams.put(parts[0], parts[1]);
+						}
+					}
+				}
+			}
+			return queryParams;
+		}
+	}
+
+	private static final class Node {
+		private final Map<String, Node> literals = new LinkedHashMap<>();
+		private Node parameter;
+		private Node greedyParameter;
+		private final List<Route> routes = new ArrayList<>(1);
+	}
+
+	private static final class Route {
+		private final String name;
+		private final HttpMethod method;
+		private final String[] parameterNames;
+		private final Handler handler;
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong totalTime = new AtomicLong();
+		private final AtomicLong maxTime = new AtomicLong();
+
+		private Route(String name, HttpMethod method, String[] parameterNames, Handler handler) {
+			this.name = name;
+			this.method = method;
+			this.parameterNames = parameterNames;
+			this.handler = handler;
+		}
+
+		private void record(long nanos) {
+			count.incrementAndGet();
+			totalTime.addAndGet(nanos);
+			maxTime.accumulateAndGet(nanos, Math::max);
+		}
+	}
+}
@@ -34,6 +34,7 @@ package com.hp.octane.integrations.services.tasking;
 import com.hp.octane.integrations.OctaneSDK;
 import com.hp.octane.integrations.dto.connectivity.OctaneResultAbridged;
 import com.hp.octane.integrations.dto.connectivity.OctaneTaskAbridged;
+import com.hp.octane.integrations.dto.pipelines.PipelineNode;
 import com.hp.octane.integrations.services.ClosableService;
 import com.hp.octane.integrations.services.HasMetrics;
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
@@ -65,9 +66,37 @@ public interface TasksProcessor extends ClosableService, HasMetrics {
 	 */
 	OctaneResultAbridged execute(OctaneTaskAbridged task);
 
+	/**
+	 * Initiates execution of Octane logic oriented task, that Octane waits for till the deadline only;
+	 * long running tasks (e.g. bulk build status) return the partial result in time instead of the late full one
+	 * @param task     task
+	 * @param deadline time (in millis) till which Octane waits for the result, 0 if not bounded
+	 * @return OctaneResultAbridged
+	 */
+	OctaneResultAbridged execute(OctaneTaskAbridged task, long deadline);
+
 	/**
 	 * Clear caches of getJobList
 	 * @return future of result. True if cache is updated. False if there was exception, or content is returned as null or cache is not allowed.
 	 */
 	Future<Boolean> resetJobListCache();
+
+	/**
+	 * Notifies the jobs list cache about the job created (or updated), so that the cache is kept up to date without the full jobs scan
+	 * @param job job as it would appear in the jobs list (including parameters)
+	 */
+	void jobCreated(PipelineNode job);
+
+	/**
+	 * Notifies the jobs list cache about the job renamed (or moved)
+	 * @param previousJobCiId job CI ID before the rename
+	 * @param job job as it would appear in the jobs list (including parameters)
+	 */
+	void jobRenamed(String previousJobCiId, PipelineNode job);
+
+	/**
+	 * Notifies the jobs list cache about the job deleted
+	 * @param jobCiId CI ID of the deleted job
+	 */
+	void jobDeleted(String jobCiId);
 }
@@ -54,7 +54,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Tasks routing service handles ALM Octane tasks, both coming from abridged logic as well as plugin's REST call delegation
@@ -72,9 +72,9 @@ final class TasksProcessorImpl implements TasksProcessor {
 	private static final String JOBS = "jobs";
 	private static final String RUN = "run";
 	private static final String STOP = "stop";
+	private static final String BUILDS = "builds";
 	private static final String BUILD_STATUS = "build_status";
 	private static final String BRANCHES = "branches";
-	private static final String BUILDS = "builds";
 	private static final String EXECUTOR = "executor";
 	private static final String INIT = "init";
 	private static final String UPDATE = "update";
@@ -83,11 +83,52 @@ final class TasksProcessorImpl implements TasksProcessor {
 	private static final String CREDENTIALS = "credentials";
 	private static final String SYNC_NOW = "sync_now";
 
+	private final long JOB_LIST_RESCAN_INTERVAL = System.getProperty("octane.sdk.tasks.job-list-cache.rescan-interval") != null ? Long.parseLong(System.getProperty("octane.sdk.tasks.job-list-cache.rescan-interval")) : TimeUnit.MINUTES.toMillis(5);
+	private final long EVENT_MAINTAINED_JOB_LIST_RESCAN_INTERVAL = System.getProperty("octane.sdk.tasks.job-list-cache.event-maintained-rescan-interval") != null ? Long.parseLong(System.getProperty("octane.sdk.tasks.job-list-cache.event-maintained-rescan-interval")) : TimeUnit.MINUTES.toMillis(60);
+
 	private ExecutorService jobListCacheExecutor = Executors.newSingleThreadExecutor();
-	private CacheItem jobListCacheItem;
+	private final JobListIndex jobListIndex = new JobListIndex();
+	private Future<Boolean> jobListRescan;
+
+	//  1 means build statuses of the bulk are resolved one by one on the task's thread
+	private final int BUILD_STATUS_PARALLELISM = System.getProperty("octane.sdk.tasks.build-status.parallelism") != null ? Integer.parseInt(System.getProperty("octane.sdk.tasks.build-status.parallelism")) : 8;
+	private final long BUILD_STATUS_DEADLINE = System.getProperty("octane.sdk.tasks.build-status.deadline") != null ? Long.parseLong(System.getProperty("octane.sdk.tasks.build-status.deadline")) : TimeUnit.SECONDS.toMillis(20);
+	private final ThreadPoolExecutor buildStatusExecutor;
+
+	//Metrics
+	private final AtomicLong buildStatusResolvedCount = new AtomicLong();
+	private final AtomicLong buildStatusTotalResolutionTime = new AtomicLong();
+	private final AtomicLong buildStatusMaxResolutionTime = new AtomicLong();
+	private final AtomicLong buildStatusUnresolvedCount = new AtomicLong();
+	private volatile int lastBuildStatusBulkSize;
+	private volatile long lastBuildStatusBulkTime;
 
 	private final OctaneSDK.SDKServicesConfigurer configurer;
 	private final ConfigurationService configurationService;
+	private final TaskRouter router = new TaskRouter()
+			.route("status", null, STATUS, (task, match, result) -> executeStatusRequest(result))
+			.route("suspend_status", null, SUSPEND_STATUS, (task, match, result) -> suspendCiEvents(result, task.getBody()))
+			.route("jobs_list", null, JOBS, (task, match, result) -> executeJobsListRequest(result,
+					match.getBooleanQueryParam("parameters", true),
+					match.getLongQueryParam("workspaceId")))
+			.route("jobs_pipeline", null, JOBS + "/{jobCiId+}", (task, match, result) -> executePipelineRequest(result, match.getPathParam("jobCiId")))
+			.route("jobs_run", null, JOBS + "/{jobCiId+}/" + RUN, (task, match, result) -> executePipelineRunExecuteRequest(result, match.getPathParam("jobCiId"), task.getBody()))
+			.route("jobs_stop", null, JOBS + "/{jobCiId+}/" + STOP, (task, match, result) -> executePipelineRunStopRequest(result, match.getPathParam("jobCiId"), task.getBody()))
+			//  builds of the job are not served, yet they MUST NOT be taken for the pipeline of the job with 'builds' in its CI ID
+			.route("jobs_builds", null, JOBS + "/{jobCiId+}/" + BUILDS, (task, match, result) -> result.setStatus(HttpStatus.SC_NOT_FOUND))
+			.route("jobs_build", null, JOBS + "/{jobCiId+}/" + BUILDS + "/{buildCiId}", (task, match, result) -> result.setStatus(HttpStatus.SC_NOT_FOUND))
+			.route("build_status", null, BUILD_STATUS, (task, match, result) -> executeGetBulkBuildStatusRequest(result, task.getBody(), match.getDeadline()))
+			.route("branches_list", null, BRANCHES + "/{jobCiId+}", (task, match, result) -> executeBranchesListRequest(result,
+					match.getPathParam("jobCiId"),
+					match.getQueryParam("filterBranchName")))
+			.route("executor_init", HttpMethod.POST, EXECUTOR + "/" + INIT, (task, match, result) -> executeExecutorInitRequest(result, task.getBody()))
+			.route("executor_update", HttpMethod.POST, EXECUTOR + "/" + UPDATE, (task, match, result) -> executeExecutorUpdateRequest(result, task.getBody()))
+			.route("executor_test_conn", HttpMethod.POST, EXECUTOR + "/" + TEST_CONN, (task, match, result) -> executeTestConnectivityRequest(result, task.getBody()))
+			.route("executor_credentials_upsert", HttpMethod.POST, EXECUTOR + "/" + CREDENTIALS_UPSERT, (task, match, result) ->
+					executeUpsertCredentials(result, dtoFactory.dtoFromJson(task.getBody(), CredentialsInfo.class)))
+			.route("executor_sync_now", HttpMethod.POST, EXECUTOR + "/" + SYNC_NOW, (task, match, result) -> executeSyncNowRequest(task.getBody()))
+			.route("executor_credentials", HttpMethod.GET, EXECUTOR + "/" + CREDENTIALS, (task, match, result) -> executeGetCredentialsRequest(result))
+			.route("executor_delete", HttpMethod.DELETE, EXECUTOR + "/{id}", (task, match, result) -> executeDeleteExecutorRequest(match.getPathParam("id")));
 
 	TasksProcessorImpl(OctaneSDK.SDKServicesConfigurer configurer, ConfigurationService configurationService) {
 		if (configurer == null) {
@@ -99,10 +140,18 @@ final class TasksProcessorImpl implements TasksProcessor {
 
 		this.configurationService = configurationService;
 		this.configurer = configurer;
+		this.buildStatusExecutor = new ThreadPoolExecutor(Math.max(1, BUILD_STATUS_PARALLELISM), Math.max(1, BUILD_STATUS_PARALLELISM), 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), new BuildStatusExecutorsFactory());
+		this.buildStatusExecutor.allowCoreThreadTimeOut(true);
 	}
 
 	@Override
 	public OctaneResultAbridged execute(OctaneTaskAbridged task) {
+		return execute(task, 0);
+	}
+
+	@Override
+	public OctaneResultAbridged execute(OctaneTaskAbridged task, long deadline) {
 		if (task == null) {
 			throw new IllegalArgumentException("task MUST NOT be null");
 		}
@@ -120,84 +169,13 @@ final class TasksProcessorImpl implements TasksProcessor {
 		result.setStatus(HttpStatus.SC_OK);
 		result.setHeaders(new HashMap<>());
 		result.setServiceId(configurer.octaneConfiguration.getInstanceId());
-		String[] path = pathTokenizer(task.getUrl());
+		String path = task.getUrl().substring(task.getUrl().lastIndexOf(NGA_API) + NGA_API.length());
 		try {
 			if(task.getHeaders() != null && !task.getHeaders().isEmpty()) {
 				logger.info(configurer.octaneConfiguration.getLocationForLog() + "headers are not empty! passing to plugin");
 				configurer.pluginServices.setCorrelationId(task.getHeaders());
 			}
-			if (path.length == 1 && STATUS.equals(path[0])) {
-				executeStatusRequest(result);
-			} else if (path.length == 1 && SUSPEND_STATUS.equals(path[0])) {
-				suspendCiEvents(result, task.getBody());
-			} else if (path[0].startsWith(JOBS)) {
-				if (path.length == 1) {
-					Map<String, String> queryParams = getQueryParamsMap(path[0]);
-
-					boolean includingParameters = !"false".equals(queryParams.get("parameters"));
-					Long workspaceId = queryParams.containsKey("workspaceId") ? Long.parseLong(queryParams.get("workspaceId")) : null;
-					executeJobsListRequest(result, includingParameters, workspaceId);
-				} else if (path.length == 2) {
-					executePipelineRequest(result, path[1]);
-				} else if (path.length == 3 && RUN.equals(path[2])) {
-					executePipelineRunExecuteRequest(result, path[1], task.getBody());
-				} else if (path.length == 3 && STOP.equals(path[2])) {
-					executePipelineRunStopRequest(result, path[1], task.getBody());
-				} else {
-					result.setStatus(HttpStatus.SC_NOT_FOUND);
-				}
-			} else if (BUILD_STATUS.equalsIgnoreCase(path[0])) {
-				executeGetBulkBuildStatusRequest(result, task.getBody());
-			} else if (path.length == 2 && path[0].startsWith(BRANCHES)) {
-				Map<String, String> queryParams = getQueryParamsMap(path[1]);
-
-				String jobCiId = path[1].substring(0, path[1].indexOf("?"));
-				String filterBranchName = queryParams.getOrDefault("filterBranchName", null);
-
-				executeBranchesListRequest(result, jobCiId, filterBranchName);
-			} else if (EXECUTOR.equalsIgnoreCase(path[0])) {
-				if (HttpMethod.POST.equals(task.getMethod()) && path.length == 2) {
-					if (INIT.equalsIgnoreCase(path[1])) {
-						DiscoveryInfo discoveryInfo = dtoFactory.dtoFromJson(task.getBody(), DiscoveryInfo.class);
-						discoveryInfo.setConfigurationId(configurer.octaneConfiguration.getInstanceId());
-						configurer.pluginServices.runTestDiscovery(discoveryInfo);
-						PipelineNode node = configurer.pluginServices.createExecutor(discoveryInfo);
-						if (node != null) {
-							result.setBody(dtoFactory.dtoToJson(node));
-							result.getHeaders().put(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.getMimeType());
-						}
-						result.setStatus(HttpStatus.SC_OK);
-					} else if (UPDATE.equalsIgnoreCase(path[1])) {
-						DiscoveryInfo discoveryInfo = dtoFactory.dtoFromJson(task.getBody(), DiscoveryInfo.class);
-						discoveryInfo.setConfigurationId(configurer.octaneConfiguration.getInstanceId());
-						configurer.pluginServices.updateExecutor(discoveryInfo);
-						result.setStatus(HttpStatus.SC_OK);
-					} else if (TEST_CONN.equalsIgnoreCase(path[1])) {
-						TestConnectivityInfo testConnectivityInfo = dtoFactory.dtoFromJson(task.getBody(), TestConnectivityInfo.class);
-						OctaneResponse connTestResult = configurer.pluginServices.checkRepositoryConnectivity(testConnectivityInfo);
-						result.setStatus(connTestResult.getStatus());
-						result.setBody(connTestResult.getBody());
-					} else if (CREDENTIALS_UPSERT.equalsIgnoreCase(path[1])) {
-						CredentialsInfo credentialsInfo = dtoFactory.dtoFromJson(task.getBody(), CredentialsInfo.class);
-						executeUpsertCredentials(result, credentialsInfo);
-					} else if (SYNC_NOW.equalsIgnoreCase(path[1])) {
-						DiscoveryInfo discoveryInfo = dtoFactory.dtoFromJson(task.getBody(), DiscoveryInfo.class);
-						discoveryInfo.setConfigurationId(configurer.octaneConfiguration.getInstanceId());
-						configurer.pluginServices.syncNow(discoveryInfo);
-					} else {
-						result.setStatus(HttpStatus.SC_NOT_FOUND);
-					}
-				} else if (HttpMethod.DELETE.equals(task.getMethod()) && path.length == 2) {
-					String id = path[1];
-					configurer.pluginServices.deleteExecutor(id);
-				} else if (HttpMethod.GET.equals(task.getMethod()) && path.length == 2) {
-					if (CREDENTIALS.equalsIgnoreCase(path[1])) {
-						List<CredentialsInfo> credentials = configurer.pluginServices.getCredentials();
-						String json = dtoFactory.dtoCollectionToJson(credentials);
-						result.setBody(json);
-					}
-				}
-			} else {
+			if (!router.dispatch(task, path, deadline, result)) {
 				result.setStatus(HttpStatus.SC_NOT_FOUND);
 			}
 		} catch (ErrorCodeBasedException pe) {
@@ -233,58 +211,77 @@ final class TasksProcessorImpl implements TasksProcessor {
 	@Override
 	public Future<Boolean> resetJobListCache() {
 		if (ConfigurationParameterFactory.jobListCacheAllowed(configurer.octaneConfiguration) && !configurer.octaneConfiguration.isDisabled()) {
-			return jobListCacheExecutor.submit(() -> {
+			Future<Boolean> rescan = jobListCacheExecutor.submit(() -> {
 				logger.info(configurer.octaneConfiguration.getLocationForLog() + "resetJobListCache submitted");
+				//  scans are serialized by the single thread executor, changes notified from now on survive the scan
+				jobListIndex.beginRebuild();
 				try {
 					long startTime = System.currentTimeMillis();
 					CIJobsList content = configurer.pluginServices.getJobsList(true, null);
 					if (content != null) {
-						jobListCacheItem = CacheItem.create(content);
+						jobListIndex.completeRebuild(content);
 						logger.info(configurer.octaneConfiguration.getLocationForLog() + "resetJobListCache: cache is reset, found " + content.getJobs().length + " jobs, processing time is " + ((System.currentTimeMillis() - startTime) / 1000) + " seconds");
 						return true;
 					} else {
+						jobListIndex.abortRebuild();
 						logger.info(configurer.octaneConfiguration.getLocationForLog() + "resetJobListCache: failed to update cache. Content is empty.");
 						return false;
 					}
 				} catch (Exception e) {
+					jobListIndex.abortRebuild();
 					logger.info(configurer.octaneConfiguration.getLocationForLog() + "Failed to resetJobListCache : " + e.getMessage());
 					return false;
 				}
 			});
+			synchronized (jobListIndex) {
+				jobListRescan = rescan;
+			}
+			return rescan;
 		} else {
-			if (jobListCacheItem != null) {
+			if (jobListIndex.isPopulated()) {
 				logger.info(configurer.octaneConfiguration.getLocationForLog() + "resetJobListCache : cache is cleared");
 			}
-			jobListCacheItem = null;
+			jobListIndex.clear();
 			return CompletableFuture.completedFuture(false);
 		}
 	}
 
-	private String[] pathTokenizer(String url) {
-		Map<Integer, String> params = new HashMap<>();
-		String[] path = Pattern.compile("^.*" + NGA_API + "/?").matcher(url).replaceFirst("").split("/");
-		params.put(0, path[0]);
-		for (int i = 1; i < path.length; i++) {
-			if ((path[i].equals(BUILDS) || path[i].equals(RUN) || path[i].equals(STOP)) && i == path.length - 1) { // last token
-				params.put(2, path[i]);
-			} else if (path[i].equals(BUILDS) && i == path.length - 2) {        // one before last token
-				params.put(2, path[i]);
-				params.put(3, path[i + 1]);
-				break;
-			} else {
-				if (params.get(1) == null) {
-					params.put(1, path[i]);
-				} else {
-					params.put(1, params.get(1) + "/" + path[i]);
-				}
+	@Override
+	public void jobCreated(PipelineNode job) {
+		if (ConfigurationParameterFactory.jobListCacheAllowed(configurer.octaneConfiguration)) {
+			jobListIndex.upsert(job);
+		}
+	}
+
+	@Override
+	public void jobRenamed(String previousJobCiId, PipelineNode job) {
+		if (ConfigurationParameterFactory.jobListCacheAllowed(configurer.octaneConfiguration)) {
+			jobListIndex.rename(previousJobCiId, job);
+		}
+	}
+
+	@Override
+	public void jobDeleted(String jobCiId) {
+		if (ConfigurationParameterFactory.jobListCacheAllowed(configurer.octaneConfiguration)) {
+			jobListIndex.remove(jobCiId);
+		}
+	}
+
+	//  joins the rescan in progress, if any, instead of queueing one more full scan
+	private Future<Boolean> rescanJobList() {
+		synchronized (jobListIndex) {
+			if (jobListRescan != null && !jobListRescan.isDone()) {
+				return jobListRescan;
 			}
 		}
-		// converting to an array
-		List<String> listAsArray = new ArrayList<>();
-		for (int i = 0; i < params.size(); i++) {
-			listAsArray.add(i, params.get(i));
+		return resetJobListCache();
+	}
+
+	private JobListIndex.View getJobListView(Long workspaceId) {
+		if (workspaceId == null) {
+			return jobListIndex.getView();
 		}
-		return listAsArray.toArray(new String[0]);
+		return jobListIndex.getView(workspaceId, jobCiId -> configurer.pluginServices.isJobVisibleInWorkspace(jobCiId, workspaceId));
 	}
 
 	private void executeStatusRequest(OctaneResultAbridged result) {
@@ -308,40 +305,45 @@ final class TasksProcessorImpl implements TasksProcessor {
 		boolean cacheAllowed = ConfigurationParameterFactory.jobListCacheAllowed(configurer.octaneConfiguration);
 		boolean cacheIsUsed = false;
 		if (cacheAllowed) {
-
-			CacheItem myJobListCacheItem = jobListCacheItem;//save instance because jobListCacheItem might be cleaned
-			if (myJobListCacheItem != null) {
-				long currentTime = System.currentTimeMillis();
-				long hours = (currentTime - myJobListCacheItem.time) / (1000 * 60 * 5);
-				if (hours >= 1) {//if exceed hour, refresh the cache data
-					try {//give upto 10 sec to try to refresh, if not - old item will be used
-						if(resetJobListCache().get(10, TimeUnit.SECONDS)){
-							myJobListCacheItem = jobListCacheItem;//update myJobListCacheItem
+			if (!jobListIndex.isPopulated()) {
+				try {//first request fills the cache by the full scan, if it fails - the jobs are requested without cache
+					rescanJobList().get();
+				} catch (InterruptedException | ExecutionException e) {
+					if (e instanceof InterruptedException) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			} else {
+				boolean eventMaintained = jobListIndex.isEventMaintained();
+				long rescanInterval = eventMaintained ? EVENT_MAINTAINED_JOB_LIST_RESCAN_INTERVAL : JOB_LIST_RESCAN_INTERVAL;
+				if (System.currentTimeMillis() - jobListIndex.getRebuildTime() >= rescanInterval) {
+					Future<Boolean> rescan = rescanJobList();
+					if (!eventMaintained) {
+						try {//give upto 10 sec to try to refresh, if not - old item will be used
+							rescan.get(10, TimeUnit.SECONDS);
+						} catch (InterruptedException | ExecutionException | TimeoutException e) {
+							//do nothing, use previous cache data
 						}
-					} catch (InterruptedException|ExecutionException|TimeoutException e) {
-						//do nothing, use previous cache data
 					}
 				}
-				CIJobsList content = myJobListCacheItem.value;
-				result.setBody(dtoFactory.dtoToJson(content));
-				logger.info(configurer.octaneConfiguration.getLocationForLog() + "executeJobsListRequest: cache is used, found " +
-						content.getJobs().length + " jobs, body size is " + result.getBody().length());
+			}
+
+			JobListIndex.View view = getJobListView(workspaceId);
+			if (view != null) {
+				result.setBody(view.json);
+				logger.info(configurer.octaneConfiguration.getLocationForLog() + "executeJobsListRequest: cache (version " + view.version + ") is used, found " +
+						view.jobsCount + " jobs, body size is " + result.getBody().length());
 				cacheIsUsed = true;
 			}
 		}
 
 		if (!cacheIsUsed) {
-			Long myWorkspaceId = cacheAllowed ? null : workspaceId;//workspaceId is not support for cache
-			Boolean myIncludingParameters = cacheAllowed ? true : includingParameters;//myIncludingParameters should be true is cache is allowed
 			logger.info("Starting to get jobs without cache");
 			long startGetJobList = System.currentTimeMillis();
-			CIJobsList content = configurer.pluginServices.getJobsList(myIncludingParameters, myWorkspaceId);
+			CIJobsList content = configurer.pluginServices.getJobsList(includingParameters, workspaceId);
 			logger.info("Finish get job content without cache took {} ms",System.currentTimeMillis() -startGetJobList);
 			if (content != null) {
 				result.setBody(dtoFactory.dtoToJson(content));
-				if (cacheAllowed) {
-					jobListCacheItem = CacheItem.create(content);
-				}
 				logger.info(configurer.octaneConfiguration.getLocationForLog() + "executeJobsListRequest: found " +
 						content.getJobs().length + " jobs, body size is " + result.getBody().length());
 			} else {
@@ -398,43 +400,107 @@ final class TasksProcessorImpl implements TasksProcessor {
 		result.setStatus(HttpStatus.SC_OK);
 	}
 
-	private void executeGetBulkBuildStatusRequest(OctaneResultAbridged result, String originalBody) {
-		logger.info(configurer.octaneConfiguration.getLocationForLog() + "BulkBuildStatus ");
+	private void executeGetBulkBuildStatusRequest(OctaneResultAbridged result, String originalBody, long taskDeadline) {
 		CIBuildStatusInfo[] statuses = originalBody != null ? DTOFactory.getInstance().dtoCollectionFromJson(originalBody, CIBuildStatusInfo[].class) : new CIBuildStatusInfo[0];
-		List<CIBuildStatusInfo> output = new ArrayList<>();
-		for (CIBuildStatusInfo statusInfo : statuses) {
-			try {
-				CIBuildStatusInfo myStatus = configurer.pluginServices.getJobBuildStatus(statusInfo.getJobCiId(), statusInfo.getParamName(), statusInfo.getParamValue());
-				output.add(myStatus);
-			} catch (SPIMethodNotImplementedException notImplemented) {
-				result.setStatus(HttpStatus.SC_NOT_IMPLEMENTED);
-				return;
-			} catch (ErrorCodeBasedException ex) {
-				statusInfo.setExceptionMessage(ex.getMessage());
-				statusInfo.setExceptionCode(ex.getErrorCode());
-				output.add(statusInfo);
-			} catch (Exception e) {
-				statusInfo.setExceptionMessage(e.getMessage());
-				statusInfo.setExceptionCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
-				output.add(statusInfo);
-			}
+		logger.info(configurer.octaneConfiguration.getLocationForLog() + "BulkBuildStatus of " + statuses.length + " builds");
+		long startTime = System.currentTimeMillis();
+		//  time the task has waited in queue is not available for the resolution anymore
+		long deadline = taskDeadline > 0 ? Math.min(startTime + BUILD_STATUS_DEADLINE, taskDeadline) : startTime + BUILD_STATUS_DEADLINE;
+		List<CIBuildStatusInfo> output;
+		try {
+			output = BUILD_STATUS_PARALLELISM > 1 && statuses.length > 1
+					? resolveBuildStatusesInParallel(statuses, startTime, deadline)
+					: resolveBuildStatuses(statuses);
+		} catch (SPIMethodNotImplementedException notImplemented) {
+			result.setStatus(HttpStatus.SC_NOT_IMPLEMENTED);
+			return;
 		}
+		lastBuildStatusBulkSize = statuses.length;
+		lastBuildStatusBulkTime = System.currentTimeMillis() - startTime;
 
 		result.setBody(dtoFactory.dtoCollectionToJson(output));
 		result.setStatus(HttpStatus.SC_OK);
 	}
 
-	private Map<String, String> getQueryParamsMap(String path) {
-		Map<String, String> queryParams = new HashMap<>();
-		String queryParamsStr = path.contains("?") ? path.substring(path.indexOf("?") + 1) : path;
-		String[] queryParamsParts = queryParamsStr.split("&");
-		for (String p : queryParamsParts) {
-			String[] parts = p.split("=");
-			if (parts.length == 2) {
-				queryParams.put(parts[0], parts[1]);
+	private List<CIBuildStatusInfo> resolveBuildStatuses(CIBuildStatusInfo[] statuses) {
+		List<CIBuildStatusInfo> output = new ArrayList<>();
+		for (CIBuildStatusInfo statusInfo : statuses) {
+			output.add(resolveBuildStatus(statusInfo));
+		}
+		return output;
+	}
+
+	/**
+	 * Resolves the statuses on the bounded build status executor; statuses not resolved till the deadline are cancelled
+	 * and returned marked by the timeout, so that the resolved part of the bulk is still delivered in time
+	 */
+	private List<CIBuildStatusInfo> resolveBuildStatusesInParallel(CIBuildStatusInfo[] statuses, long startTime, long deadline) {
+		List<Future<CIBuildStatusInfo>> resolutions = new ArrayList<>(statuses.length);
+		for (CIBuildStatusInfo statusInfo : statuses) {
+			resolutions.add(buildStatusExecutor.submit(() -> resolveBuildStatus(statusInfo)));
+		}
+
+		List<CIBuildStatusInfo> output = new ArrayList<>(statuses.length);
+		int unresolved = 0;
+		try {
+			for (int i = 0; i < statuses.length; i++) {
+				Future<CIBuildStatusInfo> resolution = resolutions.get(i);
+				try {
+					output.add(resolution.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS));
+				} catch (TimeoutException te) {
+					resolution.cancel(true);
+					unresolved++;
+					output.add(unresolvedBuildStatus(statuses[i], "build status was not resolved within " + (deadline - startTime) + " ms", HttpStatus.SC_GATEWAY_TIMEOUT));
+				} catch (ExecutionException ee) {
+					if (ee.getCause() instanceof SPIMethodNotImplementedException) {
+						throw (SPIMethodNotImplementedException) ee.getCause();
+					}
+					output.add(unresolvedBuildStatus(statuses[i], ee.getCause().getMessage(), HttpStatus.SC_INTERNAL_SERVER_ERROR));
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("interrupted while resolving build statuses", ie);
+				}
 			}
+		} finally {
+			resolutions.forEach(resolution -> resolution.cancel(true));
+		}
+		if (unresolved > 0) {
+			buildStatusUnresolvedCount.addAndGet(unresolved);
+			logger.warn(configurer.octaneConfiguration.getLocationForLog() + "BulkBuildStatus: " + unresolved + " of " + statuses.length + " builds were not resolved within " + (deadline - startTime) + " ms");
+		}
+		return output;
+	}
+
+	//  the requested item may still be touched by the cancelled resolution, hence a copy is returned
+	private static CIBuildStatusInfo unresolvedBuildStatus(CIBuildStatusInfo statusInfo, String message, int code) {
+		return dtoFactory.newDTO(CIBuildStatusInfo.class)
+				.setJobCiId(statusInfo.getJobCiId())
+				.setParamName(statusInfo.getParamName())
+				.setParamValue(statusInfo.getParamValue())
+				.setExceptionMessage(message)
+				.setExceptionCode(code);
+	}
+
+	private CIBuildStatusInfo resolveBuildStatus(CIBuildStatusInfo statusInfo) {
+		long startTime = System.currentTimeMillis();
+		try {
+			return configurer.pluginServices.getJobBuildStatus(statusInfo.getJobCiId(), statusInfo.getParamName(), statusInfo.getParamValue());
+		} catch (SPIMethodNotImplementedException notImplemented) {
+			throw notImplemented;
+		} catch (ErrorCodeBasedException ex) {
+			statusInfo.setExceptionMessage(ex.getMessage());
+			statusInfo.setExceptionCode(ex.getErrorCode());
+			return statusInfo;
+		} catch (Exception e) {
+			statusInfo.setExceptionMessage(e.getMessage());
+			statusInfo.setExceptionCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+			return statusInfo;
+		} finally {
+			long resolutionTime = System.currentTimeMillis() - startTime;
+			buildStatusResolvedCount.incrementAndGet();
+			buildStatusTotalResolutionTime.addAndGet(resolutionTime);
+			buildStatusMaxResolutionTime.accumulateAndGet(resolutionTime, Math::max);
 		}
-		return queryParams;
 	}
 
 	private void suspendCiEvents(OctaneResultAbridged result, String suspend) {
@@ -443,6 +509,47 @@ final class TasksProcessorImpl implements TasksProcessor {
 		result.setStatus(HttpStatus.SC_CREATED);
 	}
 
+	private void executeExecutorInitRequest(OctaneResultAbridged result, String originalBody) {
+		DiscoveryInfo discoveryInfo = dtoFactory.dtoFromJson(originalBody, DiscoveryInfo.class);
+		discoveryInfo.setConfigurationId(configurer.octaneConfiguration.getInstanceId());
+		configurer.pluginServices.runTestDiscovery(discoveryInfo);
+		PipelineNode node = configurer.pluginServices.createExecutor(discoveryInfo);
+		if (node != null) {
+			result.setBody(dtoFactory.dtoToJson(node));
+			result.getHeaders().put(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.getMimeType());
+		}
+		result.setStatus(HttpStatus.SC_OK);
+	}
+
+	private void executeExecutorUpdateRequest(OctaneResultAbridged result, String originalBody) {
+		DiscoveryInfo discoveryInfo = dtoFactory.dtoFromJson(originalBody, DiscoveryInfo.class);
+		discoveryInfo.setConfigurationId(configurer.octaneConfiguration.getInstanceId());
+		configurer.pluginServices.updateExecutor(discoveryInfo);
+		result.setStatus(HttpStatus.SC_OK);
+	}
+
+	private void executeTestConnectivityRequest(OctaneResultAbridged result, String originalBody) {
+		TestConnectivityInfo testConnectivityInfo = dtoFactory.dtoFromJson(originalBody, TestConnectivityInfo.class);
+		OctaneResponse connTestResult = configurer.pluginServices.checkRepositoryConnectivity(testConnectivityInfo);
+		result.setStatus(connTestResult.getStatus());
+		result.setBody(connTestResult.getBody());
+	}
+
+	private void executeSyncNowRequest(String originalBody) {
+		DiscoveryInfo discoveryInfo = dtoFactory.dtoFromJson(originalBody, DiscoveryInfo.class);
+		discoveryInfo.setConfigurationId(configurer.octaneConfiguration.getInstanceId());
+		configurer.pluginServices.syncNow(discoveryInfo);
+	}
+
+	private void executeGetCredentialsRequest(OctaneResultAbridged result) {
+		List<CredentialsInfo> credentials = configurer.pluginServices.getCredentials();
+		result.setBody(dtoFactory.dtoCollectionToJson(credentials));
+	}
+
+	private void executeDeleteExecutorRequest(String id) {
+		configurer.pluginServices.deleteExecutor(id);
+	}
+
 	private void executeUpsertCredentials(OctaneResultAbridged result, CredentialsInfo credentialsInfo) {
 		OctaneResponse response = configurer.pluginServices.upsertCredentials(credentialsInfo);
 		result.setBody(response.getBody());
@@ -452,6 +559,7 @@ final class TasksProcessorImpl implements TasksProcessor {
 	@Override
 	public void shutdown() {
 		jobListCacheExecutor.shutdown();
+		buildStatusExecutor.shutdownNow();
 	}
 
 	@Override
@@ -462,23 +570,32 @@ final class TasksProcessorImpl implements TasksProcessor {
 	@Override
 	public Map<String, Object> getMetrics() {
 		Map<String, Object> map = new LinkedHashMap<>();
+		router.addMetrics(map);
 		map.put("jobListCacheAllowed", ConfigurationParameterFactory.jobListCacheAllowed(configurer.octaneConfiguration));
-		if(jobListCacheItem != null){
-			map.put("jobListCache_jobCount", jobListCacheItem.value.getJobs().length);
-			map.put("jobListCache_time",  new Date(jobListCacheItem.time));
+		if (jobListIndex.isPopulated()) {
+			jobListIndex.addMetrics(map);
+			map.put("jobListCache_time", new Date(jobListIndex.getRebuildTime()));
+			if (jobListIndex.isEventMaintained()) {
+				map.put("jobListCache_lastChangeTime", new Date(jobListIndex.getLastChangeTime()));
+			}
 		}
+		long resolvedCount = buildStatusResolvedCount.get();
+		map.put("buildStatus_parallelism", BUILD_STATUS_PARALLELISM);
+		map.put("buildStatus_resolvedCount", resolvedCount);
+		map.put("buildStatus_avgResolutionTime", resolvedCount == 0 ? 0 : buildStatusTotalResolutionTime.get() / resolvedCount);
+		map.put("buildStatus_maxResolutionTime", buildStatusMaxResolutionTime.get());
+		map.put("buildStatus_unresolvedCount", buildStatusUnresolvedCount.get());
+		map.put("buildStatus_lastBulkSize", lastBuildStatusBulkSize);
+		map.put("buildStatus_lastBulkTime", lastBuildStatusBulkTime);
 		return map;
 	}
 
-	private static class CacheItem {
-		long time;
-		CIJobsList value;
-
-		public static CacheItem create(CIJobsList value){
-			CacheItem ci = new CacheItem();
-			ci.value = value;
-			ci.time = System.currentTimeMillis();
-			return ci;
+	private static final class BuildStatusExecutorsFactory implements ThreadFactory {
+		public Thread newThread(Runnable runnable) {
+			Thread result = new Thread(runnable);
+			result.setName("BuildStatusWorker-" + result.getId());
+			result.setDaemon(true);
+			return result;
 		}
 	}
 
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.tests;
+
+import com.hp.octane.integrations.dto.DTOFactory;
+
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartDocument;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming rewrite of the test results XML: attributes of the 'build' element are replaced with the given server/job/build IDs
+ * XML is transformed lazily, event by event, while being read, so the memory used does not depend on the size of the input
+ * Output is UTF-8 encoded
+ */
+final class BuildElementRewritingInputStream extends InputStream {
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+	private static final XMLEventFactory eventFactory = XMLEventFactory.newInstance();
+	private static final String BUILD_ELEMENT = "build";
+	private static final int FILL_THRESHOLD = 8 * 1024;
+	private static final int EVENTS_PER_FLUSH = 64;
+
+	private final InputStream source;
+	private final List<Attribute> buildAttributes;
+	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(FILL_THRESHOLD * 2);
+	private XMLEventReader reader;
+	private XMLEventWriter writer;
+	private byte[] chunk = new byte[0];
+	private int chunkPosition = 0;
+	private boolean exhausted = false;
+	private XMLStreamException failure;
+
+	BuildElementRewritingInputStream(InputStream source, String serverId, String jobId, String buildId) {
+		if (source == null) {
+			throw new IllegalArgumentException("source MUST NOT be null");
+		}
+		this.source = source;
+		this.buildAttributes = Arrays.asList(
+				eventFactory.createAttribute("server_id", serverId),
+				eventFactory.createAttribute("job_id", jobId),
+				eventFactory.createAttribute("build_id", buildId));
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!ensureChunk()) {
+			return -1;
+		}
+		return chunk[chunkPosition++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!ensureChunk()) {
+			return -1;
+		}
+		int count = Math.min(len, chunk.length - chunkPosition);
+		System.arraycopy(chunk, chunkPosition, b, off, count);
+		chunkPosition += count;
+		return count;
+	}
+
+	@Override
+	public int available() {
+		return chunk.length - chunkPosition;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			if (reader != null) {
+				reader.close();
+			}
+		} catch (XMLStreamException xmlse) {
+			throw new IOException("failed to close XML reader", xmlse);
+		} finally {
+			source.close();
+		}
+	}
+
+	/**
+	 * @return true if the input found to be not a valid XML, as opposed to I/O failures of the source
+	 */
+	boolean isMalformed() {
+		return failure != null;
+	}
+
+	private boolean ensureChunk() throws IOException {
+		while (chunkPosition >= chunk.length) {
+			if (exhausted) {
+				return false;
+			}
+			try {
+				fill();
+			} catch (XMLStreamException xmlse) {
+				failure = xmlse;
+				throw new IOException("failed to rewrite build element of the test results XML", xmlse);
+			}
+		}
+		return true;
+	}
+
+	private void fill() throws XMLStreamException {
+		if (reader == null) {
+			reader = dtoFactory.getXMLMapper().getFactory().getXMLInputFactory().createXMLEventReader(source);
+			writer = dtoFactory.getXMLMapper().getFactory().getXMLOutputFactory().createXMLEventWriter(buffer, "UTF-8");
+		}
+
+		buffer.reset();
+		int events = 0;
+		while (reader.hasNext()) {
+			XMLEvent event = reader.nextEvent();
+			if (event.isStartDocument()) {
+				//  output is always UTF-8, whatever the source declared
+				StartDocument original = (StartDocument) event;
+				event = original.standaloneSet()
+						? eventFactory.createStartDocument("UTF-8", original.getVersion(), original.isStandalone())
+						: eventFactory.createStartDocument("UTF-8", original.getVersion());
+			} else if (event.isStartElement() && BUILD_ELEMENT.equals(event.asStartElement().getName().getLocalPart())) {
+				StartElement original = event.asStartElement();
+				event = eventFactory.createStartElement(original.getName(), buildAttributes.iterator(), original.getNamespaces());
+			}
+			writer.add(event);
+			if (++events % EVENTS_PER_FLUSH == 0) {
+				writer.flush();
+				if (buffer.size() >= FILL_THRESHOLD) {
+					break;
+				}
+			}
+		}
+		if (!reader.hasNext()) {
+			writer.close();
+			exhausted = true;
+		} else {
+			writer.flush();
+		}
+
+		chunk = buffer.toByteArray();
+		chunkPosition = 0;
+	}
+}
@@ -40,34 +40,34 @@ import com.hp.octane.integrations.dto.tests.TestsResult;
 import com.hp.octane.integrations.exceptions.PermanentException;
 import com.hp.octane.integrations.exceptions.RequestTimeoutException;
 import com.hp.octane.integrations.exceptions.TemporaryException;
+import com.hp.octane.integrations.services.PreflightCache;
+import com.hp.octane.integrations.services.SharedWorkersPool;
 import com.hp.octane.integrations.services.WorkerPreflight;
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
 import com.hp.octane.integrations.services.configuration.ConfigurationServiceImpl;
 import com.hp.octane.integrations.services.configurationparameters.factory.ConfigurationParameterFactory;
+import com.hp.octane.integrations.services.queueing.BatchObjectQueue;
 import com.hp.octane.integrations.services.queueing.QueueingService;
 import com.hp.octane.integrations.services.rest.OctaneRestClient;
 import com.hp.octane.integrations.services.rest.RestService;
 import com.hp.octane.integrations.utils.CIPluginSDKUtils;
-import com.squareup.tape.ObjectQueue;
-import org.apache.commons.codec.Charsets;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.ContentType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.net.URISyntaxException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 
 import static com.hp.octane.integrations.services.rest.RestService.CORRELATION_ID_HEADER;
 
@@ -84,16 +84,35 @@ final class TestsServiceImpl implements TestsService {
 	private static final String TESTS_RESULTS_QUEUE_FILE = "test-results-queue.dat";
 	public static int TEMPORARY_ERROR_BREATHE_INTERVAL = 15000;
 
-	private final ExecutorService testsPushExecutor = Executors.newSingleThreadExecutor(new TestsResultPushWorkerThreadFactory());
-	private final ObjectQueue<TestsResultQueueItem> testResultsQueue;
+	private final int PUSH_CONCURRENCY = System.getProperty("octane.sdk.tests.push-concurrency") != null ? Math.max(1, Integer.parseInt(System.getProperty("octane.sdk.tests.push-concurrency"))) : 1;
+	private final int PUSH_LOOKAHEAD = PUSH_CONCURRENCY * 4;
+	private final long PUSH_WINDOW_CHECK_INTERVAL = 5000;
+	private final long PUSH_SLOT_IDLE_INTERVAL = 60000;
+	private final long THROUGHPUT_PERIOD = 60000;
+	private final BatchObjectQueue<TestsResultQueueItem> testResultsQueue;
+
+	//  items being pushed or pushed already but waiting for the items before them, aligned with the head of the queue
+	//  when push concurrency is 1 the items are pushed by the worker itself, otherwise by the push slot workers of the shared pool
+	private final List<SharedWorkersPool.WorkerHandle> pushSlots = new ArrayList<>();
+	private final Object pushWindowMonitor = new Object();
+	private final List<PushWindowItem> pushWindow = new ArrayList<>();
+	private final ArrayDeque<PushWindowItem> dispatchedPushes = new ArrayDeque<>();
+	private int runningPushes = 0;
+	private long breatheUntil = 0;
 	private final OctaneSDK.SDKServicesConfigurer configurer;
 	private final RestService restService;
 	private final WorkerPreflight workerPreflight;
+	private final SharedWorkersPool.WorkerHandle testsPushWorker;
 	private final ConfigurationService configurationService;
 
 	//Metrics
 	private long requestTimeoutCount = 0;
 	private long lastRequestTimeoutTime = 0;
+	private long pushedCount = 0;
+	private final ArrayDeque<Long> recentPushTimes = new ArrayDeque<>();
+	private final StageLatency readLatency = new StageLatency("read");
+	private final StageLatency preflightLatency = new StageLatency("preflight");
+	private final StageLatency pushLatency = new StageLatency("push");
 
 	TestsServiceImpl(OctaneSDK.SDKServicesConfigurer configurer, QueueingService queueingService, RestService restService, ConfigurationService configurationService) {
 		if (configurer == null) {
@@ -111,9 +130,9 @@ final class TestsServiceImpl implements TestsService {
 
 
 		if (queueingService.isPersistenceEnabled()) {
-			testResultsQueue = queueingService.initFileQueue(TESTS_RESULTS_QUEUE_FILE, TestsResultQueueItem.class);
+			testResultsQueue = (BatchObjectQueue<TestsResultQueueItem>) queueingService.initFileQueue(TESTS_RESULTS_QUEUE_FILE, TestsResultQueueItem.class);
 		} else {
-			testResultsQueue = queueingService.initMemoQueue();
+			testResultsQueue = (BatchObjectQueue<TestsResultQueueItem>) queueingService.<TestsResultQueueItem>initMemoQueue();
 		}
 
 		this.configurer = configurer;
@@ -122,7 +141,11 @@ final class TestsServiceImpl implements TestsService {
 		this.workerPreflight = new WorkerPreflight(this, configurationService, logger);
 
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "starting background worker...");
-		testsPushExecutor.execute(this::worker);
+		for (int i = 0; i < (PUSH_CONCURRENCY > 1 ? PUSH_CONCURRENCY : 0); i++) {
+			pushSlots.add(configurer.workersPool.register(configurer.octaneConfiguration.getInstanceId(), "TestsResultPushSlot", this::pushSlot));
+		}
+		testsPushWorker = configurer.workersPool.register(configurer.octaneConfiguration.getInstanceId(), "TestsResultPushWorker", this::worker);
+		workerPreflight.setWorker(testsPushWorker);
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "initialized SUCCESSFULLY (backed by " + testResultsQueue.getClass().getSimpleName() + ")");
 	}
 
@@ -132,6 +155,11 @@ final class TestsServiceImpl implements TestsService {
 			throw new IllegalArgumentException("job CI ID MUST NOT be null nor empty");
 		}
 
+		return configurationService.getPreflightAnswer(PreflightCache.Kind.TESTS_RESULT, serverCiId, jobId, rootJobId,
+				() -> requestTestsResultRelevance(serverCiId, jobId, rootJobId), Boolean::booleanValue);
+	}
+
+	private boolean requestTestsResultRelevance(String serverCiId, String jobId, String rootJobId) {
 		boolean base64 = isEncodeBase64();
 		String jobIdEncoded = base64 ? CIPluginSDKUtils.urlEncodeBase64(jobId) : CIPluginSDKUtils.urlEncodePathParam(jobId);
 		String rootJobIdEncoded = base64 ? CIPluginSDKUtils.urlEncodeBase64(rootJobId) : CIPluginSDKUtils.urlEncodeQueryParam(rootJobId);
@@ -187,9 +215,8 @@ final class TestsServiceImpl implements TestsService {
 			throw new IllegalArgumentException("build ID MUST NOT be null nor empty");
 		}
 
-		String testsResultAsXml = dtoFactory.dtoToXml(testsResult);
-		InputStream testsResultAsStream = new ByteArrayInputStream(testsResultAsXml.getBytes(Charsets.UTF_8));
-		return pushTestsResult(testsResultAsStream, jobId, buildId);
+		//  serialized straight into the request entity
+		return pushTestsResult(dtoFactory.dtoToXmlStream(testsResult), jobId, buildId);
 	}
 
 	public OctaneResponse pushTestsResult(InputStream testsResult, String jobId, String buildId) throws IOException {
@@ -265,40 +292,153 @@ final class TestsServiceImpl implements TestsService {
 
 	@Override
 	public void shutdown() {
-		testsPushExecutor.shutdown();
+		testsPushWorker.cancel();
+		workerPreflight.shutdown();
+		pushSlots.forEach(SharedWorkersPool.WorkerHandle::cancel);
 	}
 
 	@Override
 	public boolean isShutdown() {
-		return testsPushExecutor.isShutdown();
+		return testsPushWorker.isCancelled();
 	}
 
-	//  infallible everlasting background worker
-	private void worker() {
-		while (!testsPushExecutor.isShutdown()) {
-			if(!workerPreflight.preflight()){
-				continue;
+	//  infallible background worker cycle, processes single queue item per run
+	private long worker() {
+		long preflightDelay = workerPreflight.preflight();
+		if (preflightDelay > 0) {
+			return preflightDelay;
+		}
+
+		if (!pushSlots.isEmpty()) {
+			return dispatchPushWindow();
+		}
+
+		TestsResultQueueItem testsResultQueueItem = testResultsQueue.peek();
+		if (pushQueueItem(testsResultQueueItem)) {
+			return TEMPORARY_ERROR_BREATHE_INTERVAL;
+		}
+		testResultsQueue.remove();
+		return 0;
+	}
+
+	/**
+	 * Removes the done prefix of the push window from the queue and hands the next items to the free push slots
+	 *
+	 * @return delay until the next worker run, completion of any push wakes the worker up earlier
+	 */
+	private long dispatchPushWindow() {
+		int dispatched = 0;
+		synchronized (pushWindowMonitor) {
+			//  items are removed from the queue only when all the items before them are done as well
+			int doneCount = 0;
+			while (doneCount < pushWindow.size() && pushWindow.get(doneCount).done) {
+				doneCount++;
+			}
+			if (doneCount > 0) {
+				pushWindow.subList(0, doneCount).clear();
+				testResultsQueue.remove(doneCount);
 			}
 
-			TestsResultQueueItem testsResultQueueItem = null;
-			try {
-				testsResultQueueItem = testResultsQueue.peek();
-				doPreflightAndPushTestResult(testsResultQueueItem);
-				testResultsQueue.remove();
-			} catch (RequestTimeoutException rte){
+			long now = System.currentTimeMillis();
+			if (now < breatheUntil) {
+				return breatheUntil - now;
+			}
+
+			//  pushes of the items cleared from the queue meanwhile are still counted, until they are done
+			int running = runningPushes;
+			for (PushWindowItem windowItem : pushWindow) {
+				if (running < PUSH_CONCURRENCY && !windowItem.running && !windowItem.done) {
+					windowItem.running = true;
+					dispatchedPushes.add(windowItem);
+					dispatched++;
+					running++;
+					runningPushes++;
+				}
+			}
+			if (running < PUSH_CONCURRENCY && pushWindow.size() < PUSH_LOOKAHEAD) {
+				List<TestsResultQueueItem> items = testResultsQueue.peek(Math.min(PUSH_LOOKAHEAD, pushWindow.size() + PUSH_CONCURRENCY - running));
+				for (int i = pushWindow.size(); i < items.size(); i++) {
+					PushWindowItem windowItem = new PushWindowItem(items.get(i));
+					windowItem.running = true;
+					pushWindow.add(windowItem);
+					dispatchedPushes.add(windowItem);
+					dispatched++;
+					runningPushes++;
+				}
+			}
+		}
+
+		//  any of the slots may be busy, the idle ones take the dispatched items
+		if (dispatched > 0) {
+			pushSlots.forEach(SharedWorkersPool.WorkerHandle::wakeUp);
+		}
+		return PUSH_WINDOW_CHECK_INTERVAL;
+	}
+
+	//  push slot worker cycle, pushes single dispatched item per run; items left dispatched on shutdown stay in queue
+	private long pushSlot() {
+		PushWindowItem windowItem;
+		synchronized (pushWindowMonitor) {
+			windowItem = dispatchedPushes.poll();
+		}
+		if (windowItem == null) {
+			return PUSH_SLOT_IDLE_INTERVAL;
+		}
+
+		boolean retry = pushQueueItem(windowItem.item);
+		synchronized (pushWindowMonitor) {
+			windowItem.running = false;
+			runningPushes--;
+
+			//  completion of the item cleared from the queue while being pushed is ignored
+			if (pushWindow.contains(windowItem)) {
+				if (retry) {
+					breatheUntil = System.currentTimeMillis() + TEMPORARY_ERROR_BREATHE_INTERVAL;
+				} else {
+					windowItem.done = true;
+				}
+			}
+		}
+		workerPreflight.itemAddedToQueue();
+		return 0;
+	}
+
+	/**
+	 * Pushes single queue item, errors are handled here
+	 *
+	 * @return true if the item should be retried after breathing, false if it is done (pushed or passed over)
+	 */
+	private boolean pushQueueItem(TestsResultQueueItem testsResultQueueItem) {
+		try {
+			doPreflightAndPushTestResult(testsResultQueueItem);
+			reportPushed();
+			return false;
+		} catch (RequestTimeoutException rte){
+			synchronized (pushWindowMonitor) {
 				requestTimeoutCount++;
 				lastRequestTimeoutTime = System.currentTimeMillis();
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + rte.getMessage());
-				CIPluginSDKUtils.doWait(TEMPORARY_ERROR_BREATHE_INTERVAL);
-			} catch (TemporaryException tque) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + testsResultQueueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying", tque);
-				CIPluginSDKUtils.doWait(TEMPORARY_ERROR_BREATHE_INTERVAL);
-			} catch (PermanentException pqie) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + testsResultQueueItem + ", passing over", pqie);
-				testResultsQueue.remove();
-			} catch (Throwable t) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build log item '" + testsResultQueueItem + "', passing over", t);
-				testResultsQueue.remove();
+			}
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + rte.getMessage());
+			return true;
+		} catch (TemporaryException tque) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + testsResultQueueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying", tque);
+			return true;
+		} catch (PermanentException pqie) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + testsResultQueueItem + ", passing over", pqie);
+			return false;
+		} catch (Throwable t) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build log item '" + testsResultQueueItem + "', passing over", t);
+			return false;
+		}
+	}
+
+	private void reportPushed() {
+		long now = System.currentTimeMillis();
+		synchronized (recentPushTimes) {
+			pushedCount++;
+			recentPushTimes.add(now);
+			while (recentPushTimes.peek() < now - THROUGHPUT_PERIOD) {
+				recentPushTimes.poll();
 			}
 		}
 	}
@@ -306,7 +446,9 @@ final class TestsServiceImpl implements TestsService {
 	private void doPreflightAndPushTestResult(TestsResultQueueItem queueItem) {
 
 		//  validate test result - first to be done as it is the cheapest to 'fail fast'
+		long started = System.currentTimeMillis();
 		InputStream testsResultA = configurer.pluginServices.getTestsResult(queueItem.jobId, queueItem.buildId);
+		readLatency.report(System.currentTimeMillis() - started);
 		if (testsResultA == null) {
 			logger.warn(configurer.octaneConfiguration.getLocationForLog() + "test result of " + queueItem + " resolved to be NULL, skipping");
 			return;
@@ -314,32 +456,27 @@ final class TestsServiceImpl implements TestsService {
 		try {
 			//  preflight
 			InputStream testsResultB;
+			started = System.currentTimeMillis();
 			boolean isRelevant = isTestsResultRelevant(queueItem.jobId, queueItem.rootJobId);
+			preflightLatency.report(System.currentTimeMillis() - started);
 			logger.info(configurer.octaneConfiguration.getLocationForLog() + "test results preflight " + queueItem + " = " + isRelevant);
 			if (!isRelevant) {
 				return;
 			}
 
 			if (!this.configurationService.isOctaneVersionGreaterOrEqual("15.1.60")) {
-				try {
-					//for 15.1.60 - instance id is passed by query param
-					//for earlier version - instance id is part of test result body
-					String testResultXML = CIPluginSDKUtils.inputStreamToUTF8String(testsResultA);
-					testResultXML = testResultXML.replaceAll("<build.*?>",
-							"<build server_id=\"" + configurer.octaneConfiguration.getInstanceId() + "\" job_id=\"" + queueItem.jobId + "\" build_id=\"" + queueItem.buildId + "\"/>")
-							.replace("</build>", "");//remove closing build element if exist
-
-					testsResultB = new ByteArrayInputStream(testResultXML.getBytes(Charsets.UTF_8));
-				} catch (Exception e) {
-					throw new PermanentException("failed to update ci server instance ID in the test results XML");
-				}
+				//for 15.1.60 - instance id is passed by query param
+				//for earlier version - instance id is part of test result body, rewritten on the fly while pushed
+				testsResultB = new BuildElementRewritingInputStream(testsResultA, configurer.octaneConfiguration.getInstanceId(), queueItem.jobId, queueItem.buildId);
 			} else {
 				testsResultB = testsResultA;
 			}
 
 			//  push
 			try {
+				started = System.currentTimeMillis();
 				OctaneResponse response = pushTestsResult(testsResultB, queueItem.jobId, queueItem.buildId);
+				pushLatency.report(System.currentTimeMillis() - started);
 				if (response.getStatus() == HttpStatus.SC_ACCEPTED) {
 					logger.info(configurer.octaneConfiguration.getLocationForLog() + "successfully pushed test results for " + queueItem + "; status: " + response.getStatus() +
 							", response: " + response.getBody() + ", CorrelationId - " + response.getCorrelationId());
@@ -349,6 +486,9 @@ final class TestsServiceImpl implements TestsService {
 					throw new PermanentException("push request PERMANENTLY failed with status " + response.getStatus());
 				}
 			} catch (IOException ioe) {
+				if (testsResultB instanceof BuildElementRewritingInputStream && ((BuildElementRewritingInputStream) testsResultB).isMalformed()) {
+					throw new PermanentException("failed to update ci server instance ID in the test results XML", ioe);
+				}
 				throw new TemporaryException("failed to perform push test results request for " + queueItem, ioe);
 			} finally {
 				try {
@@ -377,8 +517,13 @@ final class TestsServiceImpl implements TestsService {
 
 	@Override
 	public void clearQueue() {
-		while (testResultsQueue.size() > 0) {
-			testResultsQueue.remove();
+		synchronized (pushWindowMonitor) {
+			pushWindow.clear();
+			runningPushes -= dispatchedPushes.size();
+			dispatchedPushes.clear();
+			while (testResultsQueue.size() > 0) {
+				testResultsQueue.remove();
+			}
 		}
 	}
 
@@ -390,6 +535,17 @@ final class TestsServiceImpl implements TestsService {
 		if (lastRequestTimeoutTime > 0) {
 			map.put("lastRequestTimeoutTime", new Date(lastRequestTimeoutTime));
 		}
+		map.put("pushConcurrency", PUSH_CONCURRENCY);
+		synchronized (pushWindowMonitor) {
+			map.put("pushWindowSize", pushWindow.size());
+		}
+		synchronized (recentPushTimes) {
+			map.put("pushedCount", pushedCount);
+			map.put("pushedLastMinute", recentPushTimes.stream().filter(time -> time >= System.currentTimeMillis() - THROUGHPUT_PERIOD).count());
+		}
+		readLatency.addMetrics(map);
+		preflightLatency.addMetrics(map);
+		pushLatency.addMetrics(map);
 		workerPreflight.addMetrics(map);
 		return map;
 	}
@@ -415,14 +571,38 @@ final class TestsServiceImpl implements TestsService {
 		}
 	}
 
-	private static final class TestsResultPushWorkerThreadFactory implements ThreadFactory {
+	private static final class PushWindowItem {
+		private final TestsResultQueueItem item;
+		private boolean running = false;
+		private boolean done = false;
 
-		@Override
-		public Thread newThread(Runnable runnable) {
-			Thread result = new Thread(runnable);
-			result.setName("TestsResultPushWorker-" + result.getId());
-			result.setDaemon(true);
-			return result;
+		private PushWindowItem(TestsResultQueueItem item) {
+			this.item = item;
+		}
+	}
+
+	private static final class StageLatency {
+		private final String stage;
+		private long count = 0;
+		private long total = 0;
+		private long last = 0;
+		private long max = 0;
+
+		private StageLatency(String stage) {
+			this.stage = stage;
+		}
+
+		private synchronized void report(long latency) {
+			count++;
+			total += latency;
+			last = latency;
+			max = Math.max(max, latency);
+		}
+
+		private synchronized void addMetrics(Map<String, Object> map) {
+			map.put(stage + "AvgLatency", count == 0 ? 0 : total / count);
+			map.put(stage + "LastLatency", last);
+			map.put(stage + "MaxLatency", max);
 		}
 	}
 }
@@ -39,6 +39,7 @@ import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
 import com.hp.octane.integrations.exceptions.OctaneSDKGeneralException;
 import com.hp.octane.integrations.exceptions.PermanentException;
 import com.hp.octane.integrations.exceptions.TemporaryException;
+import com.hp.octane.integrations.services.SharedWorkersPool;
 import com.hp.octane.integrations.services.WorkerPreflight;
 import com.hp.octane.integrations.services.configuration.ConfigurationService;
 import com.hp.octane.integrations.services.configuration.ConfigurationServiceImpl;
@@ -58,10 +59,6 @@ import org.apache.logging.log4j.Logger;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 
 /**
  * Default implementation of vulnerabilities service
@@ -73,7 +70,6 @@ public class VulnerabilitiesServiceImpl implements VulnerabilitiesService {
 	private static final Logger logger = LogManager.getLogger(VulnerabilitiesServiceImpl.class);
 	private static final String VULNERABILITIES_QUEUE_FILE = "vulnerabilities-queue.dat";
 
-	private final ExecutorService vulnerabilitiesProcessingExecutor = Executors.newSingleThreadExecutor(new VulnerabilitiesPushWorkerThreadFactory());
 	private final ObjectQueue<VulnerabilitiesQueueItem> vulnerabilitiesQueue;
 	protected final RestService restService;
 	protected final ConfigurationService configurationService;
@@ -85,8 +81,8 @@ public class VulnerabilitiesServiceImpl implements VulnerabilitiesService {
 
 	private int SKIP_QUEUE_ITEM_INTERVAL = 5000;
 	private Long DEFAULT_TIMEOUT_FOR_QUEUE_ITEM = FortifySSCFetchTimeoutParameter.DEFAULT_TIMEOUT * 60 * 60 * 1000L;
-	private CompletableFuture<Boolean> workerExited;
 	private final WorkerPreflight workerPreflight;
+	private final SharedWorkersPool.WorkerHandle vulnerabilitiesPushWorker;
 
 	public VulnerabilitiesServiceImpl(QueueingService queueingService, VulnerabilitiesToolService[] vulnerabilitiesToolServices,
 										  OctaneSDK.SDKServicesConfigurer configurer, RestService restService, ConfigurationService configurationService) {
@@ -123,7 +119,8 @@ public class VulnerabilitiesServiceImpl implements VulnerabilitiesService {
 		}
 
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "starting background worker...");
-		vulnerabilitiesProcessingExecutor.execute(this::worker);
+		vulnerabilitiesPushWorker = configurer.workersPool.register(configurer.octaneConfiguration.getInstanceId(), "VulnerabilitiesPushWorker", this::worker);
+		workerPreflight.setWorker(vulnerabilitiesPushWorker);
 		logger.info(configurer.octaneConfiguration.getLocationForLog() + "initialized SUCCESSFULLY (backed by " + vulnerabilitiesQueue.getClass().getSimpleName() + ")");
 	}
 
@@ -165,52 +162,52 @@ public class VulnerabilitiesServiceImpl implements VulnerabilitiesService {
 
 	@Override
 	public void shutdown() {
-		workerExited = new CompletableFuture<>();
-		vulnerabilitiesProcessingExecutor.shutdown();
+		vulnerabilitiesPushWorker.cancel();
+		workerPreflight.shutdown();
 	}
 
 	@Override
 	public boolean isShutdown() {
-		return vulnerabilitiesProcessingExecutor.isShutdown();
+		return vulnerabilitiesPushWorker.isCancelled();
 	}
 
 	//  TODO: implement retries counter per item and strategy of discard
 	//  TODO: consider moving the overall queue managing logic to some generic location
-	//  infallible everlasting background worker
-	private void worker() {
-		while (!vulnerabilitiesProcessingExecutor.isShutdown()) {
-			if(!workerPreflight.preflight()){
-				continue;
-			}
+	//  infallible background worker cycle, processes single queue item per run
+	private long worker() {
+		long preflightDelay = workerPreflight.preflight();
+		if (preflightDelay > 0) {
+			return preflightDelay;
+		}
 
-			VulnerabilitiesQueueItem queueItem = null;
-			try {
-				logger.debug("before vulnerabilitiesQueue.peek");
-				queueItem = vulnerabilitiesQueue.peek();
-				logger.debug("after vulnerabilitiesQueue.peek, queueItem: "+ queueItem.toString());
-				if (processPushVulnerabilitiesQueueItem(queueItem)) {
-					vulnerabilitiesQueueItemCleanUp(queueItem);
-					vulnerabilitiesQueue.remove();
-				} else {
-					reEnqueueItem(queueItem);
-				}
-			} catch (TemporaryException tque) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + queueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying", tque);
-				if (queueItem != null) {
-					reEnqueueItem(queueItem);
-				}
-				CIPluginSDKUtils.doWait(TEMPORARY_ERROR_BREATHE_INTERVAL);
-			} catch (PermanentException pqie) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + queueItem + ", passing over", pqie);
-				vulnerabilitiesQueueItemCleanUp(queueItem);
-				vulnerabilitiesQueue.remove();
-			} catch (Throwable t) {
-				logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build log item '" + queueItem + "', passing over", t);
+		VulnerabilitiesQueueItem queueItem = null;
+		try {
+			logger.debug("before vulnerabilitiesQueue.peek");
+			queueItem = vulnerabilitiesQueue.peek();
+			logger.debug("after vulnerabilitiesQueue.peek, queueItem: "+ queueItem.toString());
+			if (processPushVulnerabilitiesQueueItem(queueItem)) {
 				vulnerabilitiesQueueItemCleanUp(queueItem);
 				vulnerabilitiesQueue.remove();
+			} else {
+				reEnqueueItem(queueItem);
+				return SKIP_QUEUE_ITEM_INTERVAL;
+			}
+		} catch (TemporaryException tque) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "temporary error on " + queueItem + ", breathing " + TEMPORARY_ERROR_BREATHE_INTERVAL + "ms and retrying", tque);
+			if (queueItem != null) {
+				reEnqueueItem(queueItem);
 			}
+			return TEMPORARY_ERROR_BREATHE_INTERVAL;
+		} catch (PermanentException pqie) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "permanent error on " + queueItem + ", passing over", pqie);
+			vulnerabilitiesQueueItemCleanUp(queueItem);
+			vulnerabilitiesQueue.remove();
+		} catch (Throwable t) {
+			logger.error(configurer.octaneConfiguration.getLocationForLog() + "unexpected error on build log item '" + queueItem + "', passing over", t);
+			vulnerabilitiesQueueItemCleanUp(queueItem);
+			vulnerabilitiesQueue.remove();
 		}
-		workerExited.complete(true);
+		return 0;
 	}
 
 
@@ -334,7 +331,6 @@ public class VulnerabilitiesServiceImpl implements VulnerabilitiesService {
 		} else {
 			logger.info(configurer.octaneConfiguration.getLocationForLog() + vulnerabilitiesQueueItem.getBuildId() + "/" + vulnerabilitiesQueueItem.getJobId() + " was removed from queue after timeout in queue is over");
 		}
-		CIPluginSDKUtils.doWait(SKIP_QUEUE_ITEM_INTERVAL);
 	}
 
 	private OctaneResponse getBaselineDateFromOctane(String jobId, String buildId) throws IOException {
@@ -378,17 +374,6 @@ public class VulnerabilitiesServiceImpl implements VulnerabilitiesService {
 		return map;
 	}
 
-	private static final class VulnerabilitiesPushWorkerThreadFactory implements ThreadFactory {
-
-		@Override
-		public Thread newThread(Runnable runnable) {
-			Thread result = new Thread(runnable);
-			result.setName("VulnerabilitiesPushWorker-" + result.getId());
-			result.setDaemon(true);
-			return result;
-		}
-	}
-
 	private String getVulnerabilitiesContextPath(String octaneBaseUrl, String sharedSpaceId) {
 		return octaneBaseUrl + RestService.SHARED_SPACE_API_PATH_PART + sharedSpaceId + RestService.VULNERABILITIES;
 	}
@@ -46,6 +46,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Itay Karo on 26/08/2021
@@ -201,11 +202,13 @@ public class UftDiscoveryResultPreparerImpl implements DiscoveryResultPreparer {
             fields.addAll(additionalFieldsToFetch);
         }
 
-        List<Entity> octaneTests = entitiesService.getEntities(workspaceId, EntityConstants.AutomatedTest.COLLECTION_NAME, conditions, fields);
+        //  tests are indexed as the pages arrive, whole collection is not held as a list in addition to the map
         Map<String, Entity> octaneTestsMapByKey = new HashMap<>();
-        for (Entity octaneTest : octaneTests) {
-            String key = createKey(octaneTest.getStringValue(EntityConstants.AutomatedTest.PACKAGE_FIELD), octaneTest.getName());
-            octaneTestsMapByKey.put(key, octaneTest);
+        try (Stream<Entity> octaneTests = entitiesService.streamEntities(workspaceId, EntityConstants.AutomatedTest.COLLECTION_NAME, conditions, null, fields)) {
+            octaneTests.forEach(octaneTest -> {
+                String key = createKey(octaneTest.getStringValue(EntityConstants.AutomatedTest.PACKAGE_FIELD), octaneTest.getName());
+                octaneTestsMapByKey.put(key, octaneTest);
+            });
         }
         return octaneTestsMapByKey;
     }
@@ -227,11 +230,9 @@ public class UftDiscoveryResultPreparerImpl implements DiscoveryResultPreparer {
 
         List<String> dataTablesFields = Arrays.asList(EntityConstants.ScmResourceFile.ID_FIELD, EntityConstants.ScmResourceFile.NAME_FIELD,
                 EntityConstants.ScmResourceFile.RELATIVE_PATH_FIELD);
-        List<Entity> octaneDataTables = entitiesService.getEntities(workspaceId, EntityConstants.ScmResourceFile.COLLECTION_NAME, conditions, dataTablesFields);
-
         Map<String, Entity> octaneDataTablesMap = new HashMap<>();
-        for (Entity dataTable : octaneDataTables) {
-            octaneDataTablesMap.put(dataTable.getStringValue(EntityConstants.ScmResourceFile.RELATIVE_PATH_FIELD), dataTable);
+        try (Stream<Entity> octaneDataTables = entitiesService.streamEntities(workspaceId, EntityConstants.ScmResourceFile.COLLECTION_NAME, conditions, null, dataTablesFields)) {
+            octaneDataTables.forEach(dataTable -> octaneDataTablesMap.put(dataTable.getStringValue(EntityConstants.ScmResourceFile.RELATIVE_PATH_FIELD), dataTable));
         }
 
         return octaneDataTablesMap;
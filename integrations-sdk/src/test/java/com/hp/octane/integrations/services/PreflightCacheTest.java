@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services;
+
+import com.hp.octane.integrations.exceptions.TemporaryException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PreflightCacheTest {
+
+	@Test
+	public void testPositiveAnswerIsCached() {
+		PreflightCache cache = new PreflightCache(60000, 60000, 10);
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 5; i++) {
+			Assert.assertTrue(cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", "root", () -> {
+				loads.incrementAndGet();
+				return true;
+			}, Boolean::booleanValue));
+		}
+		Assert.assertEquals(1, loads.get());
+
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		cache.addMetrics(metrics);
+		Assert.assertEquals(4L, metrics.get("preflightCache_hits"));
+		Assert.assertEquals(1L, metrics.get("preflightCache_misses"));
+	}
+
+	@Test
+	public void testKeysAreDistinct() {
+		PreflightCache cache = new PreflightCache(60000, 60000, 10);
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", "root", loads::incrementAndGet, v -> true);
+		cache.get(PreflightCache.Kind.COVERAGE, "server", "job", "root", loads::incrementAndGet, v -> true);
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", "other-root", loads::incrementAndGet, v -> true);
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "other-job", "root", loads::incrementAndGet, v -> true);
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "other-server", "job", "root", loads::incrementAndGet, v -> true);
+		Assert.assertEquals(5, loads.get());
+
+		//  empty root job is the same as no root job
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", null, loads::incrementAndGet, v -> true);
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", "", loads::incrementAndGet, v -> true);
+		Assert.assertEquals(6, loads.get());
+	}
+
+	@Test
+	public void testNegativeAnswerExpiresSooner() throws InterruptedException {
+		PreflightCache cache = new PreflightCache(60000, 50, 10);
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", null, () -> loads.incrementAndGet() > 1, Boolean::booleanValue);
+		Assert.assertFalse(cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", null, () -> loads.incrementAndGet() > 1, Boolean::booleanValue));
+		Assert.assertEquals(1, loads.get());
+
+		Thread.sleep(100);
+		Assert.assertTrue(cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", null, () -> loads.incrementAndGet() > 1, Boolean::booleanValue));
+		Assert.assertTrue(cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", null, () -> loads.incrementAndGet() > 1, Boolean::booleanValue));
+		Assert.assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testFailureIsNotCached() {
+		PreflightCache cache = new PreflightCache(60000, 60000, 10);
+		try {
+			cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", null, () -> {
+				throw new TemporaryException("preflight failed");
+			}, v -> true);
+			Assert.fail("failure of the preflight should be propagated");
+		} catch (TemporaryException te) {
+			//  expected
+		}
+		Assert.assertEquals("value", cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", null, () -> "value", v -> true));
+	}
+
+	@Test
+	public void testSizeIsBounded() {
+		PreflightCache cache = new PreflightCache(60000, 60000, 3);
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 5; i++) {
+			cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job" + i, null, loads::incrementAndGet, v -> true);
+		}
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		cache.addMetrics(metrics);
+		Assert.assertEquals(3, metrics.get("preflightCache_size"));
+		Assert.assertEquals(2L, metrics.get("preflightCache_evictions"));
+
+		//  the least recently used are evicted
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job4", null, loads::incrementAndGet, v -> true);
+		Assert.assertEquals(5, loads.get());
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job0", null, loads::incrementAndGet, v -> true);
+		Assert.assertEquals(6, loads.get());
+	}
+
+	@Test
+	public void testInvalidation() {
+		PreflightCache cache = new PreflightCache(60000, 60000, 10);
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", "root", loads::incrementAndGet, v -> true);
+		cache.get(PreflightCache.Kind.COVERAGE, "server", "root", null, loads::incrementAndGet, v -> true);
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", "other-root", loads::incrementAndGet, v -> true);
+
+		cache.invalidateRootJob("root");
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", "root", loads::incrementAndGet, v -> true);
+		cache.get(PreflightCache.Kind.COVERAGE, "server", "root", null, loads::incrementAndGet, v -> true);
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", "other-root", loads::incrementAndGet, v -> true);
+		Assert.assertEquals(5, loads.get());
+
+		cache.invalidate();
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", "other-root", loads::incrementAndGet, v -> true);
+		Assert.assertEquals(6, loads.get());
+	}
+
+	@Test
+	public void testDisabledCache() {
+		PreflightCache cache = new PreflightCache(0, 0, 10);
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", null, loads::incrementAndGet, v -> true);
+		cache.get(PreflightCache.Kind.TESTS_RESULT, "server", "job", null, loads::incrementAndGet, v -> true);
+		Assert.assertEquals(2, loads.get());
+	}
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SharedWorkersPoolTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadPoolSize() {
+		new SharedWorkersPool(0);
+	}
+
+	@Test
+	public void testDelayWakeUpAndCancel() throws InterruptedException {
+		SharedWorkersPool pool = new SharedWorkersPool(2);
+		Semaphore runs = new Semaphore(0);
+		AtomicInteger runsCount = new AtomicInteger();
+		SharedWorkersPool.WorkerHandle handle = pool.register("client", "service", () -> {
+			runsCount.incrementAndGet();
+			runs.release();
+			return 60000;
+		});
+
+		//  first run is immediate, the next one is delayed until woken up
+		Assert.assertTrue(runs.tryAcquire(5, TimeUnit.SECONDS));
+		Assert.assertFalse(runs.tryAcquire(300, TimeUnit.MILLISECONDS));
+		handle.wakeUp();
+		Assert.assertTrue(runs.tryAcquire(5, TimeUnit.SECONDS));
+
+		handle.cancel();
+		Assert.assertTrue(handle.isCancelled());
+		handle.wakeUp();
+		Assert.assertFalse(runs.tryAcquire(300, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(2, runsCount.get());
+
+		Map<String, Object> metrics = pool.getMetrics();
+		Assert.assertEquals(0, metrics.get("registeredWorkers"));
+		Assert.assertEquals(2L, metrics.get("cyclesCount"));
+	}
+
+	@Test
+	public void testScheduledRun() throws InterruptedException {
+		SharedWorkersPool pool = new SharedWorkersPool(1);
+		CountDownLatch runs = new CountDownLatch(3);
+		SharedWorkersPool.WorkerHandle handle = pool.register("client", "service", () -> {
+			runs.countDown();
+			return 50;
+		});
+		Assert.assertTrue(runs.await(5, TimeUnit.SECONDS));
+		handle.cancel();
+	}
+
+	@Test
+	public void testFairnessBetweenClients() throws InterruptedException {
+		SharedWorkersPool pool = new SharedWorkersPool(1);
+		List<String> runs = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(40);
+		CountDownLatch allRegistered = new CountDownLatch(1);
+		List<SharedWorkersPool.WorkerHandle> handles = new ArrayList<>();
+
+		//  busy client with many workers should not starve the client with the single one
+		//  busy cycles hold the single pool thread until all the workers are registered, so that all of them compete from the start
+		for (int i = 0; i < 4; i++) {
+			handles.add(pool.register("busy", "service" + i, () -> {
+				try {
+					allRegistered.await();
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				}
+				runs.add("busy");
+				done.countDown();
+				return 0;
+			}));
+		}
+		handles.add(pool.register("quiet", "service", () -> {
+			runs.add("quiet");
+			done.countDown();
+			return 0;
+		}));
+		allRegistered.countDown();
+
+		Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		handles.forEach(SharedWorkersPool.WorkerHandle::cancel);
+
+		List<String> firstRuns;
+		synchronized (runs) {
+			firstRuns = new ArrayList<>(runs.subList(0, 40));
+		}
+		long quietRuns = firstRuns.stream().filter("quiet"::equals).count();
+		Assert.assertTrue("quiet client got only " + quietRuns + " runs of 40", quietRuns >= 15);
+	}
+
+	@Test
+	public void testReadyWorkersAreNotQueuedBehindSingleIdleThread() throws Exception {
+		SharedWorkersPool pool = new SharedWorkersPool(3);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch blockedRunning = new CountDownLatch(1);
+		List<SharedWorkersPool.WorkerHandle> handles = new ArrayList<>();
+
+		//  one thread is blocked by a long cycle, another one becomes idle after a short cycle
+		handles.add(pool.register("blocking", "service", () -> {
+			blockedRunning.countDown();
+			awaitQuietly(release);
+			return 60000;
+		}));
+		Assert.assertTrue(blockedRunning.await(5, TimeUnit.SECONDS));
+		CountDownLatch shortRan = new CountDownLatch(1);
+		handles.add(pool.register("short", "service", () -> {
+			shortRan.countDown();
+			return 60000;
+		}));
+		Assert.assertTrue(shortRan.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 250 && !Integer.valueOf(1).equals(pool.getMetrics().get("busyThreads")); i++) {
+			Thread.sleep(20);
+		}
+		Assert.assertEquals(2, pool.getMetrics().get("startedThreads"));
+		Assert.assertEquals(1, pool.getMetrics().get("busyThreads"));
+
+		//  two workers becoming ready in a row should run concurrently: the idle thread takes one, a new thread is started for the other
+		//  pool's monitor is held across both registrations, so that the notified idle thread cannot take the first one in between
+		CountDownLatch bothRunning = new CountDownLatch(2);
+		Field readyMonitorField = SharedWorkersPool.class.getDeclaredField("readyMonitor");
+		readyMonitorField.setAccessible(true);
+		synchronized (readyMonitorField.get(pool)) {
+			for (int i = 0; i < 2; i++) {
+				handles.add(pool.register("client" + i, "service", () -> {
+					bothRunning.countDown();
+					awaitQuietly(release);
+					return 60000;
+				}));
+			}
+		}
+		try {
+			Assert.assertTrue("ready workers were queued behind a single thread", bothRunning.await(5, TimeUnit.SECONDS));
+			Assert.assertEquals(3, pool.getMetrics().get("startedThreads"));
+		} finally {
+			release.countDown();
+			handles.forEach(SharedWorkersPool.WorkerHandle::cancel);
+		}
+	}
+
+	@Test
+	public void testPoolGrowsWithBlockingWorkers() throws InterruptedException {
+		SharedWorkersPool pool = new SharedWorkersPool(2, 200);
+		int workers = 6;
+		CountDownLatch allRunning = new CountDownLatch(workers);
+		CountDownLatch release = new CountDownLatch(1);
+		List<SharedWorkersPool.WorkerHandle> handles = new ArrayList<>();
+
+		//  more workers blocked in their cycles (e.g. on HTTP) than the pool size, none of them should be starved
+		for (int i = 0; i < workers; i++) {
+			handles.add(pool.register("client" + i % 3, "service" + i, () -> {
+				allRunning.countDown();
+				awaitQuietly(release);
+				return 60000;
+			}));
+		}
+		try {
+			Assert.assertTrue("blocking workers starved the pool", allRunning.await(5, TimeUnit.SECONDS));
+			Assert.assertEquals(workers, pool.getMetrics().get("startedThreads"));
+		} finally {
+			release.countDown();
+		}
+
+		//  threads beyond the pool size are stopped once idle
+		for (int i = 0; i < 250 && !Integer.valueOf(2).equals(pool.getMetrics().get("startedThreads")); i++) {
+			Thread.sleep(20);
+		}
+		Assert.assertEquals(2, pool.getMetrics().get("startedThreads"));
+		Assert.assertEquals(workers, pool.getMetrics().get("maxStartedThreads"));
+
+		//  and the pool still serves the workers
+		CountDownLatch ran = new CountDownLatch(workers);
+		handles.forEach(SharedWorkersPool.WorkerHandle::cancel);
+		for (int i = 0; i < workers; i++) {
+			handles.add(pool.register("client" + i, "service", () -> {
+				ran.countDown();
+				return 60000;
+			}));
+		}
+		Assert.assertTrue(ran.await(5, TimeUnit.SECONDS));
+		handles.forEach(SharedWorkersPool.WorkerHandle::cancel);
+	}
+
+	@Test
+	public void testFailingCycleDoesNotKillThePool() throws InterruptedException {
+		SharedWorkersPool pool = new SharedWorkersPool(1);
+		CountDownLatch failed = new CountDownLatch(1);
+		SharedWorkersPool.WorkerHandle failing = pool.register("client", "failing", () -> {
+			failed.countDown();
+			throw new IllegalStateException("test failure");
+		});
+		Assert.assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+		CountDownLatch ran = new CountDownLatch(1);
+		SharedWorkersPool.WorkerHandle healthy = pool.register("client", "healthy", () -> {
+			ran.countDown();
+			return 60000;
+		});
+		Assert.assertTrue(ran.await(5, TimeUnit.SECONDS));
+		failing.cancel();
+		healthy.cancel();
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
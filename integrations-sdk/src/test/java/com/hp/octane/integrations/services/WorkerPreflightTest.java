@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services;
+
+import com.hp.octane.integrations.OctaneConfiguration;
+import com.hp.octane.integrations.services.configuration.ConfigurationService;
+import org.apache.logging.log4j.LogManager;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WorkerPreflightTest {
+	private final AtomicLong queueSize = new AtomicLong();
+	private final AtomicBoolean connected = new AtomicBoolean(true);
+	private final Capture<Runnable> connectivityListener = EasyMock.newCapture();
+	private final Semaphore passes = new Semaphore(0);
+	private SharedWorkersPool pool;
+	private SharedWorkersPool.WorkerHandle worker;
+
+	@Before
+	public void setUp() {
+		System.setProperty("octane.sdk.worker.after-reconnection-pause", "500");
+		pool = new SharedWorkersPool(2);
+	}
+
+	@After
+	public void tearDown() {
+		if (worker != null) {
+			worker.cancel();
+		}
+		System.clearProperty("octane.sdk.worker.after-reconnection-pause");
+	}
+
+	@Test
+	public void testConnectivityListenerRemovedOnShutdown() {
+		Capture<Runnable> registered = EasyMock.newCapture();
+		Capture<Runnable> removed = EasyMock.newCapture();
+		ConfigurationService confService = EasyMock.createMock(ConfigurationService.class);
+		confService.addConnectivityListener(EasyMock.capture(registered));
+		confService.removeConnectivityListener(EasyMock.capture(removed));
+		EasyMock.replay(confService);
+
+		WorkerPreflight preflight = new WorkerPreflight(new HasQueueService() {
+			@Override
+			public long getQueueSize() {
+				return 0;
+			}
+
+			@Override
+			public void clearQueue() {
+			}
+		}, confService, LogManager.getLogger(WorkerPreflightTest.class));
+		preflight.shutdown();
+
+		EasyMock.verify(confService);
+		Assert.assertSame(registered.getValue(), removed.getValue());
+	}
+
+	@Test
+	public void testWakeUpOnItemAddedToQueue() throws InterruptedException {
+		WorkerPreflight preflight = newGuardedWorker();
+
+		//  empty queue parks the worker for a minute, enqueue lets it through right away
+		Assert.assertFalse(passes.tryAcquire(300, TimeUnit.MILLISECONDS));
+		queueSize.set(1);
+		preflight.itemAddedToQueue();
+		Assert.assertTrue(passes.tryAcquire(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testWakeUpOnConnectivityChange() throws InterruptedException {
+		WorkerPreflight preflight = newGuardedWorker();
+		preflight.setWaitAfterConnection(false);
+		connected.set(false);
+		queueSize.set(1);
+		preflight.itemAddedToQueue();
+
+		//  disconnected client parks the worker for half a minute, reconnection lets it through right away
+		Assert.assertFalse(passes.tryAcquire(300, TimeUnit.MILLISECONDS));
+		connected.set(true);
+		connectivityListener.getValue().run();
+		Assert.assertTrue(passes.tryAcquire(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testWorkerLetThroughOnBackoffExpiry() throws InterruptedException {
+		WorkerPreflight preflight = newGuardedWorker();
+		connected.set(false);
+		queueSize.set(1);
+		preflight.itemAddedToQueue();
+		Assert.assertFalse(passes.tryAcquire(300, TimeUnit.MILLISECONDS));
+
+		//  reconnection wakes the worker up into the pause after reconnection, the worker is let through when the pause expires without any signal
+		long reconnected = System.currentTimeMillis();
+		connected.set(true);
+		connectivityListener.getValue().run();
+		Assert.assertFalse(passes.tryAcquire(200, TimeUnit.MILLISECONDS));
+		Assert.assertTrue(passes.tryAcquire(5, TimeUnit.SECONDS));
+		Assert.assertTrue(System.currentTimeMillis() - reconnected >= 500);
+	}
+
+	private WorkerPreflight newGuardedWorker() {
+		ConfigurationService confService = EasyMock.createNiceMock(ConfigurationService.class);
+		EasyMock.expect(confService.getConfiguration()).andStubReturn(new OctaneConfiguration("instance"));
+		EasyMock.expect(confService.isConnected()).andStubAnswer(connected::get);
+		confService.addConnectivityListener(EasyMock.capture(connectivityListener));
+		EasyMock.replay(confService);
+
+		WorkerPreflight preflight = new WorkerPreflight(new HasQueueService() {
+			@Override
+			public long getQueueSize() {
+				return queueSize.get();
+			}
+
+			@Override
+			public void clearQueue() {
+				queueSize.set(0);
+			}
+		}, confService, LogManager.getLogger(WorkerPreflightTest.class));
+		worker = pool.register("client", "service", () -> {
+			long delay = preflight.preflight();
+			if (delay > 0) {
+				return delay;
+			}
+			queueSize.decrementAndGet();
+			passes.release();
+			return 0;
+		});
+		preflight.setWorker(worker);
+		return preflight;
+	}
+}
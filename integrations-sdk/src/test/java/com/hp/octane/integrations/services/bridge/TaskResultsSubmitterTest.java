@@ -0,0 +1,224 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.bridge;
+
+import com.hp.octane.integrations.CIPluginServices;
+import com.hp.octane.integrations.OctaneConfiguration;
+import com.hp.octane.integrations.OctaneConfigurationIntern;
+import com.hp.octane.integrations.OctaneSDK;
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.configuration.CIProxyConfiguration;
+import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
+import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
+import com.hp.octane.integrations.dto.connectivity.OctaneResultAbridged;
+import com.hp.octane.integrations.dto.general.CIPluginInfo;
+import com.hp.octane.integrations.dto.general.CIServerInfo;
+import com.hp.octane.integrations.services.rest.OctaneRestClient;
+import com.hp.octane.integrations.services.rest.RestService;
+import com.hp.octane.integrations.services.rest.SSCRestClient;
+import com.hp.octane.integrations.utils.CIPluginSDKUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class TaskResultsSubmitterTest {
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+
+	private final List<String> submittedUrls = new CopyOnWriteArrayList<>();
+	private final List<String> submittedBodies = new CopyOnWriteArrayList<>();
+	private final AtomicInteger failuresToSimulate = new AtomicInteger();
+	private volatile int bulkStatus = 200;
+	private OctaneSDK.SDKServicesConfigurer configurer;
+
+	@Before
+	public void setUp() throws Exception {
+		OctaneConfiguration configuration = new OctaneConfigurationIntern(UUID.randomUUID().toString(), "http://localhost:8080", "1001");
+		Constructor<OctaneSDK.SDKServicesConfigurer> configurerConstructor = OctaneSDK.SDKServicesConfigurer.class.getDeclaredConstructor(OctaneConfiguration.class, CIPluginServices.class);
+		configurerConstructor.setAccessible(true);
+		configurer = configurerConstructor.newInstance(configuration, new CIPluginServices() {
+			@Override
+			public CIServerInfo getServerInfo() {
+				return null;
+			}
+
+			@Override
+			public CIPluginInfo getPluginInfo() {
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void testResultsWithinWindowAreSubmittedInBulk() throws InterruptedException {
+		TaskResultsSubmitter submitter = new TaskResultsSubmitter(configurer, new StubRestService(), 20, 200, 20, true);
+		for (int i = 0; i < 5; i++) {
+			submitter.submit(result("task" + i));
+		}
+		waitForSubmissions(1);
+		Assert.assertEquals(1, submittedUrls.size());
+		Assert.assertTrue(submittedUrls.get(0).endsWith("/servers/" + configurer.octaneConfiguration.getInstanceId() + "/tasks/results"));
+		Assert.assertEquals(5, dtoFactory.dtoCollectionFromJson(submittedBodies.get(0), OctaneResultAbridged[].class).length);
+
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		submitter.addMetrics(metrics);
+		Assert.assertEquals(1L, metrics.get("taskResults.bulkRequests"));
+		Assert.assertEquals(0L, metrics.get("taskResults.individualRequests"));
+		submitter.shutdown();
+	}
+
+	@Test
+	public void testFallbackToIndividualSubmissions() throws InterruptedException {
+		bulkStatus = 404;
+		TaskResultsSubmitter submitter = new TaskResultsSubmitter(configurer, new StubRestService(), 20, 200, 20, true);
+		submitter.submit(result("task1"));
+		submitter.submit(result("task2"));
+		waitForSubmissions(3);
+
+		//  once bulk is known to be unsupported, results are submitted right away one by one
+		submitter.submit(result("task3"));
+		waitForSubmissions(4);
+		Assert.assertTrue(submittedUrls.get(1).endsWith("/tasks/task1/result") || submittedUrls.get(1).endsWith("/tasks/task2/result"));
+		Assert.assertTrue(submittedUrls.get(3).endsWith("/tasks/task3/result"));
+
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		submitter.addMetrics(metrics);
+		Assert.assertEquals(false, metrics.get("taskResults.bulkSupported"));
+		Assert.assertEquals(3L, metrics.get("taskResults.individualRequests"));
+		submitter.shutdown();
+	}
+
+	@Test
+	public void testFailedBulkIsResubmittedOneByOne() throws InterruptedException {
+		bulkStatus = 500;
+		TaskResultsSubmitter submitter = new TaskResultsSubmitter(configurer, new StubRestService(), 20, 200, 20, true);
+		submitter.submit(result("task1"));
+		submitter.submit(result("task2"));
+		waitForSubmissions(3);
+		Assert.assertTrue(submittedUrls.get(0).endsWith("/tasks/results"));
+		Assert.assertTrue(submittedUrls.subList(1, 3).stream().allMatch(url -> url.endsWith("/result")));
+
+		//  failed bulk does not mean the bulk is unsupported
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		submitter.addMetrics(metrics);
+		Assert.assertEquals(true, metrics.get("taskResults.bulkSupported"));
+		Assert.assertEquals(2L, metrics.get("taskResults.individualRequests"));
+		submitter.shutdown();
+	}
+
+	@Test
+	public void testFailedSubmissionIsRetried()throws InterruptedException {
+		failuresToSimulate.set(1);
+		TaskResultsSubmitter submitter = new TaskResultsSubmitter(configurer, new StubRestService(), 20, 0, 20, true);
+		submitter.submit(result("task1"));
+		waitForSubmissions(2);
+		Assert.assertEquals(submittedUrls.get(0), submittedUrls.get(1));
+
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		submitter.addMetrics(metrics);
+		Assert.assertEquals(1L, metrics.get("taskResults.retries"));
+		Assert.assertEquals(0L, metrics.get("taskResults.failed"));
+		submitter.shutdown();
+	}
+
+	private void waitForSubmissions(int count) throws InterruptedException {
+		for (int i = 0; i < 250 && submittedUrls.size() < count; i++) {
+			Thread.sleep(20);
+		}
+		Assert.assertEquals(count, submittedUrls.size());
+	}
+
+	private OctaneResultAbridged result(String taskId) {
+		return dtoFactory.newDTO(OctaneResultAbridged.class)
+				.setId(taskId)
+				.setStatus(200)
+				.setHeaders(Collections.emptyMap())
+				.setBody("{}");
+	}
+
+	private final class StubRestService implements RestService, OctaneRestClient {
+		@Override
+		public OctaneResponse execute(OctaneRequest request) throws IOException {
+			//  body first, the test thread waits on the URLs
+			submittedBodies.add(CIPluginSDKUtils.inputStreamToUTF8String(request.getBody()));
+			submittedUrls.add(request.getUrl());
+			if (failuresToSimulate.getAndDecrement() > 0) {
+				throw new IOException("simulated failure");
+			}
+			return dtoFactory.newDTO(OctaneResponse.class).setStatus(request.getUrl().endsWith("/results") ? bulkStatus : 200);
+		}
+
+		@Override
+		public OctaneResponse execute(OctaneRequest request, OctaneConfiguration configuration) throws IOException {
+			return execute(request);
+		}
+
+		@Override
+		public Function<URL, CIProxyConfiguration> getProxySupplier() {
+			return url -> null;
+		}
+
+		@Override
+		public OctaneRestClient obtainOctaneRestClient() {
+			return this;
+		}
+
+		@Override
+		public SSCRestClient obtainSSCRestClient() {
+			return null;
+		}
+
+		@Override
+		public void notifyConfigurationChange() {
+		}
+
+		@Override
+		public void shutdown() {
+		}
+
+		@Override
+		public Map<String, Object> getMetrics() {
+			return Collections.emptyMap();
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.bridge;
+
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.connectivity.HttpMethod;
+import com.hp.octane.integrations.dto.connectivity.OctaneTaskAbridged;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TaskSchedulerTest {
+	private static final String API = "http://localhost:8080/nga/api/v1/";
+
+	@Test
+	public void testTaskClassification() {
+		Assert.assertEquals(TaskScheduler.TaskClass.STATUS, TaskScheduler.TaskClass.of(task(API + "status")));
+		Assert.assertEquals(TaskScheduler.TaskClass.STATUS, TaskScheduler.TaskClass.of(task(API + "suspend_status")));
+		Assert.assertEquals(TaskScheduler.TaskClass.RUN, TaskScheduler.TaskClass.of(task(API + "jobs/folder/job/run")));
+		Assert.assertEquals(TaskScheduler.TaskClass.RUN, TaskScheduler.TaskClass.of(task(API + "jobs/job/stop")));
+		Assert.assertEquals(TaskScheduler.TaskClass.BUILD_STATUS, TaskScheduler.TaskClass.of(task(API + "build_status")));
+		Assert.assertEquals(TaskScheduler.TaskClass.BULK, TaskScheduler.TaskClass.of(task(API + "jobs?parameters=true")));
+		Assert.assertEquals(TaskScheduler.TaskClass.BULK, TaskScheduler.TaskClass.of(task(API + "jobs/run")));
+		Assert.assertEquals(TaskScheduler.TaskClass.BULK, TaskScheduler.TaskClass.of(task(API + "branches/job?filter=master")));
+		Assert.assertEquals(TaskScheduler.TaskClass.BULK, TaskScheduler.TaskClass.of(task(API + "executor/init")));
+	}
+
+	@Test
+	public void testCheapTasksAreExecutedFirst() throws InterruptedException {
+		TaskScheduler scheduler = new TaskScheduler(1, 100, 60000, Thread::new);
+		CountDownLatch blocker = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(5);
+		List<String> executed = Collections.synchronizedList(new ArrayList<>());
+		long now = System.currentTimeMillis();
+
+		//  the single thread is busy with the jobs list, while the other tasks are queued
+		scheduler.submit(task(API + "jobs"), now, () -> {
+			awaitQuietly(blocker);
+			executed.add("jobs");
+			done.countDown();
+		}, Assert::fail);
+		for (String path : new String[]{"branches/job", "build_status", "jobs/job/run", "status"}) {
+			scheduler.submit(task(API + path), now, () -> {
+				executed.add(path);
+				done.countDown();
+			}, Assert::fail);
+		}
+		blocker.countDown();
+
+		Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(Arrays.asList("jobs", "status", "jobs/job/run", "build_status", "branches/job"), executed);
+		scheduler.shutdown();
+	}
+
+	@Test
+	public void testExpiredTasksAreDroppedAndFullQueueRejects() throws InterruptedException {
+		TaskScheduler scheduler = new TaskScheduler(1, 1, 1000, Thread::new);
+		CountDownLatch blocker = new CountDownLatch(1);
+		CountDownLatch dropped = new CountDownLatch(1);
+		long now = System.currentTimeMillis();
+
+		Assert.assertTrue(scheduler.submit(task(API + "jobs"), now, () -> awaitQuietly(blocker), Assert::fail));
+		waitForQueueToDrain(scheduler);
+		//  the task was received long ago, so when its turn comes Octane is not waiting for it anymore
+		Assert.assertTrue(scheduler.submit(task(API + "status"), now - 5000, Assert::fail, dropped::countDown));
+		Assert.assertFalse(scheduler.submit(task(API + "build_status"), now, Assert::fail, Assert::fail));
+		blocker.countDown();
+		Assert.assertTrue(dropped.await(5, TimeUnit.SECONDS));
+
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		scheduler.addMetrics(metrics);
+		Assert.assertEquals(1L, metrics.get("tasks.status.dropped"));
+		Assert.assertEquals(1L, metrics.get("tasks.build-status.rejected"));
+		Assert.assertEquals(1L, metrics.get("tasks.status.wait.<=10000ms"));
+		Assert.assertEquals(1L, metrics.get("tasks.bulk.executed"));
+		scheduler.shutdown();
+	}
+
+	private static void waitForQueueToDrain(TaskScheduler scheduler) throws InterruptedException {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			scheduler.addMetrics(metrics);
+			if (Integer.valueOf(0).equals(metrics.get("tasks.queueSize")) && Integer.valueOf(1).equals(metrics.get("tasks.activeCount"))) {
+				return;
+			}
+			Thread.sleep(20);
+		}
+		Assert.fail("the first task was not started");
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static OctaneTaskAbridged task(String url) {
+		return DTOFactory.getInstance().newDTO(OctaneTaskAbridged.class)
+				.setMethod(HttpMethod.GET)
+				.setUrl(url);
+	}
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.entities;
+
+import com.hp.octane.integrations.CIPluginServices;
+import com.hp.octane.integrations.OctaneConfiguration;
+import com.hp.octane.integrations.OctaneConfigurationIntern;
+import com.hp.octane.integrations.OctaneSDK;
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.configuration.CIProxyConfiguration;
+import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
+import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
+import com.hp.octane.integrations.dto.entities.Entity;
+import com.hp.octane.integrations.dto.general.CIPluginInfo;
+import com.hp.octane.integrations.dto.general.CIServerInfo;
+import com.hp.octane.integrations.exceptions.OctaneRestException;
+import com.hp.octane.integrations.services.rest.OctaneRestClient;
+import com.hp.octane.integrations.services.rest.RestService;
+import com.hp.octane.integrations.services.rest.SSCRestClient;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Paged entities fetching: pages following the first one are prefetched concurrently and handed over / streamed in order
+ */
+public class EntitiesPrefetchTest {
+	private static final Logger logger = LogManager.getLogger(EntitiesPrefetchTest.class);
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+	private static final Pattern PAGING = Pattern.compile("offset=(\\d+)&limit=(\\d+)");
+	private static final int TOTAL_COUNT = 4500;
+	private static final int SERVER_PAGE_LIMIT = 500;
+	private static final long LATENCY = 30;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	private final AtomicInteger requestsCount = new AtomicInteger();
+	private volatile int failingOffset = -1;
+
+	@After
+	public void tearDown() {
+		System.clearProperty("octane.sdk.entities.prefetch.parallelism");
+	}
+
+	@Test
+	public void testPagesPrefetchedConcurrentlyAndConsumedInOrder() throws Exception {
+		EntitiesService entitiesService = newEntitiesService(4);
+		List<Integer> pageSizes = new ArrayList<>();
+		List<Entity> entities = new ArrayList<>();
+		entitiesService.getEntities(1002L, "automated_tests", null, "id", null, page -> {
+			pageSizes.add(page.size());
+			entities.addAll(page);
+		});
+
+		Assert.assertEquals(TOTAL_COUNT / SERVER_PAGE_LIMIT, pageSizes.size());
+		Assert.assertEquals(TOTAL_COUNT, entities.size());
+		for (int i = 0; i < TOTAL_COUNT; i++) {
+			Assert.assertEquals(String.valueOf(i), entities.get(i).getId());
+		}
+		Assert.assertEquals(TOTAL_COUNT / SERVER_PAGE_LIMIT, requestsCount.get());
+		Assert.assertTrue("pages were not fetched concurrently", maxInFlight.get() > 1);
+		Assert.assertTrue("prefetch window exceeded: " + maxInFlight.get(), maxInFlight.get() <= 4);
+
+		Assert.assertEquals(TOTAL_COUNT, entitiesService.getEntities(1002L, "automated_tests", null, "id", null).size());
+	}
+
+	@Test
+	public void testSinglePage() throws Exception {
+		EntitiesService entitiesService = newEntitiesService(4);
+		List<Entity> entities = entitiesService.getEntities(1002L, "automated_tests", Collections.singletonList("id<10"), null);
+		Assert.assertEquals(10, entities.size());
+		Assert.assertEquals(1, requestsCount.get());
+	}
+
+	@Test(expected = OctaneRestException.class)
+	public void testPageFailurePropagated() throws Exception {
+		EntitiesService entitiesService = newEntitiesService(4);
+		failingOffset = 2000;
+		entitiesService.getEntities(1002L, "automated_tests", null, "id", null);
+	}
+
+	@Test
+	public void testStreamedInOrder() throws Exception {
+		EntitiesService entitiesService = newEntitiesService(4);
+		try (Stream<Entity> entities = entitiesService.streamEntities(1002L, "automated_tests", null, "id", null)) {
+			AtomicInteger expectedId = new AtomicInteger();
+			entities.forEach(entity -> Assert.assertEquals(String.valueOf(expectedId.getAndIncrement()), entity.getId()));
+			Assert.assertEquals(TOTAL_COUNT, expectedId.get());
+		}
+		Assert.assertEquals(TOTAL_COUNT / SERVER_PAGE_LIMIT, requestsCount.get());
+	}
+
+	@Test
+	public void testStreamIsLazyAndBackPressured() throws Exception {
+		EntitiesService entitiesService = newEntitiesService(2);
+		try (Stream<Entity> entities = entitiesService.streamEntities(1002L, "automated_tests", null, "id", null)) {
+			Assert.assertEquals(0, requestsCount.get());
+			Iterator<Entity> iterator = entities.iterator();
+			for (int i = 0; i < SERVER_PAGE_LIMIT; i++) {
+				Assert.assertEquals(String.valueOf(i), iterator.next().getId());
+			}
+
+			//  while the first page is consumed, no more than the window is prefetched
+			Thread.sleep(LATENCY * 4);
+			Assert.assertEquals(3, requestsCount.get());
+			Assert.assertEquals(String.valueOf(SERVER_PAGE_LIMIT), iterator.next().getId());
+		}
+
+		//  closing the stream abandons the rest of the pages
+		Thread.sleep(LATENCY * 4);
+		Assert.assertTrue(requestsCount.get() < TOTAL_COUNT / SERVER_PAGE_LIMIT);
+	}
+
+	@Test(expected = OctaneRestException.class)
+	public void testStreamPageFailurePropagated() throws Exception {
+		EntitiesService entitiesService = newEntitiesService(4);
+		failingOffset = 2000;
+		try (Stream<Entity> entities = entitiesService.streamEntities(1002L, "automated_tests", null, "id", null)) {
+			entities.forEach(entity -> {
+			});
+		}
+	}
+
+	@Test
+	public void testPrefetchBenchmark() throws Exception {
+		long started = System.currentTimeMillis();
+		Assert.assertEquals(TOTAL_COUNT, newEntitiesService(1).getEntities(1002L, "automated_tests", null, "id", null).size());
+		long sequentialTime = System.currentTimeMillis() - started;
+
+		started = System.currentTimeMillis();
+		Assert.assertEquals(TOTAL_COUNT, newEntitiesService(4).getEntities(1002L, "automated_tests", null, "id", null).size());
+		long prefetchTime = System.currentTimeMillis() - started;
+
+		logger.info(TOTAL_COUNT / SERVER_PAGE_LIMIT + " pages of " + LATENCY + " ms latency: sequential " + sequentialTime + " ms, prefetched " + prefetchTime + " ms");
+		Assert.assertTrue(prefetchTime < sequentialTime);
+	}
+
+	private EntitiesService newEntitiesService(int parallelism) throws Exception {
+		System.setProperty("octane.sdk.entities.prefetch.parallelism", String.valueOf(parallelism));
+		OctaneConfiguration configuration = new OctaneConfigurationIntern(UUID.randomUUID().toString(), "http://localhost:8080", "1001", "client", "secret");
+		Constructor<OctaneSDK.SDKServicesConfigurer> configurerConstructor = OctaneSDK.SDKServicesConfigurer.class.getDeclaredConstructor(OctaneConfiguration.class, CIPluginServices.class);
+		configurerConstructor.setAccessible(true);
+		OctaneSDK.SDKServicesConfigurer configurer = configurerConstructor.newInstance(configuration, new CIPluginServices() {
+			@Override
+			public CIServerInfo getServerInfo() {
+				return null;
+			}
+
+			@Override
+			public CIPluginInfo getPluginInfo() {
+				return null;
+			}
+		});
+		OctaneRestClient restClient = new PagingOctaneRestClient();
+		return new EntitiesServiceImpl(configurer, new RestService() {
+			@Override
+			public Function<URL, CIProxyConfiguration> getProxySupplier() {
+				return url -> null;
+			}
+
+			@Override
+			public OctaneRestClient obtainOctaneRestClient() {
+				return restClient;
+			}
+
+			@Override
+			public SSCRestClient obtainSSCRestClient() {
+				return null;
+			}
+
+			@Override
+			public void notifyConfigurationChange() {
+			}
+		});
+	}
+
+	//  serves entities with IDs 0..TOTAL_COUNT-1 (or 0..9 if queried), capping the page size as the server does
+	private final class PagingOctaneRestClient implements OctaneRestClient {
+
+		@Override
+		public OctaneResponse execute(OctaneRequest request) {
+			requestsCount.incrementAndGet();
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(LATENCY);
+				Matcher paging = PAGING.matcher(request.getUrl());
+				Assert.assertTrue(paging.find());
+				int offset = Integer.parseInt(paging.group(1));
+				int limit = Math.min(SERVER_PAGE_LIMIT, Integer.parseInt(paging.group(2)));
+				if (offset == failingOffset) {
+					return dtoFactory.newDTO(OctaneResponse.class)
+							.setStatus(500)
+							.setBody("{\"error_code\":\"platform.unknown\",\"description\":\"simulated failure\"}");
+				}
+				int totalCount = request.getUrl().contains("query=") ? 10 : TOTAL_COUNT;
+				StringBuilder body = new StringBuilder("{\"total_count\":").append(totalCount).append(",\"data\":[");
+				for (int id = offset; id < Math.min(totalCount, offset + limit); id++) {
+					body.append(id == offset ? "" : ",").append("{\"type\":\"test_automated\",\"id\":\"").append(id).append("\"}");
+				}
+				return dtoFactory.newDTO(OctaneResponse.class)
+						.setStatus(200)
+						.setBody(body.append("],\"exceeds_total_count\":false}").toString());
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ie);
+			} finally {
+				inFlight.decrementAndGet();
+			}
+		}
+
+		@Override
+		public OctaneResponse execute(OctaneRequest request, OctaneConfiguration configuration) {
+			return execute(request);
+		}
+
+		@Override
+		public void shutdown() {
+		}
+
+		@Override
+		public Map<String, Object> getMetrics() {
+			return Collections.emptyMap();
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.events;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EventsChunkSizerTest {
+
+	@Test
+	public void testGrowOnDeepQueue() {
+		EventsChunkSizer sizer = new EventsChunkSizer(true, 10, 50, 1024, 1000);
+		sizer.onSuccess(10, 100, 3000);
+		Assert.assertEquals(20, sizer.getChunkSize());
+		sizer.onSuccess(20, 100, 3000);
+		sizer.onSuccess(40, 100, 3000);
+		Assert.assertEquals(50, sizer.getChunkSize());
+	}
+
+	@Test
+	public void testNoGrowOnShallowQueueOrSlowRoundTrip() {
+		EventsChunkSizer sizer = new EventsChunkSizer(true, 10, 50, 1024, 1000);
+		sizer.onSuccess(10, 100, 5);
+		sizer.onSuccess(3, 100, 3000);
+		sizer.onSuccess(10, 5000, 3000);
+		Assert.assertEquals(10, sizer.getChunkSize());
+	}
+
+	@Test
+	public void testShrinkOnTemporaryFailure() {
+		EventsChunkSizer sizer = new EventsChunkSizer(true, 10, 50, 1024, 1000);
+		sizer.onTemporaryFailure();
+		Assert.assertEquals(5, sizer.getChunkSize());
+		for (int i = 0; i < 10; i++) {
+			sizer.onTemporaryFailure();
+		}
+		Assert.assertEquals(1, sizer.getChunkSize());
+	}
+
+	@Test
+	public void testNotAdaptive() {
+		EventsChunkSizer sizer = new EventsChunkSizer(false, 10, 50, 1024, 1000);
+		sizer.onSuccess(10, 100, 3000);
+		sizer.onTemporaryFailure();
+		Assert.assertEquals(10, sizer.getChunkSize());
+		Assert.assertEquals(0, sizer.getMaxChunkBytes());
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.events;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+public class EventsJournalTest {
+	private static final Logger logger = LogManager.getLogger(EventsJournalTest.class);
+	private static final int BENCHMARK_EVENTS = 2000;
+	private static final int BENCHMARK_GROUP_SIZE = 100;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testReplayAfterReopen() throws IOException {
+		File directory = folder.newFolder();
+		EventsJournal journal = new EventsJournal(directory, 1024);
+		for (int i = 0; i < 10; i++) {
+			Assert.assertEquals(i, journal.append(record(i)));
+		}
+		journal.flush(4);
+		journal.close();
+
+		journal = new EventsJournal(directory, 1024);
+		Assert.assertEquals(4, journal.getReplayedFromSequence());
+		Assert.assertEquals(10, journal.getNextSequence());
+		assertRecords(journal.getReplayed(), 4, 6);
+		Assert.assertEquals(10, journal.append(record(10)));
+		journal.close();
+	}
+
+	@Test
+	public void testAcknowledgedSegmentsDeleted() throws IOException {
+		File directory = folder.newFolder();
+		EventsJournal journal = new EventsJournal(directory, 64);
+		for (int i = 0; i < 20; i++) {
+			journal.append(record(i));
+		}
+		journal.flush(0);
+		int segmentsBefore = segmentsCount(directory);
+		Assert.assertTrue(segmentsBefore > 1);
+
+		journal.flush(20);
+		Assert.assertEquals(1, segmentsCount(directory));
+		journal.close();
+
+		journal = new EventsJournal(directory, 64);
+		Assert.assertTrue(journal.getReplayed().isEmpty());
+		Assert.assertEquals(20, journal.getNextSequence());
+		journal.close();
+	}
+
+	@Test
+	public void testTornTailTruncated() throws IOException {
+		File directory = folder.newFolder();
+		EventsJournal journal = new EventsJournal(directory, 1024 * 1024);
+		for (int i = 0; i < 5; i++) {
+			journal.append(record(i));
+		}
+		journal.close();
+
+		//  simulate crash in the middle of the last record
+		File segment = directory.listFiles((dir, name) -> name.endsWith(".seg"))[0];
+		try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+			file.setLength(file.length() - 3);
+		}
+
+		journal = new EventsJournal(directory, 1024 * 1024);
+		assertRecords(journal.getReplayed(), 0, 4);
+		Assert.assertEquals(4, journal.append(record(4)));
+		journal.close();
+
+		journal = new EventsJournal(directory, 1024 * 1024);
+		assertRecords(journal.getReplayed(), 0, 5);
+		journal.close();
+	}
+
+	@Test
+	public void testCorruptedRecordTruncated() throws IOException {
+		File directory = folder.newFolder();
+		EventsJournal journal = new EventsJournal(directory, 1024 * 1024);
+		for (int i = 0; i < 5; i++) {
+			journal.append(record(i));
+		}
+		journal.close();
+
+		File segment = directory.listFiles((dir, name) -> name.endsWith(".seg"))[0];
+		try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+			file.seek(file.length() / 2);
+			file.write(0xFF ^ file.read());
+		}
+
+		journal = new EventsJournal(directory, 1024 * 1024);
+		List<byte[]> replayed = journal.getReplayed();
+		Assert.assertTrue(replayed.size() < 5);
+		assertRecords(replayed, 0, replayed.size());
+		Assert.assertEquals(replayed.size(), journal.getNextSequence());
+		journal.close();
+	}
+
+	@Test
+	public void testDiscardedJournalIsNotReplayed() throws IOException {
+		File directory = folder.newFolder();
+		EventsJournal journal = new EventsJournal(directory, 64);
+		for (int i = 0; i < 20; i++) {
+			journal.append(record(i));
+		}
+		journal.flush(5);
+		journal.discard();
+		Assert.assertEquals(0, segmentsCount(directory));
+
+		journal = new EventsJournal(directory, 64);
+		Assert.assertTrue(journal.getReplayed().isEmpty());
+		Assert.assertEquals(0, journal.getNextSequence());
+		journal.close();
+	}
+
+	@Test
+	public void testEnqueueBenchmark() throws IOException {
+		byte[] data = new byte[1024];
+		Arrays.fill(data, (byte) 'e');
+
+		//  warm up both paths
+		appendAndFlush(folder.newFolder(), data, 1);
+		appendAndFlush(folder.newFolder(), data, BENCHMARK_GROUP_SIZE);
+
+		long forcedEachNanos = appendAndFlush(folder.newFolder(), data, 1);
+		long groupCommitNanos = appendAndFlush(folder.newFolder(), data, BENCHMARK_GROUP_SIZE);
+		logger.info(BENCHMARK_EVENTS + " events of " + data.length + " bytes: forced on each append " + forcedEachNanos / BENCHMARK_EVENTS / 1000 +
+				" us per enqueue, group commit of " + BENCHMARK_GROUP_SIZE + " " + groupCommitNanos / BENCHMARK_EVENTS / 1000 + " us per enqueue");
+	}
+
+	private static long appendAndFlush(File directory, byte[] data, int groupSize) throws IOException {
+		EventsJournal journal = new EventsJournal(directory, 4 * 1024 * 1024);
+		long started = System.nanoTime();
+		for (int i = 0; i < BENCHMARK_EVENTS; i++) {
+			journal.append(data);
+			if ((i + 1) % groupSize == 0) {
+				journal.flush(0);
+			}
+		}
+		journal.flush(BENCHMARK_EVENTS);
+		long nanos = System.nanoTime() - started;
+		journal.close();
+		Assert.assertEquals(BENCHMARK_EVENTS, journal.getNextSequence());
+		return nanos;
+	}
+
+	private static byte[] record(int i) {
+		return ("event-" + i).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void assertRecords(List<byte[]> records, int from, int count) {
+		Assert.assertEquals(count, records.size());
+		for (int i = 0; i < count; i++) {
+			Assert.assertArrayEquals(record(from + i), records.get(i));
+		}
+	}
+
+	private static int segmentsCount(File directory) {
+		return directory.listFiles((dir, name) -> name.endsWith(".seg")).length;
+	}
+}
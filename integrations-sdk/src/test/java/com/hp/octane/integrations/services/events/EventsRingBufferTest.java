@@ -0,0 +1,260 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.events;
+
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.events.CIEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class EventsRingBufferTest {
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadSize() {
+		new EventsRingBuffer(0);
+	}
+
+	@Test
+	public void testPeekAndAcknowledge() {
+		EventsRingBuffer buffer = new EventsRingBuffer(10);
+		for (int i = 0; i < 5; i++) {
+			Assert.assertEquals(0, buffer.add(newEvent("job", i)));
+		}
+		Assert.assertEquals(5, buffer.size());
+
+		EventsRingBuffer.Chunk chunk = buffer.peek(buffer.headSequence(), 3);
+		Assert.assertEquals(3, chunk.getEvents().size());
+		Assert.assertEquals("0", chunk.getEvents().get(0).getBuildCiId());
+		Assert.assertEquals(5, buffer.size());
+
+		EventsRingBuffer.Chunk next = buffer.peek(chunk.getEndSequence(), 3);
+		Assert.assertEquals(2, next.getEvents().size());
+		Assert.assertEquals("3", next.getEvents().get(0).getBuildCiId());
+
+		buffer.acknowledge(chunk.getEndSequence());
+		Assert.assertEquals(2, buffer.size());
+		buffer.acknowledge(chunk.getEndSequence());
+		Assert.assertEquals(2, buffer.size());
+
+		buffer.clear();
+		Assert.assertEquals(0, buffer.size());
+		Assert.assertTrue(buffer.peek(buffer.headSequence(), 3).isEmpty());
+	}
+
+	@Test
+	public void testDropOldest() {
+		EventsRingBuffer buffer = new EventsRingBuffer(3);
+		for (int i = 0; i < 3; i++) {
+			buffer.add(newEvent("job", i));
+		}
+		EventsRingBuffer.Chunk inFlight = buffer.peek(buffer.headSequence(), 2);
+		Assert.assertEquals(1, buffer.add(newEvent("job", 3)));
+		Assert.assertEquals(3, buffer.size());
+
+		//  acknowledge of partially dropped chunk removes only what is left of it
+		buffer.acknowledge(inFlight.getEndSequence());
+		EventsRingBuffer.Chunk rest = buffer.peek(buffer.headSequence(), 10);
+		Assert.assertEquals(2, rest.getEvents().size());
+		Assert.assertEquals("2", rest.getEvents().get(0).getBuildCiId());
+		Assert.assertEquals("3", rest.getEvents().get(1).getBuildCiId());
+	}
+
+	@Test
+	public void testSerializedSizeMeasuredOnce() {
+		EventsRingBuffer buffer = new EventsRingBuffer(10);
+		buffer.add(newEvent("job", 0), 42);
+		buffer.add(newEvent("job", 1));
+		List<CIEvent> measured = new ArrayList<>();
+
+		EventsRingBuffer.Chunk chunk = buffer.peek(buffer.headSequence(), 2);
+		Assert.assertEquals(42, chunk.getSerializedSize(0, event -> {
+			throw new IllegalStateException("known size should not be measured");
+		}));
+		Assert.assertEquals(7, chunk.getSerializedSize(1, event -> {
+			measured.add(event);
+			return 7;
+		}));
+
+		//  the size stays with the buffered event, the next peek of it does not measure it again
+		EventsRingBuffer.Chunk again = buffer.peek(buffer.headSequence() + 1, 1).truncate(1);
+		Assert.assertEquals(7, again.getSerializedSize(0, event -> {
+			measured.add(event);
+			return 8;
+		}));
+		Assert.assertEquals(1, measured.size());
+	}
+
+	@Test
+	public void testConcurrentProducers() throws InterruptedException {
+		int producers = 32;
+		int eventsPerProducer = 500;
+		EventsRingBuffer buffer = new EventsRingBuffer(producers * eventsPerProducer);
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int p = 0; p < producers; p++) {
+			String project = "job-" + p;
+			executor.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				}
+				for (int i = 0; i < eventsPerProducer; i++) {
+					buffer.add(newEvent(project, i));
+				}
+			});
+		}
+
+		//  consume concurrently with the producers
+		List<CIEvent> consumed = new ArrayList<>();
+		start.countDown();
+		executor.shutdown();
+		while (!executor.isTerminated() || buffer.size() > 0) {
+			EventsRingBuffer.Chunk chunk = buffer.peek(buffer.headSequence(), 10);
+			consumed.addAll(chunk.getEvents());
+			buffer.acknowledge(chunk.getEndSequence());
+		}
+		Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		Assert.assertEquals(producers * eventsPerProducer, consumed.size());
+		Set<String> unique = new HashSet<>();
+		int[] lastPerProducer = new int[producers];
+		Arrays.fill(lastPerProducer, -1);
+		for (CIEvent event : consumed) {
+			unique.add(event.getProject() + ":" + event.getBuildCiId());
+			int producer = Integer.parseInt(event.getProject().substring(4));
+			int build = Integer.parseInt(event.getBuildCiId());
+			Assert.assertTrue("events of the same producer should keep their order", build > lastPerProducer[producer]);
+			lastPerProducer[producer] = build;
+		}
+		Assert.assertEquals(producers * eventsPerProducer, unique.size());
+	}
+
+	@Test
+	public void testConcurrentProducersOverflow() throws InterruptedException {
+		int producers = 32;
+		int maxSize = 100;
+		EventsRingBuffer buffer = new EventsRingBuffer(maxSize);
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		for (int p = 0; p < producers; p++) {
+			String project = "job-" + p;
+			executor.execute(() -> {
+				for (int i = 0; i < 1000; i++) {
+					buffer.add(newEvent(project, i));
+				}
+			});
+		}
+		executor.shutdown();
+		Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		Assert.assertEquals(maxSize, buffer.size());
+		Assert.assertEquals(maxSize, buffer.peek(buffer.headSequence(), maxSize * 2).getEvents().size());
+	}
+
+	@Test
+	public void testStalledPublishAfterWraparound() {
+		EventsRingBuffer buffer = new EventsRingBuffer(2);
+		for (int i = 0; i < 4; i++) {
+			buffer.add(newEvent("job", i));
+		}
+
+		//  producer of sequence 1 stalled while the others dropped its event and reused its slot for sequence 3
+		Assert.assertFalse(buffer.publish(1, newEvent("stalled", 1), EventsRingBuffer.UNKNOWN_SIZE));
+		EventsRingBuffer.Chunk chunk = buffer.peek(buffer.headSequence(), 4);
+		Assert.assertEquals(2, chunk.getEvents().size());
+		Assert.assertEquals("2", chunk.getEvents().get(0).getBuildCiId());
+		Assert.assertEquals("3", chunk.getEvents().get(1).getBuildCiId());
+
+		//  nor can it take back the slot once the newer event is acknowledged
+		buffer.acknowledge(4);
+		Assert.assertFalse(buffer.publish(1, newEvent("stalled", 1), EventsRingBuffer.UNKNOWN_SIZE));
+		buffer.add(newEvent("job", 4));
+		buffer.add(newEvent("job", 5));
+		chunk = buffer.peek(buffer.headSequence(), 4);
+		Assert.assertEquals(2, chunk.getEvents().size());
+		Assert.assertEquals("4", chunk.getEvents().get(0).getBuildCiId());
+		Assert.assertEquals("5", chunk.getEvents().get(1).getBuildCiId());
+	}
+
+	@Test
+	public void testWraparoundWithStalledProducers() throws InterruptedException {
+		int producers = 32;
+		int maxSize = 2;
+		for (int round = 0; round < 20; round++) {
+			EventsRingBuffer buffer = new EventsRingBuffer(maxSize);
+			ExecutorService executor = Executors.newFixedThreadPool(producers);
+			CountDownLatch start = new CountDownLatch(1);
+			for (int p = 0; p < producers; p++) {
+				String project = "job-" + p;
+				executor.execute(() -> {
+					try {
+						start.await();
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+					}
+
+					//  producers preempted between claiming and publishing their slot are wrapped around by the others
+					for (int i = 0; i < 2000; i++) {
+						buffer.add(newEvent(project, i));
+						Thread.yield();
+					}
+				});
+			}
+			start.countDown();
+			executor.shutdown();
+			Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+			//  stale publish must neither overwrite the newer events nor leave a hole the consumer cannot pass
+			EventsRingBuffer.Chunk chunk = buffer.peek(buffer.headSequence(), maxSize * 2);
+			Assert.assertEquals(maxSize, buffer.size());
+			Assert.assertEquals(maxSize, chunk.getEvents().size());
+			Assert.assertEquals(buffer.tailSequence(), chunk.getEndSequence());
+		}
+	}
+
+	private static CIEvent newEvent(String project, int build) {
+		return dtoFactory.newDTO(CIEvent.class)
+				.setProject(project)
+				.setBuildCiId(String.valueOf(build));
+	}
+}
@@ -0,0 +1,525 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.events;
+
+import com.hp.octane.integrations.CIPluginServices;
+import com.hp.octane.integrations.OctaneConfiguration;
+import com.hp.octane.integrations.OctaneConfigurationIntern;
+import com.hp.octane.integrations.OctaneSDK;
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.configuration.CIProxyConfiguration;
+import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
+import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
+import com.hp.octane.integrations.dto.events.CIEvent;
+import com.hp.octane.integrations.dto.events.CIEventType;
+import com.hp.octane.integrations.dto.events.CIEventsList;
+import com.hp.octane.integrations.dto.events.MultiBranchType;
+import com.hp.octane.integrations.dto.general.CIPluginInfo;
+import com.hp.octane.integrations.dto.general.CIServerInfo;
+import com.hp.octane.integrations.dto.general.OctaneConnectivityStatus;
+import com.hp.octane.integrations.services.configuration.ConfigurationService;
+import com.hp.octane.integrations.services.rest.OctaneRestClient;
+import com.hp.octane.integrations.services.rest.RestService;
+import com.hp.octane.integrations.services.rest.SSCRestClient;
+import com.hp.octane.integrations.utils.CIPluginSDKUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class EventsServiceImplTest {
+	private static final Logger logger = LogManager.getLogger(EventsServiceImplTest.class);
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+	private static final String[] PROPERTIES = {"octane.sdk.events.max-in-flight", "octane.sdk.events.chunk-size", "octane.sdk.events.adaptive-chunk-size",
+			"octane.sdk.events.temp-fail-pause", "octane.sdk.events.auth-fail-pause", "octane.sdk.events.max-to-keep", "octane.sdk.events.persistent"};
+	private static final int BENCHMARK_PRODUCERS = 32;
+	private static final int BENCHMARK_EVENTS_PER_PRODUCER = 2000;
+
+	private final List<SentChunk> sentChunks = new CopyOnWriteArrayList<>();
+	private volatile boolean connected = true;
+	private volatile File storage;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	private OctaneSDK.SDKServicesConfigurer configurer;
+	private EventsServiceImpl eventsService;
+
+	@Before
+	public void setUp() throws Exception {
+		System.setProperty("octane.sdk.events.max-in-flight", "3");
+		System.setProperty("octane.sdk.events.chunk-size", "1");
+		System.setProperty("octane.sdk.events.adaptive-chunk-size", "false");
+		System.setProperty("octane.sdk.events.temp-fail-pause", "200");
+		System.setProperty("octane.sdk.events.auth-fail-pause", "500");
+
+		OctaneConfiguration configuration = new OctaneConfigurationIntern(UUID.randomUUID().toString(), "http://localhost:8080", "1001");
+		Constructor<OctaneSDK.SDKServicesConfigurer> configurerConstructor = OctaneSDK.SDKServicesConfigurer.class.getDeclaredConstructor(OctaneConfiguration.class, CIPluginServices.class);
+		configurerConstructor.setAccessible(true);
+		configurer = configurerConstructor.newInstance(configuration, new CIPluginServices() {
+			@Override
+			public CIServerInfo getServerInfo() {
+				return dtoFactory.newDTO(CIServerInfo.class);
+			}
+
+			@Override
+			public CIPluginInfo getPluginInfo() {
+				return null;
+			}
+
+			@Override
+			public File getAllowedOctaneStorage() {
+				return storage;
+			}
+		});
+		eventsService = new EventsServiceImpl(configurer, new StubRestService(), new StubConfigurationService());
+	}
+
+	@After
+	public void tearDown() {
+		eventsService.shutdown();
+		for (String property : PROPERTIES) {
+			System.clearProperty(property);
+		}
+	}
+
+	@Test
+	public void testOutOfOrderCompletionKeepsJobOrder() throws InterruptedException {
+		eventsService.publishEvent(event("job-a", CIEventType.STARTED));
+		eventsService.publishEvent(event("job-b", CIEventType.STARTED));
+		eventsService.publishEvent(event("job-a", CIEventType.FINISHED));
+
+		//  second event of job-a waits for the first one
+		waitForChunks(2);
+		assertNoMoreChunks(2);
+		Assert.assertEquals(Arrays.asList("job-a:STARTED", "job-b:STARTED"), Arrays.asList(sentChunks.get(0).describe(), sentChunks.get(1).describe()));
+
+		//  later chunk done first - nothing is removed from the queue before the earlier chunk is done too
+		sentChunks.get(1).complete(200);
+		Assert.assertEquals(3, eventsService.getQueueSize());
+		assertNoMoreChunks(2);
+
+		sentChunks.get(0).complete(200);
+		Assert.assertEquals(1, eventsService.getQueueSize());
+		waitForChunks(3);
+		Assert.assertEquals("job-a:FINISHED", sentChunks.get(2).describe());
+		sentChunks.get(2).complete(200);
+		Assert.assertEquals(0, eventsService.getQueueSize());
+	}
+
+	@Test
+	public void testInFlightChunksBounded() throws InterruptedException {
+		for (int i = 0; i < 5; i++) {
+			eventsService.publishEvent(event("job-" + i, CIEventType.STARTED));
+		}
+		waitForChunks(3);
+		assertNoMoreChunks(3);
+
+		//  head advances over the completed prefix only
+		sentChunks.get(0).complete(200);
+		sentChunks.get(2).complete(200);
+		Assert.assertEquals(4, eventsService.getQueueSize());
+		waitForChunks(5);
+		assertNoMoreChunks(5);
+		sentChunks.get(1).complete(200);
+		Assert.assertEquals(2, eventsService.getQueueSize());
+		sentChunks.get(4).complete(200);
+		Assert.assertEquals(2, eventsService.getQueueSize());
+		sentChunks.get(3).complete(200);
+		Assert.assertEquals(0, eventsService.getQueueSize());
+		Assert.assertEquals(3, eventsService.getMetrics().get("maxInFlightReached"));
+	}
+
+	@Test
+	public void testMultiBranchChildStartIsBarrier() throws InterruptedException {
+		eventsService.publishEvent(event("multibranch-child", CIEventType.STARTED).setMultiBranchType(MultiBranchType.MULTI_BRANCH_CHILD));
+		eventsService.publishEvent(event("job-b", CIEventType.STARTED));
+
+		//  unrelated job waits as well, until the multibranch child pipeline is known to Octane
+		waitForChunks(1);
+		assertNoMoreChunks(1);
+		Assert.assertEquals("multibranch-child:STARTED", sentChunks.get(0).describe());
+
+		sentChunks.get(0).complete(200);
+		waitForChunks(2);
+		Assert.assertEquals("job-b:STARTED", sentChunks.get(1).describe());
+		sentChunks.get(1).complete(200);
+		Assert.assertEquals(0, eventsService.getQueueSize());
+	}
+
+	@Test
+	public void testTemporaryFailureRetriedInOrder() throws InterruptedException {
+		eventsService.publishEvent(event("job-a", CIEventType.STARTED));
+		eventsService.publishEvent(event("job-b", CIEventType.STARTED));
+		eventsService.publishEvent(event("job-a", CIEventType.FINISHED));
+		waitForChunks(2);
+
+		sentChunks.get(0).fail(new IOException("simulated failure"));
+		sentChunks.get(1).complete(200);
+		Assert.assertEquals(3, eventsService.getQueueSize());
+
+		//  failed chunk is resent after the pause, events of its job still wait for it
+		waitForChunks(3);
+		Assert.assertEquals("job-a:STARTED", sentChunks.get(2).describe());
+		assertNoMoreChunks(3);
+		sentChunks.get(2).complete(200);
+		Assert.assertEquals(1, eventsService.getQueueSize());
+		waitForChunks(4);
+		Assert.assertEquals("job-a:FINISHED", sentChunks.get(3).describe());
+		sentChunks.get(3).complete(200);
+		Assert.assertEquals(0, eventsService.getQueueSize());
+	}
+
+	@Test
+	public void testAuthenticationFailurePausesDispatch() throws InterruptedException {
+		eventsService.publishEvent(event("job-a", CIEventType.STARTED));
+		waitForChunks(1);
+
+		//  chunk is dropped, dispatch is resumed only after the pause
+		long failedAt = System.currentTimeMillis();
+		sentChunks.get(0).complete(401);
+		Assert.assertEquals(0, eventsService.getQueueSize());
+		eventsService.publishEvent(event("job-b", CIEventType.STARTED));
+		waitForChunks(2);
+		Assert.assertTrue(System.currentTimeMillis() - failedAt >= 500);
+		Assert.assertEquals("job-b:STARTED", sentChunks.get(1).describe());
+		sentChunks.get(1).complete(200);
+		Assert.assertEquals(0, eventsService.getQueueSize());
+	}
+
+	@Test
+	public void testUnreadableJournalRecordIsNotPassedByCheckpoint() throws IOException, InterruptedException {
+		storage = folder.newFolder();
+		File journalDirectory = new File(storage, "nga" + File.separator + configurer.octaneConfiguration.getInstanceId() + File.separator + "events-journal");
+		EventsJournal journal = new EventsJournal(journalDirectory, 1024 * 1024);
+		journal.append(journalRecord(event("job-a", CIEventType.STARTED)));
+		journal.append(journalRecord(event("job-b", CIEventType.STARTED)));
+		journal.append("not an event".getBytes(StandardCharsets.UTF_8));
+		journal.append(journalRecord(event("job-c", CIEventType.STARTED)));
+		journal.close();
+
+		System.setProperty("octane.sdk.events.persistent", "true");
+		eventsService.shutdown();
+		eventsService = new EventsServiceImpl(configurer, new StubRestService(), new StubConfigurationService());
+		Assert.assertEquals(3, eventsService.getQueueSize());
+		waitForChunks(3);
+		Assert.assertEquals("job-a:STARTED", sentChunks.get(0).describe());
+
+		//  only the first event is acknowledged, the unreadable record after the second one must not move the checkpoint past it
+		sentChunks.get(0).complete(200);
+		eventsService.shutdown();
+		journal = new EventsJournal(journalDirectory, 1024 * 1024);
+		List<byte[]> replayed = journal.getReplayed();
+		journal.close();
+		Assert.assertEquals(3, replayed.size());
+		Assert.assertEquals("job-b", dtoFactory.dtoFromJson(new String(replayed.get(0), StandardCharsets.UTF_8), CIEvent.class).getProject());
+		Assert.assertEquals("job-c", dtoFactory.dtoFromJson(new String(replayed.get(2), StandardCharsets.UTF_8), CIEvent.class).getProject());
+	}
+
+	@Test
+	public void testPublishEventBenchmark() throws InterruptedException {
+		int total = BENCHMARK_PRODUCERS * BENCHMARK_EVENTS_PER_PRODUCER;
+		CIEvent[] events = new CIEvent[BENCHMARK_EVENTS_PER_PRODUCER];
+		for (int i = 0; i < events.length; i++) {
+			events[i] = event("job-" + i, CIEventType.STARTED);
+		}
+
+		//  events are kept in queue while disconnected, queue is big enough to measure the enqueue without the capping
+		connected = false;
+		System.setProperty("octane.sdk.events.max-to-keep", String.valueOf(total));
+		eventsService.shutdown();
+
+		//  warm up both paths
+		publishLegacy(events);
+		eventsService = new EventsServiceImpl(configurer, new StubRestService(), new StubConfigurationService());
+		publishEvents(events);
+		eventsService.shutdown();
+
+		long legacyNanos = publishLegacy(events);
+		eventsService = new EventsServiceImpl(configurer, new StubRestService(), new StubConfigurationService());
+		long ringBufferNanos = publishEvents(events);
+		Assert.assertEquals(total, eventsService.getQueueSize());
+		Assert.assertTrue(sentChunks.isEmpty());
+		logger.info(BENCHMARK_PRODUCERS + " producers, " + total + " events: synchronized list " + legacyNanos / total + " ns per publish, ring buffer " +
+				ringBufferNanos / total + " ns per publish");
+	}
+
+	//  the way the events were published before: synchronized linked list, capped from the head by the producer, worker notified on monitor
+	private long publishLegacy(CIEvent[] events) throws InterruptedException {
+		ConfigurationService configurationService = new StubConfigurationService();
+		List<CIEvent> list = Collections.synchronizedList(new LinkedList<>());
+		Object emptyQueueMonitor = new Object();
+		int maxEventsToKeep = BENCHMARK_PRODUCERS * BENCHMARK_EVENTS_PER_PRODUCER;
+		long nanos = runProducers(() -> {
+			for (CIEvent event : events) {
+				Set<String> parents = new HashSet<>();
+				CIPluginSDKUtils.getRootJobCiIds(event.getProject(), event.getCauses(), parents);
+				if (!configurationService.isRelevantForOctane(parents)) {
+					continue;
+				}
+				list.add(event);
+				if (list.size() > maxEventsToKeep) {
+					while (list.size() > maxEventsToKeep) {
+						list.remove(0);
+					}
+				}
+				synchronized (emptyQueueMonitor) {
+					emptyQueueMonitor.notify();
+				}
+			}
+		});
+		Assert.assertEquals(maxEventsToKeep, list.size());
+		return nanos;
+	}
+
+	private long publishEvents(CIEvent[] events) throws InterruptedException {
+		return runProducers(() -> {
+			for (CIEvent event : events) {
+				eventsService.publishEvent(event);
+			}
+		});
+	}
+
+	private static long runProducers(Runnable producer) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(BENCHMARK_PRODUCERS);
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(BENCHMARK_PRODUCERS);
+		for (int p = 0; p < BENCHMARK_PRODUCERS; p++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+					producer.run();
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		long started = System.nanoTime();
+		start.countDown();
+		Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+		long nanos = System.nanoTime() - started;
+		executor.shutdown();
+		return nanos;
+	}
+
+	private void waitForChunks(int count) throws InterruptedException {
+		for (int i = 0; i < 250 && sentChunks.size() < count; i++) {
+			Thread.sleep(20);
+		}
+		Assert.assertEquals(count, sentChunks.size());
+	}
+
+	private void assertNoMoreChunks(int count) throws InterruptedException {
+		Thread.sleep(100);
+		Assert.assertEquals(count, sentChunks.size());
+	}
+
+	private static byte[] journalRecord(CIEvent event) {
+		return dtoFactory.dtoToJson(event).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static CIEvent event(String project, CIEventType eventType) {
+		return dtoFactory.newDTO(CIEvent.class)
+				.setProject(project)
+				.setBuildCiId("1")
+				.setEventType(eventType);
+	}
+
+	private static final class SentChunk {
+		private final List<CIEvent> events;
+		private final CompletableFuture<OctaneResponse> response = new CompletableFuture<>();
+
+		private SentChunk(List<CIEvent> events) {
+			this.events = events;
+		}
+
+		private String describe() {
+			return events.stream().map(event -> event.getProject() + ":" + event.getEventType()).collect(Collectors.joining(","));
+		}
+
+		private void complete(int status) {
+			response.complete(dtoFactory.newDTO(OctaneResponse.class).setStatus(status));
+		}
+
+		private void fail(Throwable failure) {
+			response.completeExceptionally(failure);
+		}
+	}
+
+	private final class StubRestService implements RestService, OctaneRestClient {
+		@Override
+		public OctaneResponse execute(OctaneRequest request) throws IOException {
+			throw new IOException("only async requests are expected");
+		}
+
+		@Override
+		public OctaneResponse execute(OctaneRequest request, OctaneConfiguration configuration) throws IOException {
+			return execute(request);
+		}
+
+		//  responses are completed by the test, in any order
+		@Override
+		public CompletableFuture<OctaneResponse> executeAsync(OctaneRequest request) {
+			try {
+				CIEventsList eventsList = dtoFactory.dtoFromJson(CIPluginSDKUtils.inputStreamToUTF8String(request.getBody()), CIEventsList.class);
+				SentChunk sentChunk = new SentChunk(eventsList.getEvents());
+				sentChunks.add(sentChunk);
+				return sentChunk.response;
+			} catch (IOException ioe) {
+				CompletableFuture<OctaneResponse> result = new CompletableFuture<>();
+				result.completeExceptionally(ioe);
+				return result;
+			}
+		}
+
+		@Override
+		public Function<URL, CIProxyConfiguration> getProxySupplier() {
+			return url -> null;
+		}
+
+		@Override
+		public OctaneRestClient obtainOctaneRestClient() {
+			return this;
+		}
+
+		@Override
+		public SSCRestClient obtainSSCRestClient() {
+			return null;
+		}
+
+		@Override
+		public void notifyConfigurationChange() {
+		}
+
+		@Override
+		public void shutdown() {
+		}
+
+		@Override
+		public Map<String, Object> getMetrics() {
+			return Collections.emptyMap();
+		}
+	}
+
+	private final class StubConfigurationService implements ConfigurationService {
+		@Override
+		public OctaneConfiguration getConfiguration() {
+			return configurer.octaneConfiguration;
+		}
+
+		@Override
+		public OctaneConnectivityStatus getOctaneConnectivityStatus() {
+			return null;
+		}
+
+		@Override
+		public OctaneConnectivityStatus validateConfigurationAndGetConnectivityStatus() {
+			return null;
+		}
+
+		@Override
+		public boolean isOctaneVersionGreaterOrEqual(String version) {
+			return true;
+		}
+
+		@Override
+		public boolean isConnected() {
+			return connected;
+		}
+
+		@Override
+		public Collection<String> getOctaneRootsCacheCollection() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public Future<Boolean> resetOctaneRootsCache() {
+			return CompletableFuture.completedFuture(true);
+		}
+
+		@Override
+		public void addToOctaneRootsCache(String rootJob) {
+		}
+
+		@Override
+		public boolean removeFromOctaneRoots(String rootJob) {
+			return false;
+		}
+
+		@Override
+		public boolean isRelevantForOctane(Collection<String> rootJobs) {
+			return true;
+		}
+
+		@Override
+		public void addConnectivityListener(Runnable listener) {
+		}
+
+		@Override
+		public void removeConnectivityListener(Runnable listener) {
+		}
+
+		@Override
+		public Map<String, Object> getMetrics() {
+			return Collections.emptyMap();
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.queueing;
+
+import com.squareup.tape.FileObjectQueue;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class MappedObjectQueueTest {
+	private static final FileObjectQueue.Converter<String> converter = new FileObjectQueue.Converter<String>() {
+		@Override
+		public String from(byte[] bytes) {
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public void toStream(String item, OutputStream outputStream) throws IOException {
+			outputStream.write(item.getBytes(StandardCharsets.UTF_8));
+		}
+	};
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testAddPeekRemove() throws IOException {
+		try (MappedObjectQueue<String> queue = new MappedObjectQueue<>(folder.newFolder(), 1024, 0, converter)) {
+			Assert.assertEquals(0, queue.size());
+			Assert.assertNull(queue.peek());
+
+			queue.add("a");
+			queue.add("b");
+			queue.add("c");
+			Assert.assertEquals(3, queue.size());
+			Assert.assertEquals("a", queue.peek());
+			Assert.assertEquals(Arrays.asList("a", "b"), queue.peek(2));
+			Assert.assertEquals(Arrays.asList("a", "b", "c"), queue.peek(10));
+
+			queue.remove();
+			Assert.assertEquals("b", queue.peek());
+			queue.remove(2);
+			Assert.assertEquals(0, queue.size());
+			Assert.assertNull(queue.peek());
+		}
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testRemoveTooMany() throws IOException {
+		try (MappedObjectQueue<String> queue = new MappedObjectQueue<>(folder.newFolder(), 1024, 0, converter)) {
+			queue.add("a");
+			queue.remove(2);
+		}
+	}
+
+	@Test
+	public void testSegmentsRollAndCompaction() throws IOException {
+		File directory = folder.newFolder();
+		try (MappedObjectQueue<String> queue = new MappedObjectQueue<>(directory, 64, 0, converter)) {
+			for (int i = 0; i < 50; i++) {
+				queue.add("item-" + i);
+			}
+			Assert.assertTrue(segmentsCount(directory) > 5);
+
+			//  item larger than a segment
+			String large = new String(new char[200]).replace('\0', 'x');
+			queue.add(large);
+
+			List<String> items = queue.peek(51);
+			for (int i = 0; i < 50; i++) {
+				Assert.assertEquals("item-" + i, items.get(i));
+			}
+			Assert.assertEquals(large, items.get(50));
+
+			queue.remove(50);
+			Assert.assertEquals(1, segmentsCount(directory));
+			Assert.assertEquals(large, queue.peek());
+		}
+	}
+
+	@Test
+	public void testReopen() throws IOException {
+		File directory = folder.newFolder();
+		try (MappedObjectQueue<String> queue = new MappedObjectQueue<>(directory, 64, 1000, converter)) {
+			for (int i = 0; i < 20; i++) {
+				queue.add("item-" + i);
+			}
+			queue.remove(7);
+		}
+		try (MappedObjectQueue<String> queue = new MappedObjectQueue<>(directory, 64, 1000, converter)) {
+			Assert.assertEquals(13, queue.size());
+			Assert.assertEquals("item-7", queue.peek());
+			queue.add("item-20");
+			Assert.assertEquals("item-20", queue.peek(14).get(13));
+		}
+	}
+
+	@Test
+	public void testRecoveryFromTruncationAtRandomOffsets() throws IOException {
+		Random random = new Random(17);
+		for (int round = 0; round < 30; round++) {
+			File directory = folder.newFolder();
+			int itemsCount = 1 + random.nextInt(40);
+			int removed = random.nextInt(itemsCount);
+			try (MappedObjectQueue<String> queue = new MappedObjectQueue<>(directory, 128, 0, converter)) {
+				for (int i = 0; i < itemsCount; i++) {
+					queue.add("item-" + i);
+				}
+				queue.remove(removed);
+			}
+
+			//  cut the last segment at random offset, as if the process crashed while writing it
+			File[] segments = directory.listFiles((dir, name) -> name.startsWith("segment-"));
+			Arrays.sort(segments);
+			File lastSegment = segments[segments.length - 1];
+			try (RandomAccessFile file = new RandomAccessFile(lastSegment, "rw")) {
+				file.setLength(random.nextInt((int) file.length() + 1));
+			}
+
+			try (MappedObjectQueue<String> queue = new MappedObjectQueue<>(directory, 128, 0, converter)) {
+				List<String> items = queue.peek(queue.size());
+				Assert.assertTrue(items.size() <= itemsCount - removed);
+				for (int i = 0; i < items.size(); i++) {
+					Assert.assertEquals("item-" + (removed + i), items.get(i));
+				}
+
+				//  queue is fully usable after recovery
+				queue.add("after-recovery");
+				Assert.assertEquals("after-recovery", queue.peek(queue.size()).get(items.size()));
+			}
+			try (MappedObjectQueue<String> queue = new MappedObjectQueue<>(directory, 128, 0, converter)) {
+				List<String> items = queue.peek(queue.size());
+				Assert.assertEquals("after-recovery", items.get(items.size() - 1));
+			}
+		}
+	}
+
+	@Test
+	public void testRecoveryFromCorruptionAtRandomOffsets() throws IOException {
+		Random random = new Random(29);
+		for (int round = 0; round < 30; round++) {
+			File directory = folder.newFolder();
+			int itemsCount = 1 + random.nextInt(40);
+			try (MappedObjectQueue<String> queue = new MappedObjectQueue<>(directory, 256, 0, converter)) {
+				for (int i = 0; i < itemsCount; i++) {
+					queue.add("item-" + i);
+				}
+			}
+
+			File[] segments = directory.listFiles((dir, name) -> name.startsWith("segment-"));
+			File segment = segments[random.nextInt(segments.length)];
+			try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+				long offset = random.nextInt((int) file.length());
+				file.seek(offset);
+				int value = file.read();
+				file.seek(offset);
+				file.write(value ^ 0x5A);
+			}
+
+			try (MappedObjectQueue<String> queue = new MappedObjectQueue<>(directory, 256, 0, converter)) {
+				List<String> items = queue.peek(queue.size());
+				for (int i = 0; i < items.size(); i++) {
+					Assert.assertEquals("item-" + i, items.get(i));
+				}
+				queue.add("after-recovery");
+				queue.remove(items.size());
+				Assert.assertEquals("after-recovery", queue.peek());
+			}
+		}
+	}
+
+	private static int segmentsCount(File directory) {
+		return directory.listFiles((dir, name) -> name.startsWith("segment-")).length;
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.queueing;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class MemoryObjectQueueTest {
+
+	@Test
+	public void testPeekAndRemoveBatch() {
+		MemoryObjectQueue<String> queue = new MemoryObjectQueue<>();
+		Assert.assertNull(queue.peek());
+		Assert.assertTrue(queue.peek(3).isEmpty());
+
+		for (int i = 0; i < 5; i++) {
+			queue.add("item-" + i);
+		}
+		Assert.assertEquals(5, queue.size());
+		Assert.assertEquals("item-0", queue.peek());
+		Assert.assertEquals(Arrays.asList("item-0", "item-1", "item-2"), queue.peek(3));
+		Assert.assertEquals(5, queue.peek(10).size());
+
+		queue.remove(2);
+		Assert.assertEquals(3, queue.size());
+		Assert.assertEquals("item-2", queue.peek());
+		queue.remove();
+		Assert.assertEquals(Arrays.asList("item-3", "item-4"), queue.peek(10));
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testRemoveMoreThanPresent() {
+		MemoryObjectQueue<String> queue = new MemoryObjectQueue<>();
+		queue.add("item");
+		queue.remove(2);
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.rest;
+
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.connectivity.HttpMethod;
+import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionBudgetTest {
+	private static final String CI_URL = "http://octane:8080" + RestService.SHARED_SPACE_INTERNAL_API_PATH_PART + "1001" + RestService.ANALYTICS_CI_PATH_PART;
+
+	@Test
+	public void testTrafficClassification() {
+		Assert.assertEquals(ConnectionBudget.TrafficClass.LONG_POLL, classify(HttpMethod.GET, CI_URL + "servers/abc/tasks?self-type=jenkins&api-version=1"));
+		Assert.assertEquals(ConnectionBudget.TrafficClass.TASK_RESULTS, classify(HttpMethod.PUT, CI_URL + "servers/abc/tasks/42/result"));
+		Assert.assertEquals(ConnectionBudget.TrafficClass.TASK_RESULTS, classify(HttpMethod.PUT, CI_URL + "servers/abc/tasks/results"));
+		Assert.assertEquals(ConnectionBudget.TrafficClass.EVENTS, classify(HttpMethod.PUT, CI_URL + "events?ci_server_identity=abc"));
+		Assert.assertEquals(ConnectionBudget.TrafficClass.PUSHES, classify(HttpMethod.POST, CI_URL + "test-results?skip-errors=false"));
+		Assert.assertEquals(ConnectionBudget.TrafficClass.DEFAULT, classify(HttpMethod.GET, CI_URL + "servers/abc/jobs/job1/tests-result-preflight"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReservedExceedsTotal() {
+		Map<ConnectionBudget.TrafficClass, Integer> reserved = new EnumMap<>(ConnectionBudget.TrafficClass.class);
+		reserved.put(ConnectionBudget.TrafficClass.EVENTS, 3);
+		new ConnectionBudget(3, reserved);
+	}
+
+	@Test
+	public void testBurstDoesNotStarveReservedClass() throws Exception {
+		Map<ConnectionBudget.TrafficClass, Integer> reserved = new EnumMap<>(ConnectionBudget.TrafficClass.class);
+		reserved.put(ConnectionBudget.TrafficClass.EVENTS, 1);
+		reserved.put(ConnectionBudget.TrafficClass.TASK_RESULTS, 1);
+		ConnectionBudget budget = new ConnectionBudget(4, reserved);
+
+		//  task results take their reserved connection and the whole shared part
+		List<ConnectionBudget.Lease> leases = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			leases.add(budget.acquire(ConnectionBudget.TrafficClass.TASK_RESULTS, 10));
+		}
+		try {
+			budget.acquire(ConnectionBudget.TrafficClass.TASK_RESULTS, 10);
+			Assert.fail("shared connections should be exhausted");
+		} catch (ConnectionPoolTimeoutException cpte) {
+			//  expected
+		}
+
+		//  events still get their reserved connection
+		ConnectionBudget.Lease eventsLease = budget.acquire(ConnectionBudget.TrafficClass.EVENTS, 10);
+
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		budget.addMetrics(metrics);
+		Assert.assertEquals(3, metrics.get("pool.task-results.inUse"));
+		Assert.assertEquals(1, metrics.get("pool.events.inUse"));
+		Assert.assertEquals(1L, metrics.get("pool.leaseTimeoutsCount"));
+
+		//  releasing is idempotent
+		eventsLease.close();
+		eventsLease.close();
+		leases.forEach(ConnectionBudget.Lease::close);
+		metrics.clear();
+		budget.addMetrics(metrics);
+		Assert.assertEquals(0, metrics.get("pool.events.inUse"));
+		Assert.assertEquals(2, metrics.get("pool.shared.available"));
+	}
+
+	@Test
+	public void testAsyncLeaseIsHandedOverOnRelease() throws Exception {
+		Map<ConnectionBudget.TrafficClass, Integer> reserved = new EnumMap<>(ConnectionBudget.TrafficClass.class);
+		reserved.put(ConnectionBudget.TrafficClass.TASK_RESULTS, 1);
+		ConnectionBudget budget = new ConnectionBudget(2, reserved);
+		ScheduledExecutorService timer = new ScheduledThreadPoolExecutor(1);
+		try {
+			ConnectionBudget.Lease reservedLease = budget.acquireAsync(ConnectionBudget.TrafficClass.TASK_RESULTS, 1000, timer).get();
+			ConnectionBudget.Lease sharedLease = budget.acquireAsync(ConnectionBudget.TrafficClass.TASK_RESULTS, 1000, timer).get();
+
+			//  no connection left, the waiter does not block the caller
+			CompletableFuture<ConnectionBudget.Lease> waiting = budget.acquireAsync(ConnectionBudget.TrafficClass.TASK_RESULTS, 5000, timer);
+			Assert.assertFalse(waiting.isDone());
+
+			sharedLease.close();
+			ConnectionBudget.Lease handedOver = waiting.get(1, TimeUnit.SECONDS);
+
+			Map<String, Object> metrics = new LinkedHashMap<>();
+			budget.addMetrics(metrics);
+			Assert.assertEquals(2, metrics.get("pool.task-results.inUse"));
+			Assert.assertEquals(1L, metrics.get("pool.waitedLeasesCount"));
+
+			handedOver.close();
+			reservedLease.close();
+			metrics.clear();
+			budget.addMetrics(metrics);
+			Assert.assertEquals(0, metrics.get("pool.task-results.inUse"));
+			Assert.assertEquals(1, metrics.get("pool.shared.available"));
+		} finally {
+			timer.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testAsyncLeaseTimeout() throws Exception {
+		ConnectionBudget budget = new ConnectionBudget(1, new EnumMap<>(ConnectionBudget.TrafficClass.class));
+		ScheduledExecutorService timer = new ScheduledThreadPoolExecutor(1);
+		try {
+			ConnectionBudget.Lease lease = budget.acquireAsync(ConnectionBudget.TrafficClass.EVENTS, 1000, timer).get();
+			CompletableFuture<ConnectionBudget.Lease> waiting = budget.acquireAsync(ConnectionBudget.TrafficClass.EVENTS, 10, timer);
+			try {
+				waiting.get(1, TimeUnit.SECONDS);
+				Assert.fail("connection should not be available");
+			} catch (ExecutionException ee) {
+				Assert.assertTrue(ee.getCause() instanceof ConnectionPoolTimeoutException);
+			}
+
+			//  timed out waiter does not take the released connection
+			lease.close();
+			Map<String, Object> metrics = new LinkedHashMap<>();
+			budget.addMetrics(metrics);
+			Assert.assertEquals(1L, metrics.get("pool.leaseTimeoutsCount"));
+			Assert.assertEquals(1, metrics.get("pool.shared.available"));
+		} finally {
+			timer.shutdownNow();
+		}
+	}
+
+	private static ConnectionBudget.TrafficClass classify(HttpMethod method, String url) {
+		OctaneRequest request = DTOFactory.getInstance().newDTO(OctaneRequest.class)
+				.setMethod(method)
+				.setUrl(url);
+		return ConnectionBudget.TrafficClass.of(request);
+	}
+}
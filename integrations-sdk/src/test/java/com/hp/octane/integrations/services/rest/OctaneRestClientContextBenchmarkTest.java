@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.rest;
+
+import com.hp.octane.integrations.CIPluginServices;
+import com.hp.octane.integrations.OctaneConfiguration;
+import com.hp.octane.integrations.OctaneConfigurationIntern;
+import com.hp.octane.integrations.OctaneSDK;
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.configuration.CIProxyConfiguration;
+import com.hp.octane.integrations.dto.general.CIPluginInfo;
+import com.hp.octane.integrations.dto.general.CIServerInfo;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-request overhead of the HTTP context preparation: resolving proxy and request config for each request vs. the cached setup
+ */
+public class OctaneRestClientContextBenchmarkTest {
+	private static final Logger logger = LogManager.getLogger(OctaneRestClientContextBenchmarkTest.class);
+	private static final String TASKS_URL = "http://localhost:8080/internal-api/shared_spaces/1001/analytics/ci/servers/abc/tasks?self-type=jenkins";
+	private static final int ITERATIONS = 200000;
+
+	private final AtomicInteger proxyLookups = new AtomicInteger();
+	private OctaneRestClientImpl restClient;
+
+	@Before
+	public void setUp() throws Exception {
+		OctaneConfiguration configuration = new OctaneConfigurationIntern(UUID.randomUUID().toString(), "http://localhost:8080", "1001", "client", "secret");
+		Constructor<OctaneSDK.SDKServicesConfigurer> configurerConstructor = OctaneSDK.SDKServicesConfigurer.class.getDeclaredConstructor(OctaneConfiguration.class, CIPluginServices.class);
+		configurerConstructor.setAccessible(true);
+		restClient = new OctaneRestClientImpl(configurerConstructor.newInstance(configuration, new CIPluginServices() {
+			@Override
+			public CIServerInfo getServerInfo() {
+				return null;
+			}
+
+			@Override
+			public CIPluginInfo getPluginInfo() {
+				return null;
+			}
+
+			@Override
+			public CIProxyConfiguration getProxyConfiguration(URL targetUrl) {
+				proxyLookups.incrementAndGet();
+				return DTOFactory.getInstance().newDTO(CIProxyConfiguration.class)
+						.setHost("proxy")
+						.setPort(3128)
+						.setUsername("user")
+						.setPassword("password");
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() {
+		restClient.shutdown();
+	}
+
+	@Test
+	public void testSetupResolvedOncePerTargetAndTimeout() {
+		HttpClientContext first = restClient.createHttpContext(TASKS_URL, 30, false);
+		HttpClientContext second = restClient.createHttpContext(TASKS_URL.replace("tasks", "tasks/1/result"), 30, false);
+		Assert.assertSame(first.getRequestConfig(), second.getRequestConfig());
+		Assert.assertSame(first.getCredentialsProvider(), second.getCredentialsProvider());
+		Assert.assertNotSame(first.getCookieStore(), second.getCookieStore());
+		Assert.assertEquals("proxy", first.getRequestConfig().getProxy().getHostName());
+		Assert.assertEquals(30000, first.getRequestConfig().getSocketTimeout());
+
+		//  other timeout is another setup, configuration change drops all of them
+		Assert.assertEquals(-1, restClient.createHttpContext(TASKS_URL, 0, false).getRequestConfig().getSocketTimeout());
+		Assert.assertEquals(2, proxyLookups.get());
+		restClient.notifyConfigurationChange();
+		Assert.assertNotSame(first.getRequestConfig(), restClient.createHttpContext(TASKS_URL, 30, false).getRequestConfig());
+		Assert.assertEquals(3, proxyLookups.get());
+	}
+
+	@Test
+	public void testPerRequestOverheadBenchmark() {
+		//  warm up both paths
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			restClient.createRequestSetup(TASKS_URL, 30);
+			restClient.createHttpContext(TASKS_URL, 30, false);
+		}
+
+		proxyLookups.set(0);
+		long started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			restClient.createRequestSetup(TASKS_URL, 30);
+			HttpClientContext.create();
+		}
+		long uncachedNanos = System.nanoTime() - started;
+		Assert.assertEquals(ITERATIONS, proxyLookups.get());
+
+		proxyLookups.set(0);
+		started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			restClient.createHttpContext(TASKS_URL, 30, false);
+		}
+		long cachedNanos = System.nanoTime() - started;
+		Assert.assertEquals(0, proxyLookups.get());
+
+		logger.info("per-request context overhead: resolved each time " + uncachedNanos / ITERATIONS + " ns, cached " + cachedNanos / ITERATIONS + " ns");
+	}
+}
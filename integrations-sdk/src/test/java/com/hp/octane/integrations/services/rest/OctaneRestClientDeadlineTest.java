@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.rest;
+
+import com.hp.octane.integrations.CIPluginServices;
+import com.hp.octane.integrations.OctaneConfiguration;
+import com.hp.octane.integrations.OctaneConfigurationIntern;
+import com.hp.octane.integrations.OctaneSDK;
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.connectivity.HttpMethod;
+import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
+import com.hp.octane.integrations.dto.general.CIPluginInfo;
+import com.hp.octane.integrations.dto.general.CIServerInfo;
+import org.apache.http.HttpStatus;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.util.UUID;
+
+public class OctaneRestClientDeadlineTest {
+	private static final int TRICKLED_BYTES = 50;
+	private static final long TRICKLE_INTERVAL = 200;
+
+	private Server server;
+	private String serverUrl;
+	private OctaneRestClientImpl restClient;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new Server(0);
+		server.setHandler(new TricklingHandler());
+		server.start();
+		serverUrl = "http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+
+		OctaneConfiguration configuration = new OctaneConfigurationIntern(UUID.randomUUID().toString(), serverUrl, "1001", "client", "secret");
+		Constructor<OctaneSDK.SDKServicesConfigurer> configurerConstructor = OctaneSDK.SDKServicesConfigurer.class.getDeclaredConstructor(OctaneConfiguration.class, CIPluginServices.class);
+		configurerConstructor.setAccessible(true);
+		restClient = new OctaneRestClientImpl(configurerConstructor.newInstance(configuration, new CIPluginServices() {
+			@Override
+			public CIServerInfo getServerInfo() {
+				return null;
+			}
+
+			@Override
+			public CIPluginInfo getPluginInfo() {
+				return null;
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		restClient.shutdown();
+		server.stop();
+	}
+
+	@Test
+	public void testStreamedBodyAbortedOnRequestTimeout() throws Exception {
+		//  body is trickled slower than the request timeout, though each byte comes well within the socket timeout
+		long started = System.currentTimeMillis();
+		try (OctaneStreamingResponse response = restClient.executeStreaming(createRequest("/trickle", 1))) {
+			Assert.assertEquals(HttpStatus.SC_OK, response.getStatus());
+			InputStream body = response.getBody();
+			try {
+				while (body.read() != -1) {
+				}
+				Assert.fail("body read to the end, though the request timeout is over");
+			} catch (IOException ioe) {
+				//  aborted by the deadline
+			}
+		}
+		long elapsed = System.currentTimeMillis() - started;
+		Assert.assertTrue("aborted after " + elapsed + "ms", elapsed < TRICKLED_BYTES * TRICKLE_INTERVAL / 2);
+		Assert.assertEquals(1L, restClient.getMetrics().get("deadlineAbortedCount"));
+	}
+
+	@Test
+	public void testBufferedBodyAbortedOnRequestTimeout() {
+		try {
+			restClient.execute(createRequest("/trickle", 1));
+			Assert.fail("body read to the end, though the request timeout is over");
+		} catch (IOException ioe) {
+			//  aborted by the deadline
+		}
+		Assert.assertEquals(1L, restClient.getMetrics().get("deadlineAbortedCount"));
+	}
+
+	@Test
+	public void testDeadlineDisarmedOnClose() throws Exception {
+		try (OctaneStreamingResponse response = restClient.executeStreaming(createRequest("/quick", 1))) {
+			Assert.assertEquals("done", response.getBodyAsString());
+		}
+		Thread.sleep(1500);
+		Assert.assertEquals(0L, restClient.getMetrics().get("deadlineAbortedCount"));
+	}
+
+	private OctaneRequest createRequest(String path, int timeoutSec) {
+		return DTOFactory.getInstance().newDTO(OctaneRequest.class)
+				.setMethod(HttpMethod.GET)
+				.setUrl(serverUrl + path)
+				.setTimeoutSec(timeoutSec);
+	}
+
+	private static final class TricklingHandler extends AbstractHandler {
+		@Override
+		public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+			baseRequest.setHandled(true);
+			response.setStatus(HttpStatus.SC_OK);
+			if (target.endsWith("/authentication/sign_in")) {
+				response.addCookie(new Cookie("LWSSO_COOKIE_KEY", "token"));
+				return;
+			}
+
+			OutputStream out = response.getOutputStream();
+			if (target.endsWith("/quick")) {
+				out.write("done".getBytes());
+				return;
+			}
+			for (int i = 0; i < TRICKLED_BYTES; i++) {
+				out.write('x');
+				out.flush();
+				try {
+					Thread.sleep(TRICKLE_INTERVAL);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.rest;
+
+import com.hp.octane.integrations.CIPluginServices;
+import com.hp.octane.integrations.OctaneConfiguration;
+import com.hp.octane.integrations.OctaneConfigurationIntern;
+import com.hp.octane.integrations.OctaneSDK;
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.connectivity.HttpMethod;
+import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
+import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
+import com.hp.octane.integrations.dto.general.CIPluginInfo;
+import com.hp.octane.integrations.dto.general.CIServerInfo;
+import org.apache.http.HttpStatus;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OctaneRestClientLoginTest {
+	private static final int CONCURRENT_REQUESTS = 8;
+	private static final String SECURITY_COOKIE_NAME = "LWSSO_COOKIE_KEY";
+
+	private final AtomicInteger signInsCount = new AtomicInteger();
+	private final CyclicBarrier rejectedRequests = new CyclicBarrier(CONCURRENT_REQUESTS);
+	private volatile String validToken;
+	private Server server;
+	private String serverUrl;
+	private OctaneRestClientImpl restClient;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new Server(0);
+		server.setHandler(new SecuredResourceHandler());
+		server.start();
+		serverUrl = "http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+
+		OctaneConfiguration configuration = new OctaneConfigurationIntern(UUID.randomUUID().toString(), serverUrl, "1001", "client", "secret");
+		Constructor<OctaneSDK.SDKServicesConfigurer> configurerConstructor = OctaneSDK.SDKServicesConfigurer.class.getDeclaredConstructor(OctaneConfiguration.class, CIPluginServices.class);
+		configurerConstructor.setAccessible(true);
+		restClient = new OctaneRestClientImpl(configurerConstructor.newInstance(configuration, new CIPluginServices() {
+			@Override
+			public CIServerInfo getServerInfo() {
+				return null;
+			}
+
+			@Override
+			public CIPluginInfo getPluginInfo() {
+				return null;
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		restClient.shutdown();
+		server.stop();
+	}
+
+	@Test
+	public void testConcurrentRejectionsLeadToSingleSignIn() throws Exception {
+		Assert.assertEquals(HttpStatus.SC_OK, restClient.execute(createRequest()).getStatus());
+		Assert.assertEquals(1, signInsCount.get());
+
+		//  token expires, all the concurrent requests are rejected at once
+		validToken = null;
+		ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+		try {
+			List<Future<OctaneResponse>> responses = new ArrayList<>();
+			for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+				responses.add(executor.submit(() -> restClient.execute(createRequest())));
+			}
+			for (Future<OctaneResponse> response : responses) {
+				Assert.assertEquals(HttpStatus.SC_OK, response.get(20, TimeUnit.SECONDS).getStatus());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Assert.assertEquals(2, signInsCount.get());
+		Assert.assertEquals(2L, restClient.getMetrics().get("loginsCount"));
+	}
+
+	@Test
+	public void testAsyncRejectionsShareTheSignIn() throws Exception {
+		Assert.assertEquals(HttpStatus.SC_OK, restClient.executeAsync(createRequest()).get(20, TimeUnit.SECONDS).getStatus());
+		Assert.assertEquals(1, signInsCount.get());
+
+		validToken = null;
+		List<Future<OctaneResponse>> responses = new ArrayList<>();
+		for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+			responses.add(restClient.executeAsync(createRequest()));
+		}
+		for (Future<OctaneResponse> response : responses) {
+			Assert.assertEquals(HttpStatus.SC_OK, response.get(20, TimeUnit.SECONDS).getStatus());
+		}
+		Assert.assertEquals(2, signInsCount.get());
+	}
+
+	private OctaneRequest createRequest() {
+		return DTOFactory.getInstance().newDTO(OctaneRequest.class)
+				.setMethod(HttpMethod.GET)
+				.setUrl(serverUrl + "/secured");
+	}
+
+	private final class SecuredResourceHandler extends AbstractHandler {
+		@Override
+		public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) {
+			baseRequest.setHandled(true);
+			if (target.endsWith("/authentication/sign_in")) {
+				validToken = "token-" + signInsCount.incrementAndGet();
+				response.addCookie(new Cookie(SECURITY_COOKIE_NAME, validToken));
+				response.setStatus(HttpStatus.SC_OK);
+				return;
+			}
+
+			String token = null;
+			if (request.getCookies() != null) {
+				for (Cookie cookie : request.getCookies()) {
+					if (SECURITY_COOKIE_NAME.equals(cookie.getName())) {
+						token = cookie.getValue();
+					}
+				}
+			}
+			if (token != null && token.equals(validToken)) {
+				response.setStatus(HttpStatus.SC_OK);
+			} else {
+				//  rejections are held until all the concurrent requests are rejected
+				try {
+					rejectedRequests.await(5, TimeUnit.SECONDS);
+				} catch (Exception e) {
+					//  not all the requests arrived, reject anyway
+				}
+				response.setStatus(HttpStatus.SC_UNAUTHORIZED);
+			}
+		}
+	}
+}
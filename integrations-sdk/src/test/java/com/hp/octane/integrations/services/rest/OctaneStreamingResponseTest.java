@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.rest;
+
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
+import com.hp.octane.integrations.dto.entities.ResponseEntityList;
+import com.hp.octane.integrations.utils.CIPluginSDKUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OctaneStreamingResponseTest {
+	private static final Logger logger = LogManager.getLogger(OctaneStreamingResponseTest.class);
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+
+	@Test
+	public void testConnectionReleasedOnEndOfBody() throws IOException {
+		AtomicInteger connectionCloses = new AtomicInteger();
+		TrackingInputStream content = new TrackingInputStream("{\"total_count\":1}".getBytes(StandardCharsets.UTF_8));
+		OctaneStreamingResponse response = new OctaneStreamingResponse(200, null, null, content, connectionCloses::incrementAndGet, 1024);
+
+		Assert.assertEquals("{\"total_count\":1}", CIPluginSDKUtils.inputStreamToUTF8String(response.getBody()));
+		Assert.assertTrue(content.closed);
+		Assert.assertEquals(1, connectionCloses.get());
+
+		//  closing the response after the body was read to the end is a no-op
+		response.close();
+		Assert.assertEquals(1, connectionCloses.get());
+		Assert.assertEquals(-1, response.getBody().read());
+	}
+
+	@Test
+	public void testConnectionDroppedOnEarlyClose() throws IOException {
+		TrackingInputStream content = new TrackingInputStream(new byte[100]);
+		Closeable connection = () -> Assert.assertFalse("connection should be closed before the partially read body", content.closed);
+		OctaneStreamingResponse response = new OctaneStreamingResponse(200, null, null, content, connection, 1024);
+
+		Assert.assertEquals(10, response.getBody().read(new byte[10]));
+		response.close();
+		Assert.assertTrue(content.closed);
+	}
+
+	@Test
+	public void testBodyIsBounded() throws IOException {
+		AtomicInteger connectionCloses = new AtomicInteger();
+		OctaneStreamingResponse response = new OctaneStreamingResponse(200, null, null, new ByteArrayInputStream(new byte[100]), connectionCloses::incrementAndGet, 50);
+		try {
+			CIPluginSDKUtils.inputStreamToUTF8String(response.getBody());
+			Assert.fail("body exceeding the limit should fail");
+		} catch (IOException ioe) {
+			Assert.assertTrue(ioe.getMessage().contains("50 bytes"));
+		}
+		Assert.assertEquals(1, connectionCloses.get());
+	}
+
+	@Test
+	public void testBufferedConversions() throws IOException {
+		OctaneResponse buffered = dtoFactory.newDTO(OctaneResponse.class)
+				.setStatus(201)
+				.setBody("some body")
+				.setHeaders(Collections.singletonMap("header", "value"))
+				.setCorrelationId("correlation");
+
+		OctaneStreamingResponse response = OctaneStreamingResponse.fromBuffered(buffered);
+		Assert.assertEquals(201, response.getStatus());
+		Assert.assertEquals("value", response.getHeaders().get("header"));
+		Assert.assertEquals("correlation", response.getCorrelationId());
+
+		OctaneResponse result = response.toBufferedResponse();
+		Assert.assertEquals(201, result.getStatus());
+		Assert.assertEquals("some body", result.getBody());
+		Assert.assertEquals("value", result.getHeaders().get("header"));
+		Assert.assertEquals("correlation", result.getCorrelationId());
+
+		//  response without body is exposed as an empty stream
+		response = new OctaneStreamingResponse(204, null, null, null, null, 1024);
+		Assert.assertEquals(-1, response.getBody().read());
+		Assert.assertEquals("", response.toBufferedResponse().getBody());
+	}
+
+	/**
+	 * Allocation benchmark: 50MB entities listing parsed from the buffered body vs. parsed directly from the stream
+	 */
+	@Test
+	public void testStreamingAllocationBenchmark() throws IOException {
+		java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean allocationsBean = (com.sun.management.ThreadMXBean) threadMXBean;
+		Assume.assumeTrue(allocationsBean.isThreadAllocatedMemorySupported() && allocationsBean.isThreadAllocatedMemoryEnabled());
+		long threadId = Thread.currentThread().getId();
+		long listingSize = 50L * 1024 * 1024;
+
+		long before = allocationsBean.getThreadAllocatedBytes(threadId);
+		OctaneResponse bufferedResponse = new OctaneStreamingResponse(200, null, null, new EntitiesListingStream(listingSize), null, Long.MAX_VALUE).toBufferedResponse();
+		ResponseEntityList buffered = dtoFactory.dtoFromJson(bufferedResponse.getBody(), ResponseEntityList.class);
+		long bufferedAllocations = allocationsBean.getThreadAllocatedBytes(threadId) - before;
+		int bufferedCount = buffered.getData().size();
+		bufferedResponse = null;
+		buffered = null;
+
+		before = allocationsBean.getThreadAllocatedBytes(threadId);
+		ResponseEntityList streamed;
+		try (OctaneStreamingResponse response = new OctaneStreamingResponse(200, null, null, new EntitiesListingStream(listingSize), null, Long.MAX_VALUE)) {
+			streamed = dtoFactory.dtoFromJson(response.getBody(), ResponseEntityList.class);
+		}
+		long streamedAllocations = allocationsBean.getThreadAllocatedBytes(threadId) - before;
+
+		logger.info("50MB entities listing (" + bufferedCount + " entities): buffered parse allocated " + bufferedAllocations / (1024 * 1024) +
+				"MB, streamed parse allocated " + streamedAllocations / (1024 * 1024) + "MB");
+		Assert.assertEquals(bufferedCount, streamed.getData().size());
+		Assert.assertEquals(bufferedCount, streamed.getTotalCount());
+		//  buffered flow allocates at least the body bytes, the body String and its chars on top of the entities themselves
+		Assert.assertTrue(bufferedAllocations - streamedAllocations > 2 * listingSize);
+	}
+
+	private static final class TrackingInputStream extends ByteArrayInputStream {
+		private boolean closed = false;
+
+		private TrackingInputStream(byte[] content) {
+			super(content);
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+
+	/**
+	 * Generates entities listing of (roughly) the requested size on the fly, without holding it in memory
+	 */
+	private static final class EntitiesListingStream extends InputStream {
+		private static final String DESCRIPTION = String.join("", Collections.nCopies(900, "x"));
+		private final int entitiesCount;
+		private int nextEntity = 0;
+		private byte[] chunk;
+		private int position = 0;
+
+		private EntitiesListingStream(long size) {
+			this.entitiesCount = (int) (size / entityJson(0).length);
+			this.chunk = ("{\"total_count\":" + entitiesCount + ",\"exceeds_total_count\":false,\"data\":[").getBytes(StandardCharsets.UTF_8);
+		}
+
+		private static byte[] entityJson(int index) {
+			return ((index > 0 ? "," : "") + "{\"type\":\"test\",\"id\":\"" + (1000000 + index) + "\",\"name\":\"test name " + (1000000 + index) +
+					"\",\"description\":\"" + DESCRIPTION + "\"}").getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public int read() {
+			byte[] single = new byte[1];
+			return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (position == chunk.length) {
+				if (nextEntity < entitiesCount) {
+					chunk = entityJson(nextEntity++);
+				} else if (nextEntity == entitiesCount) {
+					chunk = "]}".getBytes(StandardCharsets.UTF_8);
+					nextEntity++;
+				} else {
+					return -1;
+				}
+				position = 0;
+			}
+			int result = Math.min(len, chunk.length - position);
+			System.arraycopy(chunk, position, b, off, result);
+			position += result;
+			return result;
+		}
+	}
+}
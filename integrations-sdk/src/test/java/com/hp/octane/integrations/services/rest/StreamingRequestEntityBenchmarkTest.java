@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.rest;
+
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.tests.BuildContext;
+import com.hp.octane.integrations.dto.tests.TestRun;
+import com.hp.octane.integrations.dto.tests.TestRunResult;
+import com.hp.octane.integrations.dto.tests.TestsResult;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Peak heap of the request entity of the big tests result: serialized into memory before gzipping vs serialized straight into the gzip stream
+ */
+public class StreamingRequestEntityBenchmarkTest {
+	private static final Logger logger = LogManager.getLogger(StreamingRequestEntityBenchmarkTest.class);
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+	private static final int TESTS_COUNT = 100000;
+
+	@Test
+	public void testStreamedEntityContent() throws IOException {
+		TestsResult testsResult = testsResult(100);
+		HttpEntity entity = new GzipCompressingEntity(OctaneRestClientImpl.createRequestEntity(dtoFactory.dtoToXmlStream(testsResult)));
+		Assert.assertTrue(entity.isRepeatable());
+		Assert.assertEquals(dtoFactory.dtoToXml(testsResult), gunzip(entity));
+
+		//  repeatable, so the request may be sent again (eg after re-login)
+		Assert.assertEquals(dtoFactory.dtoToXml(testsResult), gunzip(entity));
+
+		//  stream that was already read from is sent as a regular stream
+		InputStream body = dtoFactory.dtoToJsonStream(testsResult);
+		Assert.assertEquals('{', body.read());
+		entity = new GzipCompressingEntity(OctaneRestClientImpl.createRequestEntity(body));
+		Assert.assertEquals(dtoFactory.dtoToJson(testsResult).substring(1), gunzip(entity));
+	}
+
+	@Test
+	public void testPeakHeapBenchmark() throws IOException {
+		TestsResult testsResult = testsResult(TESTS_COUNT);
+
+		//  warm up both paths
+		writeBuffered(testsResult);
+		writeStreamed(testsResult);
+
+		resetPeakHeap();
+		long baseline = peakHeap();
+		long bufferedSize = writeBuffered(testsResult);
+		long bufferedPeak = peakHeap() - baseline;
+
+		resetPeakHeap();
+		baseline = peakHeap();
+		long streamedSize = writeStreamed(testsResult);
+		long streamedPeak = peakHeap() - baseline;
+
+		Assert.assertTrue(bufferedSize > 0 && streamedSize > 0);
+		logger.info("tests result of " + TESTS_COUNT + " tests, gzipped " + streamedSize / 1024 + " KB: peak heap above the DTO when serialized into memory " +
+				bufferedPeak / 1024 / 1024 + " MB, when streamed " + streamedPeak / 1024 / 1024 + " MB");
+	}
+
+	//  the way the tests result was sent before: serialized to String, copied to bytes, then gzipped by the entity
+	private static long writeBuffered(TestsResult testsResult) throws IOException {
+		String xml = dtoFactory.dtoToXml(testsResult);
+		InputStream body = new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+		CountingOutputStream output = new CountingOutputStream();
+		new GzipCompressingEntity(new InputStreamEntity(body, ContentType.APPLICATION_JSON)).writeTo(output);
+		return output.count;
+	}
+
+	private static long writeStreamed(TestsResult testsResult) throws IOException {
+		CountingOutputStream output = new CountingOutputStream();
+		new GzipCompressingEntity(OctaneRestClientImpl.createRequestEntity(dtoFactory.dtoToXmlStream(testsResult))).writeTo(output);
+		return output.count;
+	}
+
+	private static void resetPeakHeap() {
+		System.gc();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	private static long peakHeap() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	private static String gunzip(HttpEntity entity) throws IOException {
+		ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+		entity.writeTo(gzipped);
+		try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(gzipped.toByteArray()))) {
+			ByteArrayOutputStream content = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				content.write(buffer, 0, read);
+			}
+			return new String(content.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static TestsResult testsResult(int testsCount) {
+		List<TestRun> testRuns = new ArrayList<>(testsCount);
+		for (int i = 0; i < testsCount; i++) {
+			testRuns.add(dtoFactory.newDTO(TestRun.class)
+					.setModuleName("module-" + i % 10)
+					.setPackageName("com.example.package" + i % 100)
+					.setClassName("SomeTestClass" + i % 1000)
+					.setTestName("testNumber" + i)
+					.setResult(TestRunResult.PASSED)
+					.setDuration(i % 5000)
+					.setStarted(1700000000000L + i));
+		}
+		return dtoFactory.newDTO(TestsResult.class)
+				.setBuildContext(dtoFactory.newDTO(BuildContext.class)
+						.setServerId("server")
+						.setJobId("job")
+						.setBuildId("1"))
+				.setTestRuns(testRuns);
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
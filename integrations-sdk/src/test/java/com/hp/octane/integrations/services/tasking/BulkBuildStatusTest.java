@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.tasking;
+
+import com.hp.octane.integrations.CIPluginServices;
+import com.hp.octane.integrations.OctaneConfiguration;
+import com.hp.octane.integrations.OctaneConfigurationIntern;
+import com.hp.octane.integrations.OctaneSDK;
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.connectivity.HttpMethod;
+import com.hp.octane.integrations.dto.connectivity.OctaneResultAbridged;
+import com.hp.octane.integrations.dto.connectivity.OctaneTaskAbridged;
+import com.hp.octane.integrations.dto.general.CIBuildStatusInfo;
+import com.hp.octane.integrations.dto.general.CIPluginInfo;
+import com.hp.octane.integrations.dto.general.CIServerInfo;
+import com.hp.octane.integrations.dto.snapshots.CIBuildStatus;
+import com.hp.octane.integrations.exceptions.SPIMethodNotImplementedException;
+import com.hp.octane.integrations.services.configuration.ConfigurationService;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+public class BulkBuildStatusTest {
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+
+	private volatile long resolutionTime = 0;
+	private volatile boolean implemented = true;
+	private TasksProcessor tasksProcessor;
+
+	@Before
+	public void setUp() throws Exception {
+		System.setProperty("octane.sdk.tasks.build-status.parallelism", "4");
+		System.setProperty("octane.sdk.tasks.build-status.deadline", "500");
+
+		OctaneConfiguration configuration = new OctaneConfigurationIntern(UUID.randomUUID().toString(), "http://localhost:8080", "1001");
+		Constructor<OctaneSDK.SDKServicesConfigurer> configurerConstructor = OctaneSDK.SDKServicesConfigurer.class.getDeclaredConstructor(OctaneConfiguration.class, CIPluginServices.class);
+		configurerConstructor.setAccessible(true);
+		OctaneSDK.SDKServicesConfigurer configurer = configurerConstructor.newInstance(configuration, new CIPluginServices() {
+			@Override
+			public CIServerInfo getServerInfo() {
+				return null;
+			}
+
+			@Override
+			public CIPluginInfo getPluginInfo() {
+				return null;
+			}
+
+			@Override
+			public CIBuildStatusInfo getJobBuildStatus(String jobCiId, String parameterName, String parameterValue) {
+				if (!implemented) {
+					throw new SPIMethodNotImplementedException("getJobBuildStatus API is not implemented");
+				}
+				try {
+					Thread.sleep(jobCiId.startsWith("stuck") ? 10000 : resolutionTime);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("interrupted");
+				}
+				if (jobCiId.startsWith("failing")) {
+					throw new IllegalStateException("job not found");
+				}
+				return dtoFactory.newDTO(CIBuildStatusInfo.class)
+						.setJobCiId(jobCiId)
+						.setParamName(parameterName)
+						.setParamValue(parameterValue)
+						.setBuildCiId("1")
+						.setBuildStatus(CIBuildStatus.FINISHED);
+			}
+		});
+		tasksProcessor = TasksProcessor.newInstance(configurer, EasyMock.createMock(ConfigurationService.class));
+	}
+
+	@After
+	public void tearDown() {
+		tasksProcessor.shutdown();
+		System.clearProperty("octane.sdk.tasks.build-status.parallelism");
+		System.clearProperty("octane.sdk.tasks.build-status.deadline");
+	}
+
+	@Test
+	public void testStatusesAreResolvedInParallel() {
+		resolutionTime = 100;
+		long startTime = System.currentTimeMillis();
+		CIBuildStatusInfo[] statuses = execute("job0", "job1", "job2", "job3", "job4", "job5", "job6", "job7");
+
+		//  8 statuses of 100 ms each take 2 rounds of 4 parallel resolutions
+		Assert.assertTrue(System.currentTimeMillis() - startTime < 500);
+		IntStream.range(0, 8).forEach(i -> {
+			Assert.assertEquals("job" + i, statuses[i].getJobCiId());
+			Assert.assertEquals(CIBuildStatus.FINISHED, statuses[i].getBuildStatus());
+			Assert.assertNull(statuses[i].getExceptionCode());
+		});
+		Map<String, Object> metrics = tasksProcessor.getMetrics();
+		Assert.assertEquals(8L, metrics.get("buildStatus_resolvedCount"));
+		Assert.assertTrue((Long) metrics.get("buildStatus_avgResolutionTime") >= 100);
+		Assert.assertEquals(8, metrics.get("buildStatus_lastBulkSize"));
+	}
+
+	@Test
+	public void testPartialResultsOnDeadline() {
+		long startTime = System.currentTimeMillis();
+		CIBuildStatusInfo[] statuses = execute("job0", "stuck1", "failing2", "job3");
+
+		Assert.assertTrue(System.currentTimeMillis() - startTime < 2000);
+		Assert.assertEquals(4, statuses.length);
+		Assert.assertEquals(CIBuildStatus.FINISHED, statuses[0].getBuildStatus());
+		Assert.assertEquals("stuck1", statuses[1].getJobCiId());
+		Assert.assertEquals(Integer.valueOf(504), statuses[1].getExceptionCode());
+		Assert.assertEquals("failing2", statuses[2].getJobCiId());
+		Assert.assertEquals(Integer.valueOf(500), statuses[2].getExceptionCode());
+		Assert.assertEquals("job not found", statuses[2].getExceptionMessage());
+		Assert.assertEquals(CIBuildStatus.FINISHED, statuses[3].getBuildStatus());
+		Assert.assertEquals(1L, tasksProcessor.getMetrics().get("buildStatus_unresolvedCount"));
+	}
+
+	@Test
+	public void testTaskDeadlineCapsResolution() {
+		//  task that has already waited in queue has less than the whole build status deadline left
+		long startTime = System.currentTimeMillis();
+		OctaneResultAbridged result = tasksProcessor.execute(task("job0", "stuck1"), startTime + 150);
+		Assert.assertTrue(System.currentTimeMillis() - startTime < 450);
+		Assert.assertEquals(200, result.getStatus());
+
+		CIBuildStatusInfo[] statuses = dtoFactory.dtoCollectionFromJson(result.getBody(), CIBuildStatusInfo[].class);
+		Assert.assertEquals(CIBuildStatus.FINISHED, statuses[0].getBuildStatus());
+		Assert.assertEquals(Integer.valueOf(504), statuses[1].getExceptionCode());
+	}
+
+	@Test
+	public void testNotImplemented() {
+		implemented = false;
+		OctaneResultAbridged result = tasksProcessor.execute(task("job0", "job1"));
+		Assert.assertEquals(501, result.getStatus());
+	}
+
+	private CIBuildStatusInfo[] execute(String... jobCiIds) {
+		OctaneResultAbridged result = tasksProcessor.execute(task(jobCiIds));
+		Assert.assertEquals(200, result.getStatus());
+		return dtoFactory.dtoCollectionFromJson(result.getBody(), CIBuildStatusInfo[].class);
+	}
+
+	private static OctaneTaskAbridged task(String... jobCiIds) {
+		CIBuildStatusInfo[] statuses = new CIBuildStatusInfo[jobCiIds.length];
+		for (int i = 0; i < jobCiIds.length; i++) {
+			statuses[i] = dtoFactory.newDTO(CIBuildStatusInfo.class)
+					.setJobCiId(jobCiIds[i])
+					.setParamName("octane_run_id")
+					.setParamValue(String.valueOf(i));
+		}
+		return dtoFactory.newDTO(OctaneTaskAbridged.class)
+				.setId(UUID.randomUUID().toString())
+				.setMethod(HttpMethod.POST)
+				.setUrl("http://localhost:8080/nga/api/v1/build_status")
+				.setBody(dtoFactory.dtoCollectionToJson(Arrays.asList(statuses)));
+	}
+}
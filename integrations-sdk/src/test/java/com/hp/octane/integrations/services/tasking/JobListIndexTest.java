@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.tasking;
+
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.general.CIJobsList;
+import com.hp.octane.integrations.dto.parameters.CIParameter;
+import com.hp.octane.integrations.dto.parameters.CIParameterType;
+import com.hp.octane.integrations.dto.pipelines.PipelineNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class JobListIndexTest {
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+
+	@Test
+	public void testViewIsSameAsSerializedList() {
+		CIJobsList jobsList = jobsList("job-a", "job-b", "folder/job-c");
+		jobsList.getJobs()[0].setParameters(Arrays.asList(dtoFactory.newDTO(CIParameter.class)
+				.setType(CIParameterType.STRING)
+				.setName("param")
+				.setDefaultValue("value")));
+		JobListIndex index = new JobListIndex();
+		Assert.assertNull(index.getView());
+
+		index.beginRebuild();
+		index.completeRebuild(jobsList);
+		JobListIndex.View view = index.getView();
+		Assert.assertEquals(dtoFactory.dtoToJson(jobsList), view.json);
+		Assert.assertEquals(3, view.jobsCount);
+		Assert.assertSame(view, index.getView());
+
+		index.completeRebuild(jobsList("empty").setJobs(new PipelineNode[0]));
+		Assert.assertEquals(dtoFactory.dtoToJson(dtoFactory.newDTO(CIJobsList.class).setJobs(new PipelineNode[0])), index.getView().json);
+	}
+
+	@Test
+	public void testIncrementalChanges() {
+		JobListIndex index = new JobListIndex();
+
+		//  changes before the index is populated are not kept
+		index.upsert(job("job-z"));
+		index.completeRebuild(jobsList("job-a", "job-b"));
+		Assert.assertFalse(index.isEventMaintained());
+		JobListIndex.View initial = index.getView();
+
+		index.upsert(job("job-c"));
+		index.rename("job-a", job("job-a-renamed"));
+		index.remove("job-b");
+		index.upsert(job("job-c").setName("job-c-updated"));
+		Assert.assertTrue(index.isEventMaintained());
+
+		JobListIndex.View view = index.getView();
+		Assert.assertTrue(view.version > initial.version);
+		Assert.assertEquals(new HashSet<>(Arrays.asList("job-c", "job-a-renamed")), jobCiIds(view));
+		CIJobsList parsed = dtoFactory.dtoFromJson(view.json, CIJobsList.class);
+		Assert.assertEquals("job-c-updated", Arrays.stream(parsed.getJobs()).filter(j -> "job-c".equals(j.getJobCiId())).findFirst().get().getName());
+	}
+
+	@Test
+	public void testChangesDuringRebuildAreReplayed() {
+		JobListIndex index = new JobListIndex();
+		index.completeRebuild(jobsList("job-a", "job-b"));
+
+		//  scan result does not know yet about the changes notified while it was running
+		index.beginRebuild();
+		index.upsert(job("job-c"));
+		index.remove("job-a");
+		index.completeRebuild(jobsList("job-a", "job-b"));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("job-b", "job-c")), jobCiIds(index.getView()));
+
+		//  journal is not kept after the rebuild
+		index.beginRebuild();
+		index.abortRebuild();
+		index.upsert(job("job-d"));
+		index.completeRebuild(jobsList("job-a"));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("job-a")), jobCiIds(index.getView()));
+	}
+
+	@Test
+	public void testWorkspaceViews() {
+		JobListIndex index = new JobListIndex();
+		index.completeRebuild(jobsList("ws1-job", "ws2-job", "shared-job"));
+
+		JobListIndex.View ws1 = index.getView(1001L, jobCiId -> jobCiId.startsWith("ws1") || jobCiId.startsWith("shared"));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("ws1-job", "shared-job")), jobCiIds(ws1));
+		Assert.assertSame(ws1, index.getView(1001L, jobCiId -> {
+			throw new IllegalStateException("view of unchanged index should be reused");
+		}));
+
+		index.remove("shared-job");
+		Assert.assertEquals(new HashSet<>(Arrays.asList("ws1-job")), jobCiIds(index.getView(1001L, jobCiId -> jobCiId.startsWith("ws1"))));
+
+		//  plugin not scoping jobs per workspace gets the whole list
+		Assert.assertEquals(2, index.getView(1002L, jobCiId -> null).jobsCount);
+		Assert.assertSame(index.getView(), index.getView(1001L, jobCiId -> false));
+	}
+
+	@Test
+	public void testWorkspaceViewBuiltOutsideOfLock() throws InterruptedException {
+		JobListIndex index = new JobListIndex();
+		index.completeRebuild(jobsList("job-a", "job-b"));
+
+		//  job is created while the plugin is asked for visibility; that must neither wait for the view nor be hidden by it
+		Thread change = new Thread(() -> index.upsert(job("job-c")));
+		JobListIndex.View stale = index.getView(1001L, jobCiId -> {
+			if (change.getState() == Thread.State.NEW) {
+				change.start();
+				try {
+					change.join(5000);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return true;
+		});
+		Assert.assertFalse("change should not be blocked by the view being built", change.isAlive());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("job-a", "job-b")), jobCiIds(stale));
+
+		JobListIndex.View current = index.getView(1001L, jobCiId -> true);
+		Assert.assertNotSame(stale, current);
+		Assert.assertEquals(new HashSet<>(Arrays.asList("job-a", "job-b", "job-c")), jobCiIds(current));
+	}
+
+	@Test
+	public void testClear() {
+		JobListIndex index = new JobListIndex();
+		index.completeRebuild(jobsList("job-a"));
+		index.clear();
+		Assert.assertFalse(index.isPopulated());
+		Assert.assertNull(index.getView());
+		Assert.assertNull(index.getView(1001L, jobCiId -> true));
+	}
+
+	private static PipelineNode job(String jobCiId) {
+		return dtoFactory.newDTO(PipelineNode.class)
+				.setJobCiId(jobCiId)
+				.setName(jobCiId);
+	}
+
+	private static CIJobsList jobsList(String... jobCiIds) {
+		return dtoFactory.newDTO(CIJobsList.class)
+				.setJobs(Arrays.stream(jobCiIds).map(JobListIndexTest::job).toArray(PipelineNode[]::new));
+	}
+
+	private static Set<String> jobCiIds(JobListIndex.View view) {
+		return Arrays.stream(dtoFactory.dtoFromJson(view.json, CIJobsList.class).getJobs())
+				.map(PipelineNode::getJobCiId)
+				.collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.tasking;
+
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.connectivity.HttpMethod;
+import com.hp.octane.integrations.dto.connectivity.OctaneResultAbridged;
+import com.hp.octane.integrations.dto.connectivity.OctaneTaskAbridged;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public class TaskRouterTest {
+	private static final Logger logger = LogManager.getLogger(TaskRouterTest.class);
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+	private static final int ITERATIONS = 200000;
+	private static final String[] BENCHMARK_URLS = {
+			"http://localhost:8080/nga/api/v1/status",
+			"http://localhost:8080/nga/api/v1/jobs?parameters=false&workspaceId=1002",
+			"http://localhost:8080/nga/api/v1/jobs/folder/sub-folder/job-a/run",
+			"http://localhost:8080/nga/api/v1/executor/credentials"
+	};
+
+	private final TaskRouter router = new TaskRouter()
+			.route("status", null, "status", TaskRouterTest::handle)
+			.route("jobs_list", null, "jobs", TaskRouterTest::handle)
+			.route("jobs_pipeline", null, "jobs/{jobCiId+}", TaskRouterTest::handle)
+			.route("jobs_run", null, "jobs/{jobCiId+}/run", TaskRouterTest::handle)
+			.route("jobs_stop", null, "jobs/{jobCiId+}/stop", TaskRouterTest::handle)
+			.route("jobs_builds", null, "jobs/{jobCiId+}/builds", TaskRouterTest::handle)
+			.route("jobs_build", null, "jobs/{jobCiId+}/builds/{buildCiId}", TaskRouterTest::handle)
+			.route("executor_init", HttpMethod.POST, "executor/init", TaskRouterTest::handle)
+			.route("executor_credentials", HttpMethod.GET, "executor/credentials", TaskRouterTest::handle)
+			.route("executor_delete", HttpMethod.DELETE, "executor/{id}", TaskRouterTest::handle);
+
+	@Test
+	public void testRoutes() {
+		Assert.assertEquals("status", routeOf(HttpMethod.GET, "status"));
+		Assert.assertEquals("jobs_list", routeOf(HttpMethod.GET, "jobs"));
+		Assert.assertEquals("jobs_list", routeOf(HttpMethod.GET, "/jobs/?parameters=false"));
+		Assert.assertEquals("jobs_pipeline", routeOf(HttpMethod.GET, "jobs/job-a"));
+		Assert.assertEquals("jobs_run", routeOf(HttpMethod.POST, "jobs/job-a/run"));
+		Assert.assertEquals("jobs_stop", routeOf(HttpMethod.POST, "jobs/job-a/stop"));
+		Assert.assertEquals("executor_init", routeOf(HttpMethod.POST, "EXECUTOR/Init"));
+		Assert.assertNull(routeOf(HttpMethod.GET, "executor/init"));
+		Assert.assertNull(routeOf(HttpMethod.GET, "some/non/existing/url"));
+		Assert.assertNull(routeOf(HttpMethod.GET, ""));
+	}
+
+	@Test
+	public void testPathParameters() {
+		TaskRouter.Match match = router.match(HttpMethod.POST, "jobs/folder/sub-folder/job-a/run");
+		Assert.assertEquals("jobs_run", match.getRouteName());
+		Assert.assertEquals("folder/sub-folder/job-a", match.getPathParam("jobCiId"));
+
+		//  literal wins over the parameter, but the parameter is tried when the literal route does not accept the method
+		Assert.assertEquals("executor_credentials", router.match(HttpMethod.GET, "executor/credentials").getRouteName());
+		match = router.match(HttpMethod.DELETE, "executor/credentials");
+		Assert.assertEquals("executor_delete", match.getRouteName());
+		Assert.assertEquals("credentials", match.getPathParam("id"));
+
+		//  'run' not at the end is the part of the job CI ID
+		match = router.match(HttpMethod.GET, "jobs/run/job-a");
+		Assert.assertEquals("jobs_pipeline", match.getRouteName());
+		Assert.assertEquals("run/job-a", match.getPathParam("jobCiId"));
+	}
+
+	@Test
+	public void testBuildsAreNotTakenForJobCiId() {
+		TaskRouter.Match match = router.match(HttpMethod.GET, "jobs/folder/job-a/builds");
+		Assert.assertEquals("jobs_builds", match.getRouteName());
+		Assert.assertEquals("folder/job-a", match.getPathParam("jobCiId"));
+
+		match = router.match(HttpMethod.GET, "jobs/folder/job-a/builds/17");
+		Assert.assertEquals("jobs_build", match.getRouteName());
+		Assert.assertEquals("folder/job-a", match.getPathParam("jobCiId"));
+		Assert.assertEquals("17", match.getPathParam("buildCiId"));
+
+		//  'builds' not at the end (nor one before the end) is the part of the job CI ID
+		match = router.match(HttpMethod.GET, "jobs/builds/job-a/sub-job");
+		Assert.assertEquals("jobs_pipeline", match.getRouteName());
+		Assert.assertEquals("builds/job-a/sub-job", match.getPathParam("jobCiId"));
+	}
+
+	@Test
+	public void testQueryParameters() {
+		TaskRouter.Match match = router.match(HttpMethod.GET, "jobs?parameters=false&workspaceId=1002&broken");
+		Assert.assertFalse(match.getBooleanQueryParam("parameters", true));
+		Assert.assertEquals(Long.valueOf(1002), match.getLongQueryParam("workspaceId"));
+		Assert.assertNull(match.getQueryParam("broken"));
+
+		match = router.match(HttpMethod.GET, "jobs");
+		Assert.assertTrue(match.getBooleanQueryParam("parameters", true));
+		Assert.assertNull(match.getLongQueryParam("workspaceId"));
+		Assert.assertEquals(Integer.valueOf(5), match.getQueryParam("limit", Integer::valueOf, 5));
+	}
+
+	@Test
+	public void testDispatchAndMetrics() {
+		OctaneResultAbridged result = dtoFactory.newDTO(OctaneResultAbridged.class);
+		Assert.assertTrue(router.dispatch(task(HttpMethod.GET), "jobs/job-a", result));
+		Assert.assertEquals("jobs_pipeline", result.getBody());
+		Assert.assertTrue(router.dispatch(task(HttpMethod.GET), "jobs/job-b", result));
+		Assert.assertFalse(router.dispatch(task(HttpMethod.GET), "unknown", result));
+
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		router.addMetrics(metrics);
+		Assert.assertEquals(2L, metrics.get("route_jobs_pipeline_count"));
+		Assert.assertNotNull(metrics.get("route_jobs_pipeline_avgTime"));
+		Assert.assertNull(metrics.get("route_status_count"));
+		Assert.assertEquals(1L, metrics.get("route_notFound_count"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicateRoute() {
+		router.route("status_again", null, "STATUS", TaskRouterTest::handle);
+	}
+
+	@Test
+	public void testRoutingOverheadBenchmark() {
+		HttpMethod method = HttpMethod.GET;
+		int matched = 0;
+
+		//  warm up both paths
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			String url = BENCHMARK_URLS[i % BENCHMARK_URLS.length];
+			legacyTokenizer(url);
+			router.match(method, url.substring(url.lastIndexOf("nga/api/v1") + "nga/api/v1".length()));
+		}
+
+		long started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			matched += legacyTokenizer(BENCHMARK_URLS[i % BENCHMARK_URLS.length]).length;
+		}
+		long legacyNanos = System.nanoTime() - started;
+
+		started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			String url = BENCHMARK_URLS[i % BENCHMARK_URLS.length];
+			if (router.match(method, url.substring(url.lastIndexOf("nga/api/v1") + "nga/api/v1".length())) != null) {
+				matched++;
+			}
+		}
+		long routerNanos = System.nanoTime() - started;
+
+		Assert.assertTrue(matched > ITERATIONS);
+		logger.info("per-task routing overhead: regex tokenizer " + legacyNanos / ITERATIONS + " ns (without the dispatching chain), route table " + routerNanos / ITERATIONS + " ns");
+	}
+
+	private static void handle(OctaneTaskAbridged task, TaskRouter.Match match, OctaneResultAbridged result) {
+		result.setBody(match.getRouteName());
+	}
+
+	private String routeOf(HttpMethod method, String path) {
+		TaskRouter.Match match = router.match(method, path);
+		return match == null ? null : match.getRouteName();
+	}
+
+	private static OctaneTaskAbridged task(HttpMethod method) {
+		return dtoFactory.newDTO(OctaneTaskAbridged.class).setMethod(method);
+	}
+
+	//  path tokenization as it was done per task before the route table
+	private static String[] legacyTokenizer(String url) {
+		Map<Integer, String> params = new HashMap<>();
+		String[] path = Pattern.compile("^.*nga/api/v1/?").matcher(url).replaceFirst("").split("/");
+		params.put(0, path[0]);
+		for (int i = 1; i < path.length; i++) {
+			if ((path[i].equals("builds") || path[i].equals("run") || path[i].equals("stop")) && i == path.length - 1) {
+				params.put(2, path[i]);
+			} else if (path[i].equals("builds") && i == path.length - 2) {
+				params.put(2, path[i]);
+				params.put(3, path[i + 1]);
+				break;
+			} else {
+				if (params.get(1) == null) {
+					params.put(1, path[i]);
+				} else {
+					params.put(1, params.get(1) + "/" + path[i]);
+				}
+			}
+		}
+		List<String> listAsArray = new ArrayList<>();
+		for (int i = 0; i < params.size(); i++) {
+			listAsArray.add(i, params.get(i));
+		}
+		return listAsArray.toArray(new String[0]);
+	}
+}
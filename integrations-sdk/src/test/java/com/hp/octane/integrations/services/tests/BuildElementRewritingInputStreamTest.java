@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.tests;
+
+import com.hp.octane.integrations.utils.CIPluginSDKUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class BuildElementRewritingInputStreamTest {
+
+	@Test
+	public void testBuildElementRewritten() throws IOException {
+		String source = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+				"<test_result><build server_id=\"to-be-set\" job_id=\"old\" build_id=\"0\"/>" +
+				"<test_runs><test_run name=\"t&amp;1\" duration=\"3\" status=\"Passed\"/></test_runs></test_result>";
+		String result = rewrite(source);
+
+		Assert.assertTrue(result, result.contains("<build server_id=\"instance\" job_id=\"job &amp; co\" build_id=\"7\"/>") ||
+				result.contains("<build server_id=\"instance\" job_id=\"job &amp; co\" build_id=\"7\"></build>"));
+		Assert.assertFalse(result, result.contains("to-be-set"));
+		Assert.assertTrue(result, result.contains("name=\"t&amp;1\""));
+		Assert.assertTrue(result, result.endsWith("</test_runs></test_result>"));
+	}
+
+	@Test
+	public void testLargeInputIsStreamed() throws IOException {
+		int testRuns = 200000;
+		String testRun = "<test_run module=\"m\" package=\"p\" class=\"c\" name=\"test\" duration=\"1\" status=\"Passed\" started=\"1\"/>";
+		InputStream source = new SequenceInputStream(Collections.enumeration(Arrays.asList(
+				new ByteArrayInputStream("<test_result><build job_id=\"old\"/><test_runs>".getBytes(StandardCharsets.UTF_8)),
+				new RepeatingInputStream(testRun.getBytes(StandardCharsets.UTF_8), testRuns),
+				new ByteArrayInputStream("</test_runs></test_result>".getBytes(StandardCharsets.UTF_8)))));
+
+		long testRunsFound = 0;
+		byte[] buffer = new byte[4096];
+		try (BuildElementRewritingInputStream rewriting = new BuildElementRewritingInputStream(source, "instance", "job", "1")) {
+			int read;
+			StringBuilder tail = new StringBuilder();
+			while ((read = rewriting.read(buffer)) != -1) {
+				//  the chunks are kept small whatever the size of the input is
+				Assert.assertTrue(rewriting.available() < 64 * 1024);
+				tail.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+				int index;
+				while ((index = tail.indexOf("<test_run ")) >= 0) {
+					testRunsFound++;
+					tail.delete(0, index + 1);
+				}
+			}
+		}
+		Assert.assertEquals(testRuns, testRunsFound);
+	}
+
+	@Test
+	public void testMalformedInput() throws IOException {
+		BuildElementRewritingInputStream rewriting = new BuildElementRewritingInputStream(
+				new ByteArrayInputStream("<test_result><build></test_result>".getBytes(StandardCharsets.UTF_8)), "instance", "job", "1");
+		try {
+			CIPluginSDKUtils.inputStreamToUTF8String(rewriting);
+			Assert.fail("malformed XML should fail the rewrite");
+		} catch (IOException ioe) {
+			Assert.assertTrue(rewriting.isMalformed());
+		}
+	}
+
+	private static String rewrite(String source) throws IOException {
+		InputStream rewriting = new BuildElementRewritingInputStream(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), "instance", "job & co", "7");
+		return CIPluginSDKUtils.inputStreamToUTF8String(rewriting);
+	}
+
+	private static final class RepeatingInputStream extends InputStream {
+		private final byte[] data;
+		private long remaining;
+		private int position = 0;
+
+		private RepeatingInputStream(byte[] data, int times) {
+			this.data = data;
+			this.remaining = (long) data.length * times;
+		}
+
+		@Override
+		public int read() {
+			if (remaining == 0) {
+				return -1;
+			}
+			remaining--;
+			byte result = data[position];
+			position = (position + 1) % data.length;
+			return result & 0xFF;
+		}
+	}
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2017-2025 Open Text
+ *
+ * OpenText is a trademark of Open Text.
+ * The only warranties for products and services of Open Text and
+ * its affiliates and licensors ("Open Text") are as may be set forth
+ * in the express warranty statements accompanying such products and services.
+ * Nothing herein should be construed as constituting an additional warranty.
+ * Open Text shall not be liable for technical or editorial errors or
+ * omissions contained herein. The information contained herein is subject
+ * to change without notice.
+ *
+ * Except as specifically indicated otherwise, this document contains
+ * confidential information and a valid license is required for possession,
+ * use or copying. If this work is provided to the U.S. Government,
+ * consistent with FAR 12.211 and 12.212, Commercial Computer Software,
+ * Computer Software Documentation, and Technical Data for Commercial Items are
+ * licensed to the U.S. Government under vendor's standard commercial license.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.octane.integrations.services.tests;
+
+import com.hp.octane.integrations.CIPluginServices;
+import com.hp.octane.integrations.OctaneConfiguration;
+import com.hp.octane.integrations.OctaneConfigurationIntern;
+import com.hp.octane.integrations.OctaneSDK;
+import com.hp.octane.integrations.dto.DTOFactory;
+import com.hp.octane.integrations.dto.configuration.CIProxyConfiguration;
+import com.hp.octane.integrations.dto.connectivity.OctaneRequest;
+import com.hp.octane.integrations.dto.connectivity.OctaneResponse;
+import com.hp.octane.integrations.dto.general.CIPluginInfo;
+import com.hp.octane.integrations.dto.general.CIServerInfo;
+import com.hp.octane.integrations.dto.general.OctaneConnectivityStatus;
+import com.hp.octane.integrations.services.configuration.ConfigurationService;
+import com.hp.octane.integrations.services.configuration.ConfigurationServiceImpl;
+import com.hp.octane.integrations.services.queueing.QueueingService;
+import com.hp.octane.integrations.services.rest.OctaneRestClient;
+import com.hp.octane.integrations.services.rest.RestService;
+import com.hp.octane.integrations.services.rest.SSCRestClient;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class TestsServiceImplTest {
+	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+
+	private final List<String> pushedBuilds = new CopyOnWriteArrayList<>();
+	private final Map<String, CompletableFuture<Integer>> pushResponses = new ConcurrentHashMap<>();
+	private final AtomicInteger runningPushes = new AtomicInteger();
+	private final AtomicInteger maxRunningPushes = new AtomicInteger();
+	private int breatheInterval;
+	private TestsServiceImpl testsService;
+
+	@Before
+	public void setUp() throws Exception {
+		System.setProperty("octane.sdk.tests.push-concurrency", "2");
+		breatheInterval = TestsServiceImpl.TEMPORARY_ERROR_BREATHE_INTERVAL;
+		TestsServiceImpl.TEMPORARY_ERROR_BREATHE_INTERVAL = 200;
+
+		OctaneConfiguration configuration = new OctaneConfigurationIntern(UUID.randomUUID().toString(), "http://localhost:8080", "1001");
+		Constructor<OctaneSDK.SDKServicesConfigurer> configurerConstructor = OctaneSDK.SDKServicesConfigurer.class.getDeclaredConstructor(OctaneConfiguration.class, CIPluginServices.class);
+		configurerConstructor.setAccessible(true);
+		OctaneSDK.SDKServicesConfigurer configurer = configurerConstructor.newInstance(configuration, new CIPluginServices() {
+			@Override
+			public CIServerInfo getServerInfo() {
+				return null;
+			}
+
+			@Override
+			public CIPluginInfo getPluginInfo() {
+				return null;
+			}
+
+			@Override
+			public InputStream getTestsResult(String jobId, String buildId) {
+				return new ByteArrayInputStream("<test_result/>".getBytes(StandardCharsets.UTF_8));
+			}
+		});
+		RestService restService = new StubRestService();
+		ConfigurationService configurationService = ConfigurationService.newInstance(configurer, restService);
+		((ConfigurationServiceImpl) configurationService).setConnected(true);
+		testsService = new TestsServiceImpl(configurer, QueueingService.newInstance(configurer), restService, configurationService);
+	}
+
+	@After
+	public void tearDown() {
+		pushResponses.values().forEach(response -> response.complete(202));
+		testsService.shutdown();
+		TestsServiceImpl.TEMPORARY_ERROR_BREATHE_INTERVAL = breatheInterval;
+		System.clearProperty("octane.sdk.tests.push-concurrency");
+	}
+
+	@Test
+	public void testItemRemovedOnlyAfterEarlierItemsPushed() throws InterruptedException {
+		enqueue("build1", "build2", "build3", "build4");
+		waitForPushes(2);
+		assertNoMorePushes(2);
+		Assert.assertEquals(new HashSet<>(Arrays.asList("build1", "build2")), new HashSet<>(pushedBuilds));
+
+		//  later item done first - nothing is removed from the queue, the freed slot takes the next item
+		respond("build2", 202);
+		waitForPushes(3);
+		Assert.assertEquals("build3", pushedBuilds.get(2));
+		assertNoMorePushes(3);
+		Assert.assertEquals(4, testsService.getQueueSize());
+
+		respond("build1", 202);
+		waitForQueueSize(2);
+		waitForPushes(4);
+		respond("build3", 202);
+		respond("build4", 202);
+		waitForQueueSize(0);
+		Assert.assertEquals(2, maxRunningPushes.get());
+	}
+
+	@Test
+	public void testTemporaryFailureRetriedInOrder() throws InterruptedException {
+		enqueue("build1", "build2");
+		waitForPushes(2);
+
+		respond("build1", 503);
+		respond("build2", 202);
+		assertNoMorePushes(2);
+		Assert.assertEquals(2, testsService.getQueueSize());
+
+		//  failed item is pushed again after breathing, the item after it waits for it in queue
+		waitForPushes(3);
+		Assert.assertEquals("build1", pushedBuilds.get(2));
+		Assert.assertEquals(2, testsService.getQueueSize());
+		respond("build1", 202);
+		waitForQueueSize(0);
+		assertNoMorePushes(3);
+	}
+
+	@Test
+	public void testClearQueueWhilePushing() throws InterruptedException {
+		enqueue("build1", "build2", "build3");
+		waitForPushes(2);
+		testsService.clearQueue();
+		Assert.assertEquals(0, testsService.getQueueSize());
+
+		//  pushes of the cleared items still take the slots, items dispatched meanwhile are cleared as well
+		enqueue("build4");
+		assertNoMorePushes(2);
+		testsService.clearQueue();
+		enqueue("build5");
+		respond("build1", 202);
+		waitForPushes(3);
+		Assert.assertEquals("build5", pushedBuilds.get(2));
+
+		//  completion of the cleared item does not remove the new items
+		Assert.assertEquals(1, testsService.getQueueSize());
+		respond("build2", 202);
+		assertNoMorePushes(3);
+		Assert.assertEquals(1, testsService.getQueueSize());
+		respond("build5", 202);
+		waitForQueueSize(0);
+		Assert.assertEquals(2, maxRunningPushes.get());
+	}
+
+	private void enqueue(String... buildIds) {
+		for (String buildId : buildIds) {
+			pushResponses.put(buildId, new CompletableFuture<>());
+			testsService.enqueuePushTestsResult("job", buildId, null);
+		}
+	}
+
+	//  response for the retried push is prepared before the previous one is released
+	private void respond(String buildId, int status) {
+		CompletableFuture<Integer> response = pushResponses.get(buildId);
+		if (status != 202) {
+			pushResponses.put(buildId, new CompletableFuture<>());
+		}
+		response.complete(status);
+	}
+
+	private void waitForPushes(int count) throws InterruptedException {
+		for (int i = 0; i < 250 && pushedBuilds.size() < count; i++) {
+			Thread.sleep(20);
+		}
+		Assert.assertEquals(count, pushedBuilds.size());
+	}
+
+	private void assertNoMorePushes(int count) throws InterruptedException {
+		Thread.sleep(100);
+		Assert.assertEquals(count, pushedBuilds.size());
+	}
+
+	private void waitForQueueSize(long size) throws InterruptedException {
+		for (int i = 0; i < 250 && testsService.getQueueSize() != size; i++) {
+			Thread.sleep(20);
+		}
+		Assert.assertEquals(size, testsService.getQueueSize());
+	}
+
+	private final class StubRestService implements RestService, OctaneRestClient {
+		@Override
+		public OctaneResponse execute(OctaneRequest request) throws IOException {
+			if (request.getUrl().contains("/tests-result-preflight")) {
+				return dtoFactory.newDTO(OctaneResponse.class).setStatus(200).setBody("true");
+			}
+
+			//  push blocks its slot until the test responds
+			String buildId = request.getUrl().replaceAll(".*build-ci-id=([^&]+).*", "$1");
+			CompletableFuture<Integer> response = pushResponses.get(buildId);
+			maxRunningPushes.accumulateAndGet(runningPushes.incrementAndGet(), Math::max);
+			pushedBuilds.add(buildId);
+			try {
+				return dtoFactory.newDTO(OctaneResponse.class).setStatus(response.get(10, TimeUnit.SECONDS));
+			} catch (Exception e) {
+				throw new IOException("no response for " + buildId, e);
+			} finally {
+				runningPushes.decrementAndGet();
+			}
+		}
+
+		@Override
+		public OctaneResponse execute(OctaneRequest request, OctaneConfiguration configuration) {
+			if (request.getUrl().endsWith("/connectivity/status")) {
+				OctaneConnectivityStatus status = dtoFactory.newDTO(OctaneConnectivityStatus.class).setOctaneVersion("16.1.100");
+				return dtoFactory.newDTO(OctaneResponse.class).setStatus(200).setBody(dtoFactory.dtoToJson(status));
+			}
+			return dtoFactory.newDTO(OctaneResponse.class).setStatus(200).setBody("[]");
+		}
+
+		@Override
+		public Function<URL, CIProxyConfiguration> getProxySupplier() {
+			return url -> null;
+		}
+
+		@Override
+		public OctaneRestClient obtainOctaneRestClient() {
+			return this;
+		}
+
+		@Override
+		public SSCRestClient obtainSSCRestClient() {
+			return null;
+		}
+
+		@Override
+		public void notifyConfigurationChange() {
+		}
+
+		@Override
+		public void shutdown() {
+		}
+
+		@Override
+		public Map<String, Object> getMetrics() {
+			return Collections.emptyMap();
+		}
+	}
+}